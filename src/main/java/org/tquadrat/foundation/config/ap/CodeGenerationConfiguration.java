@@ -22,6 +22,7 @@ import org.tquadrat.foundation.annotation.ClassVersion;
 import org.tquadrat.foundation.ap.APHelper;
 import org.tquadrat.foundation.ap.CodeGenerationError;
 import org.tquadrat.foundation.config.INIGroup;
+import org.tquadrat.foundation.config.ap.PropertySpec.PropertyFlag;
 import org.tquadrat.foundation.config.ap.impl.PropertySpecImpl;
 import org.tquadrat.foundation.javacomposer.ClassName;
 import org.tquadrat.foundation.javacomposer.JavaComposer;
@@ -31,13 +32,17 @@ import org.tquadrat.foundation.javacomposer.TypeName;
 import javax.lang.model.element.Name;
 import javax.lang.model.util.Elements;
 import java.lang.reflect.Type;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.SortedMap;
 import java.util.TreeMap;
 
@@ -71,6 +76,18 @@ public final class CodeGenerationConfiguration
         /*------------*\
     ====** Attributes **=======================================================
         \*------------*/
+    /**
+     *  The flag that indicates whether the INI file should be written
+     *  through a temporary file and an atomic move.
+     */
+    private boolean m_AtomicINIFileSave = false;
+
+    /**
+     *  The delay for the automatic persistence of the preferences; if
+     *  {@code null}, the preferences will not be persisted automatically.
+     */
+    private Duration m_AutoPersistDelay = null;
+
     /**
      *  The base bundle name for the resource bundle if i18n support is
      *  required.
@@ -109,6 +126,12 @@ public final class CodeGenerationConfiguration
      */
     private final APHelper m_Environment;
 
+    /**
+     *  The delay for the automatic persistence of the INI file; if
+     *  {@code null}, the INI file will not be persisted automatically.
+     */
+    private Duration m_INIAutoPersistDelay = null;
+
     /**
      *  The comment for the configuration file.
      */
@@ -125,12 +148,30 @@ public final class CodeGenerationConfiguration
      */
     private String m_INIFilePath = null;
 
+    /**
+     *  The delay for the hot reload of the INI file; if {@code null}, the
+     *  INI file will not be watched for modifications.
+     */
+    private Duration m_INIFileWatchDelay = null;
+
+    /**
+     *  The flag that indicates whether methods for the reload of single
+     *  groups of the INI file should be generated.
+     */
+    private boolean m_INIGroupReload = false;
+
     /**
      *  The {@code INI} file groups. The key is the name of the group, the
      *  value is the respective comment for the group.
      */
     private final Map<String,String> m_INIGroups = new TreeMap<>();
 
+    /**
+     *  The flag that indicates whether {@code loadPreferences()} should read
+     *  only the preferences that were changed since its last call.
+     */
+    private boolean m_IncrementalPreferencesLoad = false;
+
     /**
      *  The method that is provided as a source for the initialisation of the
      *  properties of the configuration bean.
@@ -149,6 +190,24 @@ public final class CodeGenerationConfiguration
      */
     private final Collection<TypeName> m_InterfacesToImplement = new HashSet<>();
 
+    /**
+     *  The flag that indicates whether the generated code should do without
+     *  lambda expressions and method references where possible.
+     */
+    private boolean m_LambdaFree = false;
+
+    /**
+     *  The flag that indicates whether eligible properties should be
+     *  initialised lazily, on the first call to their getter.
+     */
+    private boolean m_LazyInitialisation = false;
+
+    /**
+     *  The flag that indicates whether the INI file should be read through a
+     *  memory mapped buffer by {@code loadINIFile()}.
+     */
+    private boolean m_MappedINIFileLoad = false;
+
     /**
      *  The message prefix for the i18n support.
      *
@@ -162,17 +221,38 @@ public final class CodeGenerationConfiguration
      */
     private final Name m_PackageName;
 
+    /**
+     *  The flag that indicates whether the command line model of the
+     *  configuration bean should be laid out at compile time.
+     */
+    private boolean m_PrecompiledCLI = false;
+
     /**
      *  The change listener class for the {@code Preferences}.
      */
     private TypeName m_PreferenceChangeListenerClass;
 
+    /**
+     *  The class for the
+     *  {@link java.util.prefs.PreferencesFactory}
+     *  that provides the root nodes for the {@code Preferences}; if
+     *  {@code null}, the default root nodes will be used.
+     */
+    private ClassName m_PreferencesFactory;
+
     /**
      *  <p>{@summary The properties for the configuration bean.} The name of
      *  the property is the key.</p>
      */
     private final SortedMap<String, PropertySpecImpl> m_Properties = new TreeMap<>( caseInsensitiveComparator() );
 
+    /**
+     *  <p>{@summary The positions of the properties among the properties
+     *  with the same flag.} The map for a flag is determined on its first
+     *  use, and it is discarded when a new property is added.</p>
+     */
+    private final Map<PropertyFlag,Map<String,Integer>> m_PropertyIndexes = new EnumMap<>( PropertyFlag.class );
+
     /**
      *  The configuration bean specification.
      */
@@ -183,6 +263,19 @@ public final class CodeGenerationConfiguration
      */
     private String m_PreferencesRoot = null;
 
+    /**
+     *  The flag that indicates whether all instances of the configuration
+     *  bean should share one {@code INIFile} instance for the same path.
+     */
+    private boolean m_SharedINIFile = false;
+
+    /**
+     *  The flag that indicates whether the values for the multi-valued
+     *  argument of the configuration bean could be read from argument files
+     *  that are streamed line by line.
+     */
+    private boolean m_StreamedArgumentFiles = false;
+
     /**
      *  This flag indicates whether the access to the configuration bean
      *  properties must be thread-safe.
@@ -287,6 +380,7 @@ public final class CodeGenerationConfiguration
             {
                 throw new CodeGenerationError( format( MSG_DuplicateProperty, propertyName ) );
             }
+            m_PropertyIndexes.clear();
         }
         else
         {
@@ -294,6 +388,29 @@ public final class CodeGenerationConfiguration
         }
     }   //  addProperty()
 
+    /**
+     *  Returns the flag that indicates whether the INI file should be written
+     *  through a temporary file and an atomic move.
+     *
+     *  @return {@code true} if the INI file should be written atomically,
+     *      {@code false} if the file will be written directly.
+     *
+     *  @see ConfigAnnotationProcessor#OPTION_AtomicINIFileSave
+     */
+    public final boolean getAtomicINIFileSave() { return m_AtomicINIFileSave; }
+
+    /**
+     *  Returns the delay for the automatic persistence of the preferences.
+     *
+     *  @return An instance of
+     *      {@link Optional}
+     *      that holds the delay; empty if the preferences should not be
+     *      persisted automatically.
+     *
+     *  @see ConfigAnnotationProcessor#OPTION_AutoPersistPreferences
+     */
+    public final Optional<Duration> getAutoPersistDelay() { return Optional.ofNullable( m_AutoPersistDelay ); }
+
     /**
      *  Returns the name of the field that holds the base bundle name for the
      *  resource bundle, in case i18n support is configured.
@@ -351,6 +468,18 @@ public final class CodeGenerationConfiguration
      */
     public final APHelper getEnvironment() { return m_Environment; }
 
+    /**
+     *  Returns the delay for the automatic persistence of the INI file.
+     *
+     *  @return An instance of
+     *      {@link Optional}
+     *      that holds the delay; empty if the INI file should not be
+     *      persisted automatically.
+     *
+     *  @see ConfigAnnotationProcessor#OPTION_AutoPersistINIFile
+     */
+    public final Optional<Duration> getINIAutoPersistDelay() { return Optional.ofNullable( m_INIAutoPersistDelay ); }
+
     /**
      *  Returns the comment for the {@code INI} file.
      *
@@ -381,6 +510,30 @@ public final class CodeGenerationConfiguration
      */
     public final Optional<String> getINIFilePath() { return Optional.ofNullable( m_INIFilePath ); }
 
+    /**
+     *  Returns the delay for the hot reload of the INI file.
+     *
+     *  @return An instance of
+     *      {@link Optional}
+     *      that holds the delay; empty if the INI file should not be watched
+     *      for modifications.
+     *
+     *  @see ConfigAnnotationProcessor#OPTION_WatchINIFile
+     */
+    public final Optional<Duration> getINIFileWatchDelay() { return Optional.ofNullable( m_INIFileWatchDelay ); }
+
+    /**
+     *  Returns the flag that controls whether methods for the reload of
+     *  single groups of the INI file should be generated.
+     *
+     *  @return {@code true} if the group reload is requested, {@code false}
+     *      otherwise.
+     *
+     *  @see ConfigAnnotationProcessor#OPTION_INIGroupReload
+     */
+    @SuppressWarnings( "BooleanMethodNameMustStartWithQuestion" )
+    public final boolean getINIGroupReload() { return m_INIGroupReload; }
+
     /**
      *  Returns the {@code INI} file groups.
      *
@@ -388,6 +541,19 @@ public final class CodeGenerationConfiguration
      */
     public final Map<String,String> getINIGroups() { return unmodifiableMap( m_INIGroups ); }
 
+    /**
+     *  Returns the flag that controls whether {@code loadPreferences()}
+     *  should read only the preferences that were changed since its last
+     *  call.
+     *
+     *  @return {@code true} if the incremental load is requested,
+     *      {@code false} otherwise.
+     *
+     *  @see ConfigAnnotationProcessor#OPTION_IncrementalPreferencesLoad
+     */
+    @SuppressWarnings( "BooleanMethodNameMustStartWithQuestion" )
+    public final boolean getIncrementalPreferencesLoad() { return m_IncrementalPreferencesLoad; }
+
     /**
      *  <p>{@summary Returns the method that is provided as a source for the
      *  initialisation of the properties of the configuration bean.}</p>
@@ -430,6 +596,44 @@ public final class CodeGenerationConfiguration
      */
     public final Collection<TypeName> getInterfacesToImplement() { return List.copyOf( m_InterfacesToImplement ); }
 
+    /**
+     *  Returns the flag that controls whether the generated code should do
+     *  without lambda expressions and method references where possible.
+     *
+     *  @return {@code true} if lambda-free code is requested, {@code false}
+     *      otherwise.
+     *
+     *  @see ConfigAnnotationProcessor#OPTION_LambdaFree
+     */
+    @SuppressWarnings( "BooleanMethodNameMustStartWithQuestion" )
+    public final boolean getLambdaFree() { return m_LambdaFree; }
+
+    /**
+     *  Returns the flag that controls whether eligible properties should be
+     *  initialised lazily, on the first call to their getter, instead of in
+     *  the constructor of the configuration bean.
+     *
+     *  @return {@code true} if lazy initialisation is requested,
+     *      {@code false} otherwise.
+     *
+     *  @see ConfigAnnotationProcessor#OPTION_LazyInitialisation
+     */
+    @SuppressWarnings( "BooleanMethodNameMustStartWithQuestion" )
+    public final boolean getLazyInitialisation() { return m_LazyInitialisation; }
+
+    /**
+     *  Returns the flag that controls whether the generated
+     *  {@code loadINIFile()} method should read the INI file through a memory
+     *  mapped buffer.
+     *
+     *  @return {@code true} if the memory mapped read is requested,
+     *      {@code false} otherwise.
+     *
+     *  @see ConfigAnnotationProcessor#OPTION_MappedINIFileLoad
+     */
+    @SuppressWarnings( "BooleanMethodNameMustStartWithQuestion" )
+    public final boolean getMappedINIFileLoad() { return m_MappedINIFileLoad; }
+
     /**
      *  Returns the name of the field that holds the message prefix, in case
      *  i18n support is configured.
@@ -447,6 +651,18 @@ public final class CodeGenerationConfiguration
      */
     public final Name getPackageName() { return m_PackageName; }
 
+    /**
+     *  Returns the flag that controls whether the command line model of the
+     *  configuration bean should be laid out at compile time.
+     *
+     *  @return {@code true} if the command line model is precompiled,
+     *      {@code false} otherwise.
+     *
+     *  @see ConfigAnnotationProcessor#OPTION_PrecompiledCLI
+     */
+    @SuppressWarnings( "BooleanMethodNameMustStartWithQuestion" )
+    public final boolean getPrecompiledCLI() { return m_PrecompiledCLI; }
+
     /**
      *  <p>{@summary Returns the class for the {@code Preferences} change
      *  listener.} If no listener class is defined, the change listener support
@@ -466,6 +682,29 @@ public final class CodeGenerationConfiguration
         return retValue;
     }   //  getPreferenceChangeListenerClass()
 
+    /**
+     *  Returns the class for the
+     *  {@link java.util.prefs.PreferencesFactory}
+     *  that provides the root nodes for the {@code Preferences}.
+     *
+     *  @return An instance of
+     *      {@link Optional}
+     *      that holds the factory class; if empty, the root nodes are
+     *      retrieved from
+     *      {@link java.util.prefs.Preferences#userRoot()}
+     *      and
+     *      {@link java.util.prefs.Preferences#systemRoot()}.
+     *
+     *  @see ConfigAnnotationProcessor#OPTION_PreferencesFactory
+     */
+    public final Optional<ClassName> getPreferencesFactory()
+    {
+        final var retValue = Optional.ofNullable( m_PreferencesFactory );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  getPreferencesFactory()
+
     /**
      *  Returns the name for the {@code Preferences} root node.
      *
@@ -496,6 +735,37 @@ public final class CodeGenerationConfiguration
         return retValue;
     }   //  getProperty()
 
+    /**
+     *  <p>{@summary Returns the position of the property with the given name
+     *  among all the properties that have the given flag.} The positions are
+     *  determined only once for each flag, in the order of
+     *  {@link #propertyIterator()}.</p>
+     *
+     *  @param  flag    The flag.
+     *  @param  propertyName    The name of the property.
+     *  @return An instance of
+     *      {@link OptionalInt}
+     *      that holds the position; empty if there is no property with the
+     *      given name, or if it does not have the given flag.
+     */
+    public final OptionalInt getPropertyIndex( final PropertyFlag flag, final String propertyName )
+    {
+        final var indexes = m_PropertyIndexes.computeIfAbsent( requireNonNullArgument( flag, "flag" ), f ->
+        {
+            final Map<String,Integer> map = new HashMap<>();
+            for( final var property : m_Properties.values() )
+            {
+                if( property.hasFlag( f ) ) map.put( property.getPropertyName(), Integer.valueOf( map.size() ) );
+            }
+            return map;
+        } );
+        final var index = indexes.get( requireNotEmptyArgument( propertyName, "propertyName" ) );
+        final var retValue = isNull( index ) ? OptionalInt.empty() : OptionalInt.of( index.intValue() );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  getPropertyIndex()
+
     /**
      *  Returns the configuration bean specification.
      *
@@ -503,6 +773,32 @@ public final class CodeGenerationConfiguration
      */
     public final ClassName getSpecification() { return m_Specification;}
 
+    /**
+     *  Returns the flag that controls whether all instances of the
+     *  configuration bean should share one {@code INIFile} instance for the
+     *  same path.
+     *
+     *  @return {@code true} if the {@code INIFile} instance is shared,
+     *      {@code false} otherwise.
+     *
+     *  @see ConfigAnnotationProcessor#OPTION_SharedINIFile
+     */
+    @SuppressWarnings( "BooleanMethodNameMustStartWithQuestion" )
+    public final boolean getSharedINIFile() { return m_SharedINIFile; }
+
+    /**
+     *  Returns the flag that controls whether the values for the
+     *  multi-valued argument of the configuration bean could be read from
+     *  argument files that are streamed line by line.
+     *
+     *  @return {@code true} if streamed argument files are supported,
+     *      {@code false} otherwise.
+     *
+     *  @see ConfigAnnotationProcessor#OPTION_StreamedArgumentFiles
+     */
+    @SuppressWarnings( "BooleanMethodNameMustStartWithQuestion" )
+    public final boolean getStreamedArgumentFiles() { return m_StreamedArgumentFiles; }
+
     /**
      *  Returns the flag that controls whether the generated code for the
      *  access to the configuration bean properties has to be thread-safe.
@@ -589,6 +885,27 @@ public final class CodeGenerationConfiguration
         return retValue;
     }   //  propertyIterator()
 
+    /**
+     *  Sets the flag that indicates whether the INI file should be written
+     *  through a temporary file and an atomic move.
+     *
+     *  @param  flag    {@code true} if the INI file should be written
+     *      atomically, {@code false} if the file will be written directly.
+     *
+     *  @see ConfigAnnotationProcessor#OPTION_AtomicINIFileSave
+     */
+    public final void setAtomicINIFileSave( final boolean flag ) { m_AtomicINIFileSave = flag; }
+
+    /**
+     *  Sets the delay for the automatic persistence of the preferences.
+     *
+     *  @param  delay   The delay; can be {@code null} to switch the automatic
+     *      persistence off.
+     *
+     *  @see ConfigAnnotationProcessor#OPTION_AutoPersistPreferences
+     */
+    public final void setAutoPersistDelay( final Duration delay ) { m_AutoPersistDelay = delay; }
+
     /**
      *  Sets the i18n parameters.
      *
@@ -601,6 +918,16 @@ public final class CodeGenerationConfiguration
         m_BaseBundleName = baseBundleName;
     }   //  setI18NParameters()
 
+    /**
+     *  Sets the delay for the automatic persistence of the INI file.
+     *
+     *  @param  delay   The delay; can be {@code null} to switch the automatic
+     *      persistence off.
+     *
+     *  @see ConfigAnnotationProcessor#OPTION_AutoPersistINIFile
+     */
+    public final void setINIAutoPersistDelay( final Duration delay ) { m_INIAutoPersistDelay = delay; }
+
     /**
      *  Sets the configuration for the {@code INI} file.
      *
@@ -617,6 +944,38 @@ public final class CodeGenerationConfiguration
         m_INIFileMustExist = flag;
     }   //  setINIFileConfig()
 
+    /**
+     *  Sets the delay for the hot reload of the INI file.
+     *
+     *  @param  delay   The delay; can be {@code null} to switch the hot
+     *      reload off.
+     *
+     *  @see ConfigAnnotationProcessor#OPTION_WatchINIFile
+     */
+    public final void setINIFileWatchDelay( final Duration delay ) { m_INIFileWatchDelay = delay; }
+
+    /**
+     *  Sets the flag that controls whether methods for the reload of single
+     *  groups of the INI file should be generated.
+     *
+     *  @param  flag    {@code true} if the group reload is requested,
+     *      {@code false} otherwise.
+     *
+     *  @see ConfigAnnotationProcessor#OPTION_INIGroupReload
+     */
+    public final void setINIGroupReload( final boolean flag ) { m_INIGroupReload = flag; }
+
+    /**
+     *  Sets the flag that controls whether {@code loadPreferences()} should
+     *  read only the preferences that were changed since its last call.
+     *
+     *  @param  flag    {@code true} if the incremental load is requested,
+     *      {@code false} otherwise.
+     *
+     *  @see ConfigAnnotationProcessor#OPTION_IncrementalPreferencesLoad
+     */
+    public final void setIncrementalPreferencesLoad( final boolean flag ) { m_IncrementalPreferencesLoad = flag; }
+
     /**
      *  Set the method that is provided as a source for the initialisation of
      *  the properties of the configuration bean.
@@ -633,6 +992,51 @@ public final class CodeGenerationConfiguration
      */
     public final void setInitDataResource( final String initDataResource ) { m_InitDataResource = initDataResource; }
 
+    /**
+     *  Sets the flag that controls whether the generated code should do
+     *  without lambda expressions and method references where possible.
+     *
+     *  @param  flag    {@code true} if lambda-free code is requested,
+     *      {@code false} otherwise.
+     *
+     *  @see ConfigAnnotationProcessor#OPTION_LambdaFree
+     */
+    public final void setLambdaFree( final boolean flag ) { m_LambdaFree = flag; }
+
+    /**
+     *  Sets the flag that controls whether eligible properties should be
+     *  initialised lazily.
+     *
+     *  @param  flag    {@code true} if lazy initialisation is requested,
+     *      {@code false} otherwise.
+     *
+     *  @see ConfigAnnotationProcessor#OPTION_LazyInitialisation
+     */
+    public final void setLazyInitialisation( final boolean flag ) { m_LazyInitialisation = flag; }
+
+    /**
+     *  Sets the flag that controls whether the generated
+     *  {@code loadINIFile()} method should read the INI file through a memory
+     *  mapped buffer.
+     *
+     *  @param  flag    {@code true} if the memory mapped read is requested,
+     *      {@code false} otherwise.
+     *
+     *  @see ConfigAnnotationProcessor#OPTION_MappedINIFileLoad
+     */
+    public final void setMappedINIFileLoad( final boolean flag ) { m_MappedINIFileLoad = flag; }
+
+    /**
+     *  Sets the flag that controls whether the command line model of the
+     *  configuration bean should be laid out at compile time.
+     *
+     *  @param  flag    {@code true} if the command line model is
+     *      precompiled, {@code false} otherwise.
+     *
+     *  @see ConfigAnnotationProcessor#OPTION_PrecompiledCLI
+     */
+    public final void setPrecompiledCLI( final boolean flag ) { m_PrecompiledCLI = flag; }
+
     /**
      *  Sets the class for the {@code Preferences} change listener.
      *
@@ -645,6 +1049,17 @@ public final class CodeGenerationConfiguration
         m_PreferenceChangeListenerClass = listenerClass;
     }   //  setPreferenceChangeListenerClass()
 
+    /**
+     *  Sets the class for the
+     *  {@link java.util.prefs.PreferencesFactory}
+     *  that provides the root nodes for the {@code Preferences}.
+     *
+     *  @param  factoryClass    The factory class; can be {@code null}.
+     *
+     *  @see ConfigAnnotationProcessor#OPTION_PreferencesFactory
+     */
+    public final void setPreferencesFactory( final ClassName factoryClass ) { m_PreferencesFactory = factoryClass; }
+
     /**
      *  Sets the name for the preferences root node.
      *
@@ -654,6 +1069,30 @@ public final class CodeGenerationConfiguration
     {
         m_PreferencesRoot = requireNotEmptyArgument( name, "name" );
     }   //  setPreferencesRoot()
+
+    /**
+     *  Sets the flag that controls whether all instances of the
+     *  configuration bean should share one {@code INIFile} instance for the
+     *  same path.
+     *
+     *  @param  flag    {@code true} if the {@code INIFile} instance is
+     *      shared, {@code false} otherwise.
+     *
+     *  @see ConfigAnnotationProcessor#OPTION_SharedINIFile
+     */
+    public final void setSharedINIFile( final boolean flag ) { m_SharedINIFile = flag; }
+
+    /**
+     *  Sets the flag that controls whether the values for the multi-valued
+     *  argument of the configuration bean could be read from argument files
+     *  that are streamed line by line.
+     *
+     *  @param  flag    {@code true} if streamed argument files are
+     *      supported, {@code false} otherwise.
+     *
+     *  @see ConfigAnnotationProcessor#OPTION_StreamedArgumentFiles
+     */
+    public final void setStreamedArgumentFiles( final boolean flag ) { m_StreamedArgumentFiles = flag; }
 }
 //  class CodeGenerationConfiguration
 
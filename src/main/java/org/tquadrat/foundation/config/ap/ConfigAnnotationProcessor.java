@@ -91,6 +91,8 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.InvocationTargetException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -132,6 +134,8 @@ import org.tquadrat.foundation.config.StringConversion;
 import org.tquadrat.foundation.config.SystemPreference;
 import org.tquadrat.foundation.config.SystemProperty;
 import org.tquadrat.foundation.config.ap.impl.CodeGenerator;
+import org.tquadrat.foundation.config.ap.impl.ConfigBeanIndex;
+import org.tquadrat.foundation.config.ap.impl.NativeImageMetadata;
 import org.tquadrat.foundation.config.ap.impl.PropertySpecImpl;
 import org.tquadrat.foundation.config.cli.CmdLineValueHandler;
 import org.tquadrat.foundation.config.internal.ClassRegistry;
@@ -169,7 +173,7 @@ import org.tquadrat.foundation.util.stringconverter.EnumStringConverter;
 @ClassVersion( sourceVersion = "$Id: ConfigAnnotationProcessor.java 1151 2025-10-01 21:32:15Z tquadrat $" )
 @API( status = STABLE, since = "0.1.0" )
 @SupportedSourceVersion( SourceVersion.RELEASE_17 )
-@SupportedOptions( { APBase.ADD_DEBUG_OUTPUT, APBase.MAVEN_GOAL } )
+@SupportedOptions( { APBase.ADD_DEBUG_OUTPUT, APBase.MAVEN_GOAL, ConfigAnnotationProcessor.OPTION_AtomicINIFileSave, ConfigAnnotationProcessor.OPTION_AutoPersistINIFile, ConfigAnnotationProcessor.OPTION_AutoPersistPreferences, ConfigAnnotationProcessor.OPTION_ConfigBeanIndex, ConfigAnnotationProcessor.OPTION_IncrementalPreferencesLoad, ConfigAnnotationProcessor.OPTION_INIGroupReload, ConfigAnnotationProcessor.OPTION_LambdaFree, ConfigAnnotationProcessor.OPTION_LazyInitialisation, ConfigAnnotationProcessor.OPTION_MappedINIFileLoad, ConfigAnnotationProcessor.OPTION_NativeImageMetadata, ConfigAnnotationProcessor.OPTION_PrecompiledCLI, ConfigAnnotationProcessor.OPTION_PreferencesFactory, ConfigAnnotationProcessor.OPTION_SharedINIFile, ConfigAnnotationProcessor.OPTION_StreamedArgumentFiles, ConfigAnnotationProcessor.OPTION_WatchINIFile } )
 public class ConfigAnnotationProcessor extends APBase
 {
         /*-----------*\
@@ -211,6 +215,19 @@ public class ConfigAnnotationProcessor extends APBase
      */
     public static final String MSG_AddMethodNotAllowed = "The method '%1$s' is not allowed, as the property type is not a collection";
 
+    /**
+     *  The message that indicates that the automatic persistence was
+     *  requested for a configuration bean that is not synchronized: {@value}.
+     */
+    public static final String MSG_AutoPersistUnsynchronized = "The option '%1$s' requires a synchronized configuration bean, but '%2$s' is not synchronized";
+
+    /**
+     *  The message that indicates that a configuration bean was generated
+     *  after the registry class for the index of the configuration beans was
+     *  already written: {@value}.
+     */
+    public static final String MSG_BeanAfterRegistry = "The configuration bean '%1$s' was generated after the registry class '%2$s' had been written; it is missing in the registry";
+
     /**
      *  The message that indicates that a mirror cannot be retrieved: {@value}.
      */
@@ -295,6 +312,13 @@ public class ConfigAnnotationProcessor extends APBase
     @SuppressWarnings( "StaticMethodOnlyUsedInOneClass" )
     public static final String MSG_INIKeyMissing = "The key for @INIValue on '%s' is missing";
 
+    /**
+     *  The message that indicates that the attribute
+     *  {@link INIFileConfig#path()}
+     *  does not hold a valid path: {@value}.
+     */
+    public static final String MSG_INIPathInvalid = "The path '%s' for @INIFileConfig is not a valid path";
+
     /**
      *  The message that indicates that the attribute
      *  {@link INIFileConfig#path()}
@@ -302,6 +326,30 @@ public class ConfigAnnotationProcessor extends APBase
      */
     public static final String MSG_INIPathMissing = "The path for @INIFileConfig is not set properly";
 
+    /**
+     *  The message that indicates that the attribute
+     *  {@link INIFileConfig#path()}
+     *  does not name a file: {@value}.
+     */
+    public static final String MSG_INIPathNoFile = "The path '%s' for @INIFileConfig does not name a file";
+
+    /**
+     *  The message that indicates that the variable in the attribute
+     *  {@link INIFileConfig#path()}
+     *  does not refer to a property of type
+     *  {@link java.nio.file.Path}:
+     *  {@value}.
+     */
+    public static final String MSG_INIPathProperty = "The variable '%2$s' in the path '%1$s' for @INIFileConfig does not refer to a property of type Path";
+
+    /**
+     *  The message that indicates that the attribute
+     *  {@link INIFileConfig#path()}
+     *  holds more than one variable, or a variable that is not at its
+     *  beginning: {@value}.
+     */
+    public static final String MSG_INIPathVariable = "The path '%s' for @INIFileConfig may only start with a single variable";
+
     /**
      *  The message that indicates that an annotation is valid only for
      *  interfaces: {@value}.
@@ -314,6 +362,20 @@ public class ConfigAnnotationProcessor extends APBase
     @SuppressWarnings( "StaticMethodOnlyUsedInOneClass" )
     public static final String MSG_InvalidCLIType = "Property '%s' is neither argument nor option";
 
+    /**
+     *  The message that indicates that the default value for a property
+     *  cannot be converted by the
+     *  {@link org.tquadrat.foundation.lang.StringConverter}
+     *  for that property: {@value}.
+     */
+    public static final String MSG_InvalidDefaultValue = "The default value '%2$s' for the property '%1$s' is invalid: %3$s";
+
+    /**
+     *  The message that indicates an invalid value for an annotation
+     *  processor option: {@value}.
+     */
+    public static final String MSG_InvalidOptionValue = "The value '%2$s' for the annotation processor option '%1$s' is invalid";
+
     /**
      *  The message that indicates a missing environment variable name for a
      *  property: {@value}.
@@ -473,6 +535,333 @@ public class ConfigAnnotationProcessor extends APBase
      */
     public static final String MSG_TypeMismatch = "Parameter type '%1$s' of setter '%2$s' does not match with property type '%3$s'";
 
+    /**
+     *  <p>{@summary The name for the annotation processor option that
+     *  switches on the lazy initialisation of expensive properties:
+     *  {@value}.}</p>
+     *  <p>If set, the values for the
+     *  {@linkplain org.tquadrat.foundation.config.SpecialPropertyType#CONFIG_PROPERTY_RANDOM random}
+     *  property and for the properties that are read from the
+     *  {@linkplain SystemPreference SYSTEM Preferences}
+     *  will be determined on the first call to the respective getter, instead
+     *  of in the constructor of the configuration bean.</p>
+     *
+     *  @see PropertySpec.PropertyFlag#PROPERTY_IS_LAZY
+     */
+    public static final String OPTION_LazyInitialisation = "lazyInitialisation";
+
+    /**
+     *  <p>{@summary The name for the annotation processor option that
+     *  requests generated code without lambda expressions and method
+     *  references: {@value}.}</p>
+     *  <p>If set, the shadow map for the
+     *  {@link Map}
+     *  implementation and the CLI value handlers will dispatch through
+     *  {@code switch} statements and small inner classes, instead of creating
+     *  a lambda for each property; this avoids the bootstrapping of an
+     *  {@code invokedynamic} call site for each property on the first use,
+     *  and it makes the generated code friendlier for class data sharing and
+     *  ahead-of-time compilation.</p>
+     */
+    public static final String OPTION_LambdaFree = "lambdaFree";
+
+    /**
+     *  <p>{@summary The name for the annotation processor option that
+     *  requests an index for the generated configuration beans: {@value}.}</p>
+     *  <p>If set, the processor writes a service provider configuration file
+     *  to {@code META-INF/services} for each configuration bean specification
+     *  whose implementation has a default constructor, and it generates a
+     *  registry class with a reflection free factory for the configuration
+     *  beans. The value for the option is the fully qualified name for that
+     *  registry class; if the option is provided without a value, the class
+     *  {@value #DEFAULT_INDEX_CLASS_NAME} in the package of the first
+     *  configuration bean is generated.</p>
+     *  <p>The registry class is written on the first round that does not
+     *  provide any further configuration bean specifications; a configuration
+     *  bean that is generated on a later round will be listed in the service
+     *  provider configuration files only, and this is reported as an
+     *  error.</p>
+     *
+     *  @see ConfigBeanIndex
+     */
+    public static final String OPTION_ConfigBeanIndex = "configBeanIndex";
+
+    /**
+     *  The default simple name for the registry class that is generated for
+     *  the option
+     *  {@value #OPTION_ConfigBeanIndex}:
+     *  {@value}.
+     */
+    public static final String DEFAULT_INDEX_CLASS_NAME = "ConfigurationBeans";
+
+    /**
+     *  <p>{@summary The name for the annotation processor option that
+     *  requests the configuration files for GraalVM's {@code native-image}
+     *  tool: {@value}.}</p>
+     *  <p>The value for the option is the location for the files below
+     *  {@code META-INF/native-image}, usually composed from the group id and
+     *  the artifact id of the project, like
+     *  <code>-AnativeImageMetadata=<i>&lt;group&gt;</i>/<i>&lt;artifact&gt;</i></code>.
+     *  If the option is provided without a value, the package name of the
+     *  first configuration bean is taken instead.</p>
+     *
+     *  @see NativeImageMetadata
+     */
+    public static final String OPTION_NativeImageMetadata = "nativeImageMetadata";
+
+    /**
+     *  <p>{@summary The name for the annotation processor option that
+     *  switches on the automatic persistence for configuration beans that
+     *  implement
+     *  {@link org.tquadrat.foundation.config.PreferencesBeanSpec}:
+     *  {@value}.}</p>
+     *  <p>If set, each call to a setter or an 'add' method of a property that
+     *  is tied to the preferences schedules a call to
+     *  {@link org.tquadrat.foundation.config.PreferencesBeanSpec#updatePreferences() updatePreferences()}
+     *  on a virtual thread; all modifications within the configured delay are
+     *  written with a single call. The generated bean provides the method
+     *  {@code flushNow()} to write pending modifications immediately, and it
+     *  registers a shutdown hook that does the same when the JVM
+     *  terminates.</p>
+     *  <p>The value for the option is the delay in milliseconds; if the
+     *  option is provided without a value, the delay is
+     *  {@value #DEFAULT_AUTO_PERSIST_DELAY}&nbsp;ms. A value of 0 switches
+     *  the automatic persistence off.</p>
+     */
+    public static final String OPTION_AutoPersistPreferences = "autoPersistPreferences";
+
+    /**
+     *  The default delay in milliseconds for the option
+     *  {@value #OPTION_AutoPersistPreferences}:
+     *  {@value}.
+     */
+    public static final long DEFAULT_AUTO_PERSIST_DELAY = 500L;
+
+    /**
+     *  <p>{@summary The name for the annotation processor option that
+     *  switches on the incremental load of the preferences for configuration
+     *  beans that implement
+     *  {@link org.tquadrat.foundation.config.PreferencesBeanSpec}:
+     *  {@value}.}</p>
+     *  <p>If set, the generated
+     *  {@link org.tquadrat.foundation.config.PreferencesBeanSpec#loadPreferences() loadPreferences()}
+     *  keeps a snapshot of the raw contents of each preference it has read;
+     *  after the node was synchronised with the backing store, it reads only
+     *  those preferences whose contents differ from their snapshot. As the
+     *  changes are detected on the node itself, this works also for
+     *  modifications that were made by another JVM, where no
+     *  {@link java.util.prefs.PreferenceChangeListener}
+     *  would be notified. The snapshot covers the value for the key of the
+     *  preference and the contents of a child node with the same name; a
+     *  custom accessor that stores its value elsewhere is not covered. The
+     *  bean provides the method {@code loadAllPreferences()} for an explicit
+     *  full reload.</p>
+     */
+    public static final String OPTION_IncrementalPreferencesLoad = "incrementalPreferencesLoad";
+
+    /**
+     *  <p>{@summary The name for the annotation processor option that
+     *  selects the
+     *  {@link java.util.prefs.PreferencesFactory}
+     *  that provides the root nodes for the preferences of the generated
+     *  configuration beans: {@value}.}</p>
+     *  <p>The value is the fully qualified name of a class that implements
+     *  {@code PreferencesFactory} and that provides a public no-argument
+     *  constructor. If set, the generated code retrieves the user and system
+     *  root nodes from a new instance of that class, instead of calling
+     *  {@link java.util.prefs.Preferences#userRoot()}
+     *  and
+     *  {@link java.util.prefs.Preferences#systemRoot()}.</p>
+     *  <p>The factory class has to be provided by the project that uses the
+     *  generated configuration beans, as these reference it at runtime; a
+     *  class from the package of the annotation processor is rejected, as
+     *  the annotation processor is not available at runtime.</p>
+     */
+    public static final String OPTION_PreferencesFactory = "preferencesFactory";
+
+    /**
+     *  <p>{@summary The name for the annotation processor option that
+     *  switches on the hot reload for configuration beans that implement
+     *  {@link org.tquadrat.foundation.config.INIBeanSpec}:
+     *  {@value}.}</p>
+     *  <p>If set, the first call to
+     *  {@link org.tquadrat.foundation.config.INIBeanSpec#loadINIFile() loadINIFile()}
+     *  starts a virtual thread that watches the file that backs the
+     *  {@link org.tquadrat.foundation.inifile.INIFile}
+     *  instance with a
+     *  {@link java.nio.file.WatchService};
+     *  when the file was modified, and no further modification occurred
+     *  within the configured delay, {@code loadINIFile()} is called again.
+     *  Change events will be fired only for the properties whose values
+     *  were actually changed by a reload.</p>
+     *  <p>The value for the option is the delay in milliseconds; if the
+     *  option is provided without a value, the delay is
+     *  {@value #DEFAULT_INI_FILE_WATCH_DELAY}&nbsp;ms. A value of 0 switches
+     *  the hot reload off.</p>
+     */
+    public static final String OPTION_WatchINIFile = "watchINIFile";
+
+    /**
+     *  The default delay in milliseconds for the option
+     *  {@value #OPTION_WatchINIFile}:
+     *  {@value}.
+     */
+    public static final long DEFAULT_INI_FILE_WATCH_DELAY = 250L;
+
+    /**
+     *  <p>{@summary The name for the annotation processor option that
+     *  switches on the crash-safe save for configuration beans that implement
+     *  {@link org.tquadrat.foundation.config.INIBeanSpec}:
+     *  {@value}.}</p>
+     *  <p>If set, the generated
+     *  {@link org.tquadrat.foundation.config.INIBeanSpec#updateINIFile() updateINIFile()}
+     *  does not write the file that backs the
+     *  {@link org.tquadrat.foundation.inifile.INIFile}
+     *  instance directly. Instead, it copies the current file to a sibling
+     *  temporary file, writes the modified values to that copy, forces it
+     *  to the storage device, and replaces the original file with it
+     *  through an atomic move. A reader will see either the old or the new
+     *  contents, but never a partially written file.</p>
+     */
+    public static final String OPTION_AtomicINIFileSave = "atomicINIFileSave";
+
+    /**
+     *  <p>{@summary The name for the annotation processor option that
+     *  switches on the automatic persistence for configuration beans that
+     *  implement
+     *  {@link org.tquadrat.foundation.config.INIBeanSpec}:
+     *  {@value}.}</p>
+     *  <p>If set, each call to a setter or an 'add' method of a property that
+     *  is tied to the INI file calls the generated method
+     *  {@code updateINIFileAsync()}. That method schedules a call to
+     *  {@link org.tquadrat.foundation.config.INIBeanSpec#updateINIFile() updateINIFile()}
+     *  on a virtual thread, and returns a
+     *  {@link java.util.concurrent.CompletableFuture}
+     *  that completes when the file was written; all calls within the
+     *  configured delay share the same write, and the same future. The
+     *  bean also registers a shutdown hook that writes pending
+     *  modifications when the JVM terminates.</p>
+     *  <p>The value for the option is the delay in milliseconds; if the
+     *  option is provided without a value, the delay is
+     *  {@value #DEFAULT_INI_AUTO_PERSIST_DELAY}&nbsp;ms. A value of 0
+     *  switches the automatic persistence off.</p>
+     */
+    public static final String OPTION_AutoPersistINIFile = "autoPersistINIFile";
+
+    /**
+     *  The default delay in milliseconds for the option
+     *  {@value #OPTION_AutoPersistINIFile}:
+     *  {@value}.
+     */
+    public static final long DEFAULT_INI_AUTO_PERSIST_DELAY = 500L;
+
+    /**
+     *  <p>{@summary The name for the annotation processor option that
+     *  switches on the memory mapped read of the INI file for configuration
+     *  beans that implement
+     *  {@link org.tquadrat.foundation.config.INIBeanSpec}:
+     *  {@value}.}</p>
+     *  <p>If set, the generated
+     *  {@link org.tquadrat.foundation.config.INIBeanSpec#loadINIFile() loadINIFile()}
+     *  maps a modified file into memory and locates the groups that hold the
+     *  values for the configuration bean; only the group headers are decoded.
+     *  A digest over these groups is compared with that from the last load,
+     *  and the values are loaded from the
+     *  {@link org.tquadrat.foundation.inifile.INIFile}
+     *  instance only if one of these groups was changed. Otherwise, the
+     *  refresh of the {@code INIFile} instance is deferred until it is
+     *  used next, by
+     *  {@link org.tquadrat.foundation.config.INIBeanSpec#obtainINIFile() obtainINIFile()}
+     *  or by the update of the file. The mapping is released before the
+     *  method returns.</p>
+     *  <p>If a group header cannot be decoded, the values are always loaded,
+     *  so that the result is the same as without this option.</p>
+     */
+    public static final String OPTION_MappedINIFileLoad = "mappedINIFileLoad";
+
+    /**
+     *  <p>{@summary The name for the annotation processor option that
+     *  requests the reload of single groups of the INI file for configuration
+     *  beans that implement
+     *  {@link org.tquadrat.foundation.config.INIBeanSpec}:
+     *  {@value}.}</p>
+     *  <p>If set, the configuration bean gets the method
+     *  {@code loadINIGroup(String)} that reloads only the values for the
+     *  properties that are tied to the given group, and the method
+     *  {@code detectChangedINIGroups()} that returns the names of those
+     *  groups whose values in the file were changed since its last call.</p>
+     */
+    public static final String OPTION_INIGroupReload = "iniGroupReload";
+
+    /**
+     *  <p>{@summary The name for the annotation processor option that lets
+     *  all instances of a configuration bean that implements
+     *  {@link org.tquadrat.foundation.config.INIBeanSpec}
+     *  share one
+     *  {@link org.tquadrat.foundation.inifile.INIFile}
+     *  instance for the same path: {@value}.}</p>
+     *  <p>If set, the generated configuration bean keeps the
+     *  {@code INIFile} instances in a static map, by the absolute path of
+     *  the file; the instances are referenced weakly, so an instance will be
+     *  released when the last configuration bean that uses it is gone. The
+     *  file will be read only once for each modification, regardless of the
+     *  number of beans that reload it.</p>
+     */
+    public static final String OPTION_SharedINIFile = "sharedINIFile";
+
+    /**
+     *  <p>{@summary The name for the annotation processor option that lets
+     *  the processor lay out the command line model of a configuration bean
+     *  that implements
+     *  {@link org.tquadrat.foundation.config.CLIBeanSpec}
+     *  at compile time: {@value}.}</p>
+     *  <p>If set, the metadata for the CLI definitions is laid out once, for
+     *  the class, in a static method; an instance of the configuration bean
+     *  creates its own value handlers and binds them to that metadata only
+     *  when the CLI definitions are used for the first time, and not in the
+     *  constructor.</p>
+     *  <p>The usage text is laid out at compile time, by the processor
+     *  itself and not by {@code ConfigUtil.printUsage()}: a synopsis line,
+     *  followed by one line for each option and argument with its usage
+     *  text. {@code printUsage()} inserts only the command and the usage
+     *  texts for the CLI properties with a usage key, taken from the
+     *  resource bundle, into that text.</p>
+     *  <p>The command line itself is still parsed by
+     *  {@code ConfigUtil.parseCommandLine()},
+     *  from the list of the CLI definitions; the option does not generate
+     *  a lookup table from the option names and argument indexes to the CLI
+     *  definitions, nor a token dispatch of its own, as the value handlers
+     *  can be driven only by that parser.</p>
+     */
+    public static final String OPTION_PrecompiledCLI = "precompiledCLI";
+
+    /**
+     *  <p>{@summary The name for the annotation processor option that lets
+     *  a configuration bean that implements
+     *  {@link org.tquadrat.foundation.config.CLIBeanSpec}
+     *  read the values for its multi-valued argument from argument files:
+     *  {@value}.}</p>
+     *  <p>If set, an argument of the form <code>@@<i>&lt;file&gt;</i></code>
+     *  on the command line names a file with one value per line; the file
+     *  is read line by line, and each value is converted and added to the
+     *  collection of the multi-valued argument with the highest index,
+     *  without expanding the file into the command line. Arguments of the
+     *  form <code>@<i>&lt;file&gt;</i></code> are still handled as
+     *  parameter files.</p>
+     *  <p>The token for the argument file stays on the command line: the
+     *  value handler of the multi-valued argument reads the file when the
+     *  parser hands that token to it, so the values from the file take its
+     *  place among the values from the command line, and the argument
+     *  counts as present when the parser checks for the required arguments.
+     *  A token that is the value for an option never reaches that value
+     *  handler; a token after the end-of-options marker {@code --} that
+     *  starts with {@code @@} names an argument file, too.</p>
+     *  <p>The option has no effect if the configuration bean does not have
+     *  a multi-valued argument that is a {@code List} or a
+     *  {@code Set}.</p>
+     */
+    public static final String OPTION_StreamedArgumentFiles = "streamedArgumentFiles";
+
         /*------------*\
     ====** Attributes **=======================================================
         \*------------*/
@@ -485,6 +874,25 @@ public class ConfigAnnotationProcessor extends APBase
     @SuppressWarnings( "OptionalUsedAsFieldOrParameterType" )
     private Optional<String> m_BaseBundleName;
 
+    /**
+     *  The index for the generated configuration beans.
+     */
+    private final ConfigBeanIndex m_ConfigBeanIndex = new ConfigBeanIndex();
+
+    /**
+     *  The name for the registry class of the index of the generated
+     *  configuration beans; will be determined on the first configuration
+     *  bean, if not provided with the option
+     *  {@value #OPTION_ConfigBeanIndex}.
+     */
+    private ClassName m_ConfigBeanIndexClass;
+
+    /**
+     *  The flag that indicates whether the registry class for the index of
+     *  the generated configuration beans was already written.
+     */
+    private boolean m_ConfigBeanRegistryWritten = false;
+
     /**
      *  <p>{@summary The message prefix.} The value will be set in
      *  {@link #process(Set, RoundEnvironment)}
@@ -494,6 +902,19 @@ public class ConfigAnnotationProcessor extends APBase
     @SuppressWarnings( "OptionalUsedAsFieldOrParameterType" )
     private Optional<String> m_MessagePrefix;
 
+    /**
+     *  The collected metadata for GraalVM's {@code native-image} tool.
+     */
+    private final NativeImageMetadata m_NativeImageMetadata = new NativeImageMetadata();
+
+    /**
+     *  The location for the metadata for GraalVM's {@code native-image} tool,
+     *  below {@code META-INF/native-image}; will be determined on the first
+     *  configuration bean, if not provided with the option
+     *  {@value #OPTION_NativeImageMetadata}.
+     */
+    private String m_NativeImageMetadataLocation;
+
     /**
      *  The preferences accessor classes.
      */
@@ -1710,6 +2131,25 @@ public class ConfigAnnotationProcessor extends APBase
         return retValue;
     }   //  initStringConvertersForTypeNames()
 
+    /**
+     *  Checks whether the given annotation processor option is set. An option
+     *  is considered as set when it was provided without a value
+     *  ({@code -A<option>}) or with the value {@code true}
+     *  ({@code -A<option>=true}).
+     *
+     *  @param  option  The name of the option.
+     *  @return {@code true} if the option is set, {@code false} otherwise.
+     */
+    private final boolean isOptionSet( final String option )
+    {
+        final var options = processingEnv.getOptions();
+        final var retValue = options.containsKey( requireNonNullArgument( option, "option" ) )
+            && (isNull( options.get( option ) ) || Boolean.parseBoolean( options.get( option ) ));
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  isOptionSet()
+
     /**
      *  Parses the given annotation and updates the given property accordingly.
      *
@@ -1952,6 +2392,25 @@ public class ConfigAnnotationProcessor extends APBase
             }
         }
 
+        /*
+         * The registry class for the index is a source file; it is written in
+         * the first round that does not provide any further configuration
+         * bean specifications, as sources that are created on the last round
+         * will not be compiled anymore. The service provider configuration
+         * files are resources; these are written on the last round, so that
+         * they cover the configuration beans from all rounds.
+         */
+        if( roundEnvironment.processingOver() )
+        {
+            //---* Write the collected metadata on the last round *------------
+            writeConfigBeanServiceFiles();
+            writeNativeImageMetadata();
+        }
+        else if( !m_ConfigBeanRegistryWritten && roundEnvironment.getElementsAnnotatedWith( ConfigurationBeanSpecification.class ).isEmpty() )
+        {
+            writeConfigBeanRegistry();
+        }
+
         //---* Done *----------------------------------------------------------
         return retValue;
     }   //  process()
@@ -2022,6 +2481,21 @@ public class ConfigAnnotationProcessor extends APBase
         final var specificationClass = ClassName.from( specification );
         final var configuration = new CodeGenerationConfiguration( this, composer, specificationClass, configurationBeanClassName, configurationBeanPackageName, baseClass, synchronizeAccess );
 
+        //---* Apply the annotation processor options *------------------------
+        configuration.setLambdaFree( isOptionSet( OPTION_LambdaFree ) );
+        configuration.setLazyInitialisation( isOptionSet( OPTION_LazyInitialisation ) );
+        configuration.setAutoPersistDelay( retrieveDelay( OPTION_AutoPersistPreferences, DEFAULT_AUTO_PERSIST_DELAY ) );
+        configuration.setINIFileWatchDelay( retrieveDelay( OPTION_WatchINIFile, DEFAULT_INI_FILE_WATCH_DELAY ) );
+        configuration.setAtomicINIFileSave( isOptionSet( OPTION_AtomicINIFileSave ) );
+        configuration.setINIAutoPersistDelay( retrieveDelay( OPTION_AutoPersistINIFile, DEFAULT_INI_AUTO_PERSIST_DELAY ) );
+        configuration.setMappedINIFileLoad( isOptionSet( OPTION_MappedINIFileLoad ) );
+        configuration.setINIGroupReload( isOptionSet( OPTION_INIGroupReload ) );
+        configuration.setSharedINIFile( isOptionSet( OPTION_SharedINIFile ) );
+        configuration.setPrecompiledCLI( isOptionSet( OPTION_PrecompiledCLI ) );
+        configuration.setStreamedArgumentFiles( isOptionSet( OPTION_StreamedArgumentFiles ) );
+        configuration.setIncrementalPreferencesLoad( isOptionSet( OPTION_IncrementalPreferencesLoad ) );
+        configuration.setPreferencesFactory( retrievePreferencesFactory() );
+
         //---* Determine the name for the initialisation data resource *-------
         var initDataResource = specificationAnnotation.initDataResource();
         if( isNotEmptyOrBlank( initDataResource ) )
@@ -2092,6 +2566,39 @@ public class ConfigAnnotationProcessor extends APBase
 
             //---* Write the source file *-------------------------------------
             javaFile.writeTo( getFiler() );
+
+            //---* Add the configuration bean to the index *-------------------
+            final var options = processingEnv.getOptions();
+            if( options.containsKey( OPTION_ConfigBeanIndex ) )
+            {
+                m_ConfigBeanIndex.add( configuration );
+                if( isNull( m_ConfigBeanIndexClass ) )
+                {
+                    final var indexClass = options.get( OPTION_ConfigBeanIndex );
+                    m_ConfigBeanIndexClass = isNotEmptyOrBlank( indexClass ) && indexClass.contains( "." )
+                        ? ClassName.from( indexClass.substring( 0, indexClass.lastIndexOf( '.' ) ), indexClass.substring( indexClass.lastIndexOf( '.' ) + 1 ) )
+                        : ClassName.from( configurationBeanPackageName.toString(), isNotEmptyOrBlank( indexClass ) ? indexClass : DEFAULT_INDEX_CLASS_NAME );
+                }
+
+                /*
+                 * A source file cannot be written twice; a configuration bean
+                 * that is generated after the registry class will be in the
+                 * service provider configuration files, but not in the
+                 * registry.
+                 */
+                if( m_ConfigBeanRegistryWritten ) printMessage( ERROR, format( MSG_BeanAfterRegistry, specification.getQualifiedName().toString(), m_ConfigBeanIndexClass.canonicalName() ), specification );
+            }
+
+            //---* Collect the metadata for native-image *---------------------
+            if( options.containsKey( OPTION_NativeImageMetadata ) )
+            {
+                m_NativeImageMetadata.add( configuration );
+                if( isNull( m_NativeImageMetadataLocation ) )
+                {
+                    final var location = options.get( OPTION_NativeImageMetadata );
+                    m_NativeImageMetadataLocation = isNotEmptyOrBlank( location ) ? location : configurationBeanPackageName.toString();
+                }
+            }
         }
         catch( @SuppressWarnings( "OverlyBroadCatchBlock" ) final Exception e )
         {
@@ -2147,6 +2654,49 @@ public class ConfigAnnotationProcessor extends APBase
         return retValue;
     }   //  retrieveAccessorClass()
 
+    /**
+     *  Retrieves a delay from the given annotation processor option, like
+     *  {@value #OPTION_AutoPersistPreferences}
+     *  or
+     *  {@value #OPTION_WatchINIFile}.
+     *
+     *  @param  option  The name of the option.
+     *  @param  defaultDelay    The delay in milliseconds that is used when
+     *      the option is provided without a value.
+     *  @return The delay, or {@code null} if the option is not set or if its
+     *      value is 0.
+     *  @throws CodeGenerationError The value for the option is invalid.
+     */
+    private final Duration retrieveDelay( final String option, final long defaultDelay ) throws CodeGenerationError
+    {
+        Duration retValue = null;
+        final var options = processingEnv.getOptions();
+        if( options.containsKey( option ) )
+        {
+            final var value = options.get( option );
+            if( isNotEmptyOrBlank( value ) )
+            {
+                try
+                {
+                    final var delay = Long.parseLong( value.strip() );
+                    if( delay < 0 ) throw new NumberFormatException();
+                    retValue = delay > 0 ? Duration.ofMillis( delay ) : null;
+                }
+                catch( final NumberFormatException e )
+                {
+                    throw new CodeGenerationError( format( MSG_InvalidOptionValue, option, value ), e );
+                }
+            }
+            else
+            {
+                retValue = Duration.ofMillis( defaultDelay );
+            }
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  retrieveDelay()
+
     /**
      *  <p>{@summary This methods checks whether the configuration bean
      *  specification specifies an {@code initData()} method.} This method has
@@ -2200,6 +2750,32 @@ public class ConfigAnnotationProcessor extends APBase
             .ifPresent( configuration::setInitDataMethod );
     }   //  retrieveInitDataMethod()
 
+    /**
+     *  Retrieves the class for the
+     *  {@link java.util.prefs.PreferencesFactory}
+     *  from the annotation processor option
+     *  {@value #OPTION_PreferencesFactory}.
+     *
+     *  @return The factory class, or {@code null} if the option is not set.
+     *  @throws CodeGenerationError The value for the option is invalid.
+     */
+    private final ClassName retrievePreferencesFactory() throws CodeGenerationError
+    {
+        ClassName retValue = null;
+        final var options = processingEnv.getOptions();
+        if( options.containsKey( OPTION_PreferencesFactory ) )
+        {
+            final var value = options.get( OPTION_PreferencesFactory );
+            final var factoryClass = isNotEmptyOrBlank( value ) ? value.strip() : EMPTY_STRING;
+            final var pos = factoryClass.lastIndexOf( '.' );
+            if( (pos <= 0) || factoryClass.startsWith( ConfigAnnotationProcessor.class.getPackageName() + "." ) ) throw new CodeGenerationError( format( MSG_InvalidOptionValue, OPTION_PreferencesFactory, value ) );
+            retValue = ClassName.from( factoryClass.substring( 0, pos ), factoryClass.substring( pos + 1 ) );
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  retrievePreferencesFactory()
+
     /**
      *  <p>{@summary Scans the configuration bean specification for the
      *  properties and stores the result to the configuration.}</p>
@@ -2339,6 +2915,74 @@ public class ConfigAnnotationProcessor extends APBase
         //---* Done *----------------------------------------------------------
         return retValue;
     }   //  retrieveSubjectClass()
+
+    /**
+     *  Writes the registry class for the index of the generated configuration
+     *  beans, provided that this was requested by the option
+     *  {@value #OPTION_ConfigBeanIndex}.
+     */
+    private final void writeConfigBeanRegistry()
+    {
+        if( !m_ConfigBeanIndex.isEmpty() && nonNull( m_ConfigBeanIndexClass ) )
+        {
+            m_ConfigBeanRegistryWritten = true;
+            try
+            {
+                final var composer = new JavaComposer( LAYOUT_FOUNDATION, addDebugOutput() );
+                m_ConfigBeanIndex.createRegistryClass( composer, m_ConfigBeanIndexClass, Instant.now() )
+                    .writeTo( getFiler() );
+            }
+            catch( final IOException e )
+            {
+                printMessage( ERROR, format( "Writing the configuration bean index failed: %s", e.getMessage() ) );
+            }
+        }
+    }   //  writeConfigBeanRegistry()
+
+    /**
+     *  Writes the service provider configuration files for the index of the
+     *  generated configuration beans, provided that this was requested by the
+     *  option
+     *  {@value #OPTION_ConfigBeanIndex};
+     *  this is done on the last round. If the registry class could not be
+     *  written before, this is an error.
+     */
+    private final void writeConfigBeanServiceFiles()
+    {
+        if( !m_ConfigBeanIndex.isEmpty() && nonNull( m_ConfigBeanIndexClass ) )
+        {
+            try
+            {
+                m_ConfigBeanIndex.writeServiceFiles( getFiler() );
+            }
+            catch( final IOException e )
+            {
+                printMessage( ERROR, format( "Writing the configuration bean index failed: %s", e.getMessage() ) );
+            }
+            if( !m_ConfigBeanRegistryWritten ) printMessage( ERROR, format( "The registry class '%s' could not be generated, as the configuration beans were generated on the last round only", m_ConfigBeanIndexClass.canonicalName() ) );
+        }
+    }   //  writeConfigBeanServiceFiles()
+
+    /**
+     *  Writes the metadata for GraalVM's {@code native-image} tool that was
+     *  collected for the configuration beans, provided that this was
+     *  requested by the option
+     *  {@value #OPTION_NativeImageMetadata}.
+     */
+    private final void writeNativeImageMetadata()
+    {
+        if( !m_NativeImageMetadata.isEmpty() && nonNull( m_NativeImageMetadataLocation ) )
+        {
+            try
+            {
+                m_NativeImageMetadata.writeTo( getFiler(), m_NativeImageMetadataLocation );
+            }
+            catch( final IOException e )
+            {
+                printMessage( ERROR, format( "Writing the native-image metadata failed: %s", e.getMessage() ) );
+            }
+        }
+    }   //  writeNativeImageMetadata()
 }
 //  class ConfigAnnotationProcessor
 
@@ -185,6 +185,19 @@ public interface PropertySpec
          */
         PROPERTY_IS_ARGUMENT,
 
+        /**
+         *  <p>{@summary Indicates that the value for the property will not be
+         *  initialised in the constructor, but on the first call to the
+         *  getter.} The field for such a property holds an instance of
+         *  {@link org.tquadrat.foundation.lang.Lazy}
+         *  instead of the value itself.</p>
+         *  <p>There is no related annotation for this flag; it is set for
+         *  eligible properties when the annotation processor option
+         *  {@value org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor#OPTION_LazyInitialisation}
+         *  is set.</p>
+         */
+        PROPERTY_IS_LAZY,
+
         /**
          *  Indicates that the property value can be modified. Basically, it
          *  means that there is a setter and/or an 'add' method for that
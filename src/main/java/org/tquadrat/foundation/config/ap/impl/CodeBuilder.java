@@ -67,6 +67,26 @@ public interface CodeBuilder
         @API( status = MAINTAINED, since = "0.0.1" )
         STD_FIELD_Accessors( "m_AccessorsRegistry" ),
 
+        /**
+         *  The delay for the automatic persistence of the preferences.
+         */
+        @API( status = MAINTAINED, since = "0.4.7" )
+        STD_FIELD_AutoPersistDelay( "m_AutoPersistDelay" ),
+
+        /**
+         *  The flag that indicates whether an automatic write of the
+         *  preferences is already scheduled.
+         */
+        @API( status = MAINTAINED, since = "0.4.7" )
+        STD_FIELD_AutoPersistScheduled( "m_AutoPersistScheduled" ),
+
+        /**
+         *  The queue for the references to the shared INIFile instances that
+         *  were cleared by the garbage collector.
+         */
+        @API( status = MAINTAINED, since = "0.4.7" )
+        STD_FIELD_ClearedSharedINIFiles( "m_ClearedSharedINIFiles" ),
+
         /**
          *  The CLI definitions.
          */
@@ -79,18 +99,148 @@ public interface CodeBuilder
         @API( status = MAINTAINED, since = "0.0.1" )
         STD_FIELD_CLIError( "m_CLIErrorMessage" ),
 
+        /**
+         *  The usage text that was laid out at compile time.
+         */
+        @API( status = MAINTAINED, since = "0.4.7" )
+        STD_FIELD_CLIUsage( "m_CLIUsage" ),
+
+        /**
+         *  The flags for the INI values that were modified since the last
+         *  call to {@code updateINIFile()}.
+         */
+        @API( status = MAINTAINED, since = "0.4.7" )
+        STD_FIELD_DirtyINIValues( "m_DirtyINIValues" ),
+
+        /**
+         *  The flags for the preferences that were modified since the last
+         *  call to {@code updatePreferences()}.
+         */
+        @API( status = MAINTAINED, since = "0.4.7" )
+        STD_FIELD_DirtyPreferences( "m_DirtyPreferences" ),
+
+        /**
+         *  The delay for the automatic persistence of the INI file.
+         */
+        @API( status = MAINTAINED, since = "0.4.7" )
+        STD_FIELD_INIAutoPersistDelay( "m_INIAutoPersistDelay" ),
+
+        /**
+         *  The pending automatic write of the INI file.
+         */
+        @API( status = MAINTAINED, since = "0.4.7" )
+        STD_FIELD_INIAutoPersistFuture( "m_INIAutoPersistFuture" ),
+
         /**
          *  The INIFile instance.
          */
         @API( status = MAINTAINED, since = "0.1.0" )
         STD_FIELD_INIFile( "m_INIFile" ),
 
+        /**
+         *  The last modification time of the file backing the INIFile when
+         *  its state was recorded last.
+         */
+        @API( status = MAINTAINED, since = "0.4.7" )
+        STD_FIELD_INIFileLastModified( "m_INIFileLastModified" ),
+
         /**
          *  The file name for the INIFile.
          */
         @API( status = MAINTAINED, since = "0.1.0" )
         STD_FIELD_INIFileName( "m_INIFilePath" ),
 
+        /**
+         *  The flag that indicates that the INIFile instance has to be
+         *  refreshed before it is used, as the last load skipped that.
+         */
+        @API( status = MAINTAINED, since = "0.4.7" )
+        STD_FIELD_INIFileRefreshPending( "m_INIFileRefreshPending" ),
+
+        /**
+         *  The objects that serialise the atomic saves of the instances of a
+         *  configuration bean class that share a file, by path.
+         */
+        @API( status = MAINTAINED, since = "0.4.7" )
+        STD_FIELD_INIFileSaveLocks( "m_INIFileSaveLocks" ),
+
+        /**
+         *  The size of the file backing the INIFile when its state was
+         *  recorded last.
+         */
+        @API( status = MAINTAINED, since = "0.4.7" )
+        STD_FIELD_INIFileSize( "m_INIFileSize" ),
+
+        /**
+         *  The delay for the hot reload of the INIFile.
+         */
+        @API( status = MAINTAINED, since = "0.4.7" )
+        STD_FIELD_INIFileWatchDelay( "m_INIFileWatchDelay" ),
+
+        /**
+         *  The watch service that is shared by all instances of a
+         *  configuration bean class.
+         */
+        @API( status = MAINTAINED, since = "0.4.7" )
+        STD_FIELD_INIFileWatchService( "m_INIFileWatchService" ),
+
+        /**
+         *  The instances that are reloaded when the file backing their
+         *  INIFile was modified, by path.
+         */
+        @API( status = MAINTAINED, since = "0.4.7" )
+        STD_FIELD_INIFileWatchTargets( "m_INIFileWatchTargets" ),
+
+        /**
+         *  The flag that indicates whether the file backing the INIFile was
+         *  already registered with the watcher.
+         */
+        @API( status = MAINTAINED, since = "0.4.7" )
+        STD_FIELD_INIFileWatcherStarted( "m_INIFileWatcherStarted" ),
+
+        /**
+         *  The flag that indicates whether the shutdown hook that writes the
+         *  pending modifications to the INI file was already registered.
+         */
+        @API( status = MAINTAINED, since = "0.4.7" )
+        STD_FIELD_INIFlushHookRegistered( "m_INIFlushHookRegistered" ),
+
+        /**
+         *  The instances whose pending modifications will be written to the
+         *  INI file on shutdown.
+         */
+        @API( status = MAINTAINED, since = "0.4.7" )
+        STD_FIELD_INIFlushTargets( "m_INIFlushTargets" ),
+
+        /**
+         *  The raw values for the groups of the INI file, as they were seen
+         *  by the last check for modified groups.
+         */
+        @API( status = MAINTAINED, since = "0.4.7" )
+        STD_FIELD_INIGroupValues( "m_INIGroupValues" ),
+
+        /**
+         *  The digest over the groups of the INI file that hold values for
+         *  the properties of the configuration bean, as it was taken when
+         *  these values were loaded last.
+         */
+        @API( status = MAINTAINED, since = "0.4.7" )
+        STD_FIELD_INISectionsDigest( "m_INISectionsDigest" ),
+
+        /**
+         *  The groups of the INI file that hold values for the properties of
+         *  the configuration bean.
+         */
+        @API( status = MAINTAINED, since = "0.4.7" )
+        STD_FIELD_INIValueGroups( "m_INIValueGroups" ),
+
+        /**
+         *  The flag that tells whether the values of the configuration bean
+         *  were written to the INI file at least once.
+         */
+        @API( status = MAINTAINED, since = "0.4.7" )
+        STD_FIELD_INIValuesPersisted( "m_INIValuesPersisted" ),
+
         /**
          *  The listener support.
          */
@@ -103,6 +253,34 @@ public interface CodeBuilder
         @API( status = MAINTAINED, since = "0.1.0" )
         STD_FIELD_PreferenceChangeListener( "m_PreferenceChangeListener" ),
 
+        /**
+         *  The snapshots of the preferences, taken when they were read last
+         *  by {@code loadPreferences()}.
+         */
+        @API( status = MAINTAINED, since = "0.4.7" )
+        STD_FIELD_PreferenceSnapshots( "m_PreferenceSnapshots" ),
+
+        /**
+         *  The flag that indicates whether the shutdown hook that writes the
+         *  pending modifications of the preferences was already registered.
+         */
+        @API( status = MAINTAINED, since = "0.4.7" )
+        STD_FIELD_PreferencesFlushHookRegistered( "m_PreferencesFlushHookRegistered" ),
+
+        /**
+         *  The instances whose pending modifications of the preferences will
+         *  be written on shutdown.
+         */
+        @API( status = MAINTAINED, since = "0.4.7" )
+        STD_FIELD_PreferencesFlushTargets( "m_PreferencesFlushTargets" ),
+
+        /**
+         *  The flag that tells whether the preferences of the configuration
+         *  bean were written to the backing store at least once.
+         */
+        @API( status = MAINTAINED, since = "0.4.7" )
+        STD_FIELD_PreferencesPersisted( "m_PreferencesPersisted" ),
+
         /**
          *  The preferences root.
          */
@@ -137,6 +315,20 @@ public interface CodeBuilder
         @API( status = MAINTAINED, since = "0.0.2" )
         STD_FIELD_ResourceBundle( "m_ResourceBundle" ),
 
+        /**
+         *  The holder for the INIFile instance that is shared with the other
+         *  instances of the configuration bean.
+         */
+        @API( status = MAINTAINED, since = "0.4.7" )
+        STD_FIELD_SharedINIFile( "m_SharedINIFile" ),
+
+        /**
+         *  The INIFile instances that are shared by the instances of the
+         *  configuration bean, by path.
+         */
+        @API( status = MAINTAINED, since = "0.4.7" )
+        STD_FIELD_SharedINIFiles( "m_SharedINIFiles" ),
+
         /**
          *  The user preferences.
          */
@@ -230,13 +422,26 @@ public interface CodeBuilder
         @API( status = MAINTAINED, since = "0.2.0" )
         STD_METHOD_RemoveListener( "removeListener" ),
 
+        /**
+         *  The method that schedules the automatic persistence of the
+         *  preferences.
+         */
+        @API( status = MAINTAINED, since = "0.4.7" )
+        STD_METHOD_ScheduleAutoPersist( "scheduleAutoPersist" ),
+
         /**
          *  The
          *  {@link Object#toString()}
          *  method.
          */
         @API( status = MAINTAINED, since = "0.2.0" )
-        STD_METHOD_ToString( "toString" );
+        STD_METHOD_ToString( "toString" ),
+
+        /**
+         *  The method that schedules the asynchronous write of the INI file.
+         */
+        @API( status = MAINTAINED, since = "0.4.7" )
+        STD_METHOD_UpdateINIFileAsync( "updateINIFileAsync" );
 
             /*------------*\
         ====** Attributes **===================================================
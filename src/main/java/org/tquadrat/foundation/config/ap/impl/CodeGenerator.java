@@ -32,7 +32,11 @@ import static org.tquadrat.foundation.config.SpecialPropertyType.CONFIG_PROPERTY
 import static org.tquadrat.foundation.config.SpecialPropertyType.CONFIG_PROPERTY_SESSION;
 import static org.tquadrat.foundation.config.SpecialPropertyType.CONFIG_PROPERTY_TIMEZONE;
 import static org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor.MSG_MissingInterface;
+import static org.tquadrat.foundation.config.ap.PropertySpec.PropertyFlag.PROPERTY_IS_ARGUMENT;
+import static org.tquadrat.foundation.config.ap.PropertySpec.PropertyFlag.PROPERTY_IS_LAZY;
 import static org.tquadrat.foundation.config.ap.PropertySpec.PropertyFlag.PROPERTY_IS_MUTABLE;
+import static org.tquadrat.foundation.config.ap.PropertySpec.PropertyFlag.PROPERTY_IS_OPTION;
+import static org.tquadrat.foundation.config.ap.PropertySpec.PropertyFlag.SYSTEM_PREFERENCE;
 import static org.tquadrat.foundation.javacomposer.SuppressableWarnings.OVERLY_COMPLEX_CLASS;
 import static org.tquadrat.foundation.javacomposer.SuppressableWarnings.OVERLY_COUPLED_CLASS;
 import static org.tquadrat.foundation.lang.Objects.nonNull;
@@ -42,6 +46,7 @@ import java.util.EnumMap;
 import java.util.EnumSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import org.apiguardian.api.API;
 import org.tquadrat.foundation.annotation.ClassVersion;
@@ -55,6 +60,7 @@ import org.tquadrat.foundation.config.SessionBeanSpec;
 import org.tquadrat.foundation.config.SpecialPropertyType;
 import org.tquadrat.foundation.config.ap.CodeGenerationConfiguration;
 import org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor;
+import org.tquadrat.foundation.config.ap.PropertySpec;
 import org.tquadrat.foundation.config.ap.impl.codebuilders.CLIBeanBuilder;
 import org.tquadrat.foundation.config.ap.impl.codebuilders.CodeGeneratorContext;
 import org.tquadrat.foundation.config.ap.impl.codebuilders.ConfigBeanBuilder;
@@ -207,6 +213,19 @@ public final class CodeGenerator implements CodeGeneratorContext
            m_Configuration.getProperty( CONFIG_PROPERTY_RESOURCEBUNDLE.getPropertyName() ).ifPresent( p -> ((PropertySpecImpl) p).setFlag( PROPERTY_IS_MUTABLE )  );
         }
 
+        /*
+         * If lazy initialisation was requested, the respective flag will be
+         * set for all properties that are eligible for it.
+         */
+        if( m_Configuration.getLazyInitialisation() )
+        {
+            for( final var iterator = m_Configuration.propertyIterator(); iterator.hasNext(); )
+            {
+                final var property = iterator.next();
+                if( isLazyCandidate( property ) ) ((PropertySpecImpl) property).setFlag( PROPERTY_IS_LAZY );
+            }
+        }
+
         /*
          *  The interface ConfigBeanSpec is mandatory; if this is not extended
          *  by the current configuration bean specification, we are done …
@@ -377,6 +396,31 @@ public final class CodeGenerator implements CodeGeneratorContext
         //---* Done *----------------------------------------------------------
         return retValue;
     }   //  getSpecialPropertySpecification
+
+    /**
+     *  <p>{@summary Checks whether the given property can be initialised
+     *  lazily.}</p>
+     *  <p>This is the case for the
+     *  {@linkplain SpecialPropertyType#CONFIG_PROPERTY_RANDOM random}
+     *  property, and for those properties that are read from the SYSTEM
+     *  {@code Preferences} and cannot be modified otherwise. Properties with
+     *  a primitive type are excluded, as a missing preferences node would
+     *  leave them without a value.</p>
+     *
+     *  @param  property    The property to check.
+     *  @return {@code true} if the property can be initialised lazily,
+     *      {@code false} otherwise.
+     */
+    private static final boolean isLazyCandidate( final PropertySpec property )
+    {
+        final var retValue = property.getSpecialPropertyType().filter( type -> type == CONFIG_PROPERTY_RANDOM ).isPresent()
+            || (property.hasFlag( SYSTEM_PREFERENCE )
+                && Stream.of( PROPERTY_IS_MUTABLE, PROPERTY_IS_OPTION, PROPERTY_IS_ARGUMENT ).noneMatch( property::hasFlag )
+                && !property.getPropertyType().isPrimitive());
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  isLazyCandidate()
 }
 //  class CodeGenerator
 
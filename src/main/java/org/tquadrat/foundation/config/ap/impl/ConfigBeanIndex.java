@@ -0,0 +1,336 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.config.ap.impl;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.PUBLIC;
+import static javax.lang.model.element.Modifier.STATIC;
+import static javax.tools.StandardLocation.CLASS_OUTPUT;
+import static org.apiguardian.api.API.Status.STABLE;
+import static org.tquadrat.foundation.lang.CommonConstants.EMPTY_STRING;
+import static org.tquadrat.foundation.lang.Objects.requireNonNullArgument;
+
+import javax.annotation.processing.Filer;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.apiguardian.api.API;
+import org.tquadrat.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.config.SessionBeanSpec;
+import org.tquadrat.foundation.config.ap.CodeGenerationConfiguration;
+import org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor;
+import org.tquadrat.foundation.exception.PrivateConstructorForStaticClassCalledError;
+import org.tquadrat.foundation.javacomposer.ClassName;
+import org.tquadrat.foundation.javacomposer.JavaComposer;
+import org.tquadrat.foundation.javacomposer.JavaFile;
+import org.tquadrat.foundation.javacomposer.ParameterizedTypeName;
+import org.tquadrat.foundation.javacomposer.TypeVariableName;
+import org.tquadrat.foundation.javacomposer.WildcardTypeName;
+import org.tquadrat.foundation.lang.Objects;
+
+/**
+ *  <p>{@summary Collects the configuration bean specifications together
+ *  with their generated implementations, and creates an index for them.}
+ *  The index allows to find the configuration beans at runtime without the
+ *  need to scan the class path, or to know the names of the generated
+ *  classes.</p>
+ *  <p>The index consists of two parts:</p>
+ *  <ul>
+ *      <li>a service provider configuration file in
+ *      {@code META-INF/services} for each specification whose
+ *      implementation has a default constructor, so that the configuration
+ *      bean can be loaded through
+ *      {@link java.util.ServiceLoader},</li>
+ *      <li>a generated registry class with a factory method that creates the
+ *      configuration bean for a specification without any reflection, and a
+ *      lookup for the name of the implementation class.</li>
+ *  </ul>
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: ConfigBeanIndex.java 1173 2026-10-18 12:31:46Z tquadrat $
+ *  @UMLGraph.link
+ *  @since 0.4.7
+ */
+@ClassVersion( sourceVersion = "$Id: ConfigBeanIndex.java 1173 2026-10-18 12:31:46Z tquadrat $" )
+@API( status = STABLE, since = "0.4.7" )
+public final class ConfigBeanIndex
+{
+        /*---------------*\
+    ====** Inner Classes **====================================================
+        \*---------------*/
+    /**
+     *  An entry for the index.
+     *
+     *  @param  specification   The configuration bean specification.
+     *  @param  implementation  The generated configuration bean class.
+     *  @param  hasDefaultConstructor   {@code true} if the configuration
+     *      bean class has a default constructor, {@code false} if the
+     *      constructor takes arguments.
+     *
+     *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+     *  @version $Id: ConfigBeanIndex.java 1173 2026-10-18 12:31:46Z tquadrat $
+     *  @since 0.4.7
+     */
+    @ClassVersion( sourceVersion = "$Id: ConfigBeanIndex.java 1173 2026-10-18 12:31:46Z tquadrat $" )
+    @API( status = STABLE, since = "0.4.7" )
+    public record Entry( ClassName specification, ClassName implementation, boolean hasDefaultConstructor ) { /* Empty */ }
+
+        /*------------*\
+    ====** Attributes **=======================================================
+        \*------------*/
+    /**
+     *  The entries, with the canonical name of the specification as the key.
+     */
+    private final SortedMap<String,Entry> m_Entries = new TreeMap<>();
+
+        /*--------------*\
+    ====** Constructors **=====================================================
+        \*--------------*/
+    /**
+     *  Creates a new instance of {@code ConfigBeanIndex}.
+     */
+    public ConfigBeanIndex() { /* Just exists */ }
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Adds the configuration bean that is described by the given
+     *  configuration to the index.
+     *
+     *  @param  configuration   The configuration for the generation of the
+     *      configuration bean.
+     */
+    @SuppressWarnings( "UseOfConcreteClass" )
+    public final void add( final CodeGenerationConfiguration configuration )
+    {
+        requireNonNullArgument( configuration, "configuration" );
+
+        final var specification = configuration.getSpecification();
+        final var implementation = ClassName.from( configuration.getPackageName().toString(), configuration.getClassName().toString() );
+
+        /*
+         * The constructor of a session bean takes the session key as an
+         * argument.
+         */
+        final var hasDefaultConstructor = !configuration.implementInterface( SessionBeanSpec.class );
+        m_Entries.put( specification.canonicalName(), new Entry( specification, implementation, hasDefaultConstructor ) );
+    }   //  add()
+
+    /**
+     *  Creates the source for the registry class.
+     *
+     *  @param  composer    The composer that is used for the code generation.
+     *  @param  registryClass   The name of the registry class.
+     *  @param  buildTime   The time for the code generation.
+     *  @return The source for the registry class.
+     */
+    @SuppressWarnings( "UseOfConcreteClass" )
+    public final JavaFile createRegistryClass( final JavaComposer composer, final ClassName registryClass, final Instant buildTime )
+    {
+        requireNonNullArgument( composer, "composer" );
+        requireNonNullArgument( registryClass, "registryClass" );
+        final var sourceVersion = "Generated through %1$s at %2$s".formatted( ConfigAnnotationProcessor.class.getName(), requireNonNullArgument( buildTime, "buildTime" ).toString() );
+
+        //---* The constructor *-----------------------------------------------
+        final var constructor = composer.constructorBuilder()
+            .addModifiers( PRIVATE )
+            .addJavadoc(
+                """
+                No instance allowed for this class.
+                """ )
+            .addStatement( "throw new $1T( $2T.class )", PrivateConstructorForStaticClassCalledError.class, registryClass )
+            .build();
+
+        //---* The factory method *--------------------------------------------
+        final var typeVariable = TypeVariableName.from( "T" );
+        final var specificationArg = composer.parameterBuilder( ParameterizedTypeName.from( ClassName.from( Class.class ), typeVariable ), "specification", FINAL )
+            .build();
+        final var factoryCases = composer.codeBlockBuilder();
+        for( final var entry : m_Entries.values() )
+        {
+            if( entry.hasDefaultConstructor() )
+            {
+                factoryCases.addStatement( "case $1S -> new $2T()", entry.specification().reflectionName(), entry.implementation() );
+            }
+        }
+        final var factoryMethod = composer.methodBuilder( "createConfigurationBean" )
+            .addModifiers( PUBLIC, STATIC, FINAL )
+            .addTypeVariable( typeVariable )
+            .addParameter( specificationArg )
+            .returns( ParameterizedTypeName.from( ClassName.from( Optional.class ), typeVariable ) )
+            .addJavadoc(
+                """
+                Creates a new instance of the configuration bean for the given
+                specification.
+
+                @param  <T> The type of the configuration bean specification.
+                @param  $1N The configuration bean specification.
+                @return An instance of
+                    {@link Optional}
+                    that holds the new configuration bean; it is empty if the
+                    specification is unknown, or if the constructor of the
+                    configuration bean requires arguments.
+                """, specificationArg )
+            .addCode(
+                """
+                final $1T bean = switch( requireNonNullArgument( $2N, $3S ).getName() )
+                {$>
+                $4L\
+                default -> null;
+                $<};
+                final var retValue = $5T.ofNullable( $2N.cast( bean ) );
+                """, Object.class, specificationArg, specificationArg.name(), factoryCases.build(), Optional.class )
+            .addStaticImport( Objects.class, "requireNonNullArgument" )
+            .addCode( composer.createReturnStatement() )
+            .build();
+
+        //---* The lookup for the implementation class *-----------------------
+        final var lookupArg = composer.parameterBuilder( ParameterizedTypeName.from( ClassName.from( Class.class ), WildcardTypeName.subtypeOf( Object.class ) ), "specification", FINAL )
+            .build();
+        final var lookupCases = composer.codeBlockBuilder();
+        for( final var entry : m_Entries.values() )
+        {
+            lookupCases.addStatement( "case $1S -> $2S", entry.specification().reflectionName(), entry.implementation().reflectionName() );
+        }
+        final var lookupMethod = composer.methodBuilder( "getImplementationClassName" )
+            .addModifiers( PUBLIC, STATIC, FINAL )
+            .addParameter( lookupArg )
+            .returns( ParameterizedTypeName.from( Optional.class, String.class ) )
+            .addJavadoc(
+                """
+                Returns the name of the generated configuration bean class for the
+                given specification.
+
+                @param  $1N The configuration bean specification.
+                @return An instance of
+                    {@link Optional}
+                    that holds the name of the configuration bean class.
+                """, lookupArg )
+            .addCode(
+                """
+                final $1T className = switch( requireNonNullArgument( $2N, $3S ).getName() )
+                {$>
+                $4L\
+                default -> null;
+                $<};
+                final var retValue = $5T.ofNullable( className );
+                """, String.class, lookupArg, lookupArg.name(), lookupCases.build(), Optional.class )
+            .addStaticImport( Objects.class, "requireNonNullArgument" )
+            .addCode( composer.createReturnStatement() )
+            .build();
+
+        //---* The list of the specifications *--------------------------------
+        final var specificationsType = ParameterizedTypeName.from( ClassName.from( Set.class ), ParameterizedTypeName.from( ClassName.from( Class.class ), WildcardTypeName.subtypeOf( Object.class ) ) );
+        final var specifications = composer.codeBlockBuilder();
+        var separator = EMPTY_STRING;
+        for( final var entry : m_Entries.values() )
+        {
+            specifications.add( "$1L$2T.class", separator, entry.specification() );
+            separator = ", ";
+        }
+        final var specificationsMethod = composer.methodBuilder( "getSpecifications" )
+            .addModifiers( PUBLIC, STATIC, FINAL )
+            .returns( specificationsType )
+            .addJavadoc(
+                """
+                Returns the known configuration bean specifications.
+
+                @return The configuration bean specifications.
+                """ )
+            .addStatement( "return $1T.of( $2L )", Set.class, specifications.build() )
+            .build();
+
+        //---* Create the class *----------------------------------------------
+        final var registry = composer.classBuilder( registryClass.simpleName() )
+            .addModifiers( PUBLIC, FINAL )
+            .addAnnotation( composer.createClassVersionAnnotation( sourceVersion ) )
+            .addJavadoc(
+                """
+                The index for the generated configuration beans.
+                """ )
+            .addMethod( constructor )
+            .addMethod( factoryMethod )
+            .addMethod( lookupMethod )
+            .addMethod( specificationsMethod )
+            .build();
+
+        final var retValue = composer.javaFileBuilder( registryClass.packageName(), registry )
+            .build();
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  createRegistryClass()
+
+    /**
+     *  Returns the entries of the index.
+     *
+     *  @return The entries.
+     */
+    public final Collection<Entry> getEntries() { return List.copyOf( m_Entries.values() ); }
+
+    /**
+     *  Returns {@code true} if no configuration bean was added yet.
+     *
+     *  @return {@code true} if the index is empty, {@code false} otherwise.
+     */
+    public final boolean isEmpty() { return m_Entries.isEmpty(); }
+
+    /**
+     *  Writes the service provider configuration files for the configuration
+     *  beans with a default constructor to {@code META-INF/services}.
+     *
+     *  @param  filer   The
+     *      {@link Filer}
+     *      that is used to create the files.
+     *  @throws IOException Writing the files failed.
+     */
+    public final void writeServiceFiles( final Filer filer ) throws IOException
+    {
+        requireNonNullArgument( filer, "filer" );
+
+        for( final var entry : m_Entries.values() )
+        {
+            if( entry.hasDefaultConstructor() )
+            {
+                final var path = format( "META-INF/services/%s", entry.specification().reflectionName() );
+                final var fileObject = filer.createResource( CLASS_OUTPUT, EMPTY_STRING, path );
+                try( final Writer writer = new OutputStreamWriter( fileObject.openOutputStream(), UTF_8 ) )
+                {
+                    writer.write( format( "%s%n", entry.implementation().reflectionName() ) );
+                }
+            }
+        }
+    }   //  writeServiceFiles()
+}
+//  class ConfigBeanIndex
+
+/*
+ *  End of File
+ */
@@ -0,0 +1,291 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.config.ap.impl;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.joining;
+import static javax.tools.StandardLocation.CLASS_OUTPUT;
+import static org.apiguardian.api.API.Status.STABLE;
+import static org.tquadrat.foundation.lang.CommonConstants.EMPTY_STRING;
+import static org.tquadrat.foundation.lang.Objects.requireNonNullArgument;
+import static org.tquadrat.foundation.lang.Objects.requireNotEmptyArgument;
+
+import javax.annotation.processing.Filer;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Collection;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import org.apiguardian.api.API;
+import org.tquadrat.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.config.ap.CodeGenerationConfiguration;
+import org.tquadrat.foundation.javacomposer.ClassName;
+import org.tquadrat.foundation.javacomposer.TypeName;
+
+/**
+ *  <p>{@summary Collects the classes and resources that are used by the
+ *  generated configuration beans at runtime, and writes them as the
+ *  configuration files for GraalVM's {@code native-image} tool.}</p>
+ *  <p>The files {@code reflect-config.json} and
+ *  {@code resource-config.json} will be written to the folder
+ *  <code>META-INF/native-image/<i>&lt;location&gt;</i></code> in the class
+ *  output; usually, the location is composed from the group id and the
+ *  artifact id of the project, like <code><i>&lt;group&gt;</i>/<i>&lt;artifact&gt;</i></code>.</p>
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: NativeImageMetadata.java 1172 2026-10-18 11:47:03Z tquadrat $
+ *  @UMLGraph.link
+ *  @since 0.4.7
+ */
+@ClassVersion( sourceVersion = "$Id: NativeImageMetadata.java 1172 2026-10-18 11:47:03Z tquadrat $" )
+@API( status = STABLE, since = "0.4.7" )
+public final class NativeImageMetadata
+{
+        /*-----------*\
+    ====** Constants **========================================================
+        \*-----------*/
+    /**
+     *  The name for the file with the reflection configuration: {@value}.
+     */
+    public static final String REFLECT_CONFIG = "reflect-config.json";
+
+    /**
+     *  The name for the file with the resource configuration: {@value}.
+     */
+    public static final String RESOURCE_CONFIG = "resource-config.json";
+
+        /*------------*\
+    ====** Attributes **=======================================================
+        \*------------*/
+    /**
+     *  The names of the resource bundles.
+     */
+    private final SortedSet<String> m_Bundles = new TreeSet<>();
+
+    /**
+     *  The names of the classes that are accessed reflectively, or that have
+     *  to be instantiated through their constructors.
+     */
+    private final SortedSet<String> m_Classes = new TreeSet<>();
+
+    /**
+     *  The paths for the resources.
+     */
+    private final SortedSet<String> m_Resources = new TreeSet<>();
+
+        /*--------------*\
+    ====** Constructors **=====================================================
+        \*--------------*/
+    /**
+     *  Creates a new instance of {@code NativeImageMetadata}.
+     */
+    public NativeImageMetadata() { /* Just exists */ }
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Adds the classes and resources that are used by the configuration bean
+     *  that is described by the given configuration.
+     *
+     *  @param  configuration   The configuration for the generation of the
+     *      configuration bean.
+     */
+    @SuppressWarnings( "UseOfConcreteClass" )
+    public final void add( final CodeGenerationConfiguration configuration )
+    {
+        requireNonNullArgument( configuration, "configuration" );
+
+        //---* The configuration bean itself *---------------------------------
+        m_Classes.add( format( "%s.%s", configuration.getPackageName(), configuration.getClassName() ) );
+
+        //---* The resources *-------------------------------------------------
+        configuration.getInitDataResource()
+            .map( resource -> composeResourcePath( configuration.getSpecification(), resource ) )
+            .ifPresent( m_Resources::add );
+        configuration.getBaseBundleName().ifPresent( m_Bundles::add );
+
+        //---* The classes that are used for the properties *------------------
+        for( final var iterator = configuration.propertyIterator(); iterator.hasNext(); )
+        {
+            final var property = iterator.next();
+            addClass( property.getStringConverterClass().orElse( null ) );
+            addClass( property.getPrefsAccessorClass().orElse( null ) );
+            addClass( property.getCLIValueHandlerClass().orElse( null ) );
+        }
+        configuration.getPreferenceChangeListenerClass().ifPresent( this::addClass );
+    }   //  add()
+
+    /**
+     *  Adds the given type to the classes, if it is a
+     *  {@link ClassName}.
+     *
+     *  @param  type    The type; can be {@code null}.
+     */
+    private final void addClass( final TypeName type )
+    {
+        if( type instanceof final ClassName className ) m_Classes.add( className.reflectionName() );
+    }   //  addClass()
+
+    /**
+     *  Composes the contents for the file {@value #REFLECT_CONFIG}.
+     *
+     *  @return The contents for the reflection configuration.
+     */
+    public final String composeReflectConfig()
+    {
+        final var retValue = m_Classes.stream()
+            .map( name ->
+                """
+                  {
+                    "name": "%s",
+                    "allDeclaredConstructors": true,
+                    "allPublicMethods": true
+                  }\
+                """.formatted( name ) )
+            .collect( joining( ",\n", "[\n", "\n]\n" ) );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  composeReflectConfig()
+
+    /**
+     *  Composes the contents for the file {@value #RESOURCE_CONFIG}.
+     *
+     *  @return The contents for the resource configuration.
+     */
+    public final String composeResourceConfig()
+    {
+        final var resources = m_Resources.stream()
+            .map( path -> "      { \"pattern\": \"\\\\Q%s\\\\E\" }".formatted( path ) )
+            .collect( joining( ",\n" ) );
+        final var bundles = m_Bundles.stream()
+            .map( name -> "    { \"name\": \"%s\" }".formatted( name ) )
+            .collect( joining( ",\n" ) );
+        final var retValue =
+            """
+            {
+              "resources": {
+                "includes": [
+            %1$s
+                ]
+              },
+              "bundles": [
+            %2$s
+              ]
+            }
+            """.formatted( resources, bundles );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  composeResourceConfig()
+
+    /**
+     *  Composes the path for a resource that is loaded through
+     *  {@link Class#getResource(String)}
+     *  on the given specification class.
+     *
+     *  @param  specification   The specification class.
+     *  @param  resource    The name of the resource, as used with
+     *      {@code getResource()}.
+     *  @return The absolute path for the resource, without the leading
+     *      slash.
+     */
+    private static final String composeResourcePath( final ClassName specification, final String resource )
+    {
+        final var packageName = specification.packageName();
+        final var retValue = resource.startsWith( "/" )
+            ? resource.substring( 1 )
+            : packageName.isEmpty()
+              ? resource
+              : format( "%s/%s", packageName.replace( '.', '/' ), resource );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  composeResourcePath()
+
+    /**
+     *  Returns the names of the classes that were collected so far.
+     *
+     *  @return The class names.
+     */
+    public final Collection<String> getClasses() { return List.copyOf( m_Classes ); }
+
+    /**
+     *  Returns the paths for the resources that were collected so far.
+     *
+     *  @return The resource paths.
+     */
+    public final Collection<String> getResources() { return List.copyOf( m_Resources ); }
+
+    /**
+     *  Returns {@code true} if nothing was collected yet.
+     *
+     *  @return {@code true} if there is no metadata, {@code false}
+     *      otherwise.
+     */
+    public final boolean isEmpty() { return m_Classes.isEmpty() && m_Resources.isEmpty() && m_Bundles.isEmpty(); }
+
+    /**
+     *  Writes the metadata files to the class output.
+     *
+     *  @param  filer   The
+     *      {@link Filer}
+     *      that is used to create the files.
+     *  @param  location    The location of the files below
+     *      {@code META-INF/native-image}.
+     *  @throws IOException Writing the files failed.
+     */
+    public final void writeTo( final Filer filer, final String location ) throws IOException
+    {
+        requireNonNullArgument( filer, "filer" );
+        final var folder = format( "META-INF/native-image/%s", requireNotEmptyArgument( location, "location" ) );
+
+        writeFile( filer, format( "%s/%s", folder, REFLECT_CONFIG ), composeReflectConfig() );
+        writeFile( filer, format( "%s/%s", folder, RESOURCE_CONFIG ), composeResourceConfig() );
+    }   //  writeTo()
+
+    /**
+     *  Writes the given contents to the resource with the given path.
+     *
+     *  @param  filer   The
+     *      {@link Filer}
+     *      that is used to create the file.
+     *  @param  path    The path for the resource, relative to the class
+     *      output.
+     *  @param  contents    The contents for the file.
+     *  @throws IOException Writing the file failed.
+     */
+    private static final void writeFile( final Filer filer, final String path, final String contents ) throws IOException
+    {
+        final var fileObject = filer.createResource( CLASS_OUTPUT, EMPTY_STRING, path );
+        try( final Writer writer = new OutputStreamWriter( fileObject.openOutputStream(), UTF_8 ) )
+        {
+            writer.write( contents );
+        }
+    }   //  writeFile()
+}
+//  class NativeImageMetadata
+
+/*
+ *  End of File
+ */
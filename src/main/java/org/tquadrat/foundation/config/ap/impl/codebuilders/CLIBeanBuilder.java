@@ -18,10 +18,13 @@
 package org.tquadrat.foundation.config.ap.impl.codebuilders;
 
 import static java.lang.String.format;
+import static java.util.Locale.ROOT;
 import static java.util.stream.Collectors.joining;
 import static javax.lang.model.element.Modifier.FINAL;
 import static javax.lang.model.element.Modifier.PRIVATE;
 import static javax.lang.model.element.Modifier.PUBLIC;
+import static javax.lang.model.element.Modifier.STATIC;
+import static javax.lang.model.element.Modifier.VOLATILE;
 import static org.apiguardian.api.API.Status.MAINTAINED;
 import static org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor.MSG_DuplicateOptionName;
 import static org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor.MSG_InvalidCLIType;
@@ -34,12 +37,14 @@ import static org.tquadrat.foundation.config.ap.PropertySpec.PropertyFlag.PROPER
 import static org.tquadrat.foundation.config.ap.PropertySpec.PropertyFlag.PROPERTY_IS_OPTION;
 import static org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardField.STD_FIELD_CLIDefinitions;
 import static org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardField.STD_FIELD_CLIError;
+import static org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardField.STD_FIELD_CLIUsage;
 import static org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardField.STD_FIELD_WriteLock;
 import static org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardMethod.STD_METHOD_GetRessourceBundle;
 import static org.tquadrat.foundation.javacomposer.Primitives.BOOLEAN;
 import static org.tquadrat.foundation.javacomposer.Primitives.VOID;
 import static org.tquadrat.foundation.javacomposer.SuppressableWarnings.REDUNDANT_EXPLICIT_VARIABLE_TYPE;
 import static org.tquadrat.foundation.javacomposer.SuppressableWarnings.createSuppressWarningsAnnotation;
+import static org.tquadrat.foundation.lang.CommonConstants.EMPTY_STRING;
 import static org.tquadrat.foundation.lang.DebugOutput.ifDebug;
 import static org.tquadrat.foundation.lang.Objects.nonNull;
 import static org.tquadrat.foundation.lang.Objects.requireNonNullArgument;
@@ -47,6 +52,11 @@ import static org.tquadrat.foundation.util.StringUtils.capitalize;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -54,6 +64,9 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.ResourceBundle;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.function.BiConsumer;
 
 import org.apiguardian.api.API;
@@ -71,13 +84,18 @@ import org.tquadrat.foundation.config.spi.CLIDefinition;
 import org.tquadrat.foundation.config.spi.CLIOptionDefinition;
 import org.tquadrat.foundation.javacomposer.ArrayTypeName;
 import org.tquadrat.foundation.javacomposer.ClassName;
+import org.tquadrat.foundation.javacomposer.CodeBlock;
 import org.tquadrat.foundation.javacomposer.FieldSpec;
 import org.tquadrat.foundation.javacomposer.LambdaSpec;
+import org.tquadrat.foundation.javacomposer.MethodSpec;
 import org.tquadrat.foundation.javacomposer.ParameterizedTypeName;
 import org.tquadrat.foundation.javacomposer.TypeName;
+import org.tquadrat.foundation.javacomposer.TypeVariableName;
 import org.tquadrat.foundation.javacomposer.WildcardTypeName;
 import org.tquadrat.foundation.lang.Objects;
+import org.tquadrat.foundation.lang.StringConverter;
 import org.tquadrat.foundation.util.stringconverter.EnumStringConverter;
+import org.tquadrat.foundation.util.stringconverter.StringStringConverter;
 
 /**
  *  The
@@ -95,6 +113,56 @@ import org.tquadrat.foundation.util.stringconverter.EnumStringConverter;
 @API( status = MAINTAINED, since = "0.1.0" )
 public final class CLIBeanBuilder extends CodeBuilderBase
 {
+        /*-----------*\
+    ====** Constants **========================================================
+        \*-----------*/
+    /**
+     *  The prefix for a streamed argument file on the command line: {@value}.
+     *
+     *  @see org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor#OPTION_StreamedArgumentFiles
+     */
+    public static final String ARGUMENT_FILE_PREFIX = "@@";
+
+    /**
+     *  The name for the inner class that implements
+     *  {@link BiConsumer}
+     *  for the CLI value handlers in lambda-free code: {@value}.
+     */
+    public static final String ASSIGNER_CLASS_NAME = "CLIValueAssigner";
+
+    /**
+     *  The name for the method that adds a value from the command line, or
+     *  the values from a streamed argument file, to the multi-valued
+     *  argument: {@value}.
+     */
+    private static final String METHODNAME_AddArgumentValue = "addArgumentValue";
+
+    /**
+     *  The name for the method that assigns a value from the command line to
+     *  a property: {@value}.
+     */
+    private static final String METHODNAME_AssignCLIValue = "assignCLIValue";
+
+    /**
+     *  The name for the static method that creates a single CLI definition
+     *  from the metadata that is shared by all instances of a configuration
+     *  bean with a precompiled command line model: {@value}.
+     */
+    private static final String METHODNAME_CreateCLIDefinition = "createCLIDefinition";
+
+    /**
+     *  The name for the method that returns the CLI definitions of an
+     *  instance of a configuration bean with a precompiled command line
+     *  model, creating them on first use: {@value}.
+     */
+    private static final String METHODNAME_RetrieveCLIDefinitions = "retrieveCLIDefinitions";
+
+    /**
+     *  The name for the method that looks up a localised usage text for the
+     *  usage text that was laid out at compile time: {@value}.
+     */
+    private static final String METHODNAME_RetrieveCLIUsage = "retrieveCLIUsage";
+
         /*------------*\
     ====** Attributes **=======================================================
         \*------------*/
@@ -103,6 +171,19 @@ public final class CLIBeanBuilder extends CodeBuilderBase
      */
     private final Map<TypeName,ClassName> m_HandlerClasses = new HashMap<>();
 
+    /**
+     *  The flag that indicates whether a value from the command line has to
+     *  be marked as modified for the INI file or the preferences, for at
+     *  least one of the CLI properties.
+     */
+    private boolean m_IsModificationTracked = false;
+
+    /**
+     *  The {@code case} branches for the method that assigns the values from
+     *  the command line to the properties in lambda-free code.
+     */
+    private final CodeBlock.Builder m_ValueAssignments;
+
         /*--------------*\
     ====** Constructors **=====================================================
         \*--------------*/
@@ -115,6 +196,7 @@ public final class CLIBeanBuilder extends CodeBuilderBase
     {
         super( context );
 
+        m_ValueAssignments = getComposer().codeBlockBuilder();
         for( final var entry : ClassRegistry.m_HandlerClasses.entrySet() )
         {
             m_HandlerClasses.put( TypeName.from( entry.getKey() ), ClassName.from( entry.getValue() ) );
@@ -147,16 +229,102 @@ public final class CLIBeanBuilder extends CodeBuilderBase
         if( doBuild ) doBuild();
     }   //  build()
 
+    /**
+     *  Composes the label for the given CLI property in the usage text.
+     *
+     *  @param  property    The CLI property.
+     *  @param  isSynopsis  {@code true} if the label is for the synopsis,
+     *      {@code false} if it is for the list of the options and arguments.
+     *  @return The label.
+     */
+    private static final String composeUsageLabel( final PropertySpec property, final boolean isSynopsis )
+    {
+        final var metaVar = property.getCLIMetaVar().orElseGet( () -> property.getPropertyName().toUpperCase( ROOT ) );
+        final var buffer = new StringBuilder();
+        if( property.hasFlag( PROPERTY_IS_ARGUMENT ) )
+        {
+            buffer.append( metaVar );
+            if( property.hasFlag( PROPERTY_CLI_MULTIVALUED ) ) buffer.append( " ..." );
+        }
+        else
+        {
+            final var optionNames = property.getCLIOptionNames().orElseThrow( () -> new IllegalAnnotationError( format( MSG_NoOptionName, property.getPropertyName() ) ) );
+            buffer.append( isSynopsis ? optionNames.getFirst() : String.join( ", ", optionNames ) );
+
+            //---* A boolean option does not take a value *--------------------
+            final Collection<TypeName> booleanTypes = List.of( TypeName.from( boolean.class ), ClassName.from( Boolean.class ) );
+            if( !booleanTypes.contains( property.getPropertyType() ) ) buffer.append( ' ' ).append( metaVar );
+        }
+        final var retValue = isSynopsis && !property.hasFlag( PROPERTY_CLI_MANDATORY )
+            ? format( "[%s]", buffer )
+            : buffer.toString();
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  composeUsageLabel()
+
+    /**
+     *  <p>{@summary Lays out the usage text for the given CLI properties at
+     *  compile time.} The text is a format string for
+     *  {@link String#formatted(Object...)}:
+     *  the command goes to {@code %1$s}, and the localised usage texts for
+     *  the properties with a usage key go to {@code %2$s}, {@code %3$s} and
+     *  so on, in the order of the given properties. The line separators are
+     *  written as {@code %n}, so they will be those of the runtime
+     *  platform.</p>
+     *  <p>The first line is the synopsis with the command, the options and
+     *  the arguments; the optional ones are enclosed in brackets. After a
+     *  blank line, each option and argument follows on a line of its own,
+     *  with its usage text aligned in a column.</p>
+     *
+     *  @param  properties  The CLI properties, in the order for the usage
+     *      text.
+     *  @return The format string for the usage text.
+     */
+    private static final String composeUsageText( final List<PropertySpec> properties )
+    {
+        final var buffer = new StringBuilder( "Usage: %1$s" );
+        for( final var property : properties )
+        {
+            buffer.append( ' ' ).append( composeUsageLabel( property, true ).replace( "%", "%%" ) );
+        }
+        buffer.append( "%n%n" );
+
+        final var labels = properties.stream()
+            .map( property -> composeUsageLabel( property, false ) )
+            .toList();
+        final var width = labels.stream().mapToInt( String::length ).max().orElse( 0 );
+        final var indent = " ".repeat( width + 4 );
+        var argumentIndex = 2;
+        for( var i = 0; i < properties.size(); ++i )
+        {
+            final var property = properties.get( i );
+            final var label = labels.get( i );
+            buffer.append( "  " ).append( label.replace( "%", "%%" ) );
+            final var usage = property.getCLIUsageKey().isPresent()
+                ? Optional.of( format( "%%%d$s", Integer.valueOf( argumentIndex++ ) ) )
+                : property.getCLIUsage().map( text -> text.replace( "%", "%%" ).replace( "\n", "%n" + indent ) );
+            if( usage.isPresent() ) buffer.append( " ".repeat( width - label.length() + 2 ) ).append( usage.get() );
+            buffer.append( "%n" );
+        }
+        final var retValue = buffer.toString();
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  composeUsageText()
+
     /**
      *  Composes the code that creates the CLI value handler for the given
      *  property.
      *
      *  @param  property    The property.
+     *  @param  isStreamed  {@code true} if the values for the property could
+     *      be read from streamed argument files, {@code false} otherwise.
      *  @return The name of the method that creates the CLI value handler for
      *      this property.
      */
     @SuppressWarnings( "OverlyCoupledMethod" )
-    private final String composeValueHandlerCreation( final PropertySpec property )
+    private final String composeValueHandlerCreation( final PropertySpec property, final boolean isStreamed )
     {
         //---* The method name *-----------------------------------------------
         final var retValue = format( "composeValueHandler_%s", capitalize( property.getPropertyName() ) );
@@ -168,7 +336,37 @@ public final class CLIBeanBuilder extends CodeBuilderBase
         final ParameterizedTypeName lambdaType;
         final LambdaSpec lambda;
 
-        if( property.isCollection() )
+        /*
+         * A value from the command line is a modification of the property;
+         * if the property is tied to the INI file or to the preferences, the
+         * value will be assigned through the dispatch method, so that it can
+         * be marked as modified.
+         */
+        final var modificationCode = composeModificationCode( this, property );
+        final var isModificationTracked = !modificationCode.isEmpty();
+
+        if( isStreamed )
+        {
+            final var elementType = property.getElementType()
+                .orElseThrow( () -> new IllegalAnnotationError( "Cannot determine element type for property '%s'".formatted( property.getPropertyName() ) ) );
+
+            /*
+             * The value handler passes the values from the command line
+             * unchanged to the method that adds them to the attribute; that
+             * method converts them, or reads them from the argument file, in
+             * the order they appear on the command line.
+             */
+            final var addArgumentValue = createAddArgumentValue( property, elementType );
+            lambdaType = ParameterizedTypeName.from( BiConsumer.class, String.class, String.class );
+            lambda = getComposer().lambdaBuilder()
+                .addParameter( "propertyName" )
+                .addParameter( "value" )
+                .addCode( "$N( value )", addArgumentValue )
+                .build();
+            m_ValueAssignments.addStatement( "case $1S -> $2N( (String) value )", property.getPropertyName(), addArgumentValue );
+            builder.addStatement( "final $1T retValue = new $2T<>( lambda, $3T.INSTANCE )", handlerType, SimpleCmdLineValueHandler.class, StringStringConverter.class );
+        }
+        else if( property.isCollection() )
         {
             if( property.getCollectionKind() == CollectionKind.MAP )
             {
@@ -178,20 +376,39 @@ public final class CLIBeanBuilder extends CodeBuilderBase
             //---* Determine the element type of the collection *--------------
             final var elementType = property.getElementType()
                 .orElseThrow( () -> new IllegalAnnotationError( "Cannot determine element type for property '%s'".formatted( property.getPropertyName() ) ) );
+            m_IsModificationTracked |= isModificationTracked;
 
             //---* The lambda that adds the value to the attribute *-----------
             lambdaType = ParameterizedTypeName.from( ClassName.from( BiConsumer.class ), ClassName.from( String.class ), elementType );
-            lambda = getComposer().lambdaBuilder()
+            final var lambdaBuilder = getComposer().lambdaBuilder()
                 .addParameter( "propertyName" )
-                .addParameter( "value" )
-                .addCode( "$N.add( value )", property.getFieldName() )
-                .build();
+                .addParameter( "value" );
+            if( isModificationTracked )
+            {
+                lambdaBuilder.addCode( "$N( propertyName, value )", METHODNAME_AssignCLIValue );
+            }
+            else
+            {
+                lambdaBuilder.addCode( "$N.add( value )", property.getFieldName() );
+            }
+            lambda = lambdaBuilder.build();
+            if( isModificationTracked )
+            {
+                m_ValueAssignments.beginControlFlow(
+                        """
+                        case $1S ->
+                        """, property.getPropertyName() )
+                    .addStatement( "$1N.add( ($2T) value )", property.getFieldName(), elementType )
+                    .add( modificationCode )
+                    .endControlFlow();
+            }
+            else
+            {
+                m_ValueAssignments.addStatement( "case $1S -> $2N.add( ($3T) value )", property.getPropertyName(), property.getFieldName(), elementType );
+            }
 
             //---* Get the StringConverter for the element type *--------------
-            final var stringConverter = property.getStringConverterClass()
-                .or( () -> getStringConverter( elementType ) )
-                .or( () -> Optional.ofNullable( property.hasFlag( ELEMENTTYPE_IS_ENUM ) ? ClassName.from( EnumStringConverter.class ) : null ) )
-                .orElseThrow( () -> new IllegalAnnotationError( "Property '%1$s': cannot find StringConverter for '%2$s'".formatted( property.getPropertyName(), elementType.toString() ) ) );
+            final var stringConverter = retrieveElementStringConverter( property, elementType );
 
             switch( determineStringConverterInstantiation( stringConverter, property.hasFlag( ELEMENTTYPE_IS_ENUM ) ) )
             {
@@ -202,13 +419,36 @@ public final class CLIBeanBuilder extends CodeBuilderBase
         }
         else
         {
+            m_IsModificationTracked |= isModificationTracked;
+
             //---* The lambda that sets the value to the attribute *-----------
             lambdaType = ParameterizedTypeName.from( ClassName.from( BiConsumer.class ), ClassName.from( String.class ), property.getPropertyType().box() );
-            lambda = getComposer().lambdaBuilder()
+            final var lambdaBuilder = getComposer().lambdaBuilder()
                 .addParameter( "propertyName" )
-                .addParameter( "value" )
-                .addCode( "$N = value", property.getFieldName() )
-                .build();
+                .addParameter( "value" );
+            if( isModificationTracked )
+            {
+                lambdaBuilder.addCode( "$N( propertyName, value )", METHODNAME_AssignCLIValue );
+            }
+            else
+            {
+                lambdaBuilder.addCode( "$N = value", property.getFieldName() );
+            }
+            lambda = lambdaBuilder.build();
+            if( isModificationTracked )
+            {
+                m_ValueAssignments.beginControlFlow(
+                        """
+                        case $1S ->
+                        """, property.getPropertyName() )
+                    .addStatement( "$1N = ($2T) value", property.getFieldName(), property.getPropertyType().box() )
+                    .add( modificationCode )
+                    .endControlFlow();
+            }
+            else
+            {
+                m_ValueAssignments.addStatement( "case $1S -> $2N = ($3T) value", property.getPropertyName(), property.getFieldName(), property.getPropertyType().box() );
+            }
 
             //---* Retrieve the class for the value handler *------------------
             final var valueHandlerClass = retrieveValueHandlerClass( property );
@@ -229,7 +469,7 @@ public final class CLIBeanBuilder extends CodeBuilderBase
         }
 
         //---* Compose the method *--------------------------------------------
-        final var method = getComposer().methodBuilder( retValue )
+        final var methodBuilder = getComposer().methodBuilder( retValue )
             .addModifiers( PRIVATE, FINAL )
             .addJavadoc(
                 """
@@ -239,9 +479,16 @@ public final class CLIBeanBuilder extends CodeBuilderBase
             .addCode(
                 """
                 $L
-                """, createSuppressWarningsAnnotation( getComposer(), REDUNDANT_EXPLICIT_VARIABLE_TYPE ) )
-            .addStatement( "final $T lambda = $L", lambdaType, lambda )
-            .addCode( builder.build() )
+                """, createSuppressWarningsAnnotation( getComposer(), REDUNDANT_EXPLICIT_VARIABLE_TYPE ) );
+        if( isLambdaFree() )
+        {
+            methodBuilder.addStatement( "final $1T lambda = new $2L<>()", lambdaType, ASSIGNER_CLASS_NAME );
+        }
+        else
+        {
+            methodBuilder.addStatement( "final $T lambda = $L", lambdaType, lambda );
+        }
+        final var method = methodBuilder.addCode( builder.build() )
             .addCode( getComposer().createReturnStatement() )
             .build();
         addMethod( method );
@@ -250,11 +497,85 @@ public final class CLIBeanBuilder extends CodeBuilderBase
         return retValue;
     }   //  composeValueHandlerCreation()
 
+    /**
+     *  Creates the method that adds a value from the command line to the
+     *  given property; if the value names an argument file, the values are
+     *  read from that file, line by line.
+     *
+     *  @param  property    The property for the multi-valued argument.
+     *  @param  elementType The element type of the collection.
+     *  @return The method.
+     *
+     *  @see org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor#OPTION_StreamedArgumentFiles
+     */
+    private final MethodSpec createAddArgumentValue( final PropertySpec property, final TypeName elementType )
+    {
+        final var stringConverter = retrieveElementStringConverter( property, elementType );
+
+        final var value = getComposer().parameterBuilder( String.class, "value", FINAL )
+            .build();
+        final var builder = getComposer().methodBuilder( METHODNAME_AddArgumentValue )
+            .addModifiers( PRIVATE, FINAL )
+            .addParameter( value )
+            .returns( VOID )
+            .addJavadoc(
+                """
+                Adds the given value from the command line to the property
+                &quot;$2L&quot;. If the value starts with &quot;$3L&quot;, it names an
+                argument file instead, with one value per line; empty lines will
+                be ignored.
+
+                @param  $1N The value from the command line.
+                """, value, property.getPropertyName(), ARGUMENT_FILE_PREFIX );
+        switch( determineStringConverterInstantiation( stringConverter, property.hasFlag( ELEMENTTYPE_IS_ENUM ) ) )
+        {
+            case BY_INSTANCE -> builder.addStatement( "final var stringConverter = $T.INSTANCE", stringConverter );
+            case THROUGH_CONSTRUCTOR -> builder.addStatement( "final var stringConverter = new $T()", stringConverter );
+            case AS_ENUM -> builder.addStatement( "final var stringConverter = new $1T<>( $2T.class )", stringConverter, elementType );
+        }
+        final var retValue = builder.beginControlFlow(
+                """
+                if( $1N.startsWith( $2S ) )
+                """, value, ARGUMENT_FILE_PREFIX )
+            .addStatement( "final var file = $1T.of( $2N.substring( $3L ) )", Path.class, value, Integer.valueOf( ARGUMENT_FILE_PREFIX.length() ) )
+            .beginControlFlow(
+                """
+                try( final var reader = $1T.newBufferedReader( file, $2T.UTF_8 ) )
+                """, Files.class, StandardCharsets.class )
+            .beginControlFlow(
+                """
+                for( var line = reader.readLine(); line != null; line = reader.readLine() )
+                """ )
+            .addStatement( "if( !line.isEmpty() ) $N.add( stringConverter.fromString( line ) )", property.getFieldName() )
+            .endControlFlow()
+            .nextControlFlow(
+                """
+
+                catch( final $T e )
+                """, IOException.class )
+            .addStatement( "throw new $T( \"Cannot read argument file '%s'\".formatted( file ), e )", UncheckedIOException.class )
+            .endControlFlow()
+            .nextControlFlow(
+                """
+                else
+                """ )
+            .addStatement( "$1N.add( stringConverter.fromString( $2N ) )", property.getFieldName(), value )
+            .endControlFlow()
+            .addCode( composeModificationCode( this, property ) )
+            .build();
+        addMethod( retValue );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  createAddArgumentValue()
+
     /**
      *  Creates the implementation for the method
      *  {@link org.tquadrat.foundation.config.CLIBeanSpec#dumpParamFileTemplate(OutputStream)}.
+     *
+     *  @param  definitions The code that provides the CLI definitions.
      */
-    private final void createDumpParamFileTemplate()
+    private final void createDumpParamFileTemplate( final CodeBlock definitions )
     {
         final var arg = getComposer().parameterBuilder( OutputStream.class, "outputStream", FINAL )
             .build();
@@ -265,7 +586,7 @@ public final class CLIBeanBuilder extends CodeBuilderBase
             .returns( VOID )
             .addException( IOException.class )
             .addJavadoc( getComposer().createInheritDocComment() )
-            .addStatement( "$T.dumpParamFileTemplate( $N, $N )", ConfigUtil.class, getField( STD_FIELD_CLIDefinitions ), arg )
+            .addStatement( "$T.dumpParamFileTemplate( $L, $N )", ConfigUtil.class, definitions, arg )
             .build();
         addMethod( method );
     }   //  createDumpParamFileTemplate()
@@ -274,11 +595,13 @@ public final class CLIBeanBuilder extends CodeBuilderBase
      *  Creates the implementation for the method
      *  {@link org.tquadrat.foundation.config.CLIBeanSpec#parseCommandLine(String[])}.
      *
-     *  @param  registry    The registry of the properties that are exposed for
-     *      the CLI.
+     *  @param  definitions The code that provides the CLI definitions.
      *  @param  errorMsgHolder  The field for the parse errors.
+     *  @param  hasStreamedArgument {@code true} if the values for the
+     *      multi-valued argument could be read from streamed argument files,
+     *      {@code false} otherwise.
      */
-    private final void createParseCommandLine( final FieldSpec registry, final FieldSpec errorMsgHolder )
+    private final void createParseCommandLine( final CodeBlock definitions, final FieldSpec errorMsgHolder, final boolean hasStreamedArgument )
     {
         final TypeName typeName = ArrayTypeName.of( String.class );
         final var arg = getComposer().parameterBuilder( typeName, "args", FINAL )
@@ -304,7 +627,7 @@ public final class CLIBeanBuilder extends CodeBuilderBase
                 try
                 """ );
         }
-        methodBuilder.addStatement( "$T.parseCommandLine( $N, $N )", ConfigUtil.class, registry, arg )
+        methodBuilder.addStatement( "$T.parseCommandLine( $L, $N )", ConfigUtil.class, definitions, arg )
             .addStatement( "$N = null", errorMsgHolder )
             .nextControlFlow(
                 """
@@ -312,12 +635,21 @@ public final class CLIBeanBuilder extends CodeBuilderBase
                 catch( final $T e )
                 """, CmdLineException.class )
             .addStatement( "$N = e.getLocalizedMessage()", errorMsgHolder )
-            .addStatement( "retValue = false" )
-            .endControlFlow()
-            .addCode( getComposer().createReturnStatement() )
-            .build();
+            .addStatement( "retValue = false" );
+        if( hasStreamedArgument )
+        {
+            methodBuilder.nextControlFlow(
+                """
 
-        final var method =methodBuilder.build();
+                catch( final $T | $T e )
+                """, UncheckedIOException.class, IllegalArgumentException.class )
+                .addStatement( "$N = e.getLocalizedMessage()", errorMsgHolder )
+                .addStatement( "retValue = false" );
+        }
+        methodBuilder.endControlFlow()
+            .addCode( getComposer().createReturnStatement() );
+
+        final var method = methodBuilder.build();
 
         addMethod( method );
     }   //  createParseCommandLine()
@@ -326,28 +658,191 @@ public final class CLIBeanBuilder extends CodeBuilderBase
      *  Creates the implementation for the method
      *  {@link org.tquadrat.foundation.config.CLIBeanSpec#printUsage(OutputStream, CharSequence)}.
      *
-     *  @param  registry    The registry of the properties that are exposed for
-     *      the CLI.
+     *  @param  definitions The code that provides the CLI definitions.
+     *  @param  properties  The CLI properties; the usage text for a
+     *      precompiled command line model is laid out from these.
      */
-    private final void createPrintUsage( final FieldSpec registry )
+    private final void createPrintUsage( final CodeBlock definitions, final Collection<PropertySpec> properties )
     {
         final var arg0 = getComposer().parameterBuilder( OutputStream.class, "outputStream", FINAL )
             .build();
         final var arg1 = getComposer().parameterBuilder( CharSequence.class, "command", FINAL )
             .build();
-        final var method = getComposer().methodBuilder( "printUsage" )
+        final var methodBuilder = getComposer().methodBuilder( "printUsage" )
             .addModifiers( PUBLIC, FINAL )
             .addAnnotation( Override.class )
             .addParameter( arg0 )
             .addParameter( arg1 )
             .returns( VOID )
             .addException( IOException.class )
-            .addJavadoc( getComposer().createInheritDocComment() )
-            .addStatement( "$T.printUsage( $N, $N(), $N, $N )", ConfigUtil.class, arg0, getMethod( STD_METHOD_GetRessourceBundle ), arg1, registry )
-            .build();
+            .addJavadoc( getComposer().createInheritDocComment() );
+        if( isPrecompiledCLI() )
+        {
+            /*
+             * The usage text is laid out at compile time; only the command
+             * and the localised usage texts are inserted at runtime.
+             */
+            final var entries = sortUsageEntries( properties );
+            final var usageHolder = getComposer().fieldBuilder( String.class, STD_FIELD_CLIUsage.toString(), PRIVATE, STATIC, FINAL )
+                .addJavadoc(
+                    """
+                    The usage text, as it was laid out at compile time; it is a format
+                    string that takes the command and the localised usage texts.
+                    """ )
+                .initializer( "$S", composeUsageText( entries ) )
+                .build();
+            addField( STD_FIELD_CLIUsage, usageHolder );
+
+            final var usageArguments = getComposer().codeBlockBuilder()
+                .add( "$N", arg1 );
+            final var localisedEntries = entries.stream()
+                .filter( property -> property.getCLIUsageKey().isPresent() )
+                .toList();
+            if( !localisedEntries.isEmpty() )
+            {
+                final var retrieveUsage = createRetrieveCLIUsage();
+                methodBuilder.addStatement( "final var resources = $N()", getMethod( STD_METHOD_GetRessourceBundle ) );
+                for( final var property : localisedEntries )
+                {
+                    final var usageKey = property.getCLIUsageKey().get();
+                    usageArguments.add( ", $1N( resources, $2S, $3S )", retrieveUsage, usageKey, property.getCLIUsage().orElse( usageKey ) );
+                }
+            }
+            methodBuilder.addStatement( "final var usage = $1N.formatted( $2L )", usageHolder, usageArguments.build() )
+                .addStatement( "$1N.write( usage.getBytes( defaultCharset() ) )", arg0 )
+                .addStaticImport( Charset.class, "defaultCharset" )
+                .addStatement( "$N.flush()", arg0 );
+        }
+        else
+        {
+            methodBuilder.addStatement( "$T.printUsage( $N, $N(), $N, $L )", ConfigUtil.class, arg0, getMethod( STD_METHOD_GetRessourceBundle ), arg1, definitions );
+        }
+        final var method = methodBuilder.build();
         addMethod( method );
     }   //  createPrintUsage()
 
+    /**
+     *  Creates the methods that provide the CLI definitions for a
+     *  precompiled command line model: the static method
+     *  {@value #METHODNAME_CreateCLIDefinition}
+     *  holds the metadata for the CLI definitions that is the same for all
+     *  instances of the configuration bean, and the method
+     *  {@value #METHODNAME_RetrieveCLIDefinitions}
+     *  binds the value handlers for the instance to that metadata, on first
+     *  use.
+     *
+     *  @param  registry    The field for the CLI definitions.
+     *  @param  handlerType The type for the value handlers.
+     *  @param  handlerName The name for the value handler in the code for
+     *      the CLI definitions.
+     *  @param  definitionCases The {@code case} branches that create the
+     *      CLI definitions, by their index.
+     *  @param  valueHandlers   The code that creates the value handlers for
+     *      the instance, in the order of their indexes.
+     *
+     *  @see org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor#OPTION_PrecompiledCLI
+     */
+    private final void createRetrieveCLIDefinitions( final FieldSpec registry, final TypeName handlerType, final String handlerName, final CodeBlock definitionCases, final CodeBlock valueHandlers )
+    {
+        //---* The metadata *--------------------------------------------------
+        final var index = getComposer().parameterBuilder( int.class, "index", FINAL )
+            .build();
+        final var valueHandler = getComposer().parameterBuilder( handlerType, handlerName, FINAL )
+            .build();
+        final var createMethod = getComposer().methodBuilder( METHODNAME_CreateCLIDefinition )
+            .addModifiers( PRIVATE, STATIC, FINAL )
+            .addParameter( index )
+            .addParameter( valueHandler )
+            .returns( CLIDefinition.class, "The CLI definition." )
+            .addJavadoc(
+                """
+                Creates the CLI definition with the given index for the given
+                value handler; the metadata for the CLI definitions is the same
+                for all instances of this configuration bean, only the value
+                handlers are bound to an instance.
+
+                @param  $1N The index of the CLI definition.
+                @param  $2N The value handler.
+                """, index, valueHandler )
+            .addCode(
+                """
+                final $1T retValue = switch( $2N )
+                {$>
+                $3L\
+                default -> throw new $4T( "Unknown CLI definition: %d".formatted( $2N ) );
+                $<};
+                """, CLIDefinition.class, index, definitionCases, IllegalArgumentException.class )
+            .addCode( getComposer().createReturnStatement() )
+            .build();
+        addMethod( createMethod );
+
+        //---* The bindings for the instance *---------------------------------
+        final var retrieveMethod = getComposer().methodBuilder( METHODNAME_RetrieveCLIDefinitions )
+            .addModifiers( PRIVATE, FINAL )
+            .returns( ParameterizedTypeName.from( ClassName.from( List.class ), TypeName.from( CLIDefinition.class ) ), "The CLI definitions." )
+            .addJavadoc(
+                """
+                Returns the CLI definitions for this instance; on first use, they
+                will be created from the shared metadata and the value handlers
+                that are bound to this instance.
+                """ )
+            .addStatement( "var retValue = $N", registry )
+            .beginControlFlow(
+                """
+                if( isNull( retValue ) )
+                """ )
+            .addStaticImport( Objects.class, "isNull" )
+            .addStatement( "final $T valueHandlers = { $L }", ArrayTypeName.of( handlerType ), valueHandlers )
+            .addStatement( "final var definitions = new $T<$T>( valueHandlers.length )", ArrayList.class, CLIDefinition.class )
+            .addStatement( "for( var i = 0; i < valueHandlers.length; ++i ) definitions.add( $N( i, valueHandlers [i] ) )", createMethod )
+            .addStatement( "retValue = $T.copyOf( definitions )", List.class )
+            .addStatement( "$N = retValue", registry )
+            .endControlFlow()
+            .addCode( getComposer().createReturnStatement() )
+            .build();
+        addMethod( retrieveMethod );
+    }   //  createRetrieveCLIDefinitions()
+
+    /**
+     *  Creates the method that looks up a localised usage text for the
+     *  usage text that was laid out at compile time.
+     *
+     *  @return The method.
+     */
+    private final MethodSpec createRetrieveCLIUsage()
+    {
+        final var resources = getComposer().parameterBuilder( ParameterizedTypeName.from( Optional.class, ResourceBundle.class ), "resources", FINAL )
+            .build();
+        final var key = getComposer().parameterBuilder( String.class, "key", FINAL )
+            .build();
+        final var defaultUsage = getComposer().parameterBuilder( String.class, "defaultUsage", FINAL )
+            .build();
+        final var retValue = getComposer().methodBuilder( METHODNAME_RetrieveCLIUsage )
+            .addModifiers( PRIVATE, STATIC, FINAL )
+            .addParameter( resources )
+            .addParameter( key )
+            .addParameter( defaultUsage )
+            .returns( String.class, "The usage text." )
+            .addJavadoc(
+                """
+                Returns the localised usage text for the given resource bundle
+                key.
+
+                @param  $1N The resource bundle.
+                @param  $2N The resource bundle key for the usage text.
+                @param  $3N The usage text if the resource bundle does not
+                    have the key.
+                """, resources, key, defaultUsage )
+            .addStatement( "var retValue = $N", defaultUsage )
+            .addStatement( "if( $1N.isPresent() && $1N.get().containsKey( $2N ) ) retValue = $1N.get().getString( $2N )", resources, key )
+            .addCode( getComposer().createReturnStatement() )
+            .build();
+        addMethod( retValue );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  createRetrieveCLIUsage()
+
     /**
      *  Creates the implementation for the method
      *  {@link org.tquadrat.foundation.config.CLIBeanSpec#retrieveParseErrorMessage()}.
@@ -367,6 +862,90 @@ public final class CLIBeanBuilder extends CodeBuilderBase
         addMethod( method );
     }   //  createRetrieveParseErrorMessage()
 
+    /**
+     *  Creates the method that assigns a value from the command line to the
+     *  property with the given name, together with the generic inner class
+     *  {@value #ASSIGNER_CLASS_NAME}
+     *  that replaces the lambda expressions for the value handlers when
+     *  lambda-free code was requested. Otherwise, only the method is
+     *  created; it is called by the
+     *  lambda expressions for the properties whose values have to be marked
+     *  as modified.
+     */
+    private final void createValueAssigner()
+    {
+        //---* Create the dispatch method *------------------------------------
+        final var propertyName = getComposer().parameterBuilder( String.class, "propertyName", FINAL )
+            .build();
+        final var value = getComposer().parameterBuilder( Object.class, "value", FINAL )
+            .build();
+        final var dispatchMethod = getComposer().methodBuilder( METHODNAME_AssignCLIValue )
+            .addModifiers( PRIVATE, FINAL )
+            .addParameter( propertyName )
+            .addParameter( value )
+            .returns( VOID )
+            .addJavadoc(
+                """
+                Assigns the given value from the command line to the property with
+                the given name.
+
+                @param  $1N The name of the property.
+                @param  $2N The value.
+                """, propertyName, value )
+            .beginControlFlow(
+                """
+                switch( $N )
+                """, propertyName )
+            .addCode( m_ValueAssignments.build() )
+            .addStatement( "default -> throw new $1T( \"Unknown CLI property: %s\".formatted( $2N ) )", IllegalArgumentException.class, propertyName )
+            .endControlFlow()
+            .build();
+        addMethod( dispatchMethod );
+
+        //---* Create the assigner class *-------------------------------------
+        if( isLambdaFree() ) createValueAssignerClass( dispatchMethod );
+    }   //  createValueAssigner()
+
+    /**
+     *  Creates the generic inner class
+     *  {@value #ASSIGNER_CLASS_NAME}
+     *  that replaces the lambda expressions for the value handlers.
+     *
+     *  @param  dispatchMethod  The method that assigns a value from the
+     *      command line to the property with the given name.
+     */
+    private final void createValueAssignerClass( final MethodSpec dispatchMethod )
+    {
+        final var propertyName = getComposer().parameterBuilder( String.class, "propertyName", FINAL )
+            .build();
+        final var typeVariable = TypeVariableName.from( "T" );
+        final var acceptMethod = getComposer().methodBuilder( "accept" )
+            .addModifiers( PUBLIC, FINAL )
+            .addAnnotation( Override.class )
+            .addParameter( propertyName )
+            .addParameter( typeVariable, "value", FINAL )
+            .returns( VOID )
+            .addJavadoc( getComposer().createInheritDocComment() )
+            .addStatement( "$1N( $2N, value )", dispatchMethod, propertyName )
+            .build();
+        final var assignerClass = getComposer().classBuilder( ASSIGNER_CLASS_NAME )
+            .addModifiers( PRIVATE, FINAL )
+            .addTypeVariable( typeVariable )
+            .addSuperinterface( ParameterizedTypeName.from( ClassName.from( BiConsumer.class ), ClassName.from( String.class ), typeVariable ) )
+            .addJavadoc(
+                """
+                The implementation of
+                {@link BiConsumer}
+                that is used by the CLI value handlers to assign the values from
+                the command line to the properties.
+
+                @param  <T> The type of the value.
+                """ )
+            .addMethod( acceptMethod )
+            .build();
+        addType( assignerClass );
+    }   //  createValueAssignerClass()
+
     /**
      *  Is called by
      *  {@link #build()}
@@ -376,14 +955,26 @@ public final class CLIBeanBuilder extends CodeBuilderBase
     {
         //---* Create the registry for the CLI definitions *-------------------
         final var registryType = ParameterizedTypeName.from( ClassName.from( List.class ), TypeName.from( CLIDefinition.class ) );
-        final var registry = getComposer().fieldBuilder( registryType, STD_FIELD_CLIDefinitions.toString(), PRIVATE, FINAL )
-            .addJavadoc(
-                """
-                The registry for the CLI definitions
-                """ )
-            .initializer( "new $T<>()", ArrayList.class )
-            .build();
+        final var registry = isPrecompiledCLI()
+            ? getComposer().fieldBuilder( registryType, STD_FIELD_CLIDefinitions.toString(), PRIVATE, VOLATILE )
+                .addJavadoc(
+                    """
+                    The registry for the CLI definitions; it will be created on first
+                    use.
+                    """ )
+                .initializer( "null" )
+                .build()
+            : getComposer().fieldBuilder( registryType, STD_FIELD_CLIDefinitions.toString(), PRIVATE, FINAL )
+                .addJavadoc(
+                    """
+                    The registry for the CLI definitions
+                    """ )
+                .initializer( "new $T<>()", ArrayList.class )
+                .build();
         addField( STD_FIELD_CLIDefinitions, registry );
+        final var definitions = isPrecompiledCLI()
+            ? getComposer().codeBlockOf( "$L()", METHODNAME_RetrieveCLIDefinitions )
+            : getComposer().codeBlockOf( "$N", registry );
 
         //---* Create the field for the CLI parsing errors *-------------------
         final var errorMsgHolder = getComposer().fieldBuilder( String.class, STD_FIELD_CLIError.toString(), PRIVATE )
@@ -399,9 +990,11 @@ public final class CLIBeanBuilder extends CodeBuilderBase
         addField( STD_FIELD_CLIError, errorMsgHolder );
 
         //---* Add the methods from CLIBeanSpec *------------------------------
-        createDumpParamFileTemplate();
-        createParseCommandLine( registry, errorMsgHolder );
-        createPrintUsage( registry );
+        createDumpParamFileTemplate( definitions );
+        final var streamedArgument = getConfiguration().getStreamedArgumentFiles()
+            ? retrieveStreamedArgument()
+            : Optional.<PropertySpec>empty();
+        createParseCommandLine( definitions, errorMsgHolder, streamedArgument.isPresent() );
         createRetrieveParseErrorMessage( errorMsgHolder );
 
         /*
@@ -410,6 +1003,11 @@ public final class CLIBeanBuilder extends CodeBuilderBase
          */
         final Collection<String> alreadyUsedOptions = new HashSet<>();
 
+        /*
+         * The properties that are exposed for the CLI.
+         */
+        final Collection<PropertySpec> cliProperties = new ArrayList<>();
+
         //---* Add the code to the constructor *-------------------------------
         final var objectType = WildcardTypeName.subtypeOf( Object.class );
         final var handlerName = "valueHandler";
@@ -427,22 +1025,24 @@ public final class CLIBeanBuilder extends CodeBuilderBase
             .addStatement( "$T $L", handlerType, handlerName )
             .addStatement( "$T $L", CLIDefinition.class, definitionName );
 
+        /*
+         * For a precompiled command line model, the metadata for the CLI
+         * definitions goes to a static method, and the value handlers that
+         * are bound to the instance are collected in an array.
+         */
+        final var definitionCases = getComposer().codeBlockBuilder();
+        final var valueHandlers = getComposer().codeBlockBuilder();
+        var definitionIndex = 0;
+
         CLIPropertiesLoop:
         for( final var iterator = getProperties(); iterator.hasNext(); )
         {
             final var property = iterator.next();
             if( !property.isOnCLI() ) continue CLIPropertiesLoop;
+            cliProperties.add( property );
 
             //---* Create the value handler *----------------------------------
-            builder.add(
-                    """
-                    
-                    /*
-                     * CLI definition for Property &quot;$L&quot;.
-                     */
-                    """, property.getPropertyName()
-                )
-                .addStatement( "$L = $L()", handlerName, composeValueHandlerCreation( property ) );
+            final var valueHandlerCreation = composeValueHandlerCreation( property, streamedArgument.filter( p -> p == property ).isPresent() );
 
             //---* Create the CLI definition *---------------------------------
             final var usage = property.getCLIUsage().orElse( null );
@@ -451,13 +1051,14 @@ public final class CLIBeanBuilder extends CodeBuilderBase
             final var required = Boolean.valueOf( property.hasFlag( PROPERTY_CLI_MANDATORY ) );
             final var multiValued = Boolean.valueOf( property.hasFlag( PROPERTY_CLI_MULTIVALUED ) );
             final var format = property.getCLIFormat().orElse( null );
+            final CodeBlock definitionCode;
             if( property.hasFlag( PROPERTY_IS_ARGUMENT ) )
             {
-                builder.addStatement( "$1L = new $2T( $3S, $4L, $5S, $6S, $7S, $8L, $9L, $10L, $11S )",
-                    definitionName,
+                final var argumentIndex = Integer.valueOf( property.getCLIArgumentIndex().orElseThrow( () -> new IllegalAnnotationError( format( MSG_NoArgumentIndex, property.getPropertyName() ) ) ) );
+                definitionCode = getComposer().codeBlockOf( "new $1T( $2S, $3L, $4S, $5S, $6S, $7L, $8L, $9L, $10S )",
                     CLIArgumentDefinition.class,
                     property.getPropertyName(),
-                    Integer.valueOf( property.getCLIArgumentIndex().orElseThrow( () -> new IllegalAnnotationError( format( MSG_NoArgumentIndex, property.getPropertyName() ) ) ) ),
+                    argumentIndex,
                     usage,
                     usageKey,
                     metaVar,
@@ -479,8 +1080,7 @@ public final class CLIBeanBuilder extends CodeBuilderBase
                 final var names = optionNames.stream()
                     .map( s -> format( "\"%s\"", s ) )
                     .collect( joining( ", ", "List.of( ", " )" ) );
-                builder.addStatement( "$1L = new $2T( $3S, $4L, $5S, $6S, $7S, $8L, $9L, $10L, $11S )",
-                    definitionName,
+                definitionCode = getComposer().codeBlockOf( "new $1T( $2S, $3L, $4S, $5S, $6S, $7L, $8L, $9L, $10S )",
                     CLIOptionDefinition.class,
                     property.getPropertyName(),
                     names,
@@ -496,11 +1096,112 @@ public final class CLIBeanBuilder extends CodeBuilderBase
             {
                 throw new IllegalAnnotationError( format( MSG_InvalidCLIType, property.getPropertyName() ) );
             }
-            builder.addStatement( "$N.add( $L )", registry, definitionName );
+
+            if( isPrecompiledCLI() )
+            {
+                definitionCases.add( "case $L -> $L;\n", Integer.valueOf( definitionIndex ), definitionCode );
+                valueHandlers.add( "$L$L()", definitionIndex > 0 ? ", " : EMPTY_STRING, valueHandlerCreation );
+                ++definitionIndex;
+            }
+            else
+            {
+                builder.add(
+                        """
+                        
+                        /*
+                         * CLI definition for Property &quot;$L&quot;.
+                         */
+                        """, property.getPropertyName()
+                    )
+                    .addStatement( "$L = $L()", handlerName, valueHandlerCreation )
+                    .addStatement( "$L = $L", definitionName, definitionCode )
+                    .addStatement( "$N.add( $L )", registry, definitionName );
+            }
         }
-        addConstructorCode( builder.build() );
+        if( isPrecompiledCLI() )
+        {
+            createRetrieveCLIDefinitions( registry, handlerType, handlerName, definitionCases.build(), valueHandlers.build() );
+        }
+        else
+        {
+            addConstructorCode( builder.build() );
+        }
+
+        //---* Create the method that prints the usage *-----------------------
+        createPrintUsage( definitions, cliProperties );
+
+        //---* Create the value assigner *-------------------------------------
+        if( isLambdaFree() || m_IsModificationTracked ) createValueAssigner();
     }   //  doBuild()
 
+    /**
+     *  Returns the flag that controls whether the command line model of the
+     *  configuration bean should be laid out at compile time.
+     *
+     *  @return {@code true} if the command line model is precompiled,
+     *      {@code false} otherwise.
+     *
+     *  @see org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor#OPTION_PrecompiledCLI
+     */
+    private final boolean isPrecompiledCLI() { return getConfiguration().getPrecompiledCLI(); }
+
+    /**
+     *  Retrieves the class for the
+     *  {@link StringConverter}
+     *  for the elements of the given collection property.
+     *
+     *  @param  property    The property.
+     *  @param  elementType The element type of the collection.
+     *  @return The class for the {@code StringConverter}.
+     */
+    private static final TypeName retrieveElementStringConverter( final PropertySpec property, final TypeName elementType )
+    {
+        final var retValue = property.getStringConverterClass()
+            .or( () -> getStringConverter( elementType ) )
+            .or( () -> Optional.ofNullable( property.hasFlag( ELEMENTTYPE_IS_ENUM ) ? ClassName.from( EnumStringConverter.class ) : null ) )
+            .orElseThrow( () -> new IllegalAnnotationError( "Property '%1$s': cannot find StringConverter for '%2$s'".formatted( property.getPropertyName(), elementType.toString() ) ) );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  retrieveElementStringConverter()
+
+    /**
+     *  Retrieves the property for the argument with the highest index, if
+     *  that argument is multi-valued and its property is a {@code List} or
+     *  a {@code Set}; the values for that property could be read from
+     *  streamed argument files.
+     *
+     *  @return An instance of
+     *      {@link Optional}
+     *      that holds the property.
+     *
+     *  @see org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor#OPTION_StreamedArgumentFiles
+     */
+    private final Optional<PropertySpec> retrieveStreamedArgument()
+    {
+        PropertySpec candidate = null;
+        var highestIndex = -1;
+        for( final var iterator = getProperties(); iterator.hasNext(); )
+        {
+            final var property = iterator.next();
+            if( property.isOnCLI() && property.hasFlag( PROPERTY_IS_ARGUMENT ) )
+            {
+                final var index = property.getCLIArgumentIndex().orElse( -1 );
+                if( index > highestIndex )
+                {
+                    highestIndex = index;
+                    candidate = property;
+                }
+            }
+        }
+        final var retValue = Optional.ofNullable( candidate )
+            .filter( property -> property.hasFlag( PROPERTY_CLI_MULTIVALUED ) )
+            .filter( property -> property.isCollection() && (property.getCollectionKind() != CollectionKind.MAP) );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  retrieveStreamedArgument()
+
     /**
      *  <p>{@summary Retrieves the class for the value handler for the given
      *  property.} If returning
@@ -540,6 +1241,36 @@ public final class CLIBeanBuilder extends CodeBuilderBase
         //---* Done *----------------------------------------------------------
         return retValue;
     }   //  retrieveValueHandlerClass()
+
+    /**
+     *  Sorts the given CLI properties into the order for the usage text: the
+     *  options come first, in the order of their properties, followed by the
+     *  arguments, by their index.
+     *
+     *  @param  properties  The CLI properties.
+     *  @return The sorted properties.
+     */
+    private static final List<PropertySpec> sortUsageEntries( final Collection<PropertySpec> properties )
+    {
+        final List<PropertySpec> retValue = new ArrayList<>();
+        final SortedMap<Integer,PropertySpec> arguments = new TreeMap<>();
+        for( final var property : properties )
+        {
+            if( property.hasFlag( PROPERTY_IS_ARGUMENT ) )
+            {
+                final var argumentIndex = Integer.valueOf( property.getCLIArgumentIndex().orElseThrow( () -> new IllegalAnnotationError( format( MSG_NoArgumentIndex, property.getPropertyName() ) ) ) );
+                arguments.put( argumentIndex, property );
+            }
+            else
+            {
+                retValue.add( property );
+            }
+        }
+        retValue.addAll( arguments.values() );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  sortUsageEntries()
 }
 //  class CLIBeanBuilder
 
@@ -18,17 +18,21 @@
 package org.tquadrat.foundation.config.ap.impl.codebuilders;
 
 import static java.lang.String.format;
+import static java.lang.String.join;
 import static java.lang.reflect.Modifier.isPublic;
 import static java.lang.reflect.Modifier.isStatic;
+import static java.util.stream.Collectors.joining;
 import static javax.lang.model.element.Modifier.FINAL;
 import static javax.lang.model.element.Modifier.PRIVATE;
 import static javax.lang.model.element.Modifier.PUBLIC;
+import static javax.lang.model.element.Modifier.STATIC;
 import static org.apiguardian.api.API.Status.INTERNAL;
 import static org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor.DEFAULT_ACCESSOR_TYPE;
 import static org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor.ENUM_ACCESSOR_TYPE;
 import static org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor.LIST_ACCESSOR_TYPE;
 import static org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor.MAP_ACCESSOR_TYPE;
 import static org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor.MSG_AccessorMissing;
+import static org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor.MSG_InvalidDefaultValue;
 import static org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor.MSG_MissingEnvironmentVar;
 import static org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor.MSG_MissingStringConverter;
 import static org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor.MSG_MissingStringConverterWithType;
@@ -36,27 +40,38 @@ import static org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor.MSG_Mi
 import static org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor.MSG_NoCollection;
 import static org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor.MSG_PreferencesNotConfigured;
 import static org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor.SET_ACCESSOR_TYPE;
+import static org.tquadrat.foundation.config.ap.PropertySpec.PropertyFlag.ALLOWS_INIFILE;
 import static org.tquadrat.foundation.config.ap.PropertySpec.PropertyFlag.ALLOWS_PREFERENCES;
+import static org.tquadrat.foundation.config.ap.PropertySpec.PropertyFlag.GETTER_IS_DEFAULT;
 import static org.tquadrat.foundation.config.ap.PropertySpec.PropertyFlag.GETTER_RETURNS_OPTIONAL;
 import static org.tquadrat.foundation.config.ap.PropertySpec.PropertyFlag.PROPERTY_IS_ARGUMENT;
+import static org.tquadrat.foundation.config.ap.PropertySpec.PropertyFlag.PROPERTY_IS_LAZY;
 import static org.tquadrat.foundation.config.ap.PropertySpec.PropertyFlag.PROPERTY_IS_MUTABLE;
 import static org.tquadrat.foundation.config.ap.PropertySpec.PropertyFlag.PROPERTY_IS_OPTION;
 import static org.tquadrat.foundation.config.ap.PropertySpec.PropertyFlag.PROPERTY_REQUIRES_SYNCHRONIZATION;
 import static org.tquadrat.foundation.config.ap.PropertySpec.PropertyFlag.SETTER_CHECK_EMPTY;
 import static org.tquadrat.foundation.config.ap.PropertySpec.PropertyFlag.SETTER_CHECK_NULL;
 import static org.tquadrat.foundation.config.ap.PropertySpec.PropertyFlag.SYSTEM_PREFERENCE;
+import static org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardField.STD_FIELD_DirtyINIValues;
+import static org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardField.STD_FIELD_DirtyPreferences;
 import static org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardField.STD_FIELD_ListenerSupport;
 import static org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardField.STD_FIELD_ReadLock;
 import static org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardField.STD_FIELD_WriteLock;
+import static org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardMethod.STD_METHOD_ScheduleAutoPersist;
+import static org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardMethod.STD_METHOD_UpdateINIFileAsync;
 import static org.tquadrat.foundation.config.ap.impl.codebuilders.CodeBuilderBase.StringConverterInstantiation.AS_ENUM;
 import static org.tquadrat.foundation.config.ap.impl.codebuilders.CodeBuilderBase.StringConverterInstantiation.BY_INSTANCE;
 import static org.tquadrat.foundation.config.ap.impl.codebuilders.CodeBuilderBase.StringConverterInstantiation.THROUGH_CONSTRUCTOR;
+import static org.tquadrat.foundation.config.ap.impl.codebuilders.ConfigBeanBuilder.PREFERENCE_DISPATCHER_CLASS_NAME;
+import static org.tquadrat.foundation.config.ap.impl.codebuilders.ConfigBeanBuilder.PREFERENCE_HOLDER_CLASS_NAME;
 import static org.tquadrat.foundation.javacomposer.Primitives.VOID;
 import static org.tquadrat.foundation.lang.CommonConstants.EMPTY_STRING;
+import static org.tquadrat.foundation.lang.DebugOutput.ifDebug;
 import static org.tquadrat.foundation.lang.Objects.nonNull;
 import static org.tquadrat.foundation.lang.Objects.requireNonNullArgument;
 
 import java.io.IOException;
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.EnumMap;
 import java.util.HashMap;
@@ -65,7 +80,12 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.prefs.BackingStoreException;
 import java.util.prefs.Preferences;
 import java.util.stream.Stream;
@@ -73,11 +93,15 @@ import java.util.stream.Stream;
 import org.apiguardian.api.API;
 import org.tquadrat.foundation.annotation.ClassVersion;
 import org.tquadrat.foundation.ap.CodeGenerationError;
+import org.tquadrat.foundation.ap.IllegalAnnotationError;
+import org.tquadrat.foundation.config.INIBeanSpec;
+import org.tquadrat.foundation.config.PreferencesBeanSpec;
 import org.tquadrat.foundation.config.ap.CodeGenerationConfiguration;
 import org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor;
 import org.tquadrat.foundation.config.ap.PropertySpec;
 import org.tquadrat.foundation.config.ap.impl.CodeBuilder;
 import org.tquadrat.foundation.config.ap.impl.PropertySpecImpl;
+import org.tquadrat.foundation.config.spi.prefs.PreferencesException;
 import org.tquadrat.foundation.exception.UnsupportedEnumError;
 import org.tquadrat.foundation.javacomposer.ClassName;
 import org.tquadrat.foundation.javacomposer.CodeBlock;
@@ -89,6 +113,7 @@ import org.tquadrat.foundation.javacomposer.ParameterizedTypeName;
 import org.tquadrat.foundation.javacomposer.SuppressableWarnings;
 import org.tquadrat.foundation.javacomposer.TypeName;
 import org.tquadrat.foundation.javacomposer.TypeSpec;
+import org.tquadrat.foundation.lang.Lazy;
 import org.tquadrat.foundation.lang.Objects;
 import org.tquadrat.foundation.lang.StringConverter;
 
@@ -324,6 +349,146 @@ abstract sealed class CodeBuilderBase implements CodeBuilder
         m_StandardMethods.put( requireNonNullArgument( reference, "reference" ), method );
     }   //  addMethod()
 
+    /**
+     *  Adds the fields, the method and the constructor code for a shutdown
+     *  hook that calls the given method on all instances of the new class
+     *  that are still alive when the JVM terminates.<br>
+     *  <br>The hook is registered only once per class, and the instances are
+     *  held through weak references, so they can still be garbage
+     *  collected.
+     *
+     *  @param  targetsField    The identifier for the field that holds the
+     *      references to the instances.
+     *  @param  registeredField The identifier for the field that holds the
+     *      flag for the registered shutdown hook.
+     *  @param  hookMethodName  The name for the static method that is run
+     *      by the shutdown hook.
+     *  @param  flushMethod The method that is called on each instance.
+     *  @param  threadName  The name for the thread of the shutdown hook.
+     */
+    protected final void addShutdownFlush( final StandardField targetsField, final StandardField registeredField, final String hookMethodName, final MethodSpec flushMethod, final String threadName )
+    {
+        final var beanClass = ClassName.from( getConfiguration().getPackageName().toString(), getConfiguration().getClassName().toString() );
+
+        //---* Create the fields *---------------------------------------------
+        final var targets = getComposer().fieldBuilder( ParameterizedTypeName.from( ClassName.from( Queue.class ), ParameterizedTypeName.from( ClassName.from( WeakReference.class ), beanClass ) ), targetsField.toString(), PRIVATE, FINAL, STATIC )
+            .addJavadoc(
+                """
+                The instances of this class that will be flushed on shutdown.
+                """ )
+            .initializer( "new $T<>()", ConcurrentLinkedQueue.class )
+            .build();
+        addField( targetsField, targets );
+
+        final var registered = getComposer().fieldBuilder( AtomicBoolean.class, registeredField.toString(), PRIVATE, FINAL, STATIC )
+            .addJavadoc(
+                """
+                The flag that indicates whether the shutdown hook that flushes
+                the instances of this class was already registered.
+                """ )
+            .initializer( "new $T( false )", AtomicBoolean.class )
+            .build();
+        addField( registeredField, registered );
+
+        //---* Create the method that is run by the shutdown hook *-----------
+        final var hookMethod = getComposer().methodBuilder( hookMethodName )
+            .addModifiers( PRIVATE, FINAL, STATIC )
+            .returns( VOID )
+            .addJavadoc(
+                """
+                Calls {@link #$N()} on all instances of this class that are
+                still alive.
+                """, flushMethod )
+            .beginControlFlow(
+                """
+                TargetsLoop:
+                for( final var reference : $N )
+                """, targets )
+            .addStatement( "final var bean = reference.get()" )
+            .addStatement( "if( isNull( bean ) ) continue TargetsLoop" )
+            .addStaticImport( Objects.class, "isNull" )
+            .beginControlFlow(
+                """
+                try
+                """ )
+            .addStatement( "bean.$N()", flushMethod )
+            .nextControlFlow(
+                """
+
+                catch( final $T e )
+                """, RuntimeException.class )
+            .addStatement( "getLogger( $T.class.getName() ).log( $T.WARNING, $S, e )", beanClass, System.Logger.Level.class, format( "%s() failed on shutdown", flushMethod.name() ) )
+            .addStaticImport( System.class, "getLogger" )
+            .endControlFlow()
+            .endControlFlow()
+            .build();
+        addMethod( hookMethod );
+
+        //---* Register the instance *-----------------------------------------
+        addConstructorCode( getComposer().codeBlockBuilder()
+            .add(
+                """
+
+                /*
+                 * Register this instance for the flush on shutdown; the hook
+                 * is shared by all instances of this class.
+                 */
+                """ )
+            .beginControlFlow(
+                """
+                if( $N.compareAndSet( false, true ) )
+                """, registered )
+            .addStatement( "getRuntime().addShutdownHook( new $T( $T::$N, $S ) )", Thread.class, beanClass, hookMethod, threadName )
+            .addStaticImport( Runtime.class, "getRuntime" )
+            .endControlFlow()
+            .beginControlFlow(
+                """
+                for( final var iterator = $N.iterator(); iterator.hasNext(); )
+                """, targets )
+            .addStatement( "if( isNull( iterator.next().get() ) ) iterator.remove()" )
+            .addStaticImport( Objects.class, "isNull" )
+            .endControlFlow()
+            .addStatement( "$N.add( new $T<>( this ) )", targets, WeakReference.class )
+            .build()
+        );
+    }   //  addShutdownFlush()
+
+    /**
+     *  Adds the given type as a nested type to the new class.
+     *
+     *  @param  type    The type to add.
+     */
+    protected final void addType( final TypeSpec type )
+    {
+        m_ClassBuilder.addType( requireNonNullArgument( type, "type" ) );
+    }   //  addType()
+
+    /**
+     *  Adds the code that assigns either the given literal for the default
+     *  value, or the converted value from the variable {@code value}, to the
+     *  field for the given property.
+     *
+     *  @param  builder The builder for the constructor fragment.
+     *  @param  property    The property.
+     *  @param  defaultLiteral  The literal for the default value.
+     */
+    private static final void addDefaultValueAssignment( final CodeBlock.Builder builder, final PropertySpec property, final CodeBlock defaultLiteral )
+    {
+        builder.beginControlFlow(
+                """
+                if( isNull( value ) )
+                """ )
+            .addStaticImport( Objects.class, "isNull" )
+            .addStatement( "$1N = $2L", property.getFieldName(), defaultLiteral )
+            .nextControlFlow(
+                """
+
+                else
+                """ )
+            .addStatement( "$1N = stringConverter.fromString( value )", property.getFieldName() )
+            .endControlFlow();
+    }   //  addDefaultValueAssignment()
+
     /**
      *  {@inheritDoc}
      */
@@ -462,6 +627,9 @@ abstract sealed class CodeBuilderBase implements CodeBuilder
 
             default: throw new UnsupportedEnumError( property.getCollectionKind() );
         }
+
+        //---* Mark the preference and the INI value as modified *-------------
+        builder.addCode( composeModificationCode( codeBuilder, property ) );
         builder.endControlFlow();
 
         //---* Cleanup *-------------------------------------------------------
@@ -511,7 +679,14 @@ abstract sealed class CodeBuilderBase implements CodeBuilder
 
         //---* Set the value *-------------------------------------------------
         final var defaultValue = property.getEnvironmentDefaultValue();
-        if( defaultValue.isPresent() )
+        final var defaultLiteral = defaultValue.flatMap( value -> evaluateDefaultValue( codeBuilder, property, stringConverter, value ) );
+        if( defaultLiteral.isPresent() )
+        {
+            builder.addStatement( "final var value = getenv( $1S )", property.getEnvironmentVariableName().orElseThrow( () -> new CodeGenerationError( format( MSG_MissingEnvironmentVar, property.getPropertyName() ) ) ) )
+                .addStaticImport( System.class, "getenv" );
+            addDefaultValueAssignment( builder, property, defaultLiteral.get() );
+        }
+        else if( defaultValue.isPresent() )
         {
             builder.addStatement( "var value = getenv( $1S )", property.getEnvironmentVariableName().orElseThrow( () -> new CodeGenerationError( format( MSG_MissingEnvironmentVar, property.getPropertyName() ) ) ) )
                 .beginControlFlow(
@@ -528,10 +703,12 @@ abstract sealed class CodeBuilderBase implements CodeBuilder
         {
             builder.addStatement( "final var value = getenv( $1S )", property.getEnvironmentVariableName().orElseThrow( () -> new CodeGenerationError( format( MSG_MissingEnvironmentVar, property.getPropertyName() ) ) ) );
         }
-        builder.addStaticImport( System.class, "getenv" )
-            .addStaticImport( System.class, "getenv" )
-            .addStatement( "$1N = stringConverter.fromString( value )", property.getFieldName() )
-            .endControlFlow();
+        if( defaultLiteral.isEmpty() )
+        {
+            builder.addStaticImport( System.class, "getenv" )
+                .addStatement( "$1N = stringConverter.fromString( value )", property.getFieldName() );
+        }
+        builder.endControlFlow();
 
         //---* Create the return value *---------------------------------------
         final var retValue = builder.build();
@@ -541,138 +718,180 @@ abstract sealed class CodeBuilderBase implements CodeBuilder
     }   //  composeConstructorFragment4Environment()
 
     /**
-     *  The default implementation of the method that composes a constructor
-     *  fragment for the initialisation of the given property in cases it is
-     *  annotated with
-     *  {@link org.tquadrat.foundation.config.EnvironmentVariable &#64;EnvironmentVariable}.
+     *  <p>{@summary The default implementation of the method that composes a
+     *  constructor fragment for the initialisation of the given property in
+     *  cases it is annotated with
+     *  {@link org.tquadrat.foundation.config.SystemPreference &#64;SystemPreference}.}</p>
+     *  <p>All the properties that are not initialised lazily and that are
+     *  read from the same node share the code that resolves the node; that
+     *  code is created together with the code for the first of these
+     *  properties, and the fragment for the other properties will be
+     *  empty.</p>
      *
      *  @param  codeBuilder The factory for the code generation.
      *  @param  property    The property.
      *  @return The field specification.
      */
-    @SuppressWarnings( {"UseOfConcreteClass", "StaticMethodOnlyUsedInOneClass", "OverlyComplexMethod"} )
+    @SuppressWarnings( {"UseOfConcreteClass", "StaticMethodOnlyUsedInOneClass"} )
     public static CodeBlock composeConstructorFragment4SystemPreference( final CodeBuilder codeBuilder, final PropertySpecImpl property )
     {
         final var composer = requireNonNullArgument( codeBuilder, "codeBuilder" ).getComposer();
 
         /*
-         * Create the lambdas for the getter and the setter.
-         * The getter is not used, but required for the constructor of the
-         * PropertyAccess instance.
+         * When the property is initialised lazily, the value is read into a
+         * local holder inside the supplier for the Lazy instance, instead of
+         * being assigned to the field directly.
          */
-        final var getter = composer.lambdaBuilder()
-            .addCode( "$N", requireNonNullArgument( property, "property" ).getFieldName() )
-            .build();
-        final var setter = composer.lambdaBuilder()
-            .addParameter( "p" )
-            .addCode( "$N = p", property.getFieldName() )
-            .build();
+        final var isLazy = requireNonNullArgument( property, "property" ).hasFlag( PROPERTY_IS_LAZY );
+        final var target = isLazy ? "value" : property.getFieldName();
 
-        //---* The accessor class *--------------------------------------------
-        final var accessorClass = property.getPrefsAccessorClass()
-            .orElseThrow( () -> new CodeGenerationError( format( MSG_AccessorMissing, property.getPropertyName() ) ) );
+        /*
+         * For lambda-free code, the accessors get instances of the inner
+         * classes PreferenceValueDispatcher and PreferenceValueHolder as the
+         * getter and the setter.
+         */
+        final var isLambdaFree = codeBuilder.getConfiguration().getLambdaFree();
 
         //---* The path to the node *------------------------------------------
         final var path = property.getSystemPrefsPath()
             .orElseThrow( () -> new CodeGenerationError( format( MSG_PreferencesNotConfigured, property.getPropertyName() ) ) );
 
-        //---* The key for the value *-----------------------------------------
-        final var key = property.getPrefsKey()
-            .orElseThrow( () -> new CodeGenerationError( format( MSG_PreferencesNotConfigured, property.getPropertyName() ) ) );
-
-        final var builder = composer
-            .codeBlockBuilder()
-            .add(
-                """
-                
-                /*
-                 * Initialise the property '$N' from the SYSTEM {@code Preferences}.
-                 *
-                 * Path: $L
-                 * Key : $L
-                 */
-                """, property.getPropertyName(), path, key
-            )
-            .beginControlFlow(
-                """
-                try
-                """ )
-            .beginControlFlow(
-                """
-                if( systemRoot().nodeExists( $S ) )
-                """, path )
-            .addStaticImport( Preferences.class, "systemRoot" )
-            .addStatement( "final var node = systemRoot().node( $S )", path );
+        //---* The properties that are read from the node *--------------------
+        final List<PropertySpec> group = isLazy ? List.of( property ) : getSystemPreferenceGroup( codeBuilder.getConfiguration(), path );
 
-        //noinspection IfStatementWithTooManyBranches
-        if( accessorClass.equals( ENUM_ACCESSOR_TYPE ) )
-        {
-            final var propertyType = property.getPropertyType();
-            builder.addStatement( "final var accessor = new $2T<>( $1S, $3T.class, $4L, $5L )", key, accessorClass, propertyType, getter, setter );
-        }
-        else if( accessorClass.equals( LIST_ACCESSOR_TYPE ) || accessorClass.equals( SET_ACCESSOR_TYPE ) )
+        final var builder = composer.codeBlockBuilder();
+        if( group.getFirst().getPropertyName().equals( property.getPropertyName() ) )
         {
-            final var propertyType = (ParameterizedTypeName) property.getPropertyType();
-            final var argumentType = propertyType.typeArguments().getFirst();
-            final var stringConverterType = getStringConverter( argumentType )
-                .orElseThrow( () -> new CodeGenerationError( format( MSG_MissingStringConverterWithType, property.getPropertyName(), argumentType.toString() ) ) );
-            switch( determineStringConverterInstantiation( stringConverterType, false ) )
+            //---* The keys for the values *-----------------------------------
+            final var keys = new ArrayList<String>( group.size() );
+            for( final var member : group )
             {
-                case BY_INSTANCE -> builder.addStatement( "final var accessor = new $2T<>( $1S, $3T.INSTANCE, $4L, $5L )", key, accessorClass, stringConverterType, getter, setter );
-                case THROUGH_CONSTRUCTOR -> builder.addStatement( "final var accessor = new $2T<>( $1S, new $3T(), $4L, $5L )", key, accessorClass, stringConverterType, getter, setter );
-                case AS_ENUM -> builder.addStatement( "final var accessor = new $2T<>( $1S, new $3T( $6T.class ), $4L, $5L )", key, accessorClass, stringConverterType, getter, setter, propertyType );
+                keys.add( member.getPrefsKey()
+                    .orElseThrow( () -> new CodeGenerationError( format( MSG_PreferencesNotConfigured, member.getPropertyName() ) ) ) );
             }
-        }
-        else if( accessorClass.equals( MAP_ACCESSOR_TYPE ) )
-        {
-            final var propertyType = (ParameterizedTypeName) property.getPropertyType();
-            final var argumentTypes = propertyType.typeArguments();
-            final var keyStringConverterType = getStringConverter( argumentTypes.getFirst() )
-                .orElseThrow( () -> new CodeGenerationError( format( MSG_MissingStringConverterWithType, property.getPropertyName(), argumentTypes.getFirst().toString() ) ) );
-            final var keySnippet =
-                switch( determineStringConverterInstantiation( keyStringConverterType, false ) )
+
+            if( group.size() == 1 )
+            {
+                builder.add(
+                    """
+
+                    /*
+                     * Initialise the property '$N' from the SYSTEM {@code Preferences}.
+                     *
+                     * Path: $L
+                     * Key : $L
+                     */
+                    """, property.getPropertyName(), path, keys.getFirst()
+                );
+            }
+            else
+            {
+                builder.add(
+                    """
+
+                    /*
+                     * Initialise the properties $L from the SYSTEM {@code Preferences}.
+                     *
+                     * Path: $L
+                     * Keys: $L
+                     */
+                    """, group.stream().map( member -> format( "'%s'", member.getPropertyName() ) ).collect( joining( ", " ) ), path, join( ", ", keys )
+                );
+            }
+            if( isLazy )
+            {
+                builder.add(
+                    """
+                    $1N = $2T.use( () ->
+                    {
+                    $>""", property.getFieldName(), Lazy.class );
+                if( isLambdaFree )
                 {
-                    case BY_INSTANCE -> "$3T.INSTANCE";
-                    case THROUGH_CONSTRUCTOR -> "new $3T()";
-                    case AS_ENUM -> EMPTY_STRING;
-                };
-            final var valueStringConverterType = getStringConverter( argumentTypes.get( 1 ) )
-                .orElseThrow( () -> new CodeGenerationError( format( MSG_MissingStringConverterWithType, property.getPropertyName(), argumentTypes.get( 1 ).toString() ) ) );
-            final var valueSnippet =
-                switch( determineStringConverterInstantiation( valueStringConverterType, false ) )
+                    builder.addStatement( "final var $1N = new $2L<$3T>()", target, PREFERENCE_HOLDER_CLASS_NAME, property.getPropertyType().box() );
+                }
+                else
                 {
-                    case BY_INSTANCE -> "$4T.INSTANCE";
-                    case THROUGH_CONSTRUCTOR -> "new $4T()";
-                    case AS_ENUM -> EMPTY_STRING;
-                };
-            builder.addStatement( format( "final var accessor = new $2T<>( $1S, %1$s, %2$s, $5L, $6L )", keySnippet, valueSnippet ), key, accessorClass, keyStringConverterType, valueStringConverterType, getter, setter );
-        }
-        else if( accessorClass.equals( DEFAULT_ACCESSOR_TYPE ) )
-        {
-            final var stringConverterType = property.getStringConverterClass()
-                .orElseThrow( () -> new CodeGenerationError( format( MSG_MissingStringConverter, property.getPropertyName() ) ) );
-            switch( determineStringConverterInstantiation( stringConverterType, property.isEnum() ) )
+                    builder.addStatement( "final var $1N = new $2T<$3T>()", target, AtomicReference.class, property.getPropertyType().box() );
+                }
+            }
+
+            //---* The root node *---------------------------------------------
+            final var factoryClass = codeBuilder.getConfiguration().getPreferencesFactory();
+            final var systemRoot = factoryClass
+                .map( factory -> composer.codeBlockOf( "new $T().systemRoot()", factory ) )
+                .orElseGet( () -> composer.codeBlockOf( "systemRoot()" ) );
+            if( factoryClass.isEmpty() ) builder.addStaticImport( Preferences.class, "systemRoot" );
+
+            builder.beginControlFlow(
+                    """
+                    try
+                    """ )
+                .beginControlFlow(
+                    """
+                    if( $L.nodeExists( $S ) )
+                    """, systemRoot, path )
+                .addStatement( "final var node = $L.node( $S )", systemRoot, path );
+
+            //---* Add the code to read the Preferences *----------------------
+            if( isLazy )
             {
-                case BY_INSTANCE -> builder.addStatement( "final var accessor = new $2T<>( $1S, $4L, $5L, $3T.INSTANCE )", key, accessorClass, stringConverterType, getter, setter );
-                case THROUGH_CONSTRUCTOR -> builder.addStatement( "final var accessor = new $2T<>( $1S, $4L, $5L, new $3T() )", key, accessorClass, stringConverterType, getter, setter );
-                case AS_ENUM -> builder.addStatement( "final var accessor = new $2T<>( $1S, $4L, $5L, new $3T( $6T.class ) )", key, accessorClass, stringConverterType, getter, setter, property.getPropertyType() );
+                final var getter = isLambdaFree
+                    ? composer.codeBlockOf( "$N", target )
+                    : composer.codeBlockOf( "$L", composer.lambdaBuilder()
+                        .addCode( "$N.get()", target )
+                        .build() );
+                final var setter = isLambdaFree
+                    ? composer.codeBlockOf( "$N", target )
+                    : composer.codeBlockOf( "$L", composer.lambdaBuilder()
+                        .addParameter( "p" )
+                        .addCode( "$N.set( p )", target )
+                        .build() );
+                builder.addStatement( "final var accessor = $L", composeSystemPreferenceAccessor( composer, property, keys.getFirst(), getter, setter ) )
+                    .addStatement( "accessor.readPreference( node )" );
+            }
+            else
+            {
+                for( var i = 0; i < group.size(); ++i )
+                {
+                    final var member = group.get( i );
+
+                    /*
+                     * Create the lambdas – or the dispatcher – for the getter
+                     * and the setter. The getter is not used, but required
+                     * for the constructor of the PropertyAccess instance.
+                     */
+                    final var getter = isLambdaFree
+                        ? composer.codeBlockOf( "new $1L<>( this, $2S )", PREFERENCE_DISPATCHER_CLASS_NAME, member.getPropertyName() )
+                        : composer.codeBlockOf( "$L", composer.lambdaBuilder()
+                            .addCode( "$N", member.getFieldName() )
+                            .build() );
+                    final var setter = isLambdaFree
+                        ? getter
+                        : composer.codeBlockOf( "$L", composer.lambdaBuilder()
+                            .addParameter( "p" )
+                            .addCode( "$N = p", member.getFieldName() )
+                            .build() );
+                    builder.addStatement( "$L.readPreference( node )", composeSystemPreferenceAccessor( composer, member, keys.get( i ), getter, setter ) );
+                }
             }
-        }
-        else
-        {
-            builder.addStatement( "final var accessor = new $2T( $1S, $3L, $4L )", key, accessorClass, getter, setter );
-        }
 
-        //---* Add the code to read the Preferences *--------------------------
-        builder.addStatement( "accessor.readPreference( node )" )
-            .endControlFlow()
-            .nextControlFlow(
-                """
-        
-                catch( final $T e )
-                """, BackingStoreException.class )
-            .addStatement( "throw new $T( e )", ExceptionInInitializerError.class )
-            .endControlFlow();
+            builder.endControlFlow()
+                .nextControlFlow(
+                    """
+
+                    catch( final $T e )
+                    """, BackingStoreException.class )
+                .addStatement( "throw new $T( e )", isLazy ? PreferencesException.class : ExceptionInInitializerError.class )
+                .endControlFlow();
+            if( isLazy )
+            {
+                builder.addStatement( "return $N.get()", target )
+                    .add(
+                        """
+                        $<} );
+                        """ );
+            }
+        }
 
         //---* Create the return value *---------------------------------------
         final var retValue = builder.build();
@@ -718,7 +937,13 @@ abstract sealed class CodeBuilderBase implements CodeBuilder
 
         //---* Set the value *-------------------------------------------------
         final var defaultValue = property.getEnvironmentDefaultValue();
-        if( defaultValue.isPresent() )
+        final var defaultLiteral = defaultValue.flatMap( value -> evaluateDefaultValue( codeBuilder, property, stringConverter, value ) );
+        if( defaultLiteral.isPresent() )
+        {
+            builder.addStatement( "final var value = getProperty( $1S )", property.getSystemPropertyName().orElseThrow( () -> new CodeGenerationError( format( MSG_MissingSystemProp, property.getPropertyName() ) ) ) );
+            addDefaultValueAssignment( builder, property, defaultLiteral.get() );
+        }
+        else if( defaultValue.isPresent() )
         {
             builder.addStatement( "final var value = getProperty( $1S, $2S )", property.getSystemPropertyName().orElseThrow( () -> new CodeGenerationError( format( MSG_MissingSystemProp, property.getPropertyName() ) ) ), defaultValue.get() );
         }
@@ -726,9 +951,12 @@ abstract sealed class CodeBuilderBase implements CodeBuilder
         {
             builder.addStatement( "final var value = getProperty( $1S )", property.getSystemPropertyName().orElseThrow( () -> new CodeGenerationError( format( MSG_MissingSystemProp, property.getPropertyName() ) ) ) );
         }
-        builder.addStaticImport( System.class, "getProperty" )
-            .addStatement( "$1N = stringConverter.fromString( value )", property.getFieldName() )
-            .endControlFlow();
+        builder.addStaticImport( System.class, "getProperty" );
+        if( defaultLiteral.isEmpty() )
+        {
+            builder.addStatement( "$1N = stringConverter.fromString( value )", property.getFieldName() );
+        }
+        builder.endControlFlow();
 
         //---* Create the return value *---------------------------------------
         final var retValue = builder.build();
@@ -750,14 +978,32 @@ abstract sealed class CodeBuilderBase implements CodeBuilder
     {
         final var composer = requireNonNullArgument( codeBuilder, "codeBuilder" ).getComposer();
 
-        final var builder = composer.fieldBuilder( property.getPropertyType(), property.getFieldName(), PRIVATE )
-            .addJavadoc(
-                """
-                Property: &quot;$L&quot;.
-                """, property.getPropertyName() );
-        if( Stream.of( PROPERTY_IS_MUTABLE, PROPERTY_IS_OPTION, PROPERTY_IS_ARGUMENT, ALLOWS_PREFERENCES, SYSTEM_PREFERENCE ).noneMatch( property::hasFlag ) )
+        final FieldSpec.Builder builder;
+        if( property.hasFlag( PROPERTY_IS_LAZY ) )
+        {
+            /*
+             * A lazily initialised property is never modified after the
+             * Lazy instance was assigned in the constructor.
+             */
+            final var fieldType = ParameterizedTypeName.from( ClassName.from( Lazy.class ), property.getPropertyType().box() );
+            builder = composer.fieldBuilder( fieldType, property.getFieldName(), PRIVATE )
+                .addJavadoc(
+                    """
+                    Property: &quot;$L&quot; (lazily initialised).
+                    """, property.getPropertyName() )
+                .addModifiers( FINAL );
+        }
+        else
         {
-            builder.addModifiers( FINAL );
+            builder = composer.fieldBuilder( property.getPropertyType(), property.getFieldName(), PRIVATE )
+                .addJavadoc(
+                    """
+                    Property: &quot;$L&quot;.
+                    """, property.getPropertyName() );
+            if( Stream.of( PROPERTY_IS_MUTABLE, PROPERTY_IS_OPTION, PROPERTY_IS_ARGUMENT, ALLOWS_PREFERENCES, SYSTEM_PREFERENCE ).noneMatch( property::hasFlag ) )
+            {
+                builder.addModifiers( FINAL );
+            }
         }
 
         //---* Create the return value *--------------------------------------
@@ -802,11 +1048,11 @@ abstract sealed class CodeBuilderBase implements CodeBuilder
         //---* Return the value *----------------------------------------------
         if( property.hasFlag( GETTER_RETURNS_OPTIONAL ) )
         {
-            builder.addStatement( "return $1T.ofNullable( $2N )", Optional.class, property.getFieldName() );
+            builder.addStatement( property.hasFlag( PROPERTY_IS_LAZY ) ? "return $1T.ofNullable( $2N.get() )" : "return $1T.ofNullable( $2N )", Optional.class, property.getFieldName() );
         }
         else
         {
-            builder.addStatement( "return $1N", property.getFieldName() );
+            builder.addStatement( property.hasFlag( PROPERTY_IS_LAZY ) ? "return $1N.get()" : "return $1N", property.getFieldName() );
         }
 
         //---* Cleanup *-------------------------------------------------------
@@ -819,6 +1065,50 @@ abstract sealed class CodeBuilderBase implements CodeBuilder
         return retValue;
     }   //  composeGetter()
 
+    /**
+     *  <p>{@summary Composes the code that marks the INI value or the
+     *  preference for the given property as modified.} If the automatic
+     *  persistence is configured, the code will also schedule the next
+     *  write.</p>
+     *  <p>This code has to be added to each method that writes to the field
+     *  for the property: the setter, the 'add' method and the code that
+     *  assigns the values from the command line. It is empty if the property
+     *  does not have a tie to the INI file or to the preferences.</p>
+     *
+     *  @param  codeBuilder The factory for the code generation.
+     *  @param  property    The property.
+     *  @return The code.
+     */
+    protected static final CodeBlock composeModificationCode( final CodeBuilder codeBuilder, final PropertySpec property )
+    {
+        final var configuration = requireNonNullArgument( codeBuilder, "codeBuilder" ).getConfiguration();
+        final var builder = codeBuilder.getComposer().codeBlockBuilder();
+
+        final var preferencesIndex = getPreferencesIndex( codeBuilder, property );
+        if( preferencesIndex.isPresent() )
+        {
+            builder.addStatement( "$L.set( $L )", STD_FIELD_DirtyPreferences, preferencesIndex.getAsInt() );
+            if( configuration.getAutoPersistDelay().isPresent() )
+            {
+                builder.addStatement( "$L()", STD_METHOD_ScheduleAutoPersist );
+            }
+        }
+
+        final var iniValueIndex = getINIValueIndex( codeBuilder, property );
+        if( iniValueIndex.isPresent() )
+        {
+            builder.addStatement( "$L.set( $L )", STD_FIELD_DirtyINIValues, iniValueIndex.getAsInt() );
+            if( configuration.getINIAutoPersistDelay().isPresent() )
+            {
+                builder.addStatement( "$L()", STD_METHOD_UpdateINIFileAsync );
+            }
+        }
+        final var retValue = builder.build();
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  composeModificationCode()
+
     /**
      *  The default implementation of the method that composes a setter for the
      *  given property.
@@ -885,6 +1175,9 @@ abstract sealed class CodeBuilderBase implements CodeBuilder
                 $1N = newValue\
                 """, property.getFieldName() );
 
+        //---* Mark the preference and the INI value as modified *-------------
+        builder.addCode( composeModificationCode( codeBuilder, property ) );
+
         //---* Cleanup *-------------------------------------------------------
         if( nonNull( lock) ) builder.endControlFlow();
 
@@ -895,6 +1188,88 @@ abstract sealed class CodeBuilderBase implements CodeBuilder
         return retValue;
     }   //  composeSetter()
 
+    /**
+     *  Composes the expression that creates the
+     *  {@link org.tquadrat.foundation.config.spi.prefs.PreferenceAccessor}
+     *  instance for the given property that is initialised from the SYSTEM
+     *  {@code Preferences}.
+     *
+     *  @param  composer    The factory for the code generation.
+     *  @param  property    The property.
+     *  @param  key The key for the value.
+     *  @param  getter  The expression for the getter.
+     *  @param  setter  The expression for the setter.
+     *  @return The expression.
+     */
+    @SuppressWarnings( {"OverlyComplexMethod", "IfStatementWithTooManyBranches"} )
+    private static final CodeBlock composeSystemPreferenceAccessor( final JavaComposer composer, final PropertySpec property, final String key, final CodeBlock getter, final CodeBlock setter )
+    {
+        final var accessorClass = property.getPrefsAccessorClass()
+            .orElseThrow( () -> new CodeGenerationError( format( MSG_AccessorMissing, property.getPropertyName() ) ) );
+
+        final CodeBlock retValue;
+        if( accessorClass.equals( ENUM_ACCESSOR_TYPE ) )
+        {
+            final var propertyType = property.getPropertyType();
+            retValue = composer.codeBlockOf( "new $2T<>( $1S, $3T.class, $4L, $5L )", key, accessorClass, propertyType, getter, setter );
+        }
+        else if( accessorClass.equals( LIST_ACCESSOR_TYPE ) || accessorClass.equals( SET_ACCESSOR_TYPE ) )
+        {
+            final var propertyType = (ParameterizedTypeName) property.getPropertyType();
+            final var argumentType = propertyType.typeArguments().getFirst();
+            final var stringConverterType = getStringConverter( argumentType )
+                .orElseThrow( () -> new CodeGenerationError( format( MSG_MissingStringConverterWithType, property.getPropertyName(), argumentType.toString() ) ) );
+            retValue = switch( determineStringConverterInstantiation( stringConverterType, false ) )
+            {
+                case BY_INSTANCE -> composer.codeBlockOf( "new $2T<>( $1S, $3T.INSTANCE, $4L, $5L )", key, accessorClass, stringConverterType, getter, setter );
+                case THROUGH_CONSTRUCTOR -> composer.codeBlockOf( "new $2T<>( $1S, new $3T(), $4L, $5L )", key, accessorClass, stringConverterType, getter, setter );
+                case AS_ENUM -> composer.codeBlockOf( "new $2T<>( $1S, new $3T( $6T.class ), $4L, $5L )", key, accessorClass, stringConverterType, getter, setter, propertyType );
+            };
+        }
+        else if( accessorClass.equals( MAP_ACCESSOR_TYPE ) )
+        {
+            final var propertyType = (ParameterizedTypeName) property.getPropertyType();
+            final var argumentTypes = propertyType.typeArguments();
+            final var keyStringConverterType = getStringConverter( argumentTypes.getFirst() )
+                .orElseThrow( () -> new CodeGenerationError( format( MSG_MissingStringConverterWithType, property.getPropertyName(), argumentTypes.getFirst().toString() ) ) );
+            final var keySnippet =
+                switch( determineStringConverterInstantiation( keyStringConverterType, false ) )
+                {
+                    case BY_INSTANCE -> "$3T.INSTANCE";
+                    case THROUGH_CONSTRUCTOR -> "new $3T()";
+                    case AS_ENUM -> EMPTY_STRING;
+                };
+            final var valueStringConverterType = getStringConverter( argumentTypes.get( 1 ) )
+                .orElseThrow( () -> new CodeGenerationError( format( MSG_MissingStringConverterWithType, property.getPropertyName(), argumentTypes.get( 1 ).toString() ) ) );
+            final var valueSnippet =
+                switch( determineStringConverterInstantiation( valueStringConverterType, false ) )
+                {
+                    case BY_INSTANCE -> "$4T.INSTANCE";
+                    case THROUGH_CONSTRUCTOR -> "new $4T()";
+                    case AS_ENUM -> EMPTY_STRING;
+                };
+            retValue = composer.codeBlockOf( format( "new $2T<>( $1S, %1$s, %2$s, $5L, $6L )", keySnippet, valueSnippet ), key, accessorClass, keyStringConverterType, valueStringConverterType, getter, setter );
+        }
+        else if( accessorClass.equals( DEFAULT_ACCESSOR_TYPE ) )
+        {
+            final var stringConverterType = property.getStringConverterClass()
+                .orElseThrow( () -> new CodeGenerationError( format( MSG_MissingStringConverter, property.getPropertyName() ) ) );
+            retValue = switch( determineStringConverterInstantiation( stringConverterType, property.isEnum() ) )
+            {
+                case BY_INSTANCE -> composer.codeBlockOf( "new $2T<>( $1S, $4L, $5L, $3T.INSTANCE )", key, accessorClass, stringConverterType, getter, setter );
+                case THROUGH_CONSTRUCTOR -> composer.codeBlockOf( "new $2T<>( $1S, $4L, $5L, new $3T() )", key, accessorClass, stringConverterType, getter, setter );
+                case AS_ENUM -> composer.codeBlockOf( "new $2T<>( $1S, $4L, $5L, new $3T( $6T.class ) )", key, accessorClass, stringConverterType, getter, setter, property.getPropertyType() );
+            };
+        }
+        else
+        {
+            retValue = composer.codeBlockOf( "new $2T( $1S, $3L, $4L )", key, accessorClass, getter, setter );
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  composeSystemPreferenceAccessor()
+
     /**
      *  Determines how to instantiate the given implementation of
      *  {@link org.tquadrat.foundation.lang.StringConverter}.
@@ -942,6 +1317,94 @@ abstract sealed class CodeBuilderBase implements CodeBuilder
         return retValue;
     }   //  determineStringConverterInstantiation
 
+    /**
+     *  <p>{@summary Converts the given default value for the given property
+     *  at compile time, using the
+     *  {@link StringConverter}
+     *  for the property.}</p>
+     *  <p>This is possible only if the String converter class is available
+     *  to the annotation processor; if it is not, or if the converter needs
+     *  the property type for its instantiation (like for an enum), the
+     *  default value will be converted at runtime, as before.</p>
+     *  <p>If the conversion succeeds, and the result can be expressed as a
+     *  literal of the property type, that literal will be returned.</p>
+     *
+     *  @param  codeBuilder The factory for the code generation.
+     *  @param  property    The property.
+     *  @param  stringConverterClass    The String converter class.
+     *  @param  defaultValue    The default value.
+     *  @return An instance of
+     *      {@link Optional}
+     *      that holds the literal for the converted default value.
+     *  @throws IllegalAnnotationError  The default value is invalid.
+     */
+    @SuppressWarnings( "OverlyComplexMethod" )
+    private static final Optional<CodeBlock> evaluateDefaultValue( final CodeBuilder codeBuilder, final PropertySpec property, final TypeName stringConverterClass, final String defaultValue ) throws IllegalAnnotationError
+    {
+        Optional<CodeBlock> retValue = Optional.empty();
+        if( !property.isEnum() && (stringConverterClass instanceof final ClassName className) )
+        {
+            //---* Get the String converter *----------------------------------
+            StringConverter<?> stringConverter = null;
+            try
+            {
+                final var candidateClass = Class.forName( className.canonicalName(), false, CodeBuilderBase.class.getClassLoader() );
+                stringConverter = determineStringConverterInstantiation( stringConverterClass, false ) == BY_INSTANCE
+                    ? (StringConverter<?>) candidateClass.getField( "INSTANCE" ).get( null )
+                    : (StringConverter<?>) candidateClass.getConstructor().newInstance();
+            }
+            catch( final ReflectiveOperationException | LinkageError | RuntimeException e )
+            {
+                /*
+                 * The String converter class is not available to the
+                 * annotation processor, or it cannot be loaded, initialised
+                 * or instantiated; the default value will be converted at
+                 * runtime.
+                 */
+                ifDebug( e );
+            }
+
+            //---* Convert the default value *---------------------------------
+            if( nonNull( stringConverter ) )
+            {
+                Object value = null;
+                try
+                {
+                    value = stringConverter.fromString( defaultValue );
+                }
+                catch( final LinkageError e )
+                {
+                    /*
+                     * A class that is required for the conversion is not
+                     * available to the annotation processor; the default
+                     * value will be converted at runtime.
+                     */
+                    ifDebug( e );
+                }
+                catch( final RuntimeException e )
+                {
+                    throw new IllegalAnnotationError( format( MSG_InvalidDefaultValue, property.getPropertyName(), defaultValue, e.getMessage() ) );
+                }
+
+                //---* Create the literal *------------------------------------
+                if( nonNull( value ) && property.getPropertyType().box().equals( TypeName.from( value.getClass() ) ) )
+                {
+                    final var composer = codeBuilder.getComposer();
+                    CodeBlock literal = null;
+                    if( value instanceof final String string ) literal = composer.codeBlockOf( "$S", string );
+                    else if( value instanceof Boolean || value instanceof Integer ) literal = composer.codeBlockOf( "$L", value );
+                    else if( value instanceof Long ) literal = composer.codeBlockOf( "$LL", value );
+                    else if( (value instanceof final Double doubleValue) && Double.isFinite( doubleValue.doubleValue() ) ) literal = composer.codeBlockOf( "$LD", value );
+                    else if( (value instanceof final Float floatValue) && Float.isFinite( floatValue.floatValue() ) ) literal = composer.codeBlockOf( "$LF", value );
+                    retValue = Optional.ofNullable( literal );
+                }
+            }
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  evaluateDefaultValue()
+
     /**
      *  {@inheritDoc}
      */
@@ -966,6 +1429,38 @@ abstract sealed class CodeBuilderBase implements CodeBuilder
         return retValue;
     }   //  getField()
 
+    /**
+     *  <p>{@summary Returns the index of the flag for the given property in
+     *  the field
+     *  {@link org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardField#STD_FIELD_DirtyINIValues STD_FIELD_DirtyINIValues}.}
+     *  This flag marks the property as modified since the last call to
+     *  {@code updateINIFile()}.</p>
+     *  <p>The index is determined by the position of the property among all
+     *  the properties that are tied to the INI file; the result will be
+     *  empty if the property does not have such a tie, or if the
+     *  configuration bean does not implement
+     *  {@link INIBeanSpec}
+     *  at all.</p>
+     *
+     *  @param  codeBuilder The factory for the code generation.
+     *  @param  property    The property.
+     *  @return An instance of
+     *      {@link OptionalInt}
+     *      that holds the index.
+     */
+    protected static final OptionalInt getINIValueIndex( final CodeBuilder codeBuilder, final PropertySpec property )
+    {
+        final var configuration = requireNonNullArgument( codeBuilder, "codeBuilder" ).getConfiguration();
+        final var propertyName = requireNonNullArgument( property, "property" ).getPropertyName();
+
+        final var retValue = configuration.implementInterface( INIBeanSpec.class )
+            ? configuration.getPropertyIndex( ALLOWS_INIFILE, propertyName )
+            : OptionalInt.empty();
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  getINIValueIndex()
+
     /**
      *  {@inheritDoc}
      */
@@ -978,6 +1473,38 @@ abstract sealed class CodeBuilderBase implements CodeBuilder
         return retValue;
     }   //  getMethod()
 
+    /**
+     *  <p>{@summary Returns the index of the flag for the given property in
+     *  the field
+     *  {@link org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardField#STD_FIELD_DirtyPreferences STD_FIELD_DirtyPreferences}.}
+     *  This flag marks the property as modified since the last call to
+     *  {@code updatePreferences()}.</p>
+     *  <p>The index is determined by the position of the property among all
+     *  the properties that are tied to the preferences; the result will be
+     *  empty if the property does not have such a tie, or if the
+     *  configuration bean does not implement
+     *  {@link PreferencesBeanSpec}
+     *  at all.</p>
+     *
+     *  @param  codeBuilder The factory for the code generation.
+     *  @param  property    The property.
+     *  @return An instance of
+     *      {@link OptionalInt}
+     *      that holds the index.
+     */
+    protected static final OptionalInt getPreferencesIndex( final CodeBuilder codeBuilder, final PropertySpec property )
+    {
+        final var configuration = requireNonNullArgument( codeBuilder, "codeBuilder" ).getConfiguration();
+        final var propertyName = requireNonNullArgument( property, "property" ).getPropertyName();
+
+        final var retValue = configuration.implementInterface( PreferencesBeanSpec.class )
+            ? configuration.getPropertyIndex( ALLOWS_PREFERENCES, propertyName )
+            : OptionalInt.empty();
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  getPreferencesIndex()
+
     /**
      *  Returns an iterator over the configured properties.
      *
@@ -1004,6 +1531,40 @@ abstract sealed class CodeBuilderBase implements CodeBuilder
         return retValue;
     }   //  getStringConverter()
 
+    /**
+     *  Returns the properties that are initialised from the SYSTEM
+     *  {@code Preferences} node with the given path, without those that are
+     *  initialised lazily.
+     *
+     *  @param  configuration   The configuration for the code generation.
+     *  @param  path    The path of the node.
+     *  @return The properties, in the order of their generation.
+     */
+    @SuppressWarnings( "UseOfConcreteClass" )
+    private static final List<PropertySpec> getSystemPreferenceGroup( final CodeGenerationConfiguration configuration, final String path )
+    {
+        final List<PropertySpec> retValue = new ArrayList<>();
+        CandidateLoop: for( final var iterator = configuration.propertyIterator(); iterator.hasNext(); )
+        {
+            final var candidate = iterator.next();
+            if( !candidate.hasFlag( SYSTEM_PREFERENCE ) || candidate.hasFlag( PROPERTY_IS_LAZY ) || candidate.hasFlag( GETTER_IS_DEFAULT ) ) continue CandidateLoop;
+            final var property = candidate.merge();
+            if( property.getSystemPrefsPath().filter( path::equals ).isPresent() ) retValue.add( property );
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  getSystemPreferenceGroup()
+
+    /**
+     *  Returns the flag that controls whether the generated code should do
+     *  without lambda expressions and method references where possible.
+     *
+     *  @return {@code true} if lambda-free code is requested, {@code false}
+     *      otherwise.
+     */
+    protected final boolean isLambdaFree() { return m_Configuration.getLambdaFree(); }
+
     /**
      *  Returns the flag that controls whether the configuration bean has to be
      *  generated thread safe.
@@ -20,12 +20,17 @@ package org.tquadrat.foundation.config.ap.impl.codebuilders;
 import org.apiguardian.api.API;
 import org.tquadrat.foundation.annotation.ClassVersion;
 import org.tquadrat.foundation.config.ConfigurationChangeListener;
+import org.tquadrat.foundation.config.PreferencesBeanSpec;
 import org.tquadrat.foundation.config.ap.PropertySpec;
 import org.tquadrat.foundation.config.spi.ConfigChangeListenerSupport;
 import org.tquadrat.foundation.exception.ValidationException;
+import org.tquadrat.foundation.function.Getter;
+import org.tquadrat.foundation.function.Setter;
+import org.tquadrat.foundation.javacomposer.ClassName;
 import org.tquadrat.foundation.javacomposer.MethodSpec;
 import org.tquadrat.foundation.javacomposer.ParameterizedTypeName;
 import org.tquadrat.foundation.javacomposer.TypeName;
+import org.tquadrat.foundation.javacomposer.TypeVariableName;
 import org.tquadrat.foundation.lang.AutoLock;
 import org.tquadrat.foundation.lang.CommonConstants;
 import org.tquadrat.foundation.lang.Objects;
@@ -42,9 +47,11 @@ import static javax.lang.model.element.Modifier.PUBLIC;
 import static javax.lang.model.element.Modifier.STATIC;
 import static org.apiguardian.api.API.Status.MAINTAINED;
 import static org.tquadrat.foundation.config.SpecialPropertyType.CONFIG_PROPERTY_RESOURCEBUNDLE;
+import static org.tquadrat.foundation.config.ap.PropertySpec.PropertyFlag.ALLOWS_PREFERENCES;
 import static org.tquadrat.foundation.config.ap.PropertySpec.PropertyFlag.ENVIRONMENT_VARIABLE;
 import static org.tquadrat.foundation.config.ap.PropertySpec.PropertyFlag.EXEMPT_FROM_TOSTRING;
 import static org.tquadrat.foundation.config.ap.PropertySpec.PropertyFlag.GETTER_IS_DEFAULT;
+import static org.tquadrat.foundation.config.ap.PropertySpec.PropertyFlag.PROPERTY_IS_LAZY;
 import static org.tquadrat.foundation.config.ap.PropertySpec.PropertyFlag.PROPERTY_IS_SPECIAL;
 import static org.tquadrat.foundation.config.ap.PropertySpec.PropertyFlag.SYSTEM_PREFERENCE;
 import static org.tquadrat.foundation.config.ap.PropertySpec.PropertyFlag.SYSTEM_PROPERTY;
@@ -80,6 +87,24 @@ import static org.tquadrat.foundation.util.StringUtils.repeat;
 @API( status = MAINTAINED, since = "0.1.0" )
 public final class ConfigBeanBuilder extends CodeBuilderBase
 {
+        /*-----------*\
+    ====** Constants **========================================================
+        \*-----------*/
+    /**
+     *  The name for the inner class that implements
+     *  {@link Getter}
+     *  and
+     *  {@link Setter}
+     *  for the preference accessors in lambda-free code: {@value}.
+     */
+    public static final String PREFERENCE_DISPATCHER_CLASS_NAME = "PreferenceValueDispatcher";
+
+    /**
+     *  The name for the inner class that holds the value of a lazily
+     *  initialised system preference in lambda-free code: {@value}.
+     */
+    public static final String PREFERENCE_HOLDER_CLASS_NAME = "PreferenceValueHolder";
+
         /*--------------*\
     ====** Constructors **=====================================================
         \*--------------*/
@@ -227,6 +252,9 @@ public final class ConfigBeanBuilder extends CodeBuilderBase
         getConfiguration().getInitDataResource()
             .ifPresent( this::composeInitializationCodeFromResource );
 
+        //---* Replace the lambdas for the preference accessors *-------------
+        if( isLambdaFree() ) createPreferenceValueDispatcher();
+
         //---* Create 'toString()' *-------------------------------------------
         createToString();
     }   //  build()
@@ -420,6 +448,223 @@ public final class ConfigBeanBuilder extends CodeBuilderBase
         addConstructorCode( builder.build() );
     }   //  composeInitializationCodeFromResource()
 
+    /**
+     *  Creates the methods that retrieve and assign the values of the
+     *  properties that are read from the preferences, together with the
+     *  generic inner classes
+     *  {@value #PREFERENCE_DISPATCHER_CLASS_NAME}
+     *  and
+     *  {@value #PREFERENCE_HOLDER_CLASS_NAME}
+     *  that replace the lambda expressions for the getters and setters of
+     *  the preference accessors in lambda-free code.
+     */
+    @SuppressWarnings( "OverlyLongMethod" )
+    private final void createPreferenceValueDispatcher()
+    {
+        final var isPreferencesBean = getConfiguration().implementInterface( PreferencesBeanSpec.class );
+        final var retrieveCases = getComposer().codeBlockBuilder();
+        final var assignCases = getComposer().codeBlockBuilder();
+        var hasDispatchedProperties = false;
+        var hasLazyProperties = false;
+
+        //---* Collect the properties *----------------------------------------
+        PropertyLoop:
+        for( final var iterator = getProperties(); iterator.hasNext(); )
+        {
+            final var property = iterator.next();
+            if( property.hasFlag( SYSTEM_PREFERENCE ) && property.hasFlag( PROPERTY_IS_LAZY ) )
+            {
+                hasLazyProperties = true;
+                continue PropertyLoop;
+            }
+            final var isDispatched = (isPreferencesBean && property.hasFlag( ALLOWS_PREFERENCES ))
+                || (property.hasFlag( SYSTEM_PREFERENCE ) && !property.hasFlag( GETTER_IS_DEFAULT ));
+            if( !isDispatched ) continue PropertyLoop;
+
+            retrieveCases.addStatement( "case $1S -> $2N", property.getPropertyName(), property.getFieldName() );
+            assignCases.addStatement( "case $1S -> $2N = ($3T) value", property.getPropertyName(), property.getFieldName(), property.getPropertyType().box() );
+            hasDispatchedProperties = true;
+        }   //  PropertyLoop:
+
+        final var typeVariable = TypeVariableName.from( "T" );
+        final var value = getComposer().parameterBuilder( typeVariable, "value", FINAL )
+            .build();
+        final var getterType = ParameterizedTypeName.from( ClassName.from( Getter.class ), typeVariable );
+        final var setterType = ParameterizedTypeName.from( ClassName.from( Setter.class ), typeVariable );
+
+        if( hasDispatchedProperties )
+        {
+            //---* Create the dispatch methods *-------------------------------
+            final var propertyName = getComposer().parameterBuilder( String.class, "propertyName", FINAL )
+                .build();
+            final var retrieveMethod = getComposer().methodBuilder( "retrievePreferenceValue" )
+                .addModifiers( PRIVATE, FINAL )
+                .addParameter( propertyName )
+                .returns( Object.class )
+                .addJavadoc(
+                    """
+                    Returns the value of the property with the given name, for the
+                    preference accessors.
+
+                    @param  $1N The name of the property.
+                    @return The value of the property.
+                    """, propertyName )
+                .addCode(
+                    """
+                    final $1T retValue = switch( $2N )
+                    {$>
+                    $3L\
+                    default -> throw new $4T( "Unknown preference property: %s".formatted( $2N ) );
+                    $<};
+                    """, Object.class, propertyName, retrieveCases.build(), IllegalArgumentException.class )
+                .addCode( getComposer().createReturnStatement() )
+                .build();
+            addMethod( retrieveMethod );
+
+            final var objectValue = getComposer().parameterBuilder( Object.class, "value", FINAL )
+                .build();
+            final var assignMethod = getComposer().methodBuilder( "assignPreferenceValue" )
+                .addModifiers( PRIVATE, FINAL )
+                .addAnnotation( createSuppressWarningsAnnotation( UNCHECKED ) )
+                .addParameter( propertyName )
+                .addParameter( objectValue )
+                .returns( VOID )
+                .addJavadoc(
+                    """
+                    Assigns the given value from the preferences to the property with
+                    the given name.
+
+                    @param  $1N The name of the property.
+                    @param  $2N The value.
+                    """, propertyName, objectValue )
+                .beginControlFlow(
+                    """
+                    switch( $N )
+                    """, propertyName )
+                .addCode( assignCases.build() )
+                .addStatement( "default -> throw new $1T( \"Unknown preference property: %s\".formatted( $2N ) )", IllegalArgumentException.class, propertyName )
+                .endControlFlow()
+                .build();
+            addMethod( assignMethod );
+
+            //---* Create the dispatcher class *-------------------------------
+            final var beanClass = ClassName.from( getConfiguration().getPackageName().toString(), getConfiguration().getClassName().toString() );
+            final var beanField = getComposer().fieldBuilder( beanClass, "m_Bean", PRIVATE, FINAL )
+                .addJavadoc(
+                    """
+                    The configuration bean.
+                    """ )
+                .build();
+            final var nameField = getComposer().fieldBuilder( String.class, "m_PropertyName", PRIVATE, FINAL )
+                .addJavadoc(
+                    """
+                    The name of the property.
+                    """ )
+                .build();
+            final var bean = getComposer().parameterBuilder( beanClass, "bean", FINAL )
+                .build();
+            final var constructor = getComposer().constructorBuilder()
+                .addParameter( bean )
+                .addParameter( propertyName )
+                .addJavadoc(
+                    """
+                    Creates a new {@code $1L} instance.
+
+                    @param  $2N The configuration bean.
+                    @param  $3N The name of the property.
+                    """, PREFERENCE_DISPATCHER_CLASS_NAME, bean, propertyName )
+                .addStatement( "$1N = $2N", beanField, bean )
+                .addStatement( "$1N = $2N", nameField, propertyName )
+                .build();
+            final var getMethod = getComposer().methodBuilder( "get" )
+                .addModifiers( PUBLIC, FINAL )
+                .addAnnotation( Override.class )
+                .addAnnotation( createSuppressWarningsAnnotation( UNCHECKED ) )
+                .returns( typeVariable )
+                .addJavadoc( getComposer().createInheritDocComment() )
+                .addStatement( "return ($1T) $2N.$3N( $4N )", typeVariable, beanField, retrieveMethod, nameField )
+                .build();
+            final var setMethod = getComposer().methodBuilder( "set" )
+                .addModifiers( PUBLIC, FINAL )
+                .addAnnotation( Override.class )
+                .addParameter( value )
+                .returns( VOID )
+                .addJavadoc( getComposer().createInheritDocComment() )
+                .addStatement( "$1N.$2N( $3N, $4N )", beanField, assignMethod, nameField, value )
+                .build();
+            final var dispatcherClass = getComposer().classBuilder( PREFERENCE_DISPATCHER_CLASS_NAME )
+                .addModifiers( PRIVATE, STATIC, FINAL )
+                .addTypeVariable( typeVariable )
+                .addSuperinterface( getterType )
+                .addSuperinterface( setterType )
+                .addJavadoc(
+                    """
+                    The implementation of
+                    {@link Getter}
+                    and
+                    {@link Setter}
+                    that is used by the preference accessors to read and write the
+                    property values without the need for lambda expressions.
+
+                    @param  <T> The type of the property value.
+                    """ )
+                .addField( beanField )
+                .addField( nameField )
+                .addMethod( constructor )
+                .addMethod( getMethod )
+                .addMethod( setMethod )
+                .build();
+            addType( dispatcherClass );
+        }
+
+        if( hasLazyProperties )
+        {
+            //---* Create the holder class *-----------------------------------
+            final var valueField = getComposer().fieldBuilder( typeVariable, "m_Value", PRIVATE )
+                .addJavadoc(
+                    """
+                    The value.
+                    """ )
+                .build();
+            final var getMethod = getComposer().methodBuilder( "get" )
+                .addModifiers( PUBLIC, FINAL )
+                .addAnnotation( Override.class )
+                .returns( typeVariable )
+                .addJavadoc( getComposer().createInheritDocComment() )
+                .addStatement( "return $N", valueField )
+                .build();
+            final var setMethod = getComposer().methodBuilder( "set" )
+                .addModifiers( PUBLIC, FINAL )
+                .addAnnotation( Override.class )
+                .addParameter( value )
+                .returns( VOID )
+                .addJavadoc( getComposer().createInheritDocComment() )
+                .addStatement( "$1N = $2N", valueField, value )
+                .build();
+            final var holderClass = getComposer().classBuilder( PREFERENCE_HOLDER_CLASS_NAME )
+                .addModifiers( PRIVATE, STATIC, FINAL )
+                .addTypeVariable( typeVariable )
+                .addSuperinterface( getterType )
+                .addSuperinterface( setterType )
+                .addJavadoc(
+                    """
+                    The implementation of
+                    {@link Getter}
+                    and
+                    {@link Setter}
+                    that holds the value of a lazily initialised system preference
+                    while it is read by the preference accessor.
+
+                    @param  <T> The type of the property value.
+                    """ )
+                .addField( valueField )
+                .addMethod( getMethod )
+                .addMethod( setMethod )
+                .build();
+            addType( holderClass );
+        }
+    }   //  createPreferenceValueDispatcher()
+
     /**
      *  <p>{@summary Creates the implementation of the method
      *  {@link Object#toString()}
@@ -469,7 +714,9 @@ public final class ConfigBeanBuilder extends CodeBuilderBase
             if( !propertySpec.hasFlag( GETTER_IS_DEFAULT ) )
             {
                 //---* We have a field … *-------------------------------------
-                final var field = propertySpec.getFieldName();
+                final var field = propertySpec.hasFlag( PROPERTY_IS_LAZY )
+                    ? "%1$s.get()".formatted( propertySpec.getFieldName() )
+                    : propertySpec.getFieldName();
 
                 if( propertySpec.getStringConverterClass().isPresent() )
                 {
@@ -21,39 +21,110 @@ import static java.lang.String.format;
 import static javax.lang.model.element.Modifier.FINAL;
 import static javax.lang.model.element.Modifier.PRIVATE;
 import static javax.lang.model.element.Modifier.PUBLIC;
+import static javax.lang.model.element.Modifier.STATIC;
+import static javax.lang.model.element.Modifier.SYNCHRONIZED;
+import static javax.lang.model.element.Modifier.VOLATILE;
 import static org.apiguardian.api.API.Status.INTERNAL;
 import static org.apiguardian.api.API.Status.MAINTAINED;
+import static org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor.MSG_AutoPersistUnsynchronized;
 import static org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor.MSG_INIGroupMissing;
 import static org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor.MSG_INIKeyMissing;
+import static org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor.MSG_INIPathInvalid;
 import static org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor.MSG_INIPathMissing;
+import static org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor.MSG_INIPathNoFile;
+import static org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor.MSG_INIPathProperty;
+import static org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor.MSG_INIPathVariable;
 import static org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor.MSG_MissingStringConverter;
+import static org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor.OPTION_AutoPersistINIFile;
 import static org.tquadrat.foundation.config.ap.PropertySpec.PropertyFlag.ALLOWS_INIFILE;
+import static org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardField.STD_FIELD_ClearedSharedINIFiles;
+import static org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardField.STD_FIELD_DirtyINIValues;
+import static org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardField.STD_FIELD_INIAutoPersistDelay;
+import static org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardField.STD_FIELD_INIAutoPersistFuture;
 import static org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardField.STD_FIELD_INIFile;
-import static org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardField.STD_FIELD_ReadLock;
+import static org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardField.STD_FIELD_INIFileLastModified;
+import static org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardField.STD_FIELD_INIFileRefreshPending;
+import static org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardField.STD_FIELD_INIFileSaveLocks;
+import static org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardField.STD_FIELD_INIFileSize;
+import static org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardField.STD_FIELD_INIFileWatchDelay;
+import static org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardField.STD_FIELD_INIFileWatchService;
+import static org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardField.STD_FIELD_INIFileWatchTargets;
+import static org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardField.STD_FIELD_INIFileWatcherStarted;
+import static org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardField.STD_FIELD_INIFlushHookRegistered;
+import static org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardField.STD_FIELD_INIFlushTargets;
+import static org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardField.STD_FIELD_INIGroupValues;
+import static org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardField.STD_FIELD_INISectionsDigest;
+import static org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardField.STD_FIELD_INIValueGroups;
+import static org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardField.STD_FIELD_INIValuesPersisted;
+import static org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardField.STD_FIELD_ListenerSupport;
+import static org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardField.STD_FIELD_SharedINIFile;
+import static org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardField.STD_FIELD_SharedINIFiles;
 import static org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardField.STD_FIELD_WriteLock;
+import static org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardMethod.STD_METHOD_UpdateINIFileAsync;
 import static org.tquadrat.foundation.javacomposer.Primitives.VOID;
 import static org.tquadrat.foundation.javacomposer.SuppressableWarnings.THROW_CAUGHT_LOCALLY;
 import static org.tquadrat.foundation.javacomposer.SuppressableWarnings.createSuppressWarningsAnnotation;
 import static org.tquadrat.foundation.lang.CommonConstants.EMPTY_STRING;
+import static org.tquadrat.foundation.lang.Objects.isNull;
 import static org.tquadrat.foundation.util.JavaUtils.composeGetterName;
 import static org.tquadrat.foundation.util.Template.hasVariables;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
 
 import org.apiguardian.api.API;
 import org.tquadrat.foundation.annotation.ClassVersion;
 import org.tquadrat.foundation.ap.CodeGenerationError;
+import org.tquadrat.foundation.config.ap.PropertySpec;
 import org.tquadrat.foundation.config.spi.prefs.PreferencesException;
+import org.tquadrat.foundation.exception.UnexpectedExceptionError;
 import org.tquadrat.foundation.inifile.INIFile;
+import org.tquadrat.foundation.javacomposer.ClassName;
+import org.tquadrat.foundation.javacomposer.CodeBlock;
+import org.tquadrat.foundation.javacomposer.FieldSpec;
+import org.tquadrat.foundation.javacomposer.MethodSpec;
 import org.tquadrat.foundation.javacomposer.ParameterizedTypeName;
+import org.tquadrat.foundation.javacomposer.TypeName;
 import org.tquadrat.foundation.lang.CommonConstants;
 import org.tquadrat.foundation.lang.Lazy;
+import org.tquadrat.foundation.lang.Objects;
 import org.tquadrat.foundation.util.Template;
 import org.tquadrat.foundation.util.stringconverter.PathStringConverter;
 
@@ -75,67 +146,1251 @@ import org.tquadrat.foundation.util.stringconverter.PathStringConverter;
 @API( status = MAINTAINED, since = "0.1.0" )
 public final class INIBeanBuilder extends CodeBuilderBase
 {
+        /*-----------*\
+    ====** Constants **========================================================
+        \*-----------*/
+    /**
+     *  The name for the generated method that computes the digest over the
+     *  relevant groups of the INI file, read through a memory mapped buffer:
+     *  {@value}.
+     */
+    private static final String METHODNAME_DigestINISections = "digestINISections";
+
+    /**
+     *  The name for the inner class that holds an
+     *  {@link INIFile}
+     *  instance that is shared by all configuration beans of the same class
+     *  for the same path: {@value}.
+     */
+    public static final String SHARED_INIFILE_CLASS_NAME = "SharedINIFile";
+
         /*---------------*\
     ====** Inner Classes **====================================================
         \*---------------*/
     /**
-     *  The various types for the initialisation of the field holding the
-     *  backing
-     *  {@link Path}
-     *  for the
+     *  The various types for the initialisation of the field holding the
+     *  backing
+     *  {@link Path}
+     *  for the
+     *  {@link INIFile}
+     *  instance.
+     *
+     *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+     *  @version $Id: INIBeanBuilder.java 1151 2025-10-01 21:32:15Z tquadrat $
+     *  @UMLGraph.link
+     *  @since 0.1.0
+     */
+    @ClassVersion( sourceVersion = "$Id: INIBeanBuilder.java 1151 2025-10-01 21:32:15Z tquadrat $" )
+    @API( status = INTERNAL, since = "0.1.0" )
+    private static enum InitType
+    {
+        /**
+         *  The given filename denotes an absolute path.
+         */
+        INIT_ABSOLUTE,
+
+        /**
+         *  The given filename starts  with {@code $USER} and stands for a path
+         *  that is to be resolved against the user's home folder.
+         */
+        INIT_HOME,
+
+        /**
+         *  The given filename starts with <code>${…}</code> and stands for a
+         *  path that will be resolved against a property.
+         */
+        INIT_PROPERTY,
+
+        /**
+         *  The given filename will be resolved against the current working
+         *  directory.
+         */
+        INIT_CWD
+    }
+    //  enum InitType
+
+        /*--------------*\
+    ====** Constructors **=====================================================
+        \*--------------*/
+    /**
+     *  Creates a new instance of {@code INIBeanBuilder}.
+     *
+     *  @param  context The code generator context.
+     */
+    public INIBeanBuilder( final CodeGeneratorContext context )
+    {
+        super( context );
+    }   //  INIBeanBuilder()
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Adds the method that writes the modified values through a temporary
+     *  file and an atomic move.
+     *
+     *  @param  retrievePathMethod  The method that returns the path for the
+     *      file that backs the
+     *      {@link INIFile}
+     *      instance.
+     *  @param  checkStateMethod    The method that checks the state of the
+     *      file.
+     *  @param  recordStateMethod   The method that records the state of the
+     *      file.
+     *  @param  applyStructureMethod    The method that applies the structure
+     *      to an {@code INIFile} instance.
+     *  @param  writeCode   The code that writes the modified values, as
+     *      flagged in the variable {@code dirty}, to the {@code INIFile}
+     *      instance in the variable {@code iniFile}.
+     *  @return The new method.
+     *
+     *  @see org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor#OPTION_AtomicINIFileSave
+     */
+    private final MethodSpec addAtomicSave( final MethodSpec retrievePathMethod, final MethodSpec checkStateMethod, final MethodSpec recordStateMethod, final MethodSpec applyStructureMethod, final CodeBlock writeCode )
+    {
+        //---* Create the lock objects *--------------------------------------
+        final var locksField = getComposer().fieldBuilder( ParameterizedTypeName.from( Map.class, Path.class, Object.class ), STD_FIELD_INIFileSaveLocks.toString(), PRIVATE, FINAL, STATIC )
+            .addJavadoc(
+                """
+                The objects that serialise the saves of the instances of this
+                class that share a file, by the absolute path of the lock file.
+                """ )
+            .initializer( "new $T<>()", ConcurrentHashMap.class )
+            .build();
+        addField( STD_FIELD_INIFileSaveLocks, locksField );
+
+        //---* Create the method that acquires the file lock *-----------------
+        final var lockMethod = getComposer().methodBuilder( "lockINIFile" )
+            .addModifiers( PRIVATE, FINAL, STATIC )
+            .addParameter( FileChannel.class, "channel", FINAL )
+            .returns( FileLock.class,
+                """
+                The lock.\
+                """ )
+            .addJavadoc(
+                """
+                Acquires the lock on the given lock file. As a file lock is held
+                on behalf of the whole JVM, an attempt to acquire it while an
+                instance of another class that uses the same file holds it fails
+                immediately; in that case, the attempt is repeated.
+
+                @param  channel The channel for the lock file.
+                @throws $T  Acquiring the lock failed.\
+                """, IOException.class )
+            .addException( IOException.class )
+            .addStatement( "$T retValue = null", FileLock.class )
+            .beginControlFlow(
+                """
+                while( isNull( retValue ) )
+                """ )
+            .addStaticImport( Objects.class, "isNull" )
+            .beginControlFlow(
+                """
+                try
+                """ )
+            .addStatement( "retValue = channel.lock()" )
+            .nextControlFlow(
+                """
+
+                catch( final $T e )
+                """, OverlappingFileLockException.class )
+            .addStatement( "parkNanos( MILLISECONDS.toNanos( 1L ) )" )
+            .addStaticImport( LockSupport.class, "parkNanos" )
+            .addStaticImport( TimeUnit.class, "MILLISECONDS" )
+            .endControlFlow()
+            .endControlFlow()
+            .addCode( getComposer().createReturnStatement() )
+            .build();
+        addMethod( lockMethod );
+
+        //---* Create the method that saves the file *-------------------------
+        final var builder = getComposer().methodBuilder( "saveINIFileAtomically" )
+            .addModifiers( PRIVATE, FINAL )
+            .addParameter( BitSet.class, "dirty", FINAL )
+            .returns( VOID )
+            .addJavadoc(
+                """
+                Writes the modified values to a temporary file next to the file
+                that backs the
+                {@link INIFile}
+                instance, forces its contents to the storage device, and
+                replaces the file with it through an atomic move; finally, the
+                folder is forced to the storage device, too, so that the new
+                directory entry survives a crash.
+
+                The temporary file has a unique name, and it is a copy of the
+                current file with its permissions and, as far as possible, its
+                owner; only the values that were modified by this bean are
+                written to it, so the modifications made by other processes in
+                the meantime are kept. The lock on a sibling lock file
+                serialises this with the other processes that share the file.
+                The state of the file is recorded only when it was not modified
+                by others since it was read last.
+
+                @param  dirty   The flags for the values to write.
+                @throws $T Writing the file failed.\
+                """, IOException.class )
+            .addException( IOException.class )
+            .addStatement( "final var path = $N()", retrievePathMethod )
+            .addStatement( "final var folder = path.toAbsolutePath().getParent()" )
+            .addStatement( "final var lockPath = path.resolveSibling( path.getFileName() + $S )", ".lock" )
+            .addCode(
+                """
+
+                /*
+                 * Serialise the save with the other instances of this class that
+                 * share the file, and with the other processes; the file lock
+                 * would throw an OverlappingFileLockException for a second
+                 * attempt from within this JVM.
+                 */
+                """ )
+            .beginControlFlow(
+                """
+                synchronized( $N.computeIfAbsent( lockPath.toAbsolutePath().normalize(), _ -> new Object() ) )
+                """, locksField )
+            .beginControlFlow(
+                """
+                try( final var lockChannel = $T.open( lockPath, CREATE, WRITE ); final var ignore = $N( lockChannel ) )
+                """, FileChannel.class, lockMethod )
+            .addStaticImport( StandardOpenOption.class, "CREATE" )
+            .addStaticImport( StandardOpenOption.class, "WRITE" )
+            .addCode(
+                """
+                /*
+                 * Take the snapshot of the file state before the save; if the
+                 * file was modified by others since it was read last, its new
+                 * state must not be recorded, so that the next call to
+                 * loadINIFile() will pick up their modifications.
+                 */
+                """ )
+            .addStatement( "final var isModified = $N()", checkStateMethod )
+            .addStatement( "final var isNew = !exists( path )" )
+            .addStaticImport( Files.class, "exists" )
+            .addStatement( "final var tempPath = createTempFile( folder, path.getFileName() + $S, $S )", ".", ".tmp" )
+            .addStaticImport( Files.class, "createTempFile" )
+            .beginControlFlow(
+                """
+                try
+                """ )
+            .beginControlFlow(
+                """
+                if( isNew )
+                """ )
+            .addStatement( "deleteIfExists( tempPath )" )
+            .addStaticImport( Files.class, "deleteIfExists" )
+            .nextControlFlow(
+                """
+                else
+                """ )
+            .addStatement( "copy( path, tempPath, REPLACE_EXISTING, COPY_ATTRIBUTES )" )
+            .addStaticImport( Files.class, "copy" )
+            .addStaticImport( StandardCopyOption.class, "REPLACE_EXISTING" )
+            .addStaticImport( StandardCopyOption.class, "COPY_ATTRIBUTES" )
+            .beginControlFlow(
+                """
+                try
+                """ )
+            .addStatement( "setOwner( tempPath, getOwner( path ) )" )
+            .addStaticImport( Files.class, "setOwner" )
+            .addStaticImport( Files.class, "getOwner" )
+            .nextControlFlow(
+                """
+
+                catch( final $T | $T ignored )
+                """, IOException.class, UnsupportedOperationException.class )
+            .addCode(
+                """
+                /*
+                 * Only a privileged user may change the owner of a file; the
+                 * new file belongs to the current user then.
+                 */
+                """ )
+            .endControlFlow()
+            .endControlFlow()
+            .addStatement( "final var iniFile = $T.open( tempPath )", INIFile.class );
+        getConfiguration().getINIFileComment()
+            .ifPresent( comment -> builder.beginControlFlow(
+                    """
+                    if( isNew )
+                    """ )
+                .addStatement( "iniFile.setComment( $S )", comment )
+                .endControlFlow() );
+        builder.addStatement( "$N( iniFile )", applyStructureMethod )
+            .addCode( writeCode )
+            .addCode( "\n" )
+            .addStatement( "iniFile.save()" )
+            .addCode(
+                """
+
+                /*
+                 * Force the contents to the storage device, and replace the
+                 * file.
+                 */
+                """ )
+            .beginControlFlow(
+                """
+                try( final var channel = $T.open( tempPath, WRITE ) )
+                """, FileChannel.class )
+            .addStatement( "channel.force( true )" )
+            .endControlFlow()
+            .addStatement( "move( tempPath, path, ATOMIC_MOVE, REPLACE_EXISTING )" )
+            .addStaticImport( Files.class, "move" )
+            .addStaticImport( StandardCopyOption.class, "ATOMIC_MOVE" )
+            .nextControlFlow(
+                """
+
+                finally
+                """ )
+            .addStatement( "deleteIfExists( tempPath )" )
+            .endControlFlow()
+            .addCode(
+                """
+
+                /*
+                 * Force the directory entry for the replaced file to the storage
+                 * device; not all platforms allow to open a folder for that.
+                 */
+                """ )
+            .beginControlFlow(
+                """
+                try( final var channel = $T.open( folder, READ ) )
+                """, FileChannel.class )
+            .addStaticImport( StandardOpenOption.class, "READ" )
+            .addStatement( "channel.force( true )" )
+            .nextControlFlow(
+                """
+
+                catch( final $T ignored )
+                """, IOException.class )
+            .addCode(
+                """
+                /*
+                 * The folder cannot be forced on this platform.
+                 */
+                """ )
+            .endControlFlow()
+            .addStatement( "if( !isModified ) $N()", recordStateMethod )
+            .endControlFlow()
+            .endControlFlow();
+        final var retValue = builder.build();
+        addMethod( retValue );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  addAtomicSave()
+
+    /**
+     *  Adds the fields, methods and constructor code for the automatic
+     *  persistence of the INI file.
+     *
+     *  @param  delay   The delay between the first modification of a value
+     *      and the write to the INI file.
+     *  @param  updateMethod    The method {@code updateINIFile()}.
+     *
+     *  @see org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor#OPTION_AutoPersistINIFile
+     */
+    private final void addINIAutoPersistSupport( final Duration delay, final MethodSpec updateMethod )
+    {
+        final var className = getConfiguration().getClassName();
+        final var futureType = ParameterizedTypeName.from( CompletableFuture.class, Void.class );
+
+        //---* Create the fields *---------------------------------------------
+        final var delayField = getComposer().fieldBuilder( long.class, STD_FIELD_INIAutoPersistDelay.toString(), PRIVATE, FINAL, STATIC )
+            .addJavadoc(
+                """
+                The delay in milliseconds for the automatic persistence of the
+                INI file: {@value}.
+                """ )
+            .initializer( "$LL", delay.toMillis() )
+            .build();
+        addField( STD_FIELD_INIAutoPersistDelay, delayField );
+
+        final var futureField = getComposer().fieldBuilder( ParameterizedTypeName.from( ClassName.from( AtomicReference.class ), futureType ), STD_FIELD_INIAutoPersistFuture.toString(), PRIVATE, FINAL )
+            .addJavadoc(
+                """
+                The future for the pending automatic write of the INI file;
+                {@code null} if no write is pending.
+                """ )
+            .initializer( "new $T<>( null )", AtomicReference.class )
+            .build();
+        addField( STD_FIELD_INIAutoPersistFuture, futureField );
+
+        //---* Create the method that is executed by the background thread *---
+        final var runMethod = getComposer().methodBuilder( "runINIAutoPersist" )
+            .addModifiers( PRIVATE, FINAL )
+            .returns( VOID )
+            .addJavadoc(
+                """
+                Waits for the configured delay, and writes the modified values
+                to the INI file afterwards.
+                """ )
+            .beginControlFlow(
+                """
+                try
+                """ )
+            .addStatement( "sleep( $N )", delayField )
+            .addStaticImport( Thread.class, "sleep" )
+            .nextControlFlow(
+                """
+
+                catch( final $T e )
+                """, InterruptedException.class )
+            .addStatement( "currentThread().interrupt()" )
+            .addStaticImport( Thread.class, "currentThread" )
+            .endControlFlow()
+            .addCode(
+                """
+
+                /*
+                 * Modifications after this point will schedule the next write.
+                 */
+                """ )
+            .addStatement( "final var future = $N.getAndSet( null )", futureField )
+            .beginControlFlow(
+                """
+                try
+                """ )
+            .addStatement( "$N()", updateMethod )
+            .addStatement( "future.complete( null )" )
+            .nextControlFlow(
+                """
+
+                catch( final $T t )
+                """, Throwable.class )
+            .addStatement( "future.completeExceptionally( t )" )
+            .endControlFlow()
+            .build();
+        addMethod( runMethod );
+
+        //---* Create the method that schedules the write *--------------------
+        final var asyncMethod = getComposer().methodBuilder( STD_METHOD_UpdateINIFileAsync.toString() )
+            .addModifiers( PUBLIC, FINAL )
+            .addJavadoc(
+                """
+                Schedules the write of the modified values to the INI file on a
+                virtual thread, if this was not already done.
+                """ )
+            .returns( futureType,
+                """
+                The future that completes when the INI file was written.\
+                """ )
+            .addStatement( "final var future = new $T<$T>()", CompletableFuture.class, Void.class )
+            .addStatement( "var retValue = $N.compareAndExchange( null, future )", futureField )
+            .beginControlFlow(
+                """
+                if( isNull( retValue ) )
+                """ )
+            .addStaticImport( Objects.class, "isNull" )
+            .addStatement( "retValue = future" )
+            .addStatement( "$T.ofVirtual().name( $S ).start( this::$N )", Thread.class, format( "%s-AutoPersistINI", className ), runMethod )
+            .endControlFlow()
+            .addCode( getComposer().createReturnStatement() )
+            .build();
+        addMethod( STD_METHOD_UpdateINIFileAsync, asyncMethod );
+
+        //---* Register the shutdown hook *------------------------------------
+        addShutdownFlush( STD_FIELD_INIFlushTargets, STD_FIELD_INIFlushHookRegistered, "flushINIFiles", updateMethod, format( "%s-FlushINIFile", className ) );
+    }   //  addINIAutoPersistSupport()
+
+    /**
+     *  Adds the fields and methods for the hot reload of the INI file.
+     *
+     *  @param  delay   The delay between the last detected modification of
+     *      the file and the reload.
+     *  @param  retrievePathMethod  The method that returns the path for the
+     *      file that backs the
+     *      {@link INIFile}
+     *      instance.
+     *  @return The method that starts the watcher.
+     *
+     *  @see org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor#OPTION_WatchINIFile
+     */
+    private final MethodSpec addINIFileWatcher( final Duration delay, final MethodSpec retrievePathMethod )
+    {
+        final var className = getConfiguration().getClassName();
+
+        //---* Create the fields *---------------------------------------------
+        final var delayField = getComposer().fieldBuilder( long.class, STD_FIELD_INIFileWatchDelay.toString(), PRIVATE, FINAL, STATIC )
+            .addJavadoc(
+                """
+                The delay in milliseconds for the hot reload of the INI file:
+                {@value}.
+                """ )
+            .initializer( "$LL", delay.toMillis() )
+            .build();
+        addField( STD_FIELD_INIFileWatchDelay, delayField );
+
+        final var startedField = getComposer().fieldBuilder( AtomicBoolean.class, STD_FIELD_INIFileWatcherStarted.toString(), PRIVATE, FINAL )
+            .addJavadoc(
+                """
+                The flag that indicates whether the file that backs the INIFile
+                instance was already registered with the watcher.
+                """ )
+            .initializer( "new $T( false )", AtomicBoolean.class )
+            .build();
+        addField( STD_FIELD_INIFileWatcherStarted, startedField );
+
+        final var beanClass = ClassName.from( getConfiguration().getPackageName().toString(), className.toString() );
+        final var targetsType = ParameterizedTypeName.from( ClassName.from( Map.class ), TypeName.from( Path.class ), ParameterizedTypeName.from( ClassName.from( List.class ), ParameterizedTypeName.from( ClassName.from( WeakReference.class ), beanClass ) ) );
+        final var targetsField = getComposer().fieldBuilder( targetsType, STD_FIELD_INIFileWatchTargets.toString(), PRIVATE, FINAL, STATIC )
+            .addJavadoc(
+                """
+                The instances of this class that will be reloaded when the file
+                that backs their INIFile instance was modified, by the absolute
+                path of that file. Access is synchronised on this map.
+                """ )
+            .initializer( "new $T<>()", HashMap.class )
+            .build();
+        addField( STD_FIELD_INIFileWatchTargets, targetsField );
+
+        final var watchServiceField = getComposer().fieldBuilder( WatchService.class, STD_FIELD_INIFileWatchService.toString(), PRIVATE, STATIC )
+            .addJavadoc(
+                """
+                The watch service that is shared by all instances of this class;
+                {@code null} until the first instance started watching its file.
+                Access is synchronised on
+                {@link #$N}.
+                """, targetsField )
+            .initializer( "null" )
+            .build();
+        addField( STD_FIELD_INIFileWatchService, watchServiceField );
+
+        //---* Create the method that is executed by the watcher thread *------
+        final var runMethod = getComposer().methodBuilder( "runINIFileWatcher" )
+            .addModifiers( PRIVATE, FINAL, STATIC )
+            .returns( VOID )
+            .addJavadoc(
+                """
+                Watches the files that back the
+                {@link INIFile}
+                instances of all instances of this class for modifications, and
+                reloads the configuration of the affected instances after their
+                file was modified and no further modification occurred within
+                the configured delay.
+                """ )
+            .addCode(
+                """
+                /*
+                 * The field was set before this thread was started, and it
+                 * will not change afterwards.
+                 */
+                """ )
+            .addStatement( "final var watchService = $N", watchServiceField )
+            .beginControlFlow(
+                """
+                try
+                """ )
+            .beginControlFlow(
+                """
+                while( !currentThread().isInterrupted() )
+                """ )
+            .addStaticImport( Thread.class, "currentThread" )
+            .addStatement( "final $T<$T> modifiedFiles = new $T<>()", Set.class, Path.class, HashSet.class )
+            .addStatement( "var isOverflow = false" )
+            .addStatement( "var key = watchService.take()" )
+            .beginControlFlow(
+                """
+                while( nonNull( key ) )
+                """ )
+            .addStaticImport( Objects.class, "nonNull" )
+            .addStatement( "final var directory = ($T) key.watchable()", Path.class )
+            .beginControlFlow(
+                """
+                for( final var event : key.pollEvents() )
+                """ )
+            .beginControlFlow(
+                """
+                if( event.kind() == OVERFLOW )
+                """ )
+            .addStaticImport( StandardWatchEventKinds.class, "OVERFLOW" )
+            .addStatement( "isOverflow = true" )
+            .nextControlFlow(
+                """
+                else
+                """ )
+            .addStatement( "modifiedFiles.add( directory.resolve( ($T) event.context() ) )", Path.class )
+            .endControlFlow()
+            .endControlFlow()
+            .addStatement( "key.reset()" )
+            .addCode(
+                """
+
+                /*
+                 * Wait until no further modification occurs within the delay.
+                 */
+                """ )
+            .addStatement( "key = isOverflow || !modifiedFiles.isEmpty() ? watchService.poll( $N, MILLISECONDS ) : null", delayField )
+            .addStaticImport( TimeUnit.class, "MILLISECONDS" )
+            .endControlFlow()
+            .addCode(
+                """
+
+                /*
+                 * Collect the instances that are affected by the modifications,
+                 * and purge the references to those that are gone.
+                 */
+                """ )
+            .addStatement( "final $T<$T> beans = new $T<>()", List.class, beanClass, ArrayList.class )
+            .beginControlFlow(
+                """
+                synchronized( $N )
+                """, targetsField )
+            .beginControlFlow(
+                """
+                for( final var entries = $N.entrySet().iterator(); entries.hasNext(); )
+                """, targetsField )
+            .addStatement( "final var entry = entries.next()" )
+            .beginControlFlow(
+                """
+                for( final var references = entry.getValue().iterator(); references.hasNext(); )
+                """ )
+            .addStatement( "final var bean = references.next().get()" )
+            .beginControlFlow(
+                """
+                if( isNull( bean ) )
+                """ )
+            .addStaticImport( Objects.class, "isNull" )
+            .addStatement( "references.remove()" )
+            .nextControlFlow(
+                """
+                else if( isOverflow || modifiedFiles.contains( entry.getKey() ) )
+                """ )
+            .addStatement( "beans.add( bean )" )
+            .endControlFlow()
+            .endControlFlow()
+            .addStatement( "if( entry.getValue().isEmpty() ) entries.remove()" )
+            .endControlFlow()
+            .endControlFlow()
+            .addCode(
+                """
+
+                /*
+                 * Reload the configuration; a failure for one instance must
+                 * neither affect the others nor terminate the watcher.
+                 */
+                """ )
+            .beginControlFlow(
+                """
+                for( final var bean : beans )
+                """ )
+            .beginControlFlow(
+                """
+                try
+                """ )
+            .addStatement( "bean.loadINIFile()" )
+            .nextControlFlow(
+                """
+
+                catch( final $T e )
+                """, RuntimeException.class )
+            .addStatement( "getLogger( $T.class.getName() ).log( $T.WARNING, $S, e )", beanClass, System.Logger.Level.class, "Reload of the INI file failed" )
+            .addStaticImport( System.class, "getLogger" )
+            .endControlFlow()
+            .endControlFlow()
+            .endControlFlow()
+            .nextControlFlow(
+                """
+
+                catch( final $T e )
+                """, InterruptedException.class )
+            .addStatement( "currentThread().interrupt()" )
+            .endControlFlow()
+            .build();
+        addMethod( runMethod );
+
+        //---* Create the method that starts the watcher thread *--------------
+        final var retValue = getComposer().methodBuilder( "startINIFileWatcher" )
+            .addModifiers( PRIVATE, FINAL )
+            .returns( VOID )
+            .addJavadoc(
+                """
+                Registers the file that backs the
+                {@link INIFile}
+                instance with the watcher that is shared by all instances of
+                this class, if this was not already done. The watcher is
+                started on a virtual thread together with the first
+                registration.
+                """ )
+            .beginControlFlow(
+                """
+                if( $N.compareAndSet( false, true ) )
+                """, startedField )
+            .addStatement( "final var path = $N().toAbsolutePath().normalize()", retrievePathMethod )
+            .beginControlFlow(
+                """
+                synchronized( $N )
+                """, targetsField )
+            .beginControlFlow(
+                """
+                try
+                """ )
+            .beginControlFlow(
+                """
+                if( isNull( $N ) )
+                """, watchServiceField )
+            .addStaticImport( Objects.class, "isNull" )
+            .addStatement( "$N = path.getFileSystem().newWatchService()", watchServiceField )
+            .addStatement( "$T.ofVirtual().name( $S ).start( $T::$N )", Thread.class, format( "%s-INIFileWatcher", className ), beanClass, runMethod )
+            .endControlFlow()
+            .addStatement( "var references = $N.get( path )", targetsField )
+            .beginControlFlow(
+                """
+                if( isNull( references ) )
+                """ )
+            .addStatement( "path.getParent().register( $N, ENTRY_CREATE, ENTRY_MODIFY )", watchServiceField )
+            .addStaticImport( StandardWatchEventKinds.class, "ENTRY_CREATE" )
+            .addStaticImport( StandardWatchEventKinds.class, "ENTRY_MODIFY" )
+            .addStatement( "references = new $T<>()", ArrayList.class )
+            .addStatement( "$N.put( path, references )", targetsField )
+            .endControlFlow()
+            .addStatement( "references.add( new $T<>( this ) )", WeakReference.class )
+            .nextControlFlow(
+                """
+
+                catch( final $T e )
+                """, IOException.class )
+            .addStatement( "throw new $T( e )", PreferencesException.class )
+            .endControlFlow()
+            .endControlFlow()
+            .endControlFlow()
+            .build();
+        addMethod( retValue );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  addINIFileWatcher()
+
+    /**
+     *  Adds the methods {@code loadINIGroup()} and
+     *  {@code detectChangedINIGroups()}, together with the field that holds
+     *  the values of the groups as they were seen by the latter.
+     *
+     *  @param  iniFile The field that holds the {@code INIFile} instance.
+     *  @param  refreshCode The code that refreshes the {@code INIFile}
+     *      instance in the variable {@code iniFile}.
+     *  @param  groupLoadCode   The code that loads the values for the
+     *      properties, by group.
+     *  @param  groupKeys   The keys, by group.
+     *
+     *  @see org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor#OPTION_INIGroupReload
+     */
+    private final void addINIGroupReload( final FieldSpec iniFile, final CodeBlock refreshCode, final SortedMap<String,CodeBlock.Builder> groupLoadCode, final SortedMap<String,List<String>> groupKeys )
+    {
+        //---* Create the field *----------------------------------------------
+        final var groupValuesType = ParameterizedTypeName.from( ClassName.from( Map.class ), TypeName.from( String.class ), ParameterizedTypeName.from( List.class, String.class ) );
+        final var groupValues = getComposer().fieldBuilder( groupValuesType, STD_FIELD_INIGroupValues.toString(), PRIVATE, FINAL )
+            .addJavadoc(
+                """
+                The raw values for the groups of the INI file, as they were
+                seen by the last call to
+                {@link #detectChangedINIGroups()}.
+                """ )
+            .initializer( "new $T<>()", HashMap.class )
+            .build();
+        addField( STD_FIELD_INIGroupValues, groupValues );
+
+        //---* Create the loadINIGroup() method *------------------------------
+        final var groupParameter = getComposer().parameterBuilder( String.class, "group", FINAL )
+            .build();
+        final var loadBuilder = getComposer().codeBlockBuilder();
+        if( isSynchronized() )
+        {
+            loadBuilder.beginControlFlow(
+                """
+                try( final var ignore = $N.lock() )
+                """, getField( STD_FIELD_WriteLock ) );
+        }
+        else
+        {
+            loadBuilder.beginControlFlow(
+                """
+                try
+                """ );
+        }
+        loadBuilder.addStatement( "final var iniFile = $N.get()", iniFile );
+        beginSharedINIFileLock( loadBuilder );
+        loadBuilder.addStatement( "$L", refreshCode )
+            .add( "\n" )
+            .beginControlFlow(
+                """
+                switch( $N )
+                """, groupParameter );
+        for( final var entry : groupLoadCode.entrySet() )
+        {
+            loadBuilder.beginControlFlow(
+                """
+                case $S ->
+                """, entry.getKey() )
+                .add( entry.getValue().build() )
+                .endControlFlow();
+        }
+        loadBuilder.addStatement( "default -> throw new $1T( \"Unknown INI group: %s\".formatted( $2N ) )", IllegalArgumentException.class, groupParameter )
+            .endControlFlow();
+        endSharedINIFileLock( loadBuilder );
+        loadBuilder.nextControlFlow(
+                """
+
+                catch( final $T e )
+                """, IOException.class )
+            .addStatement( "throw new $T( e )", PreferencesException.class )
+            .endControlFlow();
+        final var loadMethod = getComposer().methodBuilder( "loadINIGroup" )
+            .addModifiers( PUBLIC, FINAL )
+            .addParameter( groupParameter )
+            .addJavadoc(
+                """
+                Reloads the values for the properties that are tied to the
+                given group of the INI file; the properties for all other
+                groups remain untouched.
+
+                @param  $N   The name of the group.
+                @throws $T  The given group is not used by this configuration
+                    bean.
+                @throws $T    The INI file cannot be read.
+                """, groupParameter, IllegalArgumentException.class, PreferencesException.class )
+            .returns( VOID )
+            .addCode( loadBuilder.build() )
+            .build();
+        addMethod( loadMethod );
+
+        //---* Create the detectChangedINIGroups() method *--------------------
+        final var detectBuilder = getComposer().codeBlockBuilder()
+            .addStatement( "final $T<String> retValue = new $T<>()", Set.class, TreeSet.class );
+        if( isSynchronized() )
+        {
+            detectBuilder.beginControlFlow(
+                """
+                try( final var ignore = $N.lock() )
+                """, getField( STD_FIELD_WriteLock ) );
+        }
+        else
+        {
+            detectBuilder.beginControlFlow(
+                """
+                try
+                """ );
+        }
+        detectBuilder.addStatement( "final var iniFile = $N.get()", iniFile );
+        beginSharedINIFileLock( detectBuilder );
+        detectBuilder.addStatement( "$L", refreshCode );
+        for( final var entry : groupKeys.entrySet() )
+        {
+            final var group = entry.getKey();
+            final var valuesCode = getComposer().codeBlockBuilder();
+            var separator = EMPTY_STRING;
+            for( final var key : entry.getValue() )
+            {
+                valuesCode.add( "$LiniFile.getValue( $S, $S ).orElse( null )", separator, group, key );
+                separator = ", ";
+            }
+            detectBuilder.add( "\n" )
+                .beginControlFlow( EMPTY_STRING )
+                .addStatement( "final var values = $T.asList( $L )", Arrays.class, valuesCode.build() )
+                .addStatement( "if( !values.equals( $1N.put( $2S, values ) ) ) retValue.add( $2S )", groupValues, group )
+                .endControlFlow();
+        }
+        endSharedINIFileLock( detectBuilder );
+        detectBuilder.nextControlFlow(
+                """
+
+                catch( final $T e )
+                """, IOException.class )
+            .addStatement( "throw new $T( e )", PreferencesException.class )
+            .endControlFlow()
+            .add( getComposer().createReturnStatement() );
+        final var detectMethod = getComposer().methodBuilder( "detectChangedINIGroups" )
+            .addModifiers( PUBLIC, FINAL )
+            .addJavadoc(
+                """
+                Determines the groups of the INI file whose values were changed
+                since the last call to this method; on the first call, all
+                groups that are used by this configuration bean will be
+                returned. The values of the properties will not be modified;
+                call {@link #$N(String)} for each of the returned groups to load
+                the new values.
+
+                @throws $T    The INI file cannot be read.\
+                """, loadMethod, PreferencesException.class )
+            .returns( ParameterizedTypeName.from( Set.class, String.class ), "The names of the changed groups." )
+            .addCode( detectBuilder.build() )
+            .build();
+        addMethod( detectMethod );
+    }   //  addINIGroupReload()
+
+    /**
+     *  Adds the field with the relevant groups and the method that computes
+     *  the digest over these groups of the INI file, read through a memory
+     *  mapped buffer.<br>
+     *  <br>The mapped read only locates the groups that hold the values
+     *  for the properties of the configuration bean; the values themselves
+     *  are still taken from the
      *  {@link INIFile}
-     *  instance.
+     *  instance, but only if the digest shows that one of these groups was
+     *  changed. The mapping is released before the method returns, so it
+     *  does not prevent the move or the deletion of the file.
      *
-     *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
-     *  @version $Id: INIBeanBuilder.java 1151 2025-10-01 21:32:15Z tquadrat $
-     *  @UMLGraph.link
-     *  @since 0.1.0
+     *  @param  groups  The groups of the INI file that hold the values for
+     *      the properties of the configuration bean.
+     *
+     *  @see org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor#OPTION_MappedINIFileLoad
      */
-    @ClassVersion( sourceVersion = "$Id: INIBeanBuilder.java 1151 2025-10-01 21:32:15Z tquadrat $" )
-    @API( status = INTERNAL, since = "0.1.0" )
-    private static enum InitType
+    private final void addMappedRead( final SortedSet<String> groups )
     {
-        /**
-         *  The given filename denotes an absolute path.
-         */
-        INIT_ABSOLUTE,
+        //---* Create the field *----------------------------------------------
+        final var groupsCode = getComposer().codeBlockBuilder();
+        var separator = EMPTY_STRING;
+        for( final var group : groups )
+        {
+            groupsCode.add( "$L$S", separator, group );
+            separator = ", ";
+        }
+        final var groupsField = getComposer().fieldBuilder( ParameterizedTypeName.from( Set.class, String.class ), STD_FIELD_INIValueGroups.toString(), PRIVATE, FINAL, STATIC )
+            .addJavadoc(
+                """
+                The groups of the INI file that hold the values for the
+                properties of this configuration bean.
+                """ )
+            .initializer( "$T.of( $L )", Set.class, groupsCode.build() )
+            .build();
+        addField( STD_FIELD_INIValueGroups, groupsField );
 
-        /**
-         *  The given filename starts  with {@code $USER} and stands for a path
-         *  that is to be resolved against the user's home folder.
-         */
-        INIT_HOME,
+        //---* Create the method for the memory mapped read *------------------
+        final var method = getComposer().methodBuilder( METHODNAME_DigestINISections )
+            .addModifiers( PRIVATE, FINAL )
+            .addParameter( Path.class, "path", FINAL )
+            .addJavadoc(
+                """
+                Computes the digest over the groups of the given INI file that
+                hold the values for the properties of this configuration bean;
+                the file is read through a memory mapped buffer that will be
+                released before the method returns. Only the group headers will
+                be decoded, everything else is just located.<br>
+                <br>If a group header cannot be decoded here, the method returns
+                {@code null}, and the values have to be loaded in any case.
 
-        /**
-         *  The given filename starts with <code>${…}</code> and stands for a
-         *  path that will be resolved against a property.
-         */
-        INIT_PROPERTY,
+                @param  path    The path for the INI file.
+                @throws $T Reading the file failed.\
+                """, IOException.class )
+            .returns( byte [].class,
+                """
+                The digest; will be {@code null} if the file does not exist, or
+                if it cannot be decoded here.\
+                """ )
+            .addException( IOException.class )
+            .addStatement( "byte [] retValue = null" )
+            .beginControlFlow(
+                """
+                if( exists( path ) )
+                """ )
+            .addStaticImport( Files.class, "exists" )
+            .beginControlFlow(
+                """
+                try( final var arena = $T.ofConfined(); final var channel = $T.open( path, READ ) )
+                """, Arena.class, FileChannel.class )
+            .addStaticImport( StandardOpenOption.class, "READ" )
+            .addStatement( "final var buffer = channel.map( READ_ONLY, 0, channel.size(), arena ).asByteBuffer()" )
+            .addStaticImport( FileChannel.MapMode.class, "READ_ONLY" )
+            .addStatement( "final var digest = $T.getInstance( $S )", MessageDigest.class, "SHA-256" )
+            .addStatement( "final var limit = buffer.limit()" )
+            .addStatement( "var isRelevantGroup = false" )
+            .addStatement( "var isDecodable = true" )
+            .addCode( "\n" )
+            .addCode(
+                """
+                /*
+                 * A byte order mark is skipped.
+                 */
+                """ )
+            .addStatement( "final var hasBOM = (limit >= 3) && ((buffer.get( 0 ) & 0xFF) == 0xEF) && ((buffer.get( 1 ) & 0xFF) == 0xBB) && ((buffer.get( 2 ) & 0xFF) == 0xBF)" )
+            .addStatement( "var position = hasBOM ? 3 : 0" )
+            .addCode(
+                """
+                ReadLoop:
+                """ )
+            .beginControlFlow(
+                """
+                while( position < limit )
+                """ )
+            .addCode(
+                """
+                /*
+                 * Determine the bounds of the current line.
+                 */
+                """ )
+            .addStatement( "var end = position" )
+            .addStatement( "while( (end < limit) && (buffer.get( end ) != '\\n') ) ++end" )
+            .addStatement( "final var next = (end < limit) ? end + 1 : limit" )
+            .addStatement( "var start = position" )
+            .addStatement( "while( (start < end) && ((buffer.get( start ) & 0xFF) <= ' ') ) ++start" )
+            .addStatement( "while( (end > start) && ((buffer.get( end - 1 ) & 0xFF) <= ' ') ) --end" )
+            .addCode( "\n" )
+            .beginControlFlow(
+                """
+                if( (start < end) && (buffer.get( start ) == '[') )
+                """ )
+            .beginControlFlow(
+                """
+                if( (end - start < 2) || (buffer.get( end - 1 ) != ']') )
+                """ )
+            .addStatement( "isDecodable = false" )
+            .addStatement( "break ReadLoop" )
+            .endControlFlow()
+            .addStatement( "final var group = UTF_8.decode( buffer.slice( start + 1, end - start - 2 ) ).toString().strip()" )
+            .addStaticImport( StandardCharsets.class, "UTF_8" )
+            .addStatement( "isRelevantGroup = $N.contains( group )", groupsField )
+            .endControlFlow()
+            .addStatement( "if( isRelevantGroup ) digest.update( buffer.slice( position, next - position ) )" )
+            .addStatement( "position = next" )
+            .endControlFlow()
+            .addStatement( "if( isDecodable ) retValue = digest.digest()" )
+            .nextControlFlow(
+                """
 
-        /**
-         *  The given filename will be resolved against the current working
-         *  directory.
-         */
-        INIT_CWD
-    }
-    //  enum InitType
+                catch( final $T e )
+                """, NoSuchAlgorithmException.class )
+            .addStatement( "throw new $T( e )", UnexpectedExceptionError.class )
+            .endControlFlow()
+            .endControlFlow()
+            .addCode( getComposer().createReturnStatement() )
+            .build();
+        addMethod( method );
+    }   //  addMappedRead()
 
-        /*--------------*\
-    ====** Constructors **=====================================================
-        \*--------------*/
     /**
-     *  Creates a new instance of {@code INIBeanBuilder}.
+     *  Adds the inner class {@value #SHARED_INIFILE_CLASS_NAME}, the fields
+     *  and the method that let all configuration beans of the same class
+     *  share one
+     *  {@link INIFile}
+     *  instance for the same path.
      *
-     *  @param  context The code generator context.
+     *  @param  retrievePathMethod  The method that returns the path for the
+     *      file that backs the
+     *      {@link INIFile}
+     *      instance.
+     *  @param  createINIFile   The method that creates a new {@code INIFile}
+     *      instance.
+     *  @return The method that returns the shared {@code INIFile}
+     *      instance.
+     *
+     *  @see org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor#OPTION_SharedINIFile
      */
-    public INIBeanBuilder( final CodeGeneratorContext context )
+    private final MethodSpec addSharedINIFile( final MethodSpec retrievePathMethod, final MethodSpec createINIFile )
     {
-        super( context );
-    }   //  INIBeanBuilder()
+        final var sharedINIFileClass = ClassName.from( getConfiguration().getPackageName().toString(), getConfiguration().getClassName().toString() ).nestedClass( SHARED_INIFILE_CLASS_NAME );
+
+        //---* Create the inner class *----------------------------------------
+        final var fileField = getComposer().fieldBuilder( INIFile.class, "m_File", PRIVATE, FINAL )
+            .addJavadoc(
+                """
+                The shared {@code INIFile} instance.
+                """ )
+            .build();
+        final var lastModifiedField = getComposer().fieldBuilder( FileTime.class, "m_LastModified", PRIVATE )
+            .addJavadoc(
+                """
+                The last modification time of the file when the
+                {@code INIFile} instance was read last; {@code null} if the
+                file did not exist at that time.
+                """ )
+            .build();
+        final var sizeField = getComposer().fieldBuilder( long.class, "m_Size", PRIVATE )
+            .addJavadoc(
+                """
+                The size of the file when the {@code INIFile} instance was read
+                last; -1 if the file did not exist at that time.
+                """ )
+            .build();
+        final var constructor = getComposer().constructorBuilder()
+            .addParameter( INIFile.class, "file", FINAL )
+            .addParameter( FileTime.class, "lastModified", FINAL )
+            .addParameter( long.class, "size", FINAL )
+            .addJavadoc(
+                """
+                Creates a new {@code $L} instance.
+
+                @param  file    The {@code INIFile} instance.
+                @param  lastModified    The last modification time of the file
+                    when the {@code INIFile} instance was read; can be
+                    {@code null}.
+                @param  size    The size of the file when the {@code INIFile}
+                    instance was read.
+                """, SHARED_INIFILE_CLASS_NAME )
+            .addStatement( "$N = file", fileField )
+            .addStatement( "$N = lastModified", lastModifiedField )
+            .addStatement( "$N = size", sizeField )
+            .build();
+        final var refreshMethod = getComposer().methodBuilder( "refresh" )
+            .addModifiers( PUBLIC, FINAL, SYNCHRONIZED )
+            .addParameter( Path.class, "path", FINAL )
+            .addJavadoc(
+                """
+                Refreshes the {@code INIFile} instance, but only if the file was
+                modified since it was read last; when several configuration
+                beans share the instance, the file will be read only once for
+                each modification.
+
+                @param  path    The path for the file.
+                @throws $T Reading the file failed.
+                """, IOException.class )
+            .returns( VOID )
+            .addException( IOException.class )
+            .addStatement( "final var lastModified = exists( path ) ? getLastModifiedTime( path ) : null" )
+            .addStaticImport( Files.class, "exists" )
+            .addStaticImport( Files.class, "getLastModifiedTime" )
+            .addStatement( "final var size = nonNull( lastModified ) ? size( path ) : -1L" )
+            .addStaticImport( Files.class, "size" )
+            .addStaticImport( Objects.class, "nonNull" )
+            .beginControlFlow(
+                """
+                if( (size != $2N) || (nonNull( lastModified ) && !lastModified.equals( $1N )) )
+                """, lastModifiedField, sizeField )
+            .addStatement( "$N.refresh()", fileField )
+            .addStatement( "$N = lastModified", lastModifiedField )
+            .addStatement( "$N = size", sizeField )
+            .endControlFlow()
+            .build();
+        final var sharedINIFileType = getComposer().classBuilder( SHARED_INIFILE_CLASS_NAME )
+            .addModifiers( PRIVATE, STATIC, FINAL )
+            .addJavadoc(
+                """
+                The holder for an
+                {@link INIFile}
+                instance that is shared by all instances of this configuration
+                bean that use the same file. The monitor of the holder guards
+                the access to the {@code INIFile} instance.
+                """ )
+            .addField( fileField )
+            .addField( lastModifiedField )
+            .addField( sizeField )
+            .addMethod( constructor )
+            .addMethod( refreshMethod )
+            .build();
+        addType( sharedINIFileType );
+
+        //---* Create the fields *---------------------------------------------
+        final var sharedINIFiles = getComposer().fieldBuilder( ParameterizedTypeName.from( ClassName.from( Map.class ), TypeName.from( Path.class ), ParameterizedTypeName.from( ClassName.from( WeakReference.class ), sharedINIFileClass ) ), STD_FIELD_SharedINIFiles.toString(), PRIVATE, STATIC, FINAL )
+            .addJavadoc(
+                """
+                The shared {@code INIFile} instances, by path. An instance
+                remains in use for as long as at least one configuration bean
+                refers to it; when the last of these beans is gone, the garbage
+                collector will clear the reference.
+                """ )
+            .initializer( "new $T<>()", HashMap.class )
+            .build();
+        addField( STD_FIELD_SharedINIFiles, sharedINIFiles );
+
+        final var clearedSharedINIFiles = getComposer().fieldBuilder( ParameterizedTypeName.from( ClassName.from( ReferenceQueue.class ), sharedINIFileClass ), STD_FIELD_ClearedSharedINIFiles.toString(), PRIVATE, STATIC, FINAL )
+            .addJavadoc(
+                """
+                The queue for the references from
+                {@link #$N}
+                that were cleared by the garbage collector; their entries will
+                be purged on the next access to the map.
+                """, sharedINIFiles )
+            .initializer( "new $T<>()", ReferenceQueue.class )
+            .build();
+        addField( STD_FIELD_ClearedSharedINIFiles, clearedSharedINIFiles );
+
+        final var sharedINIFile = getComposer().fieldBuilder( sharedINIFileClass, STD_FIELD_SharedINIFile.toString(), PRIVATE, VOLATILE )
+            .addJavadoc(
+                """
+                The holder for the {@code INIFile} instance that is used by this
+                configuration bean; it is set on the first access to the
+                {@code INIFile} instance.
+                """ )
+            .initializer( "null" )
+            .build();
+        addField( STD_FIELD_SharedINIFile, sharedINIFile );
+
+        //---* Create the method *---------------------------------------------
+        final var retValue = getComposer().methodBuilder( "obtainSharedINIFile" )
+            .addModifiers( PRIVATE, FINAL )
+            .addJavadoc(
+                """
+                Returns the
+                {@link INIFile}
+                instance for the path of this configuration bean that is shared
+                with the other instances of this class; it will be created if
+                there is none yet.
+
+                @throws $T Something went wrong on creating/opening the INI file.\
+                """, ExceptionInInitializerError.class )
+            .returns( INIFile.class,
+                """
+                The {@code INIFile} instance.\
+                """ )
+            .addException( ExceptionInInitializerError.class )
+            .addStatement( "final var path = $N()", retrievePathMethod )
+            .addStatement( "$T sharedINIFile", sharedINIFileClass )
+            .beginControlFlow(
+                """
+                synchronized( $N )
+                """, sharedINIFiles )
+            .addComment( "Purge the entries for the holders that are gone" )
+            .addStatement( "for( var cleared = $1N.poll(); nonNull( cleared ); cleared = $1N.poll() ) $2N.values().remove( cleared )", clearedSharedINIFiles, sharedINIFiles )
+            .addStaticImport( Objects.class, "nonNull" )
+            .add( "\n" )
+            .addStatement( "final var reference = $N.get( path )", sharedINIFiles )
+            .addStatement( "sharedINIFile = isNull( reference ) ? null : reference.get()" )
+            .addStaticImport( Objects.class, "isNull" )
+            .beginControlFlow(
+                """
+                if( isNull( sharedINIFile ) )
+                """ )
+            .beginControlFlow(
+                """
+                try
+                """ )
+            .addStatement( "final var lastModified = exists( path ) ? getLastModifiedTime( path ) : null" )
+            .addStaticImport( Files.class, "exists" )
+            .addStaticImport( Files.class, "getLastModifiedTime" )
+            .addStatement( "final var size = nonNull( lastModified ) ? size( path ) : -1L" )
+            .addStaticImport( Files.class, "size" )
+            .addStaticImport( Objects.class, "nonNull" )
+            .addStatement( "sharedINIFile = new $T( $N(), lastModified, size )", sharedINIFileClass, createINIFile )
+            .nextControlFlow(
+                """
+
+                catch( final $T e )
+                """, IOException.class )
+            .addStatement( "throw new $T( e )", ExceptionInInitializerError.class )
+            .endControlFlow()
+            .addStatement( "$N.put( path, new $T<>( sharedINIFile, $N ) )", sharedINIFiles, WeakReference.class, clearedSharedINIFiles )
+            .endControlFlow()
+            .endControlFlow()
+            .addStatement( "$N = sharedINIFile", sharedINIFile )
+            .addStatement( "final var retValue = sharedINIFile.$N", fileField )
+            .addCode( getComposer().createReturnStatement() )
+            .build();
+        addMethod( retValue );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  addSharedINIFile()
+
+    /**
+     *  Starts the block that holds the lock on the shared
+     *  {@link INIFile}
+     *  instance, if the INI file is shared; otherwise nothing happens. The
+     *  block has to be closed by a call to
+     *  {@link #endSharedINIFileLock(CodeBlock.Builder)}.
+     *
+     *  @param  builder The builder for the code.
+     *
+     *  @see org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor#OPTION_SharedINIFile
+     */
+    private final void beginSharedINIFileLock( final CodeBlock.Builder builder )
+    {
+        if( getConfiguration().getSharedINIFile() )
+        {
+            builder.beginControlFlow(
+                """
+                synchronized( $N )
+                """, getField( STD_FIELD_SharedINIFile ) );
+        }
+    }   //  beginSharedINIFileLock()
 
-        /*---------*\
-    ====** Methods **==========================================================
-        \*---------*/
     /**
      *  {@inheritDoc}
      */
@@ -150,22 +1405,40 @@ public final class INIBeanBuilder extends CodeBuilderBase
         final var rawINIFilePath = getConfiguration().getINIFilePath()
             .orElseThrow( () -> new CodeGenerationError( MSG_INIPathMissing ) );
 
+        /*
+         * Problems with the path are reported here, as errors from the
+         * compiler; otherwise they would show up only at runtime, as an
+         * ExceptionInInitializerError from createINIFile().
+         */
         if( rawINIFilePath.startsWith( "$USER" ) )
         {
             initType = InitType.INIT_HOME;
-            iniFilePath = PathStringConverter.INSTANCE.fromString( rawINIFilePath.substring( 5 ) );
+            iniFilePath = parseINIFilePath( rawINIFilePath, rawINIFilePath.substring( 5 ) );
         }
-        else if( rawINIFilePath.startsWith( "${" ) && hasVariables( rawINIFilePath ) )
+        else if( hasVariables( rawINIFilePath ) )
         {
             initType = InitType.INIT_PROPERTY;
             final var template = new Template( rawINIFilePath );
             final var variables = new LinkedList<>( template.findVariables() );
             propertyName = variables.getFirst();
-            iniFilePath = PathStringConverter.INSTANCE.fromString( template.replaceVariable( Map.of( propertyName, EMPTY_STRING ) ) );
+            if( (variables.size() > 1) || !rawINIFilePath.startsWith( format( "${%s}", propertyName ) ) )
+            {
+                throw new CodeGenerationError( format( MSG_INIPathVariable, rawINIFilePath ) );
+            }
+            final var pathType = TypeName.from( Path.class );
+            final var isPathProperty = getConfiguration().getProperty( propertyName )
+                .map( PropertySpec::getPropertyType )
+                .filter( pathType::equals )
+                .isPresent();
+            if( !isPathProperty )
+            {
+                throw new CodeGenerationError( format( MSG_INIPathProperty, rawINIFilePath, propertyName ) );
+            }
+            iniFilePath = parseINIFilePath( rawINIFilePath, template.replaceVariable( Map.of( propertyName, EMPTY_STRING ) ) );
         }
         else
         {
-            iniFilePath = PathStringConverter.INSTANCE.fromString( rawINIFilePath );
+            iniFilePath = parseINIFilePath( rawINIFilePath, rawINIFilePath );
             if( iniFilePath.isAbsolute() )
             {
                 initType = InitType.INIT_ABSOLUTE;
@@ -213,6 +1486,26 @@ public final class INIBeanBuilder extends CodeBuilderBase
         final var retrievePathMethod = retrievePathBuilder.build();
         addMethod( retrievePathMethod );
 
+        //---* Add the method that applies the structure to the INIFile *------
+        final var iniFileParameter = getComposer().parameterBuilder( INIFile.class, "iniFile", FINAL )
+            .build();
+        final var applyStructureMethod = getComposer().methodBuilder( "applyINIFileStructure" )
+            .addModifiers( PRIVATE, STATIC, FINAL )
+            .addParameter( iniFileParameter )
+            .addJavadoc(
+                """
+                Applies the structure of the INI file, composed from the
+                groups, the keys and the related comments, to the given
+                {@link INIFile}
+                instance.
+
+                @param  $N The {@code INIFile} instance.
+                """, iniFileParameter )
+            .returns( VOID )
+            .addCode( composeINIFileStructure( "iniFile" ) )
+            .build();
+        addMethod( applyStructureMethod );
+
         //---* Add the method that creates the INIFile instance *--------------
         final var createINIFileBuilder = getComposer().methodBuilder( "createINIFile" )
             .addModifiers( PRIVATE, FINAL )
@@ -284,28 +1577,25 @@ public final class INIBeanBuilder extends CodeBuilderBase
             .addStatement( "throw new $T( e )", ExceptionInInitializerError.class )
             .endControlFlow()
             .addCode( "\n" )
-            .addComment( "Sets the structure of the INIFile" );
-        for( final var group : getConfiguration().getINIGroups().entrySet() )
-        {
-            createINIFileBuilder.addStatement( "retValue.setComment( $S, $S )", group.getKey(), group.getValue() );
-        }
-        PropertiesLoop:
-        for( var iterator = getConfiguration().propertyIterator(); iterator.hasNext(); )
-        {
-            final var property = iterator.next();
-
-            if( !property.hasFlag( ALLOWS_INIFILE ) ) continue PropertiesLoop;
-            if( property.getINIComment().isEmpty() ) continue PropertiesLoop;
-            final var group = property.getINIGroup().orElseThrow( () -> new CodeGenerationError( format( MSG_INIGroupMissing, property.getPropertyName() ) ) );
-            final var key = property.getINIKey().orElseThrow( () -> new CodeGenerationError( format( MSG_INIKeyMissing, property.getPropertyName() ) ) );
-            final var comment = property.getINIComment().orElseThrow();
-            createINIFileBuilder.addStatement( "retValue.setComment( $S, $S, $S )", group, key, comment );
-        }   //  PropertiesLoop:
+            .addComment( "Sets the structure of the INIFile" )
+            .addStatement( "$N( retValue )", applyStructureMethod );
 
         final var createINIFile = createINIFileBuilder.addCode( getComposer().createReturnStatement() )
             .build();
         addMethod( createINIFile );
 
+        //---* Share the INIFile with the other instances *--------------------
+        /*
+         * refreshCode refreshes the INIFile instance in the local variable
+         * "iniFile"; with a shared instance, this is delegated to the holder,
+         * so that the file will be read only once for all beans.
+         */
+        final var isSharedINIFile = getConfiguration().getSharedINIFile();
+        final var obtainINIFile = isSharedINIFile ? addSharedINIFile( retrievePathMethod, createINIFile ) : createINIFile;
+        final var refreshCode = isSharedINIFile
+            ? getComposer().codeBlockOf( "$N.refresh( $N() )", getField( STD_FIELD_SharedINIFile ), retrievePathMethod )
+            : getComposer().codeBlockOf( "iniFile.refresh()" );
+
         //---* Add the field for the INI file *--------------------------------
         final var iniFileClass = ParameterizedTypeName.from( Lazy.class, INIFile.class );
         final var iniFile = getComposer().fieldBuilder( iniFileClass, STD_FIELD_INIFile.toString(), PRIVATE, FINAL )
@@ -326,23 +1616,207 @@ public final class INIBeanBuilder extends CodeBuilderBase
                 //---* Initialise the INI file *----------------------------------------
                 """
             )
-            .addStatement( "$1N = $2T.use( this::$3N )", iniFile, Lazy.class, createINIFile )
+            .addStatement( "$1N = $2T.use( this::$3N )", iniFile, Lazy.class, obtainINIFile )
             .build();
         addConstructorCode( constructorCode );
 
+        //---* Add the fields for the state of the INI file *------------------
+        final var lastModified = getComposer().fieldBuilder( FileTime.class, STD_FIELD_INIFileLastModified.toString(), PRIVATE, VOLATILE )
+            .addJavadoc(
+                """
+                The last modification time of the file that backs the INIFile
+                instance, when its state was recorded last; {@code null} if the
+                file did not exist at that time.
+                """
+            )
+            .initializer( "null" )
+            .build();
+        addField( STD_FIELD_INIFileLastModified, lastModified );
+        final var fileSize = getComposer().fieldBuilder( long.class, STD_FIELD_INIFileSize.toString(), PRIVATE, VOLATILE )
+            .addJavadoc(
+                """
+                The size of the file that backs the INIFile instance, when its
+                state was recorded last; -1 if the file did not exist at that
+                time.
+                """
+            )
+            .initializer( "-1L" )
+            .build();
+        addField( STD_FIELD_INIFileSize, fileSize );
+
+        //---* Add the fields for the memory mapped read *---------------------
+        final var isMappedLoad = getConfiguration().getMappedINIFileLoad();
+        if( isMappedLoad )
+        {
+            final var sectionsDigest = getComposer().fieldBuilder( byte [].class, STD_FIELD_INISectionsDigest.toString(), PRIVATE )
+                .addJavadoc(
+                    """
+                    The digest over the groups of the INI file that hold the values
+                    for the properties of this configuration bean, as it was taken
+                    when these values were loaded last.
+                    """
+                )
+                .initializer( "null" )
+                .build();
+            addField( STD_FIELD_INISectionsDigest, sectionsDigest );
+            final var refreshPending = getComposer().fieldBuilder( boolean.class, STD_FIELD_INIFileRefreshPending.toString(), PRIVATE, VOLATILE )
+                .addJavadoc(
+                    """
+                    {@code true} if the INIFile instance has to be refreshed before
+                    it will be used, as the last call to
+                    {@link #loadINIFile()}
+                    skipped that because the relevant groups were not changed.
+                    """
+                )
+                .initializer( "false" )
+                .build();
+            addField( STD_FIELD_INIFileRefreshPending, refreshPending );
+        }
+
+        /*
+         * Add the methods that detect modifications of the file that backs
+         * the INIFile, and that record its state.
+         */
+        final var checkStateMethod = getComposer().methodBuilder( "checkINIFileState" )
+            .addModifiers( PRIVATE, FINAL )
+            .addJavadoc(
+                """
+                Checks whether the file that backs the
+                {@link INIFile}
+                instance was modified since its state was recorded last.
+                
+                @throws $T Reading the file attributes failed.\
+                """, IOException.class
+            )
+            .returns( boolean.class,
+                """
+                {@code true} if the file was modified, {@code false} otherwise.\
+                """ )
+            .addException( IOException.class )
+            .addCode( composeINIFileStateCode( retrievePathMethod ) )
+            .addStatement( "final var retValue = (fileSize != $2N) || (nonNull( lastModified ) && !lastModified.equals( $1N ))", lastModified, fileSize )
+            .addCode( getComposer().createReturnStatement() )
+            .build();
+        addMethod( checkStateMethod );
+
+        final var recordStateMethod = getComposer().methodBuilder( "recordINIFileState" )
+            .addModifiers( PRIVATE, FINAL )
+            .addJavadoc(
+                """
+                Records the current state of the file that backs the
+                {@link INIFile}
+                instance.
+                
+                @throws $T Reading the file attributes failed.\
+                """, IOException.class
+            )
+            .returns( VOID )
+            .addException( IOException.class )
+            .addCode( composeINIFileStateCode( retrievePathMethod ) )
+            .addStatement( "$N = lastModified", lastModified )
+            .addStatement( "$N = fileSize", fileSize )
+            .build();
+        addMethod( recordStateMethod );
+
         //---* Create the method that returns the INIFile *--------------------
         final var returnType = ParameterizedTypeName.from( Optional.class, INIFile.class );
+        final var obtainCodeBuilder = getComposer().codeBlockBuilder();
+        if( isMappedLoad )
+        {
+            obtainCodeBuilder.addStatement( "final var iniFile = $N.get()", iniFile );
+
+            /*
+             * The refresh of the INIFile instance that was skipped by
+             * loadINIFile() has to be caught up before the instance is
+             * handed out.
+             */
+            obtainCodeBuilder.beginControlFlow(
+                    """
+                    if( $L )
+                    """, STD_FIELD_INIFileRefreshPending );
+            if( isSynchronized() )
+            {
+                obtainCodeBuilder.beginControlFlow(
+                    """
+                    try( final var ignore = $N.lock() )
+                    """, getField( STD_FIELD_WriteLock ) );
+            }
+            else
+            {
+                obtainCodeBuilder.beginControlFlow(
+                    """
+                    try
+                    """ );
+            }
+            beginSharedINIFileLock( obtainCodeBuilder );
+            obtainCodeBuilder.beginControlFlow(
+                    """
+                    if( $L )
+                    """, STD_FIELD_INIFileRefreshPending )
+                .addStatement( "$L", refreshCode )
+                .addStatement( "$L = false", STD_FIELD_INIFileRefreshPending )
+                .endControlFlow();
+            endSharedINIFileLock( obtainCodeBuilder );
+            obtainCodeBuilder.nextControlFlow(
+                    """
+
+                    catch( final $T e )
+                    """, IOException.class )
+                .addStatement( "throw new $T( e )", PreferencesException.class )
+                .endControlFlow()
+                .endControlFlow()
+                .add( "\n" )
+                .addStatement( "return $T.of( iniFile )", Optional.class );
+        }
+        else
+        {
+            obtainCodeBuilder.addStatement( "return $T.of( $N.get() )", Optional.class, iniFile );
+        }
         final var method = getComposer().methodBuilder( "obtainINIFile" )
             .addModifiers( PUBLIC, FINAL )
             .addAnnotation( Override.class )
             .returns( returnType )
             .addJavadoc( getComposer().createInheritDocComment() )
-            .addStatement( "return $T.of( $N.get() )", Optional.class, iniFile )
+            .addCode( obtainCodeBuilder.build() )
             .build();
         addMethod( method );
 
+        //---* Add the support for the hot reload *----------------------------
+        final var watchDelay = getConfiguration().getINIFileWatchDelay();
+        final var startWatcherMethod = watchDelay.map( delay -> addINIFileWatcher( delay, retrievePathMethod ) );
+
         //---* The builder for the code of the loadINIFile() method *----------
+        /*
+         * The file will be re-read only when it was modified since it was
+         * read last; otherwise the method returns without taking the lock.
+         */
         final var loadCodeBuilder = getComposer().codeBlockBuilder();
+        startWatcherMethod.ifPresent( startMethod -> loadCodeBuilder.addStatement( "$N()", startMethod ) );
+        loadCodeBuilder.beginControlFlow(
+                """
+                try
+                """ )
+            .beginControlFlow(
+                """
+                if( $N() )
+                """, checkStateMethod );
+        loadCodeBuilder.add(
+                """
+                /*
+                 * The state of the file is taken before the file is read, but
+                 * it is recorded only after the values were loaded
+                 * successfully; a modification in between will cause another
+                 * reload, but it will not get lost.
+                 */
+                """ )
+            .add( composeINIFileStateCode( retrievePathMethod ) );
+        if( isMappedLoad )
+        {
+            /*
+             * The file is read before the lock is taken.
+             */
+            loadCodeBuilder.addStatement( "final var digest = $L( path )", METHODNAME_DigestINISections );
+        }
         if( isSynchronized() )
         {
             loadCodeBuilder.beginControlFlow(
@@ -350,16 +1824,27 @@ public final class INIBeanBuilder extends CodeBuilderBase
                 try( final var ignore = $N.lock() )
                 """, getField( STD_FIELD_WriteLock ) );
         }
-        else
+        if( isMappedLoad )
         {
-            loadCodeBuilder.beginControlFlow(
-                """
-                try
-                """ );
+            loadCodeBuilder.add(
+                    """
+                    /*
+                     * The values are loaded only if the groups that hold them were
+                     * changed; otherwise the refresh of the INIFile instance is
+                     * deferred until it will be used.
+                     */
+                    """ )
+                .beginControlFlow(
+                    """
+                    if( isNull( digest ) || !$T.equals( digest, $L ) )
+                    """, Arrays.class, STD_FIELD_INISectionsDigest )
+                .addStaticImport( Objects.class, "isNull" );
         }
-        loadCodeBuilder.addStatement( "final var iniFile = $1N.get()", iniFile )
-            .addStatement( "iniFile.refresh()" )
-            .add(
+        loadCodeBuilder.addStatement( "final var iniFile = $1N.get()", iniFile );
+        beginSharedINIFileLock( loadCodeBuilder );
+        loadCodeBuilder.addStatement( "$L", refreshCode );
+        if( isMappedLoad ) loadCodeBuilder.addStatement( "$L = false", STD_FIELD_INIFileRefreshPending );
+        loadCodeBuilder.add(
                 """
                 
                 /*
@@ -369,13 +1854,17 @@ public final class INIBeanBuilder extends CodeBuilderBase
             );
 
         //---* The builder for the code of the updateINIFile() method *--------
+        /*
+         * The write lock is required as the method resets the flags for the
+         * modified values.
+         */
         final var updateCodeBuilder = getComposer().codeBlockBuilder();
         if( isSynchronized() )
         {
             updateCodeBuilder.beginControlFlow(
                 """
                 try( final var ignore = $N.lock() )
-                """, getField( STD_FIELD_ReadLock ) );
+                """, getField( STD_FIELD_WriteLock ) );
         }
         else
         {
@@ -384,17 +1873,22 @@ public final class INIBeanBuilder extends CodeBuilderBase
                 try
                 """ );
         }
-        updateCodeBuilder.addStatement( "final var iniFile = $1N.get()", iniFile )
+        //---* The builder for the code that writes the values *---------------
+        final var writeCodeBuilder = getComposer().codeBlockBuilder()
             .add(
-            """
-            
-            /*
-             * Write the data.
-             */
-            """
-        );
+                """
+
+                /*
+                 * Write the data.
+                 */
+                """ );
 
         //---* Process the properties *----------------------------------------
+        final SortedSet<String> iniGroups = new TreeSet<>();
+        final var isGroupReload = getConfiguration().getINIGroupReload();
+        final SortedMap<String,CodeBlock.Builder> groupLoadCode = new TreeMap<>();
+        final SortedMap<String,List<String>> groupKeys = new TreeMap<>();
+        var dirtyFlagCount = 0;
         PropertiesLoop:
         for( final var iterator = getProperties(); iterator.hasNext(); )
         {
@@ -419,20 +1913,115 @@ public final class INIBeanBuilder extends CodeBuilderBase
                 };
 
             //---* Load the value *--------------------------------------------
-            loadCodeBuilder.beginControlFlow( EMPTY_STRING )
-                .add( stringConverterCode )
-                .addStatement( "$1N = iniFile.getValue( $2S, $3S, stringConverter ).orElse( $1N )", field, group, key )
-                .endControlFlow();
+            final var valueCode = getComposer().codeBlockOf( "iniFile.getValue( $S, $S, stringConverter )", group, key );
+            iniGroups.add( group );
+            loadCodeBuilder.add( composeLoadValueCode( propertySpec, stringConverterCode, valueCode, watchDelay.isPresent() ) );
+
+            //---* Load the value for the group *------------------------------
+            if( isGroupReload )
+            {
+                final var groupValueCode = getComposer().codeBlockOf( "iniFile.getValue( $S, $S, stringConverter )", group, key );
+                groupLoadCode.computeIfAbsent( group, g -> getComposer().codeBlockBuilder() )
+                    .add( composeLoadValueCode( propertySpec, stringConverterCode, groupValueCode, watchDelay.isPresent() ) );
+                groupKeys.computeIfAbsent( group, g -> new ArrayList<>() ).add( key );
+            }
 
             //---* Write the value *-------------------------------------------
-            updateCodeBuilder.beginControlFlow( EMPTY_STRING )
+            final var index = getINIValueIndex( this, propertySpec ).orElseThrow();
+            writeCodeBuilder.beginControlFlow(
+                    """
+                    if( dirty.get( $L ) )
+                    """, index )
                 .add( stringConverterCode )
                 .addStatement( "iniFile.setValue( $2S, $3S, $1N, stringConverter )", field, group, key )
                 .endControlFlow();
+            ++dirtyFlagCount;
         }   //  PropertiesLoop:
 
+        //---* Add the field for the flags of the modified values *------------
+        final var dirtyINIValues = getComposer().fieldBuilder( BitSet.class, STD_FIELD_DirtyINIValues.toString(), PRIVATE, FINAL )
+            .addJavadoc(
+                """
+                The flags for the INI values that were modified since the last
+                call to {@link #updateINIFile()}.
+                """ )
+            .initializer( "new $T( $L )", BitSet.class, dirtyFlagCount )
+            .build();
+        addField( STD_FIELD_DirtyINIValues, dirtyINIValues );
+
+        //---* Add the field for the flag for the first write *---------------
+        final var iniValuesPersisted = getComposer().fieldBuilder( boolean.class, STD_FIELD_INIValuesPersisted.toString(), PRIVATE )
+            .addJavadoc(
+                """
+                {@code true} if the values of this configuration bean were
+                written to the INI file at least once, {@code false} if not.
+                """ )
+            .initializer( "false" )
+            .build();
+        addField( STD_FIELD_INIValuesPersisted, iniValuesPersisted );
+
+        //---* Continue the updateINIFile() method *---------------------------
+        updateCodeBuilder.add(
+                """
+                /*
+                 * The first write takes all values, not only the modified ones;
+                 * otherwise an absent INI file would not be created with the
+                 * current values of the configuration bean.
+                 */
+                """ )
+            .addStatement( "if( !$N ) $N.set( 0, $L )", iniValuesPersisted, dirtyINIValues, dirtyFlagCount )
+            .add( "\n" )
+            .add(
+                """
+                /*
+                 * Write only the values that were modified since the last call
+                 * to this method, and skip the save if there are none.
+                 */
+                """ )
+            .beginControlFlow(
+                """
+                if( !$L.isEmpty() )
+                """, STD_FIELD_DirtyINIValues )
+            .add(
+                """
+                /*
+                 * Take the flags for the values to write, and reset them before
+                 * the write; if the write fails, they will be restored, together
+                 * with the flags for the values that were modified in the
+                 * meantime.
+                 */
+                """ )
+            .addStatement( "final var dirty = ($T) $L.clone()", BitSet.class, STD_FIELD_DirtyINIValues )
+            .addStatement( "$L.clear()", STD_FIELD_DirtyINIValues )
+            .beginControlFlow(
+                """
+                try
+                """ );
+
+        //---* Add the methods for the reload of single groups *---------------
+        if( isGroupReload ) addINIGroupReload( iniFile, refreshCode, groupLoadCode, groupKeys );
+
+        //---* Add the method for the memory mapped read *---------------------
+        if( isMappedLoad ) addMappedRead( iniGroups );
+
         //---* Create the loadINIFile() method *-------------------------------
-        loadCodeBuilder.nextControlFlow(
+        endSharedINIFileLock( loadCodeBuilder );
+        if( isMappedLoad )
+        {
+            loadCodeBuilder.addStatement( "$L = digest", STD_FIELD_INISectionsDigest )
+                .nextControlFlow(
+                    """
+                    else
+                    """ )
+                .addStatement( "$L = true", STD_FIELD_INIFileRefreshPending )
+                .endControlFlow();
+        }
+        loadCodeBuilder.add( "\n" )
+            .addStatement( "$N = lastModified", lastModified )
+            .addStatement( "$N = fileSize", fileSize );
+        if( isSynchronized() ) loadCodeBuilder.endControlFlow();
+        loadCodeBuilder.endControlFlow()
+            .nextControlFlow(
             """
 
             catch( final $T e )
@@ -449,8 +2038,62 @@ public final class INIBeanBuilder extends CodeBuilderBase
         addMethod( loadMethod );
 
         //---* Create the updateINIFile() method *-----------------------------
-        updateCodeBuilder.add( "\n" )
-            .addStatement( "iniFile.save()" )
+        if( getConfiguration().getAtomicINIFileSave() )
+        {
+            final var saveMethod = addAtomicSave( retrievePathMethod, checkStateMethod, recordStateMethod, applyStructureMethod, writeCodeBuilder.build() );
+            updateCodeBuilder.addStatement( "$N( dirty )", saveMethod );
+            if( isSharedINIFile )
+            {
+                /*
+                 * The holder for the shared INIFile instance has to be set
+                 * before its monitor can be taken.
+                 */
+                updateCodeBuilder.addStatement( "$N()", obtainINIFile );
+                beginSharedINIFileLock( updateCodeBuilder );
+                updateCodeBuilder.addStatement( "$L", refreshCode );
+                endSharedINIFileLock( updateCodeBuilder );
+            }
+            else
+            {
+                updateCodeBuilder.addStatement( "$N.get().refresh()", iniFile );
+            }
+            if( isMappedLoad ) updateCodeBuilder.addStatement( "$L = false", STD_FIELD_INIFileRefreshPending );
+        }
+        else
+        {
+            updateCodeBuilder.addStatement( "final var iniFile = $1N.get()", iniFile );
+            beginSharedINIFileLock( updateCodeBuilder );
+            if( isMappedLoad )
+            {
+                /*
+                 * loadINIFile() may have skipped the refresh of the INIFile
+                 * instance; it has to be caught up here, otherwise the
+                 * modifications by others would be overwritten.
+                 */
+                updateCodeBuilder.beginControlFlow(
+                        """
+                        if( $L )
+                        """, STD_FIELD_INIFileRefreshPending )
+                    .addStatement( "$L", refreshCode )
+                    .addStatement( "$L = false", STD_FIELD_INIFileRefreshPending )
+                    .endControlFlow();
+            }
+            updateCodeBuilder.add( writeCodeBuilder.build() )
+                .add( "\n" )
+                .addStatement( "iniFile.save()" );
+            endSharedINIFileLock( updateCodeBuilder );
+            updateCodeBuilder.addStatement( "$N()", recordStateMethod );
+        }
+        updateCodeBuilder.addStatement( "$N = true", iniValuesPersisted )
+            .nextControlFlow(
+                """
+
+                catch( final $T | $T e )
+                """, IOException.class, RuntimeException.class )
+            .addStatement( "$N.or( dirty )", dirtyINIValues )
+            .addStatement( "throw e" )
+            .endControlFlow()
+            .endControlFlow()
             .nextControlFlow(
                 """
 
@@ -466,7 +2109,168 @@ public final class INIBeanBuilder extends CodeBuilderBase
             .addCode( updateCodeBuilder.build() )
             .build();
         addMethod( updateMethod );
+
+        //---* Add the support for the automatic persistence *-----------------
+        /*
+         * The write behind runs on another thread than the setters; the flags
+         * for the modified values are guarded by the write lock only if the
+         * bean is synchronized.
+         */
+        if( getConfiguration().getINIAutoPersistDelay().isPresent() && !isSynchronized() )
+        {
+            throw new CodeGenerationError( format( MSG_AutoPersistUnsynchronized, OPTION_AutoPersistINIFile, getConfiguration().getClassName() ) );
+        }
+        getConfiguration().getINIAutoPersistDelay().ifPresent( delay -> addINIAutoPersistSupport( delay, updateMethod ) );
     }   //  build()
+
+    /**
+     *  Composes the code that sets the comments for the groups and the keys
+     *  to the
+     *  {@link INIFile}
+     *  instance in the variable with the given name.
+     *
+     *  @param  variable    The name of the variable that holds the
+     *      {@code INIFile} instance.
+     *  @return The code.
+     */
+    private final CodeBlock composeINIFileStructure( final String variable )
+    {
+        final var builder = getComposer().codeBlockBuilder();
+        for( final var group : getConfiguration().getINIGroups().entrySet() )
+        {
+            builder.addStatement( "$L.setComment( $S, $S )", variable, group.getKey(), group.getValue() );
+        }
+        PropertiesLoop:
+        for( var iterator = getConfiguration().propertyIterator(); iterator.hasNext(); )
+        {
+            final var property = iterator.next();
+
+            if( !property.hasFlag( ALLOWS_INIFILE ) ) continue PropertiesLoop;
+            if( property.getINIComment().isEmpty() ) continue PropertiesLoop;
+            final var group = property.getINIGroup().orElseThrow( () -> new CodeGenerationError( format( MSG_INIGroupMissing, property.getPropertyName() ) ) );
+            final var key = property.getINIKey().orElseThrow( () -> new CodeGenerationError( format( MSG_INIKeyMissing, property.getPropertyName() ) ) );
+            final var comment = property.getINIComment().orElseThrow();
+            builder.addStatement( "$L.setComment( $S, $S, $S )", variable, group, key, comment );
+        }   //  PropertiesLoop:
+        final var retValue = builder.build();
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  composeINIFileStructure()
+
+    /**
+     *  Composes the code that determines the current state of the file that
+     *  backs the
+     *  {@link INIFile}
+     *  instance, in the local variables {@code path}, {@code lastModified}
+     *  and {@code fileSize}.
+     *
+     *  @param  retrievePathMethod  The method that returns the path for the
+     *      file.
+     *  @return The code.
+     */
+    private final CodeBlock composeINIFileStateCode( final MethodSpec retrievePathMethod )
+    {
+        final var retValue = getComposer().codeBlockBuilder()
+            .addStatement( "final var path = $N()", retrievePathMethod )
+            .addStatement( "final var lastModified = exists( path ) ? getLastModifiedTime( path ) : null" )
+            .addStaticImport( Files.class, "exists" )
+            .addStaticImport( Files.class, "getLastModifiedTime" )
+            .addStatement( "final var fileSize = nonNull( lastModified ) ? size( path ) : -1L" )
+            .addStaticImport( Files.class, "size" )
+            .addStaticImport( Objects.class, "nonNull" )
+            .build();
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  composeINIFileStateCode()
+
+    /**
+     *  Composes the code that loads the value for the given property from
+     *  the INI file.
+     *
+     *  @param  propertySpec    The property.
+     *  @param  stringConverterCode The code that creates the local variable
+     *      {@code stringConverter}.
+     *  @param  valueCode   The code that retrieves the value as an instance
+     *      of
+     *      {@link Optional}.
+     *  @param  fireEvents  {@code true} if a change event has to be fired
+     *      when the value was changed, {@code false} otherwise.
+     *  @return The code.
+     */
+    private final CodeBlock composeLoadValueCode( final PropertySpec propertySpec, final CodeBlock stringConverterCode, final CodeBlock valueCode, final boolean fireEvents )
+    {
+        final var field = propertySpec.getFieldName();
+        final var builder = getComposer().codeBlockBuilder()
+            .beginControlFlow( EMPTY_STRING )
+            .add( stringConverterCode );
+        if( fireEvents )
+        {
+            /*
+             * With the hot reload, the change events are fired for those
+             * properties whose values were changed by the reload.
+             */
+            builder.addStatement( "final var oldValue = $N", field )
+                .addStatement( "$1N = $2L.orElse( oldValue )", field, valueCode )
+                .beginControlFlow(
+                    """
+                    if( !$1T.equals( oldValue, $2N ) )
+                    """, Objects.class, field )
+                .addStatement( "$1N.fireEvent( $2S, oldValue, $3N )", getField( STD_FIELD_ListenerSupport ), propertySpec.getPropertyName(), field )
+                .endControlFlow();
+        }
+        else
+        {
+            builder.addStatement( "$1N = $2L.orElse( $1N )", field, valueCode );
+        }
+        final var retValue = builder.endControlFlow().build();
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  composeLoadValueCode()
+
+    /**
+     *  Closes the block that was started by
+     *  {@link #beginSharedINIFileLock(CodeBlock.Builder)}.
+     *
+     *  @param  builder The builder for the code.
+     */
+    private final void endSharedINIFileLock( final CodeBlock.Builder builder )
+    {
+        if( getConfiguration().getSharedINIFile() ) builder.endControlFlow();
+    }   //  endSharedINIFileLock()
+
+    /**
+     *  Parses the given path for the INI file.
+     *
+     *  @param  rawINIFilePath  The path as it was given with
+     *      {@link org.tquadrat.foundation.config.INIFileConfig#path()};
+     *      used for the error messages.
+     *  @param  path    The path without the prefix.
+     *  @return The path.
+     *  @throws CodeGenerationError The path is invalid, or it does not name
+     *      a file.
+     */
+    private static final Path parseINIFilePath( final String rawINIFilePath, final String path ) throws CodeGenerationError
+    {
+        final Path retValue;
+        try
+        {
+            retValue = PathStringConverter.INSTANCE.fromString( path );
+        }
+        catch( final IllegalArgumentException e )
+        {
+            throw new CodeGenerationError( format( MSG_INIPathInvalid, rawINIFilePath ), e );
+        }
+        if( isNull( retValue ) || isNull( retValue.getFileName() ) || retValue.getFileName().toString().isBlank() )
+        {
+            throw new CodeGenerationError( format( MSG_INIPathNoFile, rawINIFilePath ) );
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  parseINIFilePath()
 }
 //  class INIBeanBuilder
 
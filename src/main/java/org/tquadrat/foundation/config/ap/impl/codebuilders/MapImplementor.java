@@ -23,6 +23,7 @@ import static javax.lang.model.element.Modifier.PUBLIC;
 import static org.apiguardian.api.API.Status.STABLE;
 import static org.tquadrat.foundation.config.ap.PropertySpec.PropertyFlag.EXEMPT_FROM_MAP;
 import static org.tquadrat.foundation.config.ap.PropertySpec.PropertyFlag.GETTER_ON_MAP;
+import static org.tquadrat.foundation.config.ap.PropertySpec.PropertyFlag.PROPERTY_IS_LAZY;
 import static org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardField.STD_FIELD_ReadLock;
 import static org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardField.STD_FIELD_Registry;
 import static org.tquadrat.foundation.javacomposer.Primitives.BOOLEAN;
@@ -33,8 +34,11 @@ import static org.tquadrat.foundation.javacomposer.SuppressableWarnings.UNLIKELY
 import static org.tquadrat.foundation.javacomposer.SuppressableWarnings.createSuppressWarningsAnnotation;
 import static org.tquadrat.foundation.lang.Objects.nonNull;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
@@ -45,6 +49,7 @@ import org.apiguardian.api.API;
 import org.tquadrat.foundation.annotation.ClassVersion;
 import org.tquadrat.foundation.config.ap.impl.CodeBuilder;
 import org.tquadrat.foundation.javacomposer.ClassName;
+import org.tquadrat.foundation.javacomposer.CodeBlock;
 import org.tquadrat.foundation.javacomposer.ParameterizedTypeName;
 import org.tquadrat.foundation.javacomposer.TypeName;
 import org.tquadrat.foundation.javacomposer.WildcardTypeName;
@@ -69,6 +74,16 @@ import org.tquadrat.foundation.lang.Objects;
 @API( status = STABLE, since = "0.1.0" )
 public final class MapImplementor extends CodeBuilderBase
 {
+        /*-----------*\
+    ====** Constants **========================================================
+        \*-----------*/
+    /**
+     *  The name for the inner class that implements
+     *  {@link Supplier}
+     *  for the entries of the shadow map in lambda-free code: {@value}.
+     */
+    public static final String SUPPLIER_CLASS_NAME = "PropertyValueSupplier";
+
         /*--------------*\
     ====** Constructors **=====================================================
         \*--------------*/
@@ -115,6 +130,7 @@ public final class MapImplementor extends CodeBuilderBase
                  * Initialising the shadow map.
                  */
                 """ );
+        final var supplierCases = getComposer().codeBlockBuilder();
         PropertyLoop: for( final var iterator = getProperties(); iterator.hasNext(); )
         {
             final var propertySpec = iterator.next().merge();
@@ -122,11 +138,24 @@ public final class MapImplementor extends CodeBuilderBase
             if( propertySpec.hasFlag( EXEMPT_FROM_MAP ) ) continue PropertyLoop;
 
             //---* Create the supplier and add it to the registry *------------
-            if( !propertySpec.hasFlag( GETTER_ON_MAP ) )
+            if( isLambdaFree() )
+            {
+                if( !propertySpec.hasFlag( GETTER_ON_MAP ) )
+                {
+                    supplierCases.addStatement( propertySpec.hasFlag( PROPERTY_IS_LAZY ) ? "case $1S -> $2N.get()" : "case $1S -> $2N", propertySpec.getPropertyName(), propertySpec.getFieldName() );
+                }
+                else
+                {
+                    propertySpec.getGetterMethodName()
+                        .ifPresent( method -> supplierCases.addStatement( "case $1S -> $2L()", propertySpec.getPropertyName(), method ) );
+                }
+                builder.addStatement( "$1N.put( $2S, new $3L( $2S ) )", registry, propertySpec.getPropertyName(), SUPPLIER_CLASS_NAME );
+            }
+            else if( !propertySpec.hasFlag( GETTER_ON_MAP ) )
             {
                 final var field = propertySpec.getFieldName();
                 final var supplier = getComposer().lambdaBuilder()
-                    .addCode( "$1N", field )
+                    .addCode( propertySpec.hasFlag( PROPERTY_IS_LAZY ) ? "$1N.get()" : "$1N", field )
                     .build();
                 builder.addStatement( "$1N.put( $2S, $3L )", registry, propertySpec.getPropertyName(), supplier );
             }
@@ -137,6 +166,7 @@ public final class MapImplementor extends CodeBuilderBase
             }
         }   //  PropertyLoop:
         addConstructorCode( builder.build() );
+        if( isLambdaFree() ) createPropertyValueSupplier( supplierCases.build() );
 
         //---* Add the methods from Map *--------------------------------------
         final var throwException = getComposer().statementOf( "throw new $1T()", UnsupportedOperationException.class );
@@ -169,18 +199,32 @@ public final class MapImplementor extends CodeBuilderBase
 
         arg0 = getComposer().parameterBuilder( Object.class, "value", FINAL )
             .build();
-        method = getComposer().methodBuilder( "containsValue" )
+        var methodBuilder = getComposer().methodBuilder( "containsValue" )
             .addModifiers( PUBLIC, FINAL )
             .addAnnotation( Override.class )
             .addParameter( arg0 )
             .returns( BOOLEAN )
-            .addJavadoc( inheritDocComment )
-            .addStatement( "return values().stream().anyMatch( v -> $1T.equals( v, $2N ) )", Objects.class, arg0 )
-            .build();
+            .addJavadoc( inheritDocComment );
+        if( isLambdaFree() )
+        {
+            methodBuilder.addStatement( "var retValue = false" )
+                .beginControlFlow(
+                    """
+                    for( final var iterator = values().iterator(); iterator.hasNext() && !retValue; )
+                    """ )
+                .addStatement( "retValue = $1T.equals( iterator.next(), $2N )", Objects.class, arg0 )
+                .endControlFlow()
+                .addCode( getComposer().createReturnStatement() );
+        }
+        else
+        {
+            methodBuilder.addStatement( "return values().stream().anyMatch( v -> $1T.equals( v, $2N ) )", Objects.class, arg0 );
+        }
+        method = methodBuilder.build();
         addMethod( method );
 
         TypeName returnType = ParameterizedTypeName.from( ClassName.from( Set.class ), ParameterizedTypeName.from( Map.Entry.class, String.class, Object.class ) );
-        var methodBuilder = getComposer().methodBuilder( "entrySet" )
+        methodBuilder = getComposer().methodBuilder( "entrySet" )
             .addModifiers( PUBLIC, FINAL )
             .addAnnotation( Override.class )
             .returns( returnType )
@@ -317,29 +361,134 @@ public final class MapImplementor extends CodeBuilderBase
         addMethod( method );
 
         returnType = ParameterizedTypeName.from( Collection.class, Object.class );
-        methodBuilder = getComposer().methodBuilder( "values" )
-            .addModifiers( PUBLIC, FINAL )
-            .addAnnotation( Override.class )
-            .addAnnotation( createSuppressWarningsAnnotation( getComposer(), SIMPLIFY_STREAM_API_CALL_CHAIN ) )
-            .returns( returnType )
-            .addJavadoc( inheritDocComment )
-            .addStatement( "final $1T retValue", returnType );
-        if( nonNull( lock) ) methodBuilder.beginControlFlow(
-            """
-            try( final var ignored = $N.lock() )
-            """, lock );
-        methodBuilder.addStatement( """
-            retValue = $1N.values()
-                .stream()
-                .map( $2T::get )
-                .collect( toUnmodifiableList() )\
-            """, registry, Supplier.class )
-            .addStaticImport( Collectors.class, "toUnmodifiableList" );
-        if( nonNull( lock ) ) methodBuilder.endControlFlow();
+        if( isLambdaFree() )
+        {
+            methodBuilder = getComposer().methodBuilder( "values" )
+                .addModifiers( PUBLIC, FINAL )
+                .addAnnotation( Override.class )
+                .returns( returnType )
+                .addJavadoc( inheritDocComment )
+                .addStatement( "final $1T values = new $2T<>( $3N.size() )", ParameterizedTypeName.from( List.class, Object.class ), ArrayList.class, registry );
+            if( nonNull( lock) ) methodBuilder.beginControlFlow(
+                """
+                try( final var ignored = $N.lock() )
+                """, lock );
+            methodBuilder.beginControlFlow(
+                """
+                for( final var supplier : $1N.values() )
+                """, registry )
+                .addStatement( "values.add( supplier.get() )" )
+                .endControlFlow();
+            if( nonNull( lock ) ) methodBuilder.endControlFlow();
+            methodBuilder.addStatement( "final $1T retValue = unmodifiableList( values )", returnType )
+                .addStaticImport( Collections.class, "unmodifiableList" );
+        }
+        else
+        {
+            methodBuilder = getComposer().methodBuilder( "values" )
+                .addModifiers( PUBLIC, FINAL )
+                .addAnnotation( Override.class )
+                .addAnnotation( createSuppressWarningsAnnotation( getComposer(), SIMPLIFY_STREAM_API_CALL_CHAIN ) )
+                .returns( returnType )
+                .addJavadoc( inheritDocComment )
+                .addStatement( "final $1T retValue", returnType );
+            if( nonNull( lock) ) methodBuilder.beginControlFlow(
+                """
+                try( final var ignored = $N.lock() )
+                """, lock );
+            methodBuilder.addStatement( """
+                retValue = $1N.values()
+                    .stream()
+                    .map( $2T::get )
+                    .collect( toUnmodifiableList() )\
+                """, registry, Supplier.class )
+                .addStaticImport( Collectors.class, "toUnmodifiableList" );
+            if( nonNull( lock ) ) methodBuilder.endControlFlow();
+        }
         method = methodBuilder.addCode( getComposer().createReturnStatement() )
             .build();
         addMethod( method );
     }   //  build()
+
+    /**
+     *  Creates the method that retrieves the value of a property by its name,
+     *  together with the inner class
+     *  {@value #SUPPLIER_CLASS_NAME}
+     *  that is used for the entries of the shadow map when lambda-free code
+     *  was requested.
+     *
+     *  @param  supplierCases   The {@code case} branches for the
+     *      {@code switch} statement, one for each property in the shadow map.
+     */
+    private final void createPropertyValueSupplier( final CodeBlock supplierCases )
+    {
+        //---* Create the dispatch method *------------------------------------
+        final var propertyName = getComposer().parameterBuilder( String.class, "propertyName", FINAL )
+            .build();
+        final var dispatchMethod = getComposer().methodBuilder( "retrievePropertyValue" )
+            .addModifiers( PRIVATE, FINAL )
+            .addParameter( propertyName )
+            .returns( Object.class )
+            .addJavadoc(
+                """
+                Returns the value for the property with the given name.
+
+                @param  $1N The name of the property.
+                @return The value of the property; will be {@code null} for an
+                    unknown property name.
+                """, propertyName )
+            .addCode(
+                """
+                final $1T retValue = switch( $2N )
+                {$>
+                $3L\
+                default -> null;
+                $<};
+                """, Object.class, propertyName, supplierCases )
+            .addCode( getComposer().createReturnStatement() )
+            .build();
+        addMethod( dispatchMethod );
+
+        //---* Create the supplier class *-------------------------------------
+        final var field = getComposer().fieldBuilder( String.class, "m_PropertyName", PRIVATE, FINAL )
+            .addJavadoc(
+                """
+                The name of the property.
+                """ )
+            .build();
+        final var constructor = getComposer().constructorBuilder()
+            .addParameter( propertyName )
+            .addJavadoc(
+                """
+                Creates a new {@code $1L} instance.
+
+                @param  $2N The name of the property.
+                """, SUPPLIER_CLASS_NAME, propertyName )
+            .addStatement( "$1N = $2N", field, propertyName )
+            .build();
+        final var getMethod = getComposer().methodBuilder( "get" )
+            .addModifiers( PUBLIC, FINAL )
+            .addAnnotation( Override.class )
+            .returns( Object.class )
+            .addJavadoc( getComposer().createInheritDocComment() )
+            .addStatement( "return $1N( $2N )", dispatchMethod, field )
+            .build();
+        final var supplierClass = getComposer().classBuilder( SUPPLIER_CLASS_NAME )
+            .addModifiers( PRIVATE, FINAL )
+            .addSuperinterface( ParameterizedTypeName.from( Supplier.class, Object.class ) )
+            .addJavadoc(
+                """
+                The implementation of
+                {@link Supplier}
+                that is used for the entries of the shadow map; it retrieves the
+                property value without the need for a lambda expression.
+                """ )
+            .addField( field )
+            .addMethod( constructor )
+            .addMethod( getMethod )
+            .build();
+        addType( supplierClass );
+    }   //  createPropertyValueSupplier()
 }
 //  class MapImplementor
 
@@ -33,18 +33,34 @@ import static org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor.MSG_Pr
 import static org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor.SET_ACCESSOR_TYPE;
 import static org.tquadrat.foundation.config.ap.PropertySpec.PropertyFlag.ALLOWS_PREFERENCES;
 import static org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardField.STD_FIELD_Accessors;
+import static org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardField.STD_FIELD_AutoPersistDelay;
+import static org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardField.STD_FIELD_AutoPersistScheduled;
+import static org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardField.STD_FIELD_DirtyPreferences;
 import static org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardField.STD_FIELD_PreferenceChangeListener;
+import static org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardField.STD_FIELD_PreferenceSnapshots;
+import static org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardField.STD_FIELD_PreferencesFlushHookRegistered;
+import static org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardField.STD_FIELD_PreferencesFlushTargets;
+import static org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardField.STD_FIELD_PreferencesPersisted;
 import static org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardField.STD_FIELD_PreferencesRoot;
+import static org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardField.STD_FIELD_ReadLock;
 import static org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardField.STD_FIELD_UserPreferences;
 import static org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardField.STD_FIELD_WriteLock;
+import static org.tquadrat.foundation.config.ap.impl.CodeBuilder.StandardMethod.STD_METHOD_ScheduleAutoPersist;
+import static org.tquadrat.foundation.config.ap.impl.codebuilders.ConfigBeanBuilder.PREFERENCE_DISPATCHER_CLASS_NAME;
 import static org.tquadrat.foundation.javacomposer.Primitives.VOID;
 import static org.tquadrat.foundation.javacomposer.SuppressableWarnings.USE_OF_CONCRETE_CLASS;
 import static org.tquadrat.foundation.javacomposer.SuppressableWarnings.createSuppressWarningsAnnotation;
 import static org.tquadrat.foundation.lang.CommonConstants.EMPTY_STRING;
+import static org.tquadrat.foundation.lang.Objects.nonNull;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.prefs.BackingStoreException;
 import java.util.prefs.Preferences;
 
@@ -54,6 +70,8 @@ import org.tquadrat.foundation.ap.CodeGenerationError;
 import org.tquadrat.foundation.config.spi.prefs.PreferenceAccessor;
 import org.tquadrat.foundation.config.spi.prefs.PreferencesException;
 import org.tquadrat.foundation.javacomposer.ClassName;
+import org.tquadrat.foundation.javacomposer.FieldSpec;
+import org.tquadrat.foundation.javacomposer.MethodSpec;
 import org.tquadrat.foundation.javacomposer.ParameterizedTypeName;
 import org.tquadrat.foundation.javacomposer.TypeName;
 import org.tquadrat.foundation.javacomposer.WildcardTypeName;
@@ -92,6 +110,131 @@ public final class PreferencesBeanBuilder extends CodeBuilderBase
         /*---------*\
     ====** Methods **==========================================================
         \*---------*/
+    /**
+     *  Adds the fields, methods and constructor code for the automatic
+     *  persistence of the preferences.
+     *
+     *  @param  delay   The delay between the first modification of a
+     *      preference and the write to the backing store.
+     *
+     *  @see org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor#OPTION_AutoPersistPreferences
+     */
+    private final void addAutoPersistSupport( final Duration delay )
+    {
+        final var className = getConfiguration().getClassName();
+
+        //---* Create the fields *---------------------------------------------
+        final var delayField = getComposer().fieldBuilder( long.class, STD_FIELD_AutoPersistDelay.toString(), PRIVATE, FINAL, STATIC )
+            .addJavadoc(
+                """
+                The delay in milliseconds for the automatic persistence of the
+                preferences: {@value}.
+                """ )
+            .initializer( "$LL", delay.toMillis() )
+            .build();
+        addField( STD_FIELD_AutoPersistDelay, delayField );
+
+        final var scheduledField = getComposer().fieldBuilder( AtomicBoolean.class, STD_FIELD_AutoPersistScheduled.toString(), PRIVATE, FINAL )
+            .addJavadoc(
+                """
+                The flag that indicates whether an automatic write of the
+                preferences is already scheduled.
+                """ )
+            .initializer( "new $T( false )", AtomicBoolean.class )
+            .build();
+        addField( STD_FIELD_AutoPersistScheduled, scheduledField );
+
+        //---* Create the method that writes the preferences immediately *-----
+        final var flushNowMethod = getComposer().methodBuilder( "flushNow" )
+            .addModifiers( PUBLIC, FINAL )
+            .returns( VOID )
+            .addJavadoc(
+                """
+                Writes all pending modifications of the preferences immediately
+                to the backing store, without waiting for the scheduled
+                automatic write.
+                """ )
+            .addStatement( "$N.set( false )", scheduledField )
+            .addStatement( "updatePreferences()" )
+            .build();
+        addMethod( flushNowMethod );
+
+        //---* Create the method that is executed by the background thread *---
+        final var beanClass = ClassName.from( getConfiguration().getPackageName().toString(), className.toString() );
+        final var runMethod = getComposer().methodBuilder( "runAutoPersist" )
+            .addModifiers( PRIVATE, FINAL )
+            .returns( VOID )
+            .addJavadoc(
+                """
+                Waits for the configured delay, and writes the modifications of
+                the preferences afterwards. A failure is logged, as there is
+                no caller that could handle it.
+                """ )
+            .beginControlFlow(
+                """
+                try
+                """ )
+            .addStatement( "sleep( $N )", delayField )
+            .addStaticImport( Thread.class, "sleep" )
+            .nextControlFlow(
+                """
+
+                catch( final $T e )
+                """, InterruptedException.class )
+            .addStatement( "currentThread().interrupt()" )
+            .addStaticImport( Thread.class, "currentThread" )
+            .nextControlFlow(
+                """
+
+                finally
+                """ )
+            .addCode(
+                """
+                /*
+                 * Modifications after this point will schedule the next write.
+                 */
+                """ )
+            .addStatement( "$N.set( false )", scheduledField )
+            .endControlFlow()
+            .addCode( "\n" )
+            .beginControlFlow(
+                """
+                try
+                """ )
+            .addStatement( "updatePreferences()" )
+            .nextControlFlow(
+                """
+
+                catch( final $T e )
+                """, RuntimeException.class )
+            .addStatement( "getLogger( $T.class.getName() ).log( $T.WARNING, $S, e )", beanClass, System.Logger.Level.class, "Automatic write of the preferences failed" )
+            .addStaticImport( System.class, "getLogger" )
+            .endControlFlow()
+            .build();
+        addMethod( runMethod );
+
+        //---* Create the method that schedules the write *--------------------
+        final var scheduleMethod = getComposer().methodBuilder( STD_METHOD_ScheduleAutoPersist.toString() )
+            .addModifiers( PRIVATE, FINAL )
+            .returns( VOID )
+            .addJavadoc(
+                """
+                Schedules the automatic write of the modified preferences on a
+                virtual thread, if this was not already done.
+                """ )
+            .beginControlFlow(
+                """
+                if( $N.compareAndSet( false, true ) )
+                """, scheduledField )
+            .addStatement( "$T.ofVirtual().name( $S ).start( this::$N )", Thread.class, format( "%s-AutoPersist", className ), runMethod )
+            .endControlFlow()
+            .build();
+        addMethod( STD_METHOD_ScheduleAutoPersist, scheduleMethod );
+
+        //---* Register the shutdown hook *------------------------------------
+        addShutdownFlush( STD_FIELD_PreferencesFlushTargets, STD_FIELD_PreferencesFlushHookRegistered, "flushAllPreferences", flushNowMethod, format( "%s-FlushPreferences", className ) );
+    }   //  addAutoPersistSupport()
+
     /**
      *  {@inheritDoc}
      */
@@ -133,18 +276,86 @@ public final class PreferencesBeanBuilder extends CodeBuilderBase
         final var writeLock = getField( STD_FIELD_WriteLock );
 
         //---* Initialise the field for the preferences root node *------------
-        addConstructorCode( getComposer().codeBlockBuilder()
+        final var rootNodeBuilder = getComposer().codeBlockBuilder()
             .add(
                 """
 
                 /*
                  * Retrieve the USER Preferences.
                  */
-                """ )
-            .addStatement( "$N = userRoot().node( $N )", userPreference, preferencesRoot )
-            .addStaticImport( Preferences.class, "userRoot" )
-            .build()
-        );
+                """ );
+        getConfiguration().getPreferencesFactory()
+            .ifPresentOrElse( factory -> rootNodeBuilder.addStatement( "$N = new $T().userRoot().node( $N )", userPreference, factory, preferencesRoot ),
+                () -> rootNodeBuilder.addStatement( "$N = userRoot().node( $N )", userPreference, preferencesRoot )
+                    .addStaticImport( Preferences.class, "userRoot" ) );
+        addConstructorCode( rootNodeBuilder.build() );
+
+        //---* Add the tracking of the changed preferences *-------------------
+        /*
+         * The changes are detected on the preferences node itself, after it
+         * was synchronised with the backing store; a PreferenceChangeListener
+         * would not get the modifications that were made by other JVMs.
+         */
+        final var isIncrementalLoad = getConfiguration().getIncrementalPreferencesLoad();
+        final var snapshotType = ParameterizedTypeName.from( List.class, Object.class );
+        final var preferenceSnapshotsType = ParameterizedTypeName.from( ClassName.from( Map.class ), TypeName.from( String.class ), snapshotType );
+        FieldSpec preferenceSnapshots = null;
+        MethodSpec takeSnapshotMethod = null;
+        if( isIncrementalLoad )
+        {
+            preferenceSnapshots = getComposer().fieldBuilder( preferenceSnapshotsType, STD_FIELD_PreferenceSnapshots.toString(), PRIVATE, FINAL )
+                .addJavadoc(
+                    """
+                    The snapshots of the preferences, taken when they were read
+                    last; the key for the map is the key of the preference.
+                    """ )
+                .initializer( "new $T<>()", HashMap.class )
+                .build();
+            addField( STD_FIELD_PreferenceSnapshots, preferenceSnapshots );
+
+            takeSnapshotMethod = getComposer().methodBuilder( "takePreferenceSnapshot" )
+                .addModifiers( PRIVATE, STATIC, FINAL )
+                .addParameter( Preferences.class, "node", FINAL )
+                .addParameter( String.class, "key", FINAL )
+                .addJavadoc(
+                    """
+                    Takes a snapshot of the raw contents of the given preferences
+                    node for the given key: the value for the key itself, and the
+                    entries and child nodes of a child node with the same name,
+                    as some preference accessors store their values there.
+
+                    @param  node    The preferences node.
+                    @param  key The key.
+                    @throws $T  Reading the preferences failed.\
+                    """, BackingStoreException.class )
+                .returns( snapshotType, "The snapshot." )
+                .addException( BackingStoreException.class )
+                .addStatement( "final var retValue = new $T<Object>()", ArrayList.class )
+                .addStatement( "retValue.add( node.get( key, null ) )" )
+                .beginControlFlow(
+                    """
+                    if( (key.indexOf( "//" ) < 0) && !key.startsWith( "/" ) && !key.endsWith( "/" ) && node.nodeExists( key ) )
+                    """ )
+                .addStatement( "final var child = node.node( key )" )
+                .beginControlFlow(
+                    """
+                    for( final var childKey : child.keys() )
+                    """ )
+                .addStatement( "retValue.add( childKey )" )
+                .addStatement( "retValue.add( child.get( childKey, null ) )" )
+                .endControlFlow()
+                .beginControlFlow(
+                    """
+                    for( final var childName : child.childrenNames() )
+                    """ )
+                .addStatement( "retValue.add( childName )" )
+                .addStatement( "retValue.add( takePreferenceSnapshot( child, childName ) )" )
+                .endControlFlow()
+                .endControlFlow()
+                .addCode( getComposer().createReturnStatement() )
+                .build();
+            addMethod( takeSnapshotMethod );
+        }
 
         //---* Create the method that returns the preference *-----------------
         final var returnType = ParameterizedTypeName.from( Optional.class, Preferences.class );
@@ -158,17 +369,16 @@ public final class PreferencesBeanBuilder extends CodeBuilderBase
         addMethod( method );
 
         //---* The builder for the code of the loadPreferences() method *------
-        final var loadPrefsCodeBuilder = getComposer().codeBlockBuilder()
-            .beginControlFlow( """
-                try( final var ignore = $N.lock() )
-                """, writeLock );
+        final var loadPrefsCodeBuilder = getComposer().codeBlockBuilder();
 
         //---* Add the preference change listener support *--------------------
+        final var listenerCodeBuilder = getComposer().codeBlockBuilder();
         final var prefsChangeListener = getConfiguration().getPreferenceChangeListenerClass();
+        FieldSpec changeListener = null;
         if( prefsChangeListener.isPresent() )
         {
             //---* Create the field *------------------------------------------
-            final var changeListener = getComposer().fieldBuilder( prefsChangeListener.get(), STD_FIELD_PreferenceChangeListener.toString(), PRIVATE )
+            changeListener = getComposer().fieldBuilder( prefsChangeListener.get(), STD_FIELD_PreferenceChangeListener.toString(), PRIVATE )
                 .addJavadoc(
                     """
                     The listener for preference changes.
@@ -182,7 +392,7 @@ public final class PreferencesBeanBuilder extends CodeBuilderBase
              * The listener itself will be instantiated only when
              * loadPreferences() is called the first time.
              */
-            loadPrefsCodeBuilder.add(
+            listenerCodeBuilder.add(
                     """
                     /*
                      * Create the preference change listener.
@@ -198,28 +408,58 @@ public final class PreferencesBeanBuilder extends CodeBuilderBase
                 .addStatement( "$N.addPreferenceChangeListener( $N )", userPreference, changeListener )
                 .endControlFlow();
         }
-        loadPrefsCodeBuilder.add(
-                """
-                /*
-                 * Synchronise the preferences backing store with the memory.
-                 */
-                """
-            )
-            .addStatement( "$N.sync()", userPreference )
-            .add(
-                """
-                
-                /*
-                 * Load the data.
-                 */
-                """
-            );
+        /*
+         * With the incremental load, the backing store is synchronised and the
+         * snapshots are taken without the lock, as this requires access to
+         * the backing store; the lock is taken only if anything has to be
+         * loaded.
+         */
+        final var applyPrefsCodeBuilder = getComposer().codeBlockBuilder();
+        if( isIncrementalLoad )
+        {
+            loadPrefsCodeBuilder.beginControlFlow(
+                    """
+                    try
+                    """ )
+                .add(
+                    """
+                    /*
+                     * Synchronise the preferences backing store with the memory,
+                     * and take the snapshots of the preferences.
+                     */
+                    """
+                )
+                .addStatement( "$N.sync()", userPreference )
+                .addStatement( "final $T snapshots = new $T<>()", preferenceSnapshotsType, HashMap.class );
+        }
+        else
+        {
+            loadPrefsCodeBuilder.beginControlFlow(
+                    """
+                    try( final var ignore = $N.lock() )
+                    """, writeLock )
+                .add( listenerCodeBuilder.build() )
+                .add(
+                    """
+                    /*
+                     * Synchronise the preferences backing store with the memory.
+                     */
+                    """
+                )
+                .addStatement( "$N.sync()", userPreference )
+                .add(
+                    """
 
-        //---* The builder for the code of the updatePreferences() method *----
-        final var updatePrefsCodeBuilder = getComposer().codeBlockBuilder()
-            .beginControlFlow( """
-                try( final var ignore = $N.lock() )
-                """, writeLock );
+                    /*
+                     * Load the data.
+                     */
+                    """
+                );
+        }
+
+        //---* The builder for the code that writes the preferences *---------
+        final var writePrefsCodeBuilder = getComposer().codeBlockBuilder();
+        var dirtyFlagCount = 0;
 
         addConstructorCode( getComposer().codeBlockOf( """
 
@@ -242,20 +482,33 @@ public final class PreferencesBeanBuilder extends CodeBuilderBase
             final var accessorClass = propertySpec.getPrefsAccessorClass().orElseThrow( () -> new CodeGenerationError( format( MSG_PreferencesNotConfigured, name ) ) );
             final var field = propertySpec.getFieldName();
 
-            //---* Add the code for the Constructor *--------------------------
-            final var getter = getComposer().lambdaBuilder()
-                .addCode( "$N", field )
-                .build();
-            final var setter = getComposer().lambdaBuilder()
-                .addParameter( "p" )
-                .addCode( "$N = p", field )
+            //---* Create the field for the accessor *-------------------------
+            final var accessorField = getComposer().fieldBuilder( preferenceAccessorType, format( "%sAccessor", field ), PRIVATE, FINAL )
+                .addJavadoc(
+                    """
+                    The preferences accessor for the property &quot;$L&quot;.
+                    """, name )
                 .build();
+            addField( accessorField );
+
+            //---* Add the code for the Constructor *--------------------------
+            final var getter = isLambdaFree()
+                ? getComposer().codeBlockOf( "new $1L<>( this, $2S )", PREFERENCE_DISPATCHER_CLASS_NAME, name )
+                : getComposer().codeBlockOf( "$L", getComposer().lambdaBuilder()
+                    .addCode( "$N", field )
+                    .build() );
+            final var setter = isLambdaFree()
+                ? getter
+                : getComposer().codeBlockOf( "$L", getComposer().lambdaBuilder()
+                    .addParameter( "p" )
+                    .addCode( "$N = p", field )
+                    .build() );
             final var codeBlockBuilder = getComposer().codeBlockBuilder();
 
             if( accessorClass.equals( ENUM_ACCESSOR_TYPE ) )
             {
                 final var propertyType = propertySpec.getPropertyType();
-                codeBlockBuilder.addStatement( "$1N.put( $2S, new $3T<>( $2S, $4T.class, $5L, $6L ) )", accessorRegistry, key, accessorClass, propertyType, getter, setter );
+                codeBlockBuilder.addStatement( "$1N = new $3T<>( $2S, $4T.class, $5L, $6L )", accessorField, key, accessorClass, propertyType, getter, setter );
             }
             else if( accessorClass.equals( LIST_ACCESSOR_TYPE ) || accessorClass.equals( SET_ACCESSOR_TYPE ) )
             {
@@ -265,9 +518,9 @@ public final class PreferencesBeanBuilder extends CodeBuilderBase
                     .orElseThrow( () -> new CodeGenerationError( format( MSG_MissingStringConverterWithType, name, argumentType.toString() ) ) );
                 switch( determineStringConverterInstantiation( stringConverterType, false ) )
                 {
-                    case BY_INSTANCE -> codeBlockBuilder.addStatement( "$1N.put( $2S, new $3T<>( $2S, $4T.INSTANCE, $5L, $6L ) )", accessorRegistry, key, accessorClass, stringConverterType, getter, setter );
-                    case THROUGH_CONSTRUCTOR -> codeBlockBuilder.addStatement( "$1N.put( $2S, new $3T<>( $2S, new $4T(), $5L, $6L ) )", accessorRegistry, key, accessorClass, stringConverterType, getter, setter );
-                    case AS_ENUM -> codeBlockBuilder.addStatement( "$1N.put( $2S, new $3T<>( $2S, new $4T( $7T), $5L, $6L ) )", accessorRegistry, key, accessorClass, stringConverterType, getter, setter, propertyType );
+                    case BY_INSTANCE -> codeBlockBuilder.addStatement( "$1N = new $3T<>( $2S, $4T.INSTANCE, $5L, $6L )", accessorField, key, accessorClass, stringConverterType, getter, setter );
+                    case THROUGH_CONSTRUCTOR -> codeBlockBuilder.addStatement( "$1N = new $3T<>( $2S, new $4T(), $5L, $6L )", accessorField, key, accessorClass, stringConverterType, getter, setter );
+                    case AS_ENUM -> codeBlockBuilder.addStatement( "$1N = new $3T<>( $2S, new $4T( $7T), $5L, $6L )", accessorField, key, accessorClass, stringConverterType, getter, setter, propertyType );
                 }
             }
             else if( accessorClass.equals( MAP_ACCESSOR_TYPE ) )
@@ -292,7 +545,7 @@ public final class PreferencesBeanBuilder extends CodeBuilderBase
                         case THROUGH_CONSTRUCTOR -> "new $5T()";
                         case AS_ENUM -> EMPTY_STRING;
                     };
-                codeBlockBuilder.addStatement( "$1N.put( $2S, new $3T<>( $2S, %1$s, %2$s, $6L, $7L ) )".formatted( keySnippet, valueSnippet ), accessorRegistry, key, accessorClass, keyStringConverterType, valueStringConverterType, getter, setter );
+                codeBlockBuilder.addStatement( "$1N = new $3T<>( $2S, %1$s, %2$s, $6L, $7L )".formatted( keySnippet, valueSnippet ), accessorField, key, accessorClass, keyStringConverterType, valueStringConverterType, getter, setter );
             }
             else if( accessorClass.equals( DEFAULT_ACCESSOR_TYPE ) )
             {
@@ -300,25 +553,148 @@ public final class PreferencesBeanBuilder extends CodeBuilderBase
                     .orElseThrow( () -> new CodeGenerationError( format( MSG_MissingStringConverter, name ) ) );
                 switch( determineStringConverterInstantiation( stringConverterType, propertySpec.isEnum() ) )
                 {
-                    case BY_INSTANCE -> codeBlockBuilder.addStatement( "$1N.put( $2S, new $3T<>( $2S, $5L, $6L, $4T.INSTANCE ) )", accessorRegistry, key, accessorClass, stringConverterType, getter, setter );
-                    case THROUGH_CONSTRUCTOR -> codeBlockBuilder.addStatement( "$1N.put( $2S, new $3T<>( $2S, $5L, $6L, new $4T() ) )", accessorRegistry, key, accessorClass, stringConverterType, getter, setter );
-                    case AS_ENUM -> codeBlockBuilder.addStatement( "$1N.put( $2S, new $3T<>( $2S, $5L, $6L, new $4T( $7T ) ) )", accessorRegistry, key, accessorClass, stringConverterType, getter, setter, propertySpec.getPropertyType() );
+                    case BY_INSTANCE -> codeBlockBuilder.addStatement( "$1N = new $3T<>( $2S, $5L, $6L, $4T.INSTANCE )", accessorField, key, accessorClass, stringConverterType, getter, setter );
+                    case THROUGH_CONSTRUCTOR -> codeBlockBuilder.addStatement( "$1N = new $3T<>( $2S, $5L, $6L, new $4T() )", accessorField, key, accessorClass, stringConverterType, getter, setter );
+                    case AS_ENUM -> codeBlockBuilder.addStatement( "$1N = new $3T<>( $2S, $5L, $6L, new $4T( $7T ) )", accessorField, key, accessorClass, stringConverterType, getter, setter, propertySpec.getPropertyType() );
                 }
             }
             else
             {
-                codeBlockBuilder.addStatement( "$1N.put( $2S, new $3T( $2S, $4L, $5L ) )", accessorRegistry, key, accessorClass, getter, setter );
+                codeBlockBuilder.addStatement( "$1N = new $3T( $2S, $4L, $5L )", accessorField, key, accessorClass, getter, setter );
             }
+            codeBlockBuilder.addStatement( "$N.put( $S, $N )", accessorRegistry, key, accessorField );
             addConstructorCode( codeBlockBuilder.build() );
 
             //---* Add the code for loadPreferences() *------------------------
-            loadPrefsCodeBuilder.addStatement( "$N.get( $S ).readPreference( $N )", accessorRegistry, key, userPreference );
+            final var index = getPreferencesIndex( this, propertySpec ).orElseThrow();
+            if( isIncrementalLoad )
+            {
+                loadPrefsCodeBuilder.addStatement( "snapshots.put( $1S, $2N( $3N, $1S ) )", key, takeSnapshotMethod, userPreference );
+                applyPrefsCodeBuilder.beginControlFlow(
+                        """
+                        if( $1L.get( $2L ) || !snapshots.get( $3S ).equals( $4N.get( $3S ) ) )
+                        """, STD_FIELD_DirtyPreferences, index, key, preferenceSnapshots )
+                    .addStatement( "$N.readPreference( $N )", accessorField, userPreference )
+                    .addStatement( "$1N.put( $2S, snapshots.get( $2S ) )", preferenceSnapshots, key )
+                    .addStatement( "$L.clear( $L )", STD_FIELD_DirtyPreferences, index )
+                    .endControlFlow();
+            }
+            else
+            {
+                loadPrefsCodeBuilder.addStatement( "$N.readPreference( $N )", accessorField, userPreference );
+            }
 
             //---* Add the code for updatePreferences() *----------------------
-            updatePrefsCodeBuilder.addStatement( "$N.get( $S ).writePreference( $N )", accessorRegistry, key, userPreference );
+            writePrefsCodeBuilder.beginControlFlow( """
+                    if( $L.get( $L ) )
+                    """, STD_FIELD_DirtyPreferences, index )
+                .addStatement( "$N.writePreference( $N )", accessorField, userPreference )
+                .endControlFlow();
+            ++dirtyFlagCount;
         }   //  PropertiesLoop:
 
+        //---* Add the field for the flags of the modified preferences *-------
+        final var dirtyPreferences = getComposer().fieldBuilder( BitSet.class, STD_FIELD_DirtyPreferences.toString(), PRIVATE, FINAL )
+            .addJavadoc(
+                """
+                The flags for the preferences that were modified since the last
+                call to {@link #updatePreferences()}.
+                """ )
+            .initializer( "new $T( $L )", BitSet.class, dirtyFlagCount )
+            .build();
+        addField( STD_FIELD_DirtyPreferences, dirtyPreferences );
+
+        //---* Add the field for the flag for the first write *---------------
+        final var preferencesPersisted = getComposer().fieldBuilder( boolean.class, STD_FIELD_PreferencesPersisted.toString(), PRIVATE )
+            .addJavadoc(
+                """
+                {@code true} if the preferences of this configuration bean were
+                written to the backing store at least once, {@code false} if
+                not.
+                """ )
+            .initializer( "false" )
+            .build();
+        addField( STD_FIELD_PreferencesPersisted, preferencesPersisted );
+
+        //---* The builder for the code of the updatePreferences() method *----
+        final var updatePrefsCodeBuilder = getComposer().codeBlockBuilder()
+            .beginControlFlow( """
+                try( final var ignore = $N.lock() )
+                """, writeLock )
+            .add(
+                """
+                /*
+                 * The first write takes all preferences, not only the modified
+                 * ones; otherwise an absent node would not be created with the
+                 * current values of the configuration bean.
+                 */
+                """ )
+            .addStatement( "if( !$N ) $N.set( 0, $L )", preferencesPersisted, dirtyPreferences, dirtyFlagCount )
+            .add( "\n" )
+            .add(
+                """
+                /*
+                 * Write only the preferences that were modified since the last
+                 * call to this method, and skip the flush if there are none.
+                 */
+                """ )
+            .beginControlFlow( """
+                if( !$L.isEmpty() )
+                """, STD_FIELD_DirtyPreferences )
+            .add( writePrefsCodeBuilder.build() );
+
         //---* Create the loadPreferences() method *---------------------------
+        if( isIncrementalLoad )
+        {
+            loadPrefsCodeBuilder.add(
+                    """
+
+                    /*
+                     * Nothing has to be loaded if neither the preferences in the
+                     * node nor the values in the memory were modified since the
+                     * last load.
+                     */
+                    """ )
+                .addStatement( "final boolean isModified" )
+                .beginControlFlow(
+                    """
+                    try( final var ignore = $N.lock() )
+                    """, getField( STD_FIELD_ReadLock ) );
+            if( nonNull( changeListener ) )
+            {
+                loadPrefsCodeBuilder.addStatement( "isModified = isNull( $1N ) || !$2N.isEmpty() || !snapshots.equals( $3N )", changeListener, dirtyPreferences, preferenceSnapshots )
+                    .addStaticImport( Objects.class, "isNull" );
+            }
+            else
+            {
+                loadPrefsCodeBuilder.addStatement( "isModified = !$1N.isEmpty() || !snapshots.equals( $2N )", dirtyPreferences, preferenceSnapshots );
+            }
+            loadPrefsCodeBuilder.endControlFlow()
+                .beginControlFlow(
+                    """
+                    if( isModified )
+                    """ )
+                .beginControlFlow(
+                    """
+                    try( final var ignore = $N.lock() )
+                    """, writeLock )
+                .add( listenerCodeBuilder.build() )
+                .add(
+                    """
+                    /*
+                     * Load the data; only the preferences whose contents in the
+                     * node differ from the snapshot that was taken when they
+                     * were read last, or whose values were modified since, will
+                     * be read again, so that the result is the same as for a
+                     * full load. A value that was read again is no longer
+                     * modified.
+                     */
+                    """
+                )
+                .add( applyPrefsCodeBuilder.build() )
+                .endControlFlow()
+                .endControlFlow();
+        }
         loadPrefsCodeBuilder.nextControlFlow(
             """
 
@@ -335,9 +711,34 @@ public final class PreferencesBeanBuilder extends CodeBuilderBase
             .build();
         addMethod( loadPrefsMethod );
 
+        //---* Create the method for the explicit full reload *----------------
+        if( isIncrementalLoad )
+        {
+            final var loadAllPrefsMethod = getComposer().methodBuilder( "loadAllPreferences" )
+                .addModifiers( PUBLIC, FINAL )
+                .returns( VOID )
+                .addJavadoc(
+                    """
+                    Loads all the preferences from the backing store, regardless
+                    whether they were changed since the last call to
+                    {@link #loadPreferences()}.
+                    """ )
+                .beginControlFlow( """
+                    try( final var ignore = $N.lock() )
+                    """, writeLock )
+                .addStatement( "$N.clear()", preferenceSnapshots )
+                .endControlFlow()
+                .addStatement( "$N()", loadPrefsMethod )
+                .build();
+            addMethod( loadAllPrefsMethod );
+        }
+
         //---* Create the updatePreferences() method *-------------------------
         updatePrefsCodeBuilder.add( "\n" )
             .addStatement( "$N.flush()", userPreference )
+            .addStatement( "$N.clear()", dirtyPreferences )
+            .addStatement( "$N = true", preferencesPersisted )
+            .endControlFlow()
             .nextControlFlow(
                 """
 
@@ -353,6 +754,9 @@ public final class PreferencesBeanBuilder extends CodeBuilderBase
             .addCode( updatePrefsCodeBuilder.build() )
             .build();
         addMethod( updatePrefsMethod );
+
+        //---* Add the support for the automatic persistence *-----------------
+        getConfiguration().getAutoPersistDelay().ifPresent( this::addAutoPersistSupport );
     }   //  build()
 }
 //  class PreferencesBeanBuilder
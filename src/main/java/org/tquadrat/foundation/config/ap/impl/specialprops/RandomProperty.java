@@ -22,6 +22,7 @@ import static javax.lang.model.element.Modifier.PRIVATE;
 import static org.apiguardian.api.API.Status.STABLE;
 import static org.tquadrat.foundation.config.SpecialPropertyType.CONFIG_PROPERTY_RANDOM;
 import static org.tquadrat.foundation.config.ap.PropertySpec.PropertyFlag.EXEMPT_FROM_TOSTRING;
+import static org.tquadrat.foundation.config.ap.PropertySpec.PropertyFlag.PROPERTY_IS_LAZY;
 import static org.tquadrat.foundation.lang.Objects.requireNonNullArgument;
 
 import java.nio.charset.Charset;
@@ -38,7 +39,9 @@ import org.tquadrat.foundation.config.ap.impl.PropertySpecImpl;
 import org.tquadrat.foundation.javacomposer.ClassName;
 import org.tquadrat.foundation.javacomposer.CodeBlock;
 import org.tquadrat.foundation.javacomposer.FieldSpec;
+import org.tquadrat.foundation.javacomposer.ParameterizedTypeName;
 import org.tquadrat.foundation.javacomposer.TypeName;
+import org.tquadrat.foundation.lang.Lazy;
 
 /**
  *  The implementation of
@@ -90,9 +93,22 @@ public final class RandomProperty extends SpecialPropertySpecBase
                  */
                 """, property.getPropertyName()
             )
-            .addStatement( "$1N = new $2T()", property.getFieldName(), SecureRandom.class )
             .addStaticImport( Charset.class, "defaultCharset" );
 
+        /*
+         * Creating an instance of SecureRandom can be expensive, as it may
+         * require to collect entropy; when requested, this will be deferred
+         * until the first call to the getter.
+         */
+        if( property.hasFlag( PROPERTY_IS_LAZY ) )
+        {
+            builder.addStatement( "$1N = $2T.use( $3T::new )", property.getFieldName(), Lazy.class, SecureRandom.class );
+        }
+        else
+        {
+            builder.addStatement( "$1N = new $2T()", property.getFieldName(), SecureRandom.class );
+        }
+
         //---* Create the return value *---------------------------------------
         final var retValue = builder.build();
 
@@ -112,7 +128,10 @@ public final class RandomProperty extends SpecialPropertySpecBase
     {
         final var composer = requireNonNullArgument( codeBuilder, "codeBuilder" ).getComposer();
 
-        final var builder = composer.fieldBuilder( property.getPropertyType(), property.getFieldName(), PRIVATE )
+        final var fieldType = property.hasFlag( PROPERTY_IS_LAZY )
+            ? ParameterizedTypeName.from( ClassName.from( Lazy.class ), property.getPropertyType() )
+            : property.getPropertyType();
+        final var builder = composer.fieldBuilder( fieldType, property.getFieldName(), PRIVATE )
             .addJavadoc(
                 """
                 Special Property: &quot;$L&quot;.
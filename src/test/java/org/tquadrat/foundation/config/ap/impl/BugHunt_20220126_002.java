@@ -227,6 +227,8 @@ public class BugHunt_20220126_002 extends TestBaseClass
                     import static java.lang.System.getProperty;
                     import static java.nio.charset.Charset.defaultCharset;
                     import static java.nio.file.Files.exists;
+                    import static java.nio.file.Files.getLastModifiedTime;
+                    import static java.nio.file.Files.size;
                     import static org.tquadrat.foundation.lang.CommonConstants.NULL_STRING;
                     import static org.tquadrat.foundation.lang.Objects.isNull;
                     import static org.tquadrat.foundation.lang.Objects.nonNull;
@@ -241,9 +243,11 @@ public class BugHunt_20220126_002 extends TestBaseClass
                     import java.lang.SuppressWarnings;
                     import java.nio.charset.Charset;
                     import java.nio.file.Path;
+                    import java.nio.file.attribute.FileTime;
                     import java.security.SecureRandom;
                     import java.time.Clock;
                     import java.time.ZoneId;
+                    import java.util.BitSet;
                     import java.util.Locale;
                     import java.util.MissingResourceException;
                     import java.util.Optional;
@@ -295,11 +299,37 @@ public class BugHunt_20220126_002 extends TestBaseClass
                          */
                         private Locale m_CurrentResourceBundleLocale = null;
                                     
+                        /**
+                         * The flags for the INI values that were modified since the last
+                         * call to {@link #updateINIFile()}.
+                         */
+                        private final BitSet m_DirtyINIValues = new BitSet( 0 );
+                                    
                         /**
                          * The INIFile instance that is used by this configuration bean to
                          * persist (some of) its properties.
                          */
                         private final Lazy<INIFile> m_INIFile;
+
+                        /**
+                         * The last modification time of the file that backs the INIFile
+                         * instance, when its state was recorded last; {@code null} if the
+                         * file did not exist at that time.
+                         */
+                        private volatile FileTime m_INIFileLastModified = null;
+
+                        /**
+                         * The size of the file that backs the INIFile instance, when its
+                         * state was recorded last; -1 if the file did not exist at that
+                         * time.
+                         */
+                        private volatile long m_INIFileSize = -1L;
+
+                        /**
+                         * {@code true} if the values of this configuration bean were
+                         * written to the INI file at least once, {@code false} if not.
+                         */
+                        private boolean m_INIValuesPersisted = false;
                                     
                         /**
                          * Property: &quot;isDebug&quot;.
@@ -368,8 +398,15 @@ public class BugHunt_20220126_002 extends TestBaseClass
                              */
                             {
                                 final var stringConverter = BooleanStringConverter.INSTANCE;
-                                final var value = getProperty( "isDebug", "false" );
-                                m_IsDebug = stringConverter.fromString( value );
+                                final var value = getProperty( "isDebug" );
+                                if( isNull( value ) )
+                                {
+                                    m_IsDebug = false;
+                                }
+                                else
+                                {
+                                    m_IsDebug = stringConverter.fromString( value );
+                                }
                             }
                                     
                             /*
@@ -377,8 +414,15 @@ public class BugHunt_20220126_002 extends TestBaseClass
                              */
                             {
                                 final var stringConverter = BooleanStringConverter.INSTANCE;
-                                final var value = getProperty( "isTest", "false" );
-                                m_IsTest = stringConverter.fromString( value );
+                                final var value = getProperty( "isTest" );
+                                if( isNull( value ) )
+                                {
+                                    m_IsTest = false;
+                                }
+                                else
+                                {
+                                    m_IsTest = stringConverter.fromString( value );
+                                }
                             }
                                     
                             /*
@@ -416,6 +460,40 @@ public class BugHunt_20220126_002 extends TestBaseClass
                         {
                             m_ListenerSupport.addListener( listener );
                         }  //  addListener()
+
+                        /**
+                         * Applies the structure of the INI file, composed from the
+                         * groups, the keys and the related comments, to the given
+                         * {@link INIFile}
+                         * instance.
+                         *
+                         * @param  iniFile The {@code INIFile} instance.
+                         */
+                        private static final void applyINIFileStructure( final INIFile iniFile )
+                        {
+                            iniFile.setComment( "Group1", "The comment for group 1.\\n" );
+                            iniFile.setComment( "Group2", "The comment for group 2.\\n" );
+                            iniFile.setComment( "Group3", "The comment for group 3.\\n" );
+                        }  //  applyINIFileStructure()
+
+                        /**
+                         * Checks whether the file that backs the
+                         * {@link INIFile}
+                         * instance was modified since its state was recorded last.
+                         *
+                         * @throws IOException Reading the file attributes failed.
+                         * @return {@code true} if the file was modified, {@code false} otherwise.
+                         */
+                        private final boolean checkINIFileState() throws IOException
+                        {
+                            final var path = retrieveINIFilePath();
+                            final var lastModified = exists( path ) ? getLastModifiedTime( path ) : null;
+                            final var fileSize = nonNull( lastModified ) ? size( path ) : -1L;
+                            final var retValue = (fileSize != m_INIFileSize) || (nonNull( lastModified ) && !lastModified.equals( m_INIFileLastModified ));
+
+                            //---* Done *----------------------------------------------------------
+                            return retValue;
+                        }  //  checkINIFileState()
                                     
                         /**
                          * Creates the
@@ -444,9 +522,7 @@ public class BugHunt_20220126_002 extends TestBaseClass
                             }
                                     
                             // Sets the structure of the INIFile
-                            retValue.setComment( "Group1", "The comment for group 1.\\n" );
-                            retValue.setComment( "Group2", "The comment for group 2.\\n" );
-                            retValue.setComment( "Group3", "The comment for group 3.\\n" );
+                            applyINIFileStructure( retValue );
                                                 
                             //---* Done *----------------------------------------------------------
                             return retValue;
@@ -580,12 +656,27 @@ public class BugHunt_20220126_002 extends TestBaseClass
                         {
                             try
                             {
-                                final var iniFile = m_INIFile.get();
-                                iniFile.refresh();
-                                    
-                                /*
-                                 * Load the data.
-                                 */
+                                if( checkINIFileState() )
+                                {
+                                    /*
+                                     * The state of the file is taken before the file is read, but
+                                     * it is recorded only after the values were loaded
+                                     * successfully; a modification in between will cause another
+                                     * reload, but it will not get lost.
+                                     */
+                                    final var path = retrieveINIFilePath();
+                                    final var lastModified = exists( path ) ? getLastModifiedTime( path ) : null;
+                                    final var fileSize = nonNull( lastModified ) ? size( path ) : -1L;
+                                    final var iniFile = m_INIFile.get();
+                                    iniFile.refresh();
+                                    
+                                    /*
+                                     * Load the data.
+                                     */
+
+                                    m_INIFileLastModified = lastModified;
+                                    m_INIFileSize = fileSize;
+                                }
                             }
                             catch( final IOException e )
                             {
@@ -601,6 +692,22 @@ public class BugHunt_20220126_002 extends TestBaseClass
                         {
                             return Optional.of( m_INIFile.get() );
                         }  //  obtainINIFile()
+
+                        /**
+                         * Records the current state of the file that backs the
+                         * {@link INIFile}
+                         * instance.
+                         *
+                         * @throws IOException Reading the file attributes failed.
+                         */
+                        private final void recordINIFileState() throws IOException
+                        {
+                            final var path = retrieveINIFilePath();
+                            final var lastModified = exists( path ) ? getLastModifiedTime( path ) : null;
+                            final var fileSize = nonNull( lastModified ) ? size( path ) : -1L;
+                            m_INIFileLastModified = lastModified;
+                            m_INIFileSize = fileSize;
+                        }  //  recordINIFileState()
                                     
                         /**
                          * {@inheritDoc}
@@ -732,13 +839,45 @@ public class BugHunt_20220126_002 extends TestBaseClass
                         {
                             try
                             {
-                                final var iniFile = m_INIFile.get();
-                                
                                 /*
-                                 * Write the data.
+                                 * The first write takes all values, not only the modified ones;
+                                 * otherwise an absent INI file would not be created with the
+                                 * current values of the configuration bean.
+                                 */
+                                if( !m_INIValuesPersisted ) m_DirtyINIValues.set( 0, 0 );
+
+                                /*
+                                 * Write only the values that were modified since the last call
+                                 * to this method, and skip the save if there are none.
                                  */
+                                if( !m_DirtyINIValues.isEmpty() )
+                                {
+                                    /*
+                                     * Take the flags for the values to write, and reset them before
+                                     * the write; if the write fails, they will be restored, together
+                                     * with the flags for the values that were modified in the
+                                     * meantime.
+                                     */
+                                    final var dirty = (BitSet) m_DirtyINIValues.clone();
+                                    m_DirtyINIValues.clear();
+                                    try
+                                    {
+                                        final var iniFile = m_INIFile.get();
                                     
-                                iniFile.save();
+                                        /*
+                                         * Write the data.
+                                         */
+
+                                        iniFile.save();
+                                        recordINIFileState();
+                                        m_INIValuesPersisted = true;
+                                    }
+                                    catch( final IOException | RuntimeException e )
+                                    {
+                                        m_DirtyINIValues.or( dirty );
+                                        throw e;
+                                    }
+                                }
                             }
                             catch( final IOException e )
                             {
@@ -226,6 +226,7 @@ public class BugHunt_20220205_001 extends TestBaseClass
                     import static java.lang.System.getProperty;
                     import static java.nio.charset.Charset.defaultCharset;
                     import static org.tquadrat.foundation.lang.CommonConstants.NULL_STRING;
+                    import static org.tquadrat.foundation.lang.Objects.isNull;
                     import static org.tquadrat.foundation.lang.Objects.nonNull;
                     import static org.tquadrat.foundation.lang.Objects.requireNonNullArgument;
                     import static org.tquadrat.foundation.util.SystemUtils.getPID;
@@ -373,8 +374,15 @@ public class BugHunt_20220205_001 extends TestBaseClass
                              */
                             {
                                 final var stringConverter = BooleanStringConverter.INSTANCE;
-                                final var value = getProperty( "isDebug", "false" );
-                                m_IsDebug = stringConverter.fromString( value );
+                                final var value = getProperty( "isDebug" );
+                                if( isNull( value ) )
+                                {
+                                    m_IsDebug = false;
+                                }
+                                else
+                                {
+                                    m_IsDebug = stringConverter.fromString( value );
+                                }
                             }
                                     
                             /*
@@ -382,8 +390,15 @@ public class BugHunt_20220205_001 extends TestBaseClass
                              */
                             {
                                 final var stringConverter = BooleanStringConverter.INSTANCE;
-                                final var value = getProperty( "isTest", "false" );
-                                m_IsTest = stringConverter.fromString( value );
+                                final var value = getProperty( "isTest" );
+                                if( isNull( value ) )
+                                {
+                                    m_IsTest = false;
+                                }
+                                else
+                                {
+                                    m_IsTest = stringConverter.fromString( value );
+                                }
                             }
                                     
                             /*
@@ -0,0 +1,469 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package org.tquadrat.foundation.config.ap.impl;
+
+import static java.lang.String.format;
+import static java.lang.System.out;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.tquadrat.foundation.util.StringUtils.isNotEmptyOrBlank;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.tquadrat.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.ap.APHelper;
+import org.tquadrat.foundation.config.ConfigBeanSpec;
+import org.tquadrat.foundation.config.INIBeanSpec;
+import org.tquadrat.foundation.inifile.INIFile;
+import org.tquadrat.foundation.javacomposer.ClassName;
+import org.tquadrat.foundation.test.helper.CodeGeneratorTestBase;
+
+/**
+ *  Tests the generation of a configuration bean with the
+ *  {@linkplain org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor#OPTION_AtomicINIFileSave crash-safe save}
+ *  of the INI file.
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: TestAtomicINIFileSave.java 1181 2026-10-18 17:02:13Z tquadrat $
+ */
+@ClassVersion( sourceVersion = "$Id: TestAtomicINIFileSave.java 1181 2026-10-18 17:02:13Z tquadrat $" )
+@DisplayName( "org.tquadrat.foundation.config.ap.impl.TestAtomicINIFileSave" )
+public class TestAtomicINIFileSave extends CodeGeneratorTestBase
+{
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Compiles the generated methods {@code lockINIFile()} and
+     *  {@code saveINIFileAtomically()} into a stub for the configuration
+     *  bean; the code that writes the values of the properties is replaced
+     *  by code that writes a single value for a given key.
+     *
+     *  @param  source  The source of the configuration bean.
+     *  @param  folder  The folder for the compiled class.
+     *  @return The class for the stub.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    private static final Class<?> compileSaveINIFileAtomically( final String source, final Path folder ) throws Exception
+    {
+        var save = extractBlock( source, "private final void saveINIFileAtomically(" );
+        final var writeStart = save.lastIndexOf( "/*", save.indexOf( "Write the data." ) );
+        final var writeEnd = save.indexOf( "iniFile.save();" );
+        assertTrue( (writeStart > 0) && (writeEnd > writeStart) );
+        save = save.substring( 0, writeStart ) + "iniFile.setValue( \"Group1\", m_Key, m_Value );\n" + save.substring( writeEnd );
+
+        final var classSource = format(
+            """
+            import static java.nio.file.Files.*;
+            import static java.nio.file.StandardCopyOption.*;
+            import static java.nio.file.StandardOpenOption.*;
+            import static java.util.concurrent.TimeUnit.MILLISECONDS;
+            import static java.util.concurrent.locks.LockSupport.parkNanos;
+            import static org.tquadrat.foundation.lang.Objects.isNull;
+
+            import java.io.IOException;
+            import java.nio.channels.FileChannel;
+            import java.nio.channels.FileLock;
+            import java.nio.file.Path;
+            import java.util.BitSet;
+            import java.util.Map;
+            import java.util.concurrent.ConcurrentHashMap;
+
+            import org.tquadrat.foundation.inifile.INIFile;
+
+            public final class INIBean
+            {
+                %1$s
+                private final String m_Key;
+                private final Path m_Path;
+                private String m_Value = null;
+
+                public INIBean( final Path path, final String key )
+                {
+                    m_Path = path;
+                    m_Key = key;
+                }
+
+                private static final void applyINIFileStructure( final INIFile iniFile ) { /* Nothing to do */ }
+                private final boolean checkINIFileState() { return false; }
+                private final void recordINIFileState() { /* Nothing to do */ }
+                private final Path retrieveINIFilePath() { return m_Path; }
+
+                public final void save( final String value ) throws IOException
+                {
+                    m_Value = value;
+                    saveINIFileAtomically( new BitSet() );
+                }
+
+                %2$s
+                %3$s
+            }
+            """,
+            extractStatement( source, "private static final Map<Path, Object> m_INIFileSaveLocks" ),
+            extractBlock( source, "private static final FileLock lockINIFile(" ),
+            save );
+        final var retValue = compileClass( folder, "INIBean", classSource );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  compileSaveINIFileAtomically()
+
+    /**
+     *  Generates the source for the configuration bean.
+     *
+     *  @param  flag    {@code true} if debug output should be created,
+     *      {@code false} if not.
+     *  @return The source.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    private final String createSource( final boolean flag ) throws Exception
+    {
+        final APHelper environment = mock( APHelper.class );
+        final var configuration = createConfiguration( "INIBean", "INISpec", environment, flag );
+        assertNotNull( configuration );
+        configuration.setAtomicINIFileSave( true );
+
+        //---* Add the interfaces to implement *-------------------------------
+        final var interfacesToImplement = List.of( ClassName.from( ConfigBeanSpec.class ), ClassName.from( INIBeanSpec.class ) );
+        configuration.addInterfacesToImplement( interfacesToImplement );
+
+        //---* Add the properties *--------------------------------------------
+        createPropertiesForConfigBeanSpec( configuration );
+        createPropertiesForINIBeanSpec( configuration );
+
+        //---* Create the code *-----------------------------------------------
+        replayAll();
+        final var candidate = new CodeGenerator( configuration );
+        assertNotNull( candidate );
+
+        final var code = candidate.createCode();
+        assertNotNull( code );
+        final var actual = new StringBuilder();
+        code.writeTo( actual );
+        assertTrue( isNotEmptyOrBlank( actual ) );
+        final var retValue = actual.toString();
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  createSource()
+
+    /**
+     *  A test for the code generation.
+     *
+     *  @param  flag    {@code true} if debug output should be created,
+     *      {@code false} if not.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @ParameterizedTest( name = "testCodeGeneration [{index}] = {0}" )
+    @ValueSource( booleans = { true, false } )
+    final void testCodeGeneration( final boolean flag ) throws Exception
+    {
+        skipThreadTest();
+
+        final var header = format( "%n//----< %2$s >%1$s", "-".repeat( 80 ), "testAtomicINIFileSave" ).substring( 0, 80 );
+        final var source = createSource( flag );
+        if( flag )
+        {
+            out.println( header );
+            out.println( source );
+            out.println( header );
+            out.println();
+        }
+
+        assertEquals( "private static final Map<Path, Object> m_INIFileSaveLocks = new ConcurrentHashMap<>();", extractStatement( source, "private static final Map<Path, Object> m_INIFileSaveLocks" ) );
+
+        var expected =
+            """
+            private static final FileLock lockINIFile( final FileChannel channel ) throws IOException
+                {
+                    FileLock retValue = null;
+                    while( isNull( retValue ) )
+                    {
+                        try
+                        {
+                            retValue = channel.lock();
+                        }
+                        catch( final OverlappingFileLockException e )
+                        {
+                            parkNanos( MILLISECONDS.toNanos( 1L ) );
+                        }
+                    }
+
+                    //---* Done *----------------------------------------------------------
+                    return retValue;
+                }""";
+        assertEquals( expected, extractBlock( source, "private static final FileLock lockINIFile( final FileChannel channel ) throws IOException" ) );
+
+        expected =
+            """
+            private final void saveINIFileAtomically( final BitSet dirty ) throws IOException
+                {
+                    final var path = retrieveINIFilePath();
+                    final var folder = path.toAbsolutePath().getParent();
+                    final var lockPath = path.resolveSibling( path.getFileName() + ".lock" );
+
+                    /*
+                     * Serialise the save with the other instances of this class that
+                     * share the file, and with the other processes; the file lock
+                     * would throw an OverlappingFileLockException for a second
+                     * attempt from within this JVM.
+                     */
+                    synchronized( m_INIFileSaveLocks.computeIfAbsent( lockPath.toAbsolutePath().normalize(), _ -> new Object() ) )
+                    {
+                        try( final var lockChannel = FileChannel.open( lockPath, CREATE, WRITE ); final var ignore = lockINIFile( lockChannel ) )
+                        {
+                            /*
+                             * Take the snapshot of the file state before the save; if the
+                             * file was modified by others since it was read last, its new
+                             * state must not be recorded, so that the next call to
+                             * loadINIFile() will pick up their modifications.
+                             */
+                            final var isModified = checkINIFileState();
+                            final var isNew = !exists( path );
+                            final var tempPath = createTempFile( folder, path.getFileName() + ".", ".tmp" );
+                            try
+                            {
+                                if( isNew )
+                                {
+                                    deleteIfExists( tempPath );
+                                }
+                                else
+                                {
+                                    copy( path, tempPath, REPLACE_EXISTING, COPY_ATTRIBUTES );
+                                    try
+                                    {
+                                        setOwner( tempPath, getOwner( path ) );
+                                    }
+                                    catch( final IOException | UnsupportedOperationException ignored )
+                                    {
+                                        /*
+                                         * Only a privileged user may change the owner of a file; the
+                                         * new file belongs to the current user then.
+                                         */
+                                    }
+                                }
+                                final var iniFile = INIFile.open( tempPath );
+                                if( isNew )
+                                {
+                                    iniFile.setComment( "This is a dummy INI file used for the tests of the code generation stuff." );
+                                }
+                                applyINIFileStructure( iniFile );
+
+                                /*
+                                 * Write the data.
+                                 */
+                                if( dirty.get( 0 ) )
+                                {
+                                    final var stringConverter = InstantStringConverter.INSTANCE;
+                                    iniFile.setValue( "Group1", "date1Ini", m_Date1Ini, stringConverter );
+                                }
+                                if( dirty.get( 1 ) )
+                                {
+                                    final var stringConverter = IntegerStringConverter.INSTANCE;
+                                    iniFile.setValue( "Group1", "int1Ini", m_Int1Ini, stringConverter );
+                                }
+                                if( dirty.get( 2 ) )
+                                {
+                                    final var stringConverter = IntegerStringConverter.INSTANCE;
+                                    iniFile.setValue( "Group1", "int2Ini", m_Int2Ini, stringConverter );
+                                }
+                                if( dirty.get( 3 ) )
+                                {
+                                    final var stringConverter = StringStringConverter.INSTANCE;
+                                    iniFile.setValue( "Group1", "string1Ini", m_String1Ini, stringConverter );
+                                }
+
+                                iniFile.save();
+
+                                /*
+                                 * Force the contents to the storage device, and replace the
+                                 * file.
+                                 */
+                                try( final var channel = FileChannel.open( tempPath, WRITE ) )
+                                {
+                                    channel.force( true );
+                                }
+                                move( tempPath, path, ATOMIC_MOVE, REPLACE_EXISTING );
+                            }
+                            finally
+                            {
+                                deleteIfExists( tempPath );
+                            }
+
+                            /*
+                             * Force the directory entry for the replaced file to the storage
+                             * device; not all platforms allow to open a folder for that.
+                             */
+                            try( final var channel = FileChannel.open( folder, READ ) )
+                            {
+                                channel.force( true );
+                            }
+                            catch( final IOException ignored )
+                            {
+                                /*
+                                 * The folder cannot be forced on this platform.
+                                 */
+                            }
+                            if( !isModified ) recordINIFileState();
+                        }
+                    }
+                }""";
+        assertEquals( expected, extractBlock( source, "private final void saveINIFileAtomically( final BitSet dirty ) throws IOException" ) );
+
+        expected =
+            """
+            public final void updateINIFile()
+                {
+                    try( final var ignore = m_WriteLock.lock() )
+                    {
+                        /*
+                         * The first write takes all values, not only the modified ones;
+                         * otherwise an absent INI file would not be created with the
+                         * current values of the configuration bean.
+                         */
+                        if( !m_INIValuesPersisted ) m_DirtyINIValues.set( 0, 4 );
+
+                        /*
+                         * Write only the values that were modified since the last call
+                         * to this method, and skip the save if there are none.
+                         */
+                        if( !m_DirtyINIValues.isEmpty() )
+                        {
+                            /*
+                             * Take the flags for the values to write, and reset them before
+                             * the write; if the write fails, they will be restored, together
+                             * with the flags for the values that were modified in the
+                             * meantime.
+                             */
+                            final var dirty = (BitSet) m_DirtyINIValues.clone();
+                            m_DirtyINIValues.clear();
+                            try
+                            {
+                                saveINIFileAtomically( dirty );
+                                m_INIFile.get().refresh();
+                                m_INIValuesPersisted = true;
+                            }
+                            catch( final IOException | RuntimeException e )
+                            {
+                                m_DirtyINIValues.or( dirty );
+                                throw e;
+                            }
+                        }
+                    }
+                    catch( final IOException e )
+                    {
+                        throw new PreferencesException( e );
+                    }
+                }""";
+        assertEquals( expected, extractBlock( source, "public final void updateINIFile()" ) );
+    }   //  testCodeGeneration()
+
+    /**
+     *  Tests the generated code for the atomic save.
+     *
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @Test
+    final void testSave() throws Exception
+    {
+        skipThreadTest();
+
+        final var folder = Files.createTempDirectory( "TestAtomicINIFileSave" );
+        final var file = folder.resolve( "test.ini" );
+        try
+        {
+            final var beanClass = compileSaveINIFileAtomically( createSource( false ), folder );
+            final var constructor = beanClass.getConstructor( Path.class, String.class );
+            final var save = beanClass.getMethod( "save", String.class );
+
+            //---* Create the file *-------------------------------------------
+            final var bean = constructor.newInstance( file, "key1" );
+            save.invoke( bean, "value1" );
+            assertEquals( "value1", INIFile.open( file ).getValue( "Group1", "key1" ).orElse( null ) );
+
+            //---* The permissions are kept *----------------------------------
+            final var isPosix = Files.getFileStore( file ).supportsFileAttributeView( PosixFileAttributeView.class );
+            final var permissions = PosixFilePermissions.fromString( "rw-------" );
+            if( isPosix ) Files.setPosixFilePermissions( file, permissions );
+
+            //---* The modifications by others are kept *----------------------
+            final var other = INIFile.open( file );
+            other.setValue( "Group1", "key2", "other" );
+            other.save();
+            save.invoke( bean, "value2" );
+            final var iniFile = INIFile.open( file );
+            assertEquals( "value2", iniFile.getValue( "Group1", "key1" ).orElse( null ) );
+            assertEquals( "other", iniFile.getValue( "Group1", "key2" ).orElse( null ) );
+            if( isPosix ) assertEquals( permissions, Files.getPosixFilePermissions( file ) );
+
+            //---* Concurrent saves do not lose values *-----------------------
+            final var threads = new ArrayList<Thread>();
+            final var failures = new ArrayList<Throwable>();
+            for( var i = 0; i < 8; ++i )
+            {
+                final var threadBean = constructor.newInstance( file, "thread" + i );
+                final var value = "value" + i;
+                threads.add( Thread.ofPlatform().start( () ->
+                {
+                    try
+                    {
+                        for( var j = 0; j < 10; ++j ) save.invoke( threadBean, value + "." + j );
+                    }
+                    catch( final Throwable t )
+                    {
+                        synchronized( failures ) { failures.add( t ); }
+                    }
+                } ) );
+            }
+            for( final var thread : threads ) thread.join();
+            assertTrue( failures.isEmpty(), failures::toString );
+            final var result = INIFile.open( file );
+            for( var i = 0; i < 8; ++i ) assertEquals( "value" + i + ".9", result.getValue( "Group1", "thread" + i ).orElse( null ) );
+
+            //---* No temporary files are left *-------------------------------
+            try( final var paths = Files.list( folder ) )
+            {
+                assertTrue( paths.noneMatch( path -> path.getFileName().toString().endsWith( ".tmp" ) ) );
+            }
+        }
+        finally
+        {
+            try( final var paths = Files.list( folder ) )
+            {
+                for( final var path : paths.toList() ) Files.deleteIfExists( path );
+            }
+            Files.deleteIfExists( folder );
+        }
+    }   //  testSave()
+}
+//  class TestAtomicINIFileSave
+
+/*
+ *  End of File
+ */
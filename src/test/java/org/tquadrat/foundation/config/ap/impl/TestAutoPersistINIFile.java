@@ -0,0 +1,413 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package org.tquadrat.foundation.config.ap.impl;
+
+import static java.lang.String.format;
+import static java.lang.System.out;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.tquadrat.foundation.util.StringUtils.isNotEmptyOrBlank;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.tquadrat.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.ap.APHelper;
+import org.tquadrat.foundation.ap.CodeGenerationError;
+import org.tquadrat.foundation.config.ConfigBeanSpec;
+import org.tquadrat.foundation.config.INIBeanSpec;
+import org.tquadrat.foundation.javacomposer.ClassName;
+import org.tquadrat.foundation.test.helper.CodeGeneratorTestBase;
+
+/**
+ *  Tests the generation of a configuration bean with the
+ *  {@linkplain org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor#OPTION_AutoPersistINIFile automatic persistence}
+ *  of the INI file.
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: TestAutoPersistINIFile.java 1182 2026-10-18 17:38:52Z tquadrat $
+ */
+@ClassVersion( sourceVersion = "$Id: TestAutoPersistINIFile.java 1182 2026-10-18 17:38:52Z tquadrat $" )
+@DisplayName( "org.tquadrat.foundation.config.ap.impl.TestAutoPersistINIFile" )
+public class TestAutoPersistINIFile extends CodeGeneratorTestBase
+{
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Generates the code for the configuration bean.
+     *
+     *  @param  flag    {@code true} if debug output should be created,
+     *      {@code false} if not.
+     *  @return The source of the configuration bean.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    private final String createSource( final boolean flag ) throws Exception
+    {
+        final var header = format( "%n//----< %2$s >%1$s", "-".repeat( 80 ), "testAutoPersistINIFile" ).substring( 0, 80 );
+
+        final APHelper environment = mock( APHelper.class );
+        final var configuration = createConfiguration( "INIBean", "INISpec", environment, flag );
+        assertNotNull( configuration );
+        configuration.setINIAutoPersistDelay( Duration.ofMillis( 250 ) );
+
+        //---* Add the interfaces to implement *-------------------------------
+        final var interfacesToImplement = List.of( ClassName.from( ConfigBeanSpec.class ), ClassName.from( INIBeanSpec.class ) );
+        configuration.addInterfacesToImplement( interfacesToImplement );
+
+        //---* Add the properties *--------------------------------------------
+        createPropertiesForConfigBeanSpec( configuration );
+        createPropertiesForINIBeanSpec( configuration );
+
+        //---* Create the code *-----------------------------------------------
+        replayAll();
+        final var candidate = new CodeGenerator( configuration );
+        assertNotNull( candidate );
+
+        final var code = candidate.createCode();
+        assertNotNull( code );
+        final var actual = new StringBuilder();
+        code.writeTo( actual );
+        assertTrue( isNotEmptyOrBlank( actual ) );
+        if( flag )
+        {
+            out.println( header );
+            out.println( actual );
+            out.println( header );
+            out.println();
+        }
+        final var retValue = actual.toString();
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  createSource()
+
+    /**
+     *  Tests the scheduling of the automatic write; the generated methods
+     *  {@code runINIAutoPersist()} and {@code updateINIFileAsync()} are
+     *  compiled into a stub for the configuration bean whose
+     *  {@code updateINIFile()} can be made to fail. All requests that are
+     *  made while a write is pending have to share the future for that
+     *  write, and a failed write has to be reported through the future
+     *  without preventing the next one.
+     *
+     *  @param  folder  The folder for the compiled class.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @Test
+    final void testAutoPersist( @TempDir final Path folder ) throws Exception
+    {
+        skipThreadTest();
+
+        final var source = createSource( false );
+        final var classSource = format(
+            """
+            import static java.lang.Thread.currentThread;
+            import static java.lang.Thread.sleep;
+            import static java.util.Objects.isNull;
+
+            import java.util.concurrent.CompletableFuture;
+            import java.util.concurrent.atomic.AtomicInteger;
+            import java.util.concurrent.atomic.AtomicReference;
+
+            public final class INIBean
+            {
+                %1$s
+                %2$s
+                private final AtomicInteger m_Updates = new AtomicInteger( 0 );
+                private volatile boolean m_Fail = false;
+
+                public INIBean() {}
+
+                public final int getUpdates() { return m_Updates.get(); }
+                public final void setFail( final boolean flag ) { m_Fail = flag; }
+
+                public final void updateINIFile()
+                {
+                    m_Updates.incrementAndGet();
+                    if( m_Fail ) throw new IllegalStateException( "updateINIFile() failed" );
+                }
+
+                %3$s
+                %4$s
+            }
+            """,
+            extractStatement( source, "private static final long m_INIAutoPersistDelay" ),
+            extractStatement( source, "private final AtomicReference<CompletableFuture<Void>> m_INIAutoPersistFuture" ),
+            extractBlock( source, "private final void runINIAutoPersist()" ),
+            extractBlock( source, "public final CompletableFuture<Void> updateINIFileAsync()" ) );
+
+        final var beanClass = compileClass( folder, "INIBean", classSource );
+        final var bean = beanClass.getConstructor().newInstance();
+        final var getUpdates = beanClass.getMethod( "getUpdates" );
+        final var updateAsync = beanClass.getMethod( "updateINIFileAsync" );
+
+        //---* The requests while a write is pending share its future *--------
+        final var future1 = (CompletableFuture<?>) updateAsync.invoke( bean );
+        final var future2 = (CompletableFuture<?>) updateAsync.invoke( bean );
+        assertSame( future1, future2 );
+        assertNull( future1.get( 10, SECONDS ) );
+        assertEquals( 1, getUpdates.invoke( bean ) );
+
+        //---* The next request schedules a new write *------------------------
+        final var future3 = (CompletableFuture<?>) updateAsync.invoke( bean );
+        assertNotSame( future1, future3 );
+        assertNull( future3.get( 10, SECONDS ) );
+        assertEquals( 2, getUpdates.invoke( bean ) );
+
+        //---* A failed write is reported through the future *-----------------
+        beanClass.getMethod( "setFail", boolean.class ).invoke( bean, true );
+        final var future4 = (CompletableFuture<?>) updateAsync.invoke( bean );
+        final var e = assertThrows( ExecutionException.class, () -> future4.get( 10, SECONDS ) );
+        assertInstanceOf( IllegalStateException.class, e.getCause() );
+        assertEquals( 3, getUpdates.invoke( bean ) );
+
+        //---* The failure does not prevent the next write *-------------------
+        beanClass.getMethod( "setFail", boolean.class ).invoke( bean, false );
+        final var future5 = (CompletableFuture<?>) updateAsync.invoke( bean );
+        assertNull( future5.get( 10, SECONDS ) );
+        assertEquals( 4, getUpdates.invoke( bean ) );
+    }   //  testAutoPersist()
+
+    /**
+     *  A test for the code generation.
+     *
+     *  @param  flag    {@code true} if debug output should be created,
+     *      {@code false} if not.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @ParameterizedTest( name = "testCodeGeneration [{index}] = {0}" )
+    @ValueSource( booleans = { true, false } )
+    final void testCodeGeneration( final boolean flag ) throws Exception
+    {
+        skipThreadTest();
+
+        final var source = createSource( flag );
+
+        assertEquals( "private static final long m_INIAutoPersistDelay = 250L;", extractStatement( source, "private static final long m_INIAutoPersistDelay" ) );
+        assertEquals( "private final AtomicReference<CompletableFuture<Void>> m_INIAutoPersistFuture = new AtomicReference<>( null );", extractStatement( source, "private final AtomicReference<CompletableFuture<Void>> m_INIAutoPersistFuture" ) );
+
+        var expected =
+            """
+            private final void runINIAutoPersist()
+                {
+                    try
+                    {
+                        sleep( m_INIAutoPersistDelay );
+                    }
+                    catch( final InterruptedException e )
+                    {
+                        currentThread().interrupt();
+                    }
+
+                    /*
+                     * Modifications after this point will schedule the next write.
+                     */
+                    final var future = m_INIAutoPersistFuture.getAndSet( null );
+                    try
+                    {
+                        updateINIFile();
+                        future.complete( null );
+                    }
+                    catch( final Throwable t )
+                    {
+                        future.completeExceptionally( t );
+                    }
+                }""";
+        assertEquals( expected, extractBlock( source, "private final void runINIAutoPersist()" ) );
+
+        expected =
+            """
+            public final CompletableFuture<Void> updateINIFileAsync()
+                {
+                    final var future = new CompletableFuture<Void>();
+                    var retValue = m_INIAutoPersistFuture.compareAndExchange( null, future );
+                    if( isNull( retValue ) )
+                    {
+                        retValue = future;
+                        Thread.ofVirtual().name( "INIBean-AutoPersistINI" ).start( this::runINIAutoPersist );
+                    }
+
+                    //---* Done *----------------------------------------------------------
+                    return retValue;
+                }""";
+        assertEquals( expected, extractBlock( source, "public final CompletableFuture<Void> updateINIFileAsync()" ) );
+
+        //---* One shutdown hook for all instances *---------------------------
+        assertEquals( "private static final Queue<WeakReference<INIBean>> m_INIFlushTargets = new ConcurrentLinkedQueue<>();", extractStatement( source, "private static final Queue<WeakReference<INIBean>> m_INIFlushTargets" ) );
+        assertEquals( "private static final AtomicBoolean m_INIFlushHookRegistered = new AtomicBoolean( false );", extractStatement( source, "private static final AtomicBoolean m_INIFlushHookRegistered" ) );
+
+        expected =
+            """
+            private static final void flushINIFiles()
+                {
+                    TargetsLoop:
+                    for( final var reference : m_INIFlushTargets )
+                    {
+                        final var bean = reference.get();
+                        if( isNull( bean ) ) continue TargetsLoop;
+                        try
+                        {
+                            bean.updateINIFile();
+                        }
+                        catch( final RuntimeException e )
+                        {
+                            getLogger( INIBean.class.getName() ).log( System.Logger.Level.WARNING, "updateINIFile() failed on shutdown", e );
+                        }
+                    }
+                }""";
+        assertEquals( expected, extractBlock( source, "private static final void flushINIFiles()" ) );
+
+        expected =
+            """
+            if( m_INIFlushHookRegistered.compareAndSet( false, true ) )
+                    {
+                        getRuntime().addShutdownHook( new Thread( INIBean::flushINIFiles, "INIBean-FlushINIFile" ) );
+                    }
+                    for( final var iterator = m_INIFlushTargets.iterator(); iterator.hasNext(); )
+                    {
+                        if( isNull( iterator.next().get() ) ) iterator.remove();
+                    }
+                    m_INIFlushTargets.add( new WeakReference<>( this ) );""";
+        final var constructor = extractBlock( source, "public INIBean()" );
+        final var registration = constructor.indexOf( "if( m_INIFlushHookRegistered" );
+        assertTrue( registration >= 0 );
+        assertEquals( expected, constructor.substring( registration, constructor.indexOf( ';', constructor.indexOf( "m_INIFlushTargets.add(", registration ) ) + 1 ) );
+
+        //---* Only modified values will be written *--------------------------
+        assertFalse( constructor.contains( "m_DirtyINIValues.set( 0, " ) );
+        expected =
+            """
+            public final void updateINIFile()
+                {
+                    try( final var ignore = m_WriteLock.lock() )
+                    {
+                        /*
+                         * The first write takes all values, not only the modified ones;
+                         * otherwise an absent INI file would not be created with the
+                         * current values of the configuration bean.
+                         */
+                        if( !m_INIValuesPersisted ) m_DirtyINIValues.set( 0, 4 );
+
+                        /*
+                         * Write only the values that were modified since the last call
+                         * to this method, and skip the save if there are none.
+                         */
+                        if( !m_DirtyINIValues.isEmpty() )
+                        {
+                            /*
+                             * Take the flags for the values to write, and reset them before
+                             * the write; if the write fails, they will be restored, together
+                             * with the flags for the values that were modified in the
+                             * meantime.
+                             */
+                            final var dirty = (BitSet) m_DirtyINIValues.clone();
+                            m_DirtyINIValues.clear();
+                            try
+                            {
+                                final var iniFile = m_INIFile.get();
+
+                                /*
+                                 * Write the data.
+                                 */
+                                if( dirty.get( 0 ) )
+                                {
+                                    final var stringConverter = InstantStringConverter.INSTANCE;
+                                    iniFile.setValue( "Group1", "date1Ini", m_Date1Ini, stringConverter );
+                                }
+                                if( dirty.get( 1 ) )
+                                {
+                                    final var stringConverter = IntegerStringConverter.INSTANCE;
+                                    iniFile.setValue( "Group1", "int1Ini", m_Int1Ini, stringConverter );
+                                }
+                                if( dirty.get( 2 ) )
+                                {
+                                    final var stringConverter = IntegerStringConverter.INSTANCE;
+                                    iniFile.setValue( "Group1", "int2Ini", m_Int2Ini, stringConverter );
+                                }
+                                if( dirty.get( 3 ) )
+                                {
+                                    final var stringConverter = StringStringConverter.INSTANCE;
+                                    iniFile.setValue( "Group1", "string1Ini", m_String1Ini, stringConverter );
+                                }
+
+                                iniFile.save();
+                                recordINIFileState();
+                                m_INIValuesPersisted = true;
+                            }
+                            catch( final IOException | RuntimeException e )
+                            {
+                                m_DirtyINIValues.or( dirty );
+                                throw e;
+                            }
+                        }
+                    }
+                    catch( final IOException e )
+                    {
+                        throw new PreferencesException( e );
+                    }
+                }""";
+        assertEquals( expected, extractBlock( source, "public final void updateINIFile()" ) );
+    }   //  testCodeGeneration()
+
+    /**
+     *  Tests that the automatic persistence is rejected for a configuration
+     *  bean that is not synchronized.
+     *
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @Test
+    final void testUnsynchronized() throws Exception
+    {
+        skipThreadTest();
+
+        final APHelper environment = mock( APHelper.class );
+        final var configuration = createConfiguration( "INIBean", "INISpec", environment, false, false );
+        assertNotNull( configuration );
+        configuration.setINIAutoPersistDelay( Duration.ofMillis( 250 ) );
+        configuration.addInterfacesToImplement( List.of( ClassName.from( ConfigBeanSpec.class ), ClassName.from( INIBeanSpec.class ) ) );
+        createPropertiesForConfigBeanSpec( configuration );
+        createPropertiesForINIBeanSpec( configuration );
+
+        replayAll();
+        final var candidate = new CodeGenerator( configuration );
+        assertThrows( CodeGenerationError.class, candidate::createCode );
+    }   //  testUnsynchronized()
+}
+//  class TestAutoPersistINIFile
+
+/*
+ *  End of File
+ */
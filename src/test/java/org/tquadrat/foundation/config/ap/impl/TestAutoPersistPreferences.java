@@ -0,0 +1,379 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.config.ap.impl;
+
+import static java.lang.String.format;
+import static java.lang.System.out;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.tquadrat.foundation.util.StringUtils.isNotEmptyOrBlank;
+
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.tquadrat.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.ap.APHelper;
+import org.tquadrat.foundation.config.CLIBeanSpec;
+import org.tquadrat.foundation.config.ConfigBeanSpec;
+import org.tquadrat.foundation.config.PreferencesBeanSpec;
+import org.tquadrat.foundation.javacomposer.ClassName;
+import org.tquadrat.foundation.test.helper.CodeGeneratorTestBase;
+
+/**
+ *  Tests the generation of a configuration bean with the
+ *  {@linkplain org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor#OPTION_AutoPersistPreferences automatic persistence}
+ *  of the preferences.
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: TestAutoPersistPreferences.java 1175 2026-10-18 13:05:27Z tquadrat $
+ */
+@ClassVersion( sourceVersion = "$Id: TestAutoPersistPreferences.java 1175 2026-10-18 13:05:27Z tquadrat $" )
+@DisplayName( "org.tquadrat.foundation.config.ap.impl.TestAutoPersistPreferences" )
+public class TestAutoPersistPreferences extends CodeGeneratorTestBase
+{
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  A test for the code generation.
+     *
+     *  @param  flag    {@code true} if debug output should be created,
+     *      {@code false} if not.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @ParameterizedTest( name = "testCodeGeneration [{index}] = {0}" )
+    @ValueSource( booleans = { true, false } )
+    final void testCodeGeneration( final boolean flag ) throws Exception
+    {
+        skipThreadTest();
+
+        final var header = format( "%n//----< %2$s >%1$s", "-".repeat( 80 ), "testAutoPersistPreferences" ).substring( 0, 80 );
+
+        final APHelper environment = mock( APHelper.class );
+        final var configuration = createConfiguration( "PrefBean", "PrefSpec", environment, flag );
+        assertNotNull( configuration );
+        configuration.setAutoPersistDelay( Duration.ofMillis( 250 ) );
+
+        //---* Add the interfaces to implement *-------------------------------
+        final var interfacesToImplement = List.of( ClassName.from( ConfigBeanSpec.class ), ClassName.from( PreferencesBeanSpec.class ) );
+        configuration.addInterfacesToImplement( interfacesToImplement );
+
+        //---* Add the properties *--------------------------------------------
+        createPropertiesForConfigBeanSpec( configuration );
+        createCustomProperties1( configuration );
+        createCustomProperties2( configuration );
+
+        //---* Run the test *--------------------------------------------------
+        replayAll();
+        final var candidate = new CodeGenerator( configuration );
+        assertNotNull( candidate );
+
+        final var code = candidate.createCode();
+        assertNotNull( code );
+        final var actual = new StringBuilder();
+        code.writeTo( actual );
+        assertTrue( isNotEmptyOrBlank( actual ) );
+        if( flag )
+        {
+            out.println( header );
+            out.println( actual );
+            out.println( header );
+            out.println();
+        }
+
+        final var source = actual.toString();
+        assertEquals( "private static final long m_AutoPersistDelay = 250L;", extractStatement( source, "private static final long m_AutoPersistDelay" ) );
+        assertEquals( "private final AtomicBoolean m_AutoPersistScheduled = new AtomicBoolean( false );", extractStatement( source, "private final AtomicBoolean m_AutoPersistScheduled" ) );
+
+        var expected =
+            """
+            public final void flushNow()
+                {
+                    m_AutoPersistScheduled.set( false );
+                    updatePreferences();
+                }""";
+        assertEquals( expected, extractBlock( source, "public final void flushNow()" ) );
+
+        expected =
+            """
+            private final void runAutoPersist()
+                {
+                    try
+                    {
+                        sleep( m_AutoPersistDelay );
+                    }
+                    catch( final InterruptedException e )
+                    {
+                        currentThread().interrupt();
+                    }
+                    finally
+                    {
+                        /*
+                         * Modifications after this point will schedule the next write.
+                         */
+                        m_AutoPersistScheduled.set( false );
+                    }
+
+                    try
+                    {
+                        updatePreferences();
+                    }
+                    catch( final RuntimeException e )
+                    {
+                        getLogger( PrefBean.class.getName() ).log( System.Logger.Level.WARNING, "Automatic write of the preferences failed", e );
+                    }
+                }""";
+        assertEquals( expected, extractBlock( source, "private final void runAutoPersist()" ) );
+
+        expected =
+            """
+            private final void scheduleAutoPersist()
+                {
+                    if( m_AutoPersistScheduled.compareAndSet( false, true ) )
+                    {
+                        Thread.ofVirtual().name( "PrefBean-AutoPersist" ).start( this::runAutoPersist );
+                    }
+                }""";
+        assertEquals( expected, extractBlock( source, "private final void scheduleAutoPersist()" ) );
+
+        //---* One shutdown hook for all instances *---------------------------
+        assertEquals( "private static final Queue<WeakReference<PrefBean>> m_PreferencesFlushTargets = new ConcurrentLinkedQueue<>();", extractStatement( source, "private static final Queue<WeakReference<PrefBean>> m_PreferencesFlushTargets" ) );
+        assertEquals( "private static final AtomicBoolean m_PreferencesFlushHookRegistered = new AtomicBoolean( false );", extractStatement( source, "private static final AtomicBoolean m_PreferencesFlushHookRegistered" ) );
+
+        expected =
+            """
+            private static final void flushAllPreferences()
+                {
+                    TargetsLoop:
+                    for( final var reference : m_PreferencesFlushTargets )
+                    {
+                        final var bean = reference.get();
+                        if( isNull( bean ) ) continue TargetsLoop;
+                        try
+                        {
+                            bean.flushNow();
+                        }
+                        catch( final RuntimeException e )
+                        {
+                            getLogger( PrefBean.class.getName() ).log( System.Logger.Level.WARNING, "flushNow() failed on shutdown", e );
+                        }
+                    }
+                }""";
+        assertEquals( expected, extractBlock( source, "private static final void flushAllPreferences()" ) );
+
+        expected =
+            """
+            if( m_PreferencesFlushHookRegistered.compareAndSet( false, true ) )
+                    {
+                        getRuntime().addShutdownHook( new Thread( PrefBean::flushAllPreferences, "PrefBean-FlushPreferences" ) );
+                    }
+                    for( final var iterator = m_PreferencesFlushTargets.iterator(); iterator.hasNext(); )
+                    {
+                        if( isNull( iterator.next().get() ) ) iterator.remove();
+                    }
+                    m_PreferencesFlushTargets.add( new WeakReference<>( this ) );""";
+        final var constructor = extractBlock( source, "public PrefBean(" );
+        final var registration = constructor.indexOf( "if( m_PreferencesFlushHookRegistered" );
+        assertTrue( registration >= 0 );
+        assertEquals( expected, constructor.substring( registration, constructor.indexOf( ';', constructor.indexOf( "m_PreferencesFlushTargets.add(", registration ) ) + 1 ) );
+
+        assertFalse( source.contains( "this::flushNow" ) );
+        assertFalse( constructor.contains( "m_DirtyPreferences.set( 0, " ) );
+        assertTrue( extractBlock( source, "public final void updatePreferences()" ).contains( "if( !m_PreferencesPersisted ) m_DirtyPreferences.set( 0, " ) );
+        assertTrue( source.contains( "m_DirtyPreferences.set( 1 );" ) );
+        assertTrue( source.contains( "scheduleAutoPersist();" ) );
+    }   //  testCodeGeneration()
+
+    /**
+     *  Tests that values set from the command line will be marked as
+     *  modified, too.
+     *
+     *  @param  flag    {@code true} if debug output should be created,
+     *      {@code false} if not.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @ParameterizedTest( name = "testCLIValueModification [{index}] = {0}" )
+    @ValueSource( booleans = { true, false } )
+    final void testCLIValueModification( final boolean flag ) throws Exception
+    {
+        skipThreadTest();
+
+        final var header = format( "%n//----< %2$s >%1$s", "-".repeat( 80 ), "testCLIValueModification" ).substring( 0, 80 );
+
+        final APHelper environment = mock( APHelper.class );
+        final var configuration = createConfiguration( "PrefBean", "PrefSpec", environment, flag );
+        assertNotNull( configuration );
+        configuration.setAutoPersistDelay( Duration.ofMillis( 250 ) );
+
+        //---* Add the interfaces to implement *-------------------------------
+        final var interfacesToImplement = List.of( ClassName.from( ConfigBeanSpec.class ), ClassName.from( PreferencesBeanSpec.class ), ClassName.from( CLIBeanSpec.class ) );
+        configuration.addInterfacesToImplement( interfacesToImplement );
+
+        //---* Add the properties *--------------------------------------------
+        createPropertiesForConfigBeanSpec( configuration );
+        createCustomProperties1( configuration );
+
+        //---* Run the test *--------------------------------------------------
+        replayAll();
+        final var candidate = new CodeGenerator( configuration );
+        assertNotNull( candidate );
+
+        final var code = candidate.createCode();
+        assertNotNull( code );
+        final var actual = new StringBuilder();
+        code.writeTo( actual );
+        assertTrue( isNotEmptyOrBlank( actual ) );
+        if( flag )
+        {
+            out.println( header );
+            out.println( actual );
+            out.println( header );
+            out.println();
+        }
+
+        final var source = actual.toString();
+        assertTrue( source.contains( "private final void assignCLIValue( final String propertyName, final Object value )" ) );
+        assertEquals( "final BiConsumer<String, Integer> lambda = (propertyName,value) -> assignCLIValue( propertyName, value );", extractStatement( source, "final BiConsumer<String, Integer> lambda" ) );
+
+        /*
+         * The properties that allow preferences are indexed in the order of
+         * their names: date1, int1, int2, string1.
+         */
+        final var assigner = source.substring( source.indexOf( "private final void assignCLIValue(" ) );
+        final var expected =
+            """
+            case "int1" ->
+                        {
+                            m_Int1 = (Integer) value;
+                            m_DirtyPreferences.set( 1 );
+                            scheduleAutoPersist();
+                        }""";
+        assertEquals( expected, extractBlock( assigner, "case \"int1\" ->" ) );
+    }   //  testCLIValueModification()
+
+    /**
+     *  Tests that a failed automatic write does not prevent the next one;
+     *  the generated methods {@code runAutoPersist()} and
+     *  {@code scheduleAutoPersist()} are compiled into a stub for the
+     *  configuration bean whose {@code updatePreferences()} can be made to
+     *  fail.
+     *
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @Test
+    final void testRunAutoPersist() throws Exception
+    {
+        skipThreadTest();
+
+        final APHelper environment = mock( APHelper.class );
+        final var configuration = createConfiguration( "PrefBean", "PrefSpec", environment, false );
+        assertNotNull( configuration );
+        configuration.setAutoPersistDelay( Duration.ofMillis( 10 ) );
+        configuration.addInterfacesToImplement( List.of( ClassName.from( ConfigBeanSpec.class ), ClassName.from( PreferencesBeanSpec.class ) ) );
+        createPropertiesForConfigBeanSpec( configuration );
+        createCustomProperties1( configuration );
+
+        replayAll();
+        final var code = new CodeGenerator( configuration ).createCode();
+        final var actual = new StringBuilder();
+        code.writeTo( actual );
+        final var source = actual.toString();
+
+        final var classSource = format(
+            """
+            import static java.lang.System.getLogger;
+            import static java.lang.Thread.currentThread;
+            import static java.lang.Thread.sleep;
+
+            import java.util.concurrent.atomic.AtomicBoolean;
+            import java.util.concurrent.atomic.AtomicInteger;
+
+            public final class PrefBean
+            {
+                %1$s
+                %2$s
+                private final AtomicInteger m_Updates = new AtomicInteger( 0 );
+                private volatile boolean m_Fail = false;
+
+                public PrefBean() {}
+
+                public final int getUpdates() { return m_Updates.get(); }
+                public final boolean isScheduled() { return m_AutoPersistScheduled.get(); }
+                public final void schedule() { scheduleAutoPersist(); }
+                public final void setFail( final boolean flag ) { m_Fail = flag; }
+
+                private final void updatePreferences()
+                {
+                    m_Updates.incrementAndGet();
+                    if( m_Fail ) throw new IllegalStateException( "updatePreferences() failed" );
+                }
+
+                %3$s
+                %4$s
+            }
+            """,
+            extractStatement( source, "private static final long m_AutoPersistDelay" ),
+            extractStatement( source, "private final AtomicBoolean m_AutoPersistScheduled" ),
+            extractBlock( source, "private final void runAutoPersist()" ),
+            extractBlock( source, "private final void scheduleAutoPersist()" ) );
+
+        final var folder = Files.createTempDirectory( "TestAutoPersistPreferences" );
+        try
+        {
+            final var beanClass = compileClass( folder, "PrefBean", classSource );
+            final var bean = beanClass.getConstructor().newInstance();
+            final var getUpdates = beanClass.getMethod( "getUpdates" );
+            final var isScheduled = beanClass.getMethod( "isScheduled" );
+            final var schedule = beanClass.getMethod( "schedule" );
+
+            //---* The first write fails *-------------------------------------
+            beanClass.getMethod( "setFail", boolean.class ).invoke( bean, true );
+            schedule.invoke( bean );
+            for( var i = 0; (i < 500) && ((Integer) getUpdates.invoke( bean ) < 1); ++i ) Thread.sleep( 10 );
+            assertEquals( 1, getUpdates.invoke( bean ) );
+            assertFalse( (Boolean) isScheduled.invoke( bean ) );
+
+            //---* The next modification schedules a new write *---------------
+            beanClass.getMethod( "setFail", boolean.class ).invoke( bean, false );
+            schedule.invoke( bean );
+            for( var i = 0; (i < 500) && ((Integer) getUpdates.invoke( bean ) < 2); ++i ) Thread.sleep( 10 );
+            assertEquals( 2, getUpdates.invoke( bean ) );
+            assertFalse( (Boolean) isScheduled.invoke( bean ) );
+        }
+        finally
+        {
+            try( final var files = Files.list( folder ) )
+            {
+                for( final var file : files.toList() ) Files.deleteIfExists( file );
+            }
+            Files.deleteIfExists( folder );
+        }
+    }   //  testRunAutoPersist()
+}
+//  class TestAutoPersistPreferences
+
+/*
+ *  End of File
+ */
@@ -338,8 +338,15 @@ public class TestCLICodeGenerator extends CodeGeneratorTestBase
                              */
                             {
                                 final var stringConverter = BooleanStringConverter.INSTANCE;
-                                final var value = getProperty( "isDebug", "false" );
-                                m_IsDebug = stringConverter.fromString( value );
+                                final var value = getProperty( "isDebug" );
+                                if( isNull( value ) )
+                                {
+                                    m_IsDebug = false;
+                                }
+                                else
+                                {
+                                    m_IsDebug = stringConverter.fromString( value );
+                                }
                             }
                                     
                             /*
@@ -347,8 +354,15 @@ public class TestCLICodeGenerator extends CodeGeneratorTestBase
                              */
                             {
                                 final var stringConverter = BooleanStringConverter.INSTANCE;
-                                final var value = getProperty( "isTest", "false" );
-                                m_IsTest = stringConverter.fromString( value );
+                                final var value = getProperty( "isTest" );
+                                if( isNull( value ) )
+                                {
+                                    m_IsTest = false;
+                                }
+                                else
+                                {
+                                    m_IsTest = stringConverter.fromString( value );
+                                }
                             }
                                     
                             /*
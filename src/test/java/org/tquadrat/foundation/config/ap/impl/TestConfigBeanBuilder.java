@@ -164,6 +164,7 @@ public class TestConfigBeanBuilder extends CodeGeneratorTestBase
                     import static java.lang.System.getProperty;
                     import static java.nio.charset.Charset.defaultCharset;
                     import static org.tquadrat.foundation.lang.CommonConstants.NULL_STRING;
+                    import static org.tquadrat.foundation.lang.Objects.isNull;
                     import static org.tquadrat.foundation.lang.Objects.nonNull;
                     import static org.tquadrat.foundation.lang.Objects.requireNonNullArgument;
                                     
@@ -272,8 +273,15 @@ public class TestConfigBeanBuilder extends CodeGeneratorTestBase
                              */
                             {
                                 final var stringConverter = BooleanStringConverter.INSTANCE;
-                                final var value = getProperty( "isDebug", "false" );
-                                m_IsDebug = stringConverter.fromString( value );
+                                final var value = getProperty( "isDebug" );
+                                if( isNull( value ) )
+                                {
+                                    m_IsDebug = false;
+                                }
+                                else
+                                {
+                                    m_IsDebug = stringConverter.fromString( value );
+                                }
                             }
                                     
                             /*
@@ -281,8 +289,15 @@ public class TestConfigBeanBuilder extends CodeGeneratorTestBase
                              */
                             {
                                 final var stringConverter = BooleanStringConverter.INSTANCE;
-                                final var value = getProperty( "isTest", "false" );
-                                m_IsTest = stringConverter.fromString( value );
+                                final var value = getProperty( "isTest" );
+                                if( isNull( value ) )
+                                {
+                                    m_IsTest = false;
+                                }
+                                else
+                                {
+                                    m_IsTest = stringConverter.fromString( value );
+                                }
                             }
                                     
                             /*
@@ -737,8 +752,15 @@ public class TestConfigBeanBuilder extends CodeGeneratorTestBase
                              */
                             {
                                 final var stringConverter = BooleanStringConverter.INSTANCE;
-                                final var value = getProperty( "isDebug", "false" );
-                                m_IsDebug = stringConverter.fromString( value );
+                                final var value = getProperty( "isDebug" );
+                                if( isNull( value ) )
+                                {
+                                    m_IsDebug = false;
+                                }
+                                else
+                                {
+                                    m_IsDebug = stringConverter.fromString( value );
+                                }
                             }
                                     
                             /*
@@ -746,8 +768,15 @@ public class TestConfigBeanBuilder extends CodeGeneratorTestBase
                              */
                             {
                                 final var stringConverter = BooleanStringConverter.INSTANCE;
-                                final var value = getProperty( "isTest", "false" );
-                                m_IsTest = stringConverter.fromString( value );
+                                final var value = getProperty( "isTest" );
+                                if( isNull( value ) )
+                                {
+                                    m_IsTest = false;
+                                }
+                                else
+                                {
+                                    m_IsTest = stringConverter.fromString( value );
+                                }
                             }
                                     
                             /*
@@ -125,6 +125,7 @@ public class TestConfigBeanBuilder2 extends CodeGeneratorTestBase
                     import static java.nio.charset.Charset.defaultCharset;
                     import static java.util.prefs.Preferences.systemRoot;
                     import static org.tquadrat.foundation.lang.CommonConstants.NULL_STRING;
+                    import static org.tquadrat.foundation.lang.Objects.isNull;
                     import static org.tquadrat.foundation.lang.Objects.nonNull;
                     import static org.tquadrat.foundation.lang.Objects.requireNonNullArgument;
                                     
@@ -242,8 +243,15 @@ public class TestConfigBeanBuilder2 extends CodeGeneratorTestBase
                              */
                             {
                                 final var stringConverter = BooleanStringConverter.INSTANCE;
-                                final var value = getProperty( "isDebug", "false" );
-                                m_IsDebug = stringConverter.fromString( value );
+                                final var value = getProperty( "isDebug" );
+                                if( isNull( value ) )
+                                {
+                                    m_IsDebug = false;
+                                }
+                                else
+                                {
+                                    m_IsDebug = stringConverter.fromString( value );
+                                }
                             }
                                     
                             /*
@@ -251,8 +259,15 @@ public class TestConfigBeanBuilder2 extends CodeGeneratorTestBase
                              */
                             {
                                 final var stringConverter = BooleanStringConverter.INSTANCE;
-                                final var value = getProperty( "isTest", "false" );
-                                m_IsTest = stringConverter.fromString( value );
+                                final var value = getProperty( "isTest" );
+                                if( isNull( value ) )
+                                {
+                                    m_IsTest = false;
+                                }
+                                else
+                                {
+                                    m_IsTest = stringConverter.fromString( value );
+                                }
                             }
                                     
                             /*
@@ -271,8 +286,7 @@ public class TestConfigBeanBuilder2 extends CodeGeneratorTestBase
                                 if( systemRoot().nodeExists( "/org/tquadrat/foundation/test" ) )
                                 {
                                     final var node = systemRoot().node( "/org/tquadrat/foundation/test" );
-                                    final var accessor = new StringAccessor( "system_preference", () -> m_SystemPrefsString, p -> m_SystemPrefsString = p );
-                                    accessor.readPreference( node );
+                                    new StringAccessor( "system_preference", () -> m_SystemPrefsString, p -> m_SystemPrefsString = p ).readPreference( node );
                                 }
                             }
                             catch( final BackingStoreException e )
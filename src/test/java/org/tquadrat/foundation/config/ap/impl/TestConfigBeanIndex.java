@@ -0,0 +1,146 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.config.ap.impl;
+
+import static java.lang.String.format;
+import static java.lang.System.out;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.tquadrat.foundation.javacomposer.Layout.LAYOUT_FOUNDATION;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.tquadrat.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.ap.APHelper;
+import org.tquadrat.foundation.config.ConfigBeanSpec;
+import org.tquadrat.foundation.javacomposer.ClassName;
+import org.tquadrat.foundation.javacomposer.JavaComposer;
+import org.tquadrat.foundation.test.helper.CodeGeneratorTestBase;
+
+/**
+ *  Tests for
+ *  {@link ConfigBeanIndex}.
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: TestConfigBeanIndex.java 1173 2026-10-18 12:31:46Z tquadrat $
+ */
+@ClassVersion( sourceVersion = "$Id: TestConfigBeanIndex.java 1173 2026-10-18 12:31:46Z tquadrat $" )
+@DisplayName( "org.tquadrat.foundation.config.ap.impl.TestConfigBeanIndex" )
+public class TestConfigBeanIndex extends CodeGeneratorTestBase
+{
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Tests the generation of the registry class.
+     *
+     *  @param  flag    {@code true} if debug output should be created,
+     *      {@code false} if not.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @ParameterizedTest( name = "testCreateRegistryClass [{index}] = {0}" )
+    @ValueSource( booleans = { true, false } )
+    final void testCreateRegistryClass( final boolean flag ) throws Exception
+    {
+        skipThreadTest();
+
+        final var header = format( "%n//----< %2$s >%1$s", "-".repeat( 80 ), "testCreateRegistryClass" ).substring( 0, 80 );
+
+        final APHelper environment = mock( APHelper.class );
+        final var configuration = createConfiguration( environment, flag );
+        assertNotNull( configuration );
+
+        //---* Add the interfaces to implement *-------------------------------
+        final var interfacesToImplement = List.of( ClassName.from( ConfigBeanSpec.class ) );
+        configuration.addInterfacesToImplement( interfacesToImplement );
+
+        //---* Run the test *--------------------------------------------------
+        final var candidate = new ConfigBeanIndex();
+        assertTrue( candidate.isEmpty() );
+        candidate.add( configuration );
+        assertFalse( candidate.isEmpty() );
+        assertEquals( 1, candidate.getEntries().size() );
+
+        final var entry = candidate.getEntries().iterator().next();
+        assertEquals( "org.tquadrat.foundation.test.MyConfigurationBeanSpecification", entry.specification().canonicalName() );
+        assertEquals( "org.tquadrat.foundation.test.generated.MyConfigurationBean", entry.implementation().canonicalName() );
+        assertTrue( entry.hasDefaultConstructor() );
+
+        final var composer = new JavaComposer( LAYOUT_FOUNDATION, flag );
+        final var registryClass = ClassName.from( "org.tquadrat.foundation.test.generated", "ConfigurationBeans" );
+        final var code = candidate.createRegistryClass( composer, registryClass, Instant.now() );
+        assertNotNull( code );
+        final var actual = new StringBuilder();
+        code.writeTo( actual );
+        if( flag )
+        {
+            out.println( header );
+            out.println( actual );
+            out.println( header );
+            out.println();
+        }
+
+        final var source = actual.toString();
+        assertTrue( source.contains( "public final class ConfigurationBeans" ) );
+        assertEquals(
+            """
+            public static final <T> Optional<T> createConfigurationBean( final Class<T> specification )
+                {
+                    final Object bean = switch( requireNonNullArgument( specification, "specification" ).getName() )
+                    {
+                        case "org.tquadrat.foundation.test.MyConfigurationBeanSpecification" -> new MyConfigurationBean();
+                        default -> null;
+                    };
+                    final var retValue = Optional.ofNullable( specification.cast( bean ) );
+
+                    //---* Done *----------------------------------------------------------
+                    return retValue;
+                }""", extractBlock( source, "public static final <T> Optional<T> createConfigurationBean(" ) );
+        assertEquals(
+            """
+            public static final Optional<String> getImplementationClassName( final Class<?> specification )
+                {
+                    final String className = switch( requireNonNullArgument( specification, "specification" ).getName() )
+                    {
+                        case "org.tquadrat.foundation.test.MyConfigurationBeanSpecification" -> "org.tquadrat.foundation.test.generated.MyConfigurationBean";
+                        default -> null;
+                    };
+                    final var retValue = Optional.ofNullable( className );
+
+                    //---* Done *----------------------------------------------------------
+                    return retValue;
+                }""", extractBlock( source, "public static final Optional<String> getImplementationClassName(" ) );
+        assertEquals(
+            """
+            public static final Set<Class<?>> getSpecifications()
+                {
+                    return Set.of( MyConfigurationBeanSpecification.class );
+                }""", extractBlock( source, "public static final Set<Class<?>> getSpecifications()" ) );
+    }   //  testCreateRegistryClass()
+}
+//  class TestConfigBeanIndex
+
+/*
+ *  End of File
+ */
@@ -0,0 +1,268 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.config.ap.impl;
+
+import static java.lang.String.format;
+import static java.lang.System.out;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.tquadrat.foundation.config.ap.PropertySpec.PropertyFlag.SYSTEM_PROPERTY;
+import static org.tquadrat.foundation.javacomposer.Primitives.INT;
+import static org.tquadrat.foundation.util.StringUtils.isNotEmptyOrBlank;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.tquadrat.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.ap.APHelper;
+import org.tquadrat.foundation.ap.IllegalAnnotationError;
+import org.tquadrat.foundation.config.ConfigBeanSpec;
+import org.tquadrat.foundation.config.ap.CodeGenerationConfiguration;
+import org.tquadrat.foundation.javacomposer.ClassName;
+import org.tquadrat.foundation.test.NameImpl;
+import org.tquadrat.foundation.test.helper.CodeGeneratorTestBase;
+import org.tquadrat.foundation.util.stringconverter.IntegerStringConverter;
+
+/**
+ *  Tests the compile time evaluation of the default values for properties
+ *  that are initialised from system properties or environment variables.
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: TestDefaultValueEvaluation.java 1174 2026-10-18 13:20:08Z tquadrat $
+ */
+@ClassVersion( sourceVersion = "$Id: TestDefaultValueEvaluation.java 1174 2026-10-18 13:20:08Z tquadrat $" )
+@DisplayName( "org.tquadrat.foundation.config.ap.impl.TestDefaultValueEvaluation" )
+public class TestDefaultValueEvaluation extends CodeGeneratorTestBase
+{
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Adds the property 'timeout' to the given configuration.
+     *
+     *  @param  configuration   The configuration.
+     *  @param  defaultValue    The default value for the property.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @SuppressWarnings( "UseOfConcreteClass" )
+    private static final void createProperty_timeout( final CodeGenerationConfiguration configuration, final String defaultValue ) throws Exception
+    {
+        final var propertyName = "timeout";
+        final var property = new PropertySpecImpl( propertyName );
+        configuration.addProperty( property );
+        property.setFlag( SYSTEM_PROPERTY );
+        property.setGetterMethodName( new NameImpl( "getTimeout" ) );
+        property.setPropertyType( INT );
+        property.setFieldName( makeFieldName( propertyName ) );
+        property.setGetterReturnType( INT );
+        property.setSystemPropertyName( "org.tquadrat.test.timeout" );
+        property.setEnvironmentDefaultValue( defaultValue );
+        property.setStringConverterClass( ClassName.from( IntegerStringConverter.class ) );
+    }   //  createProperty_timeout()
+
+    /**
+     *  Generates the source for a configuration bean with the property
+     *  'timeout' that has the default value &quot;42&quot;.
+     *
+     *  @param  flag    {@code true} if debug output should be created,
+     *      {@code false} if not.
+     *  @return The source.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    private final String createSource( final boolean flag ) throws Exception
+    {
+        final var header = format( "%n//----< %2$s >%1$s", "-".repeat( 80 ), "testDefaultValueEvaluation" ).substring( 0, 80 );
+
+        final APHelper environment = mock( APHelper.class );
+        final var configuration = createConfiguration( environment, flag );
+        assertNotNull( configuration );
+
+        //---* Add the interfaces to implement *-------------------------------
+        final var interfacesToImplement = List.of( ClassName.from( ConfigBeanSpec.class ) );
+        configuration.addInterfacesToImplement( interfacesToImplement );
+
+        //---* Add the properties *--------------------------------------------
+        createPropertiesForConfigBeanSpec( configuration );
+        createProperty_timeout( configuration, "42" );
+
+        //---* Run the generator *---------------------------------------------
+        replayAll();
+        final var candidate = new CodeGenerator( configuration );
+        assertNotNull( candidate );
+
+        final var code = candidate.createCode();
+        assertNotNull( code );
+        final var actual = new StringBuilder();
+        code.writeTo( actual );
+        assertTrue( isNotEmptyOrBlank( actual ) );
+        if( flag )
+        {
+            out.println( header );
+            out.println( actual );
+            out.println( header );
+            out.println();
+        }
+        final var retValue = actual.toString();
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  createSource()
+
+    /**
+     *  Tests the code generation with valid default values.
+     *
+     *  @param  flag    {@code true} if debug output should be created,
+     *      {@code false} if not.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @ParameterizedTest( name = "testCodeGeneration [{index}] = {0}" )
+    @ValueSource( booleans = { true, false } )
+    final void testCodeGeneration( final boolean flag ) throws Exception
+    {
+        skipThreadTest();
+
+        final var source = createSource( flag );
+        assertEquals(
+            """
+            Initialise the property 'timeout' from the system properties.
+                     */
+                    {
+                        final var stringConverter = IntegerStringConverter.INSTANCE;
+                        final var value = getProperty( "org.tquadrat.test.timeout" );
+                        if( isNull( value ) )
+                        {
+                            m_Timeout = 42;
+                        }
+                        else
+                        {
+                            m_Timeout = stringConverter.fromString( value );
+                        }
+                    }""", extractBlock( source, "Initialise the property 'timeout'" ) );
+        assertEquals(
+            """
+            Initialise the property 'isDebug' from the system properties.
+                     */
+                    {
+                        final var stringConverter = BooleanStringConverter.INSTANCE;
+                        final var value = getProperty( "isDebug" );
+                        if( isNull( value ) )
+                        {
+                            m_IsDebug = false;
+                        }
+                        else
+                        {
+                            m_IsDebug = stringConverter.fromString( value );
+                        }
+                    }""", extractBlock( source, "Initialise the property 'isDebug'" ) );
+        assertFalse( source.contains( "getProperty( \"org.tquadrat.test.timeout\", \"42\" )" ) );
+    }   //  testCodeGeneration()
+
+    /**
+     *  Compiles the generated initialisation of the property 'timeout' into
+     *  a stub and checks that the default value is used only when the system
+     *  property is not set.
+     *
+     *  @param  tempDir The folder for the compiled class.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @Test
+    final void testDefaultValue( @TempDir final Path tempDir ) throws Exception
+    {
+        skipThreadTest();
+
+        final var source = createSource( false );
+        final var classSource = format(
+            """
+            import static java.lang.System.getProperty;
+            import static org.tquadrat.foundation.lang.Objects.isNull;
+
+            import org.tquadrat.foundation.util.stringconverter.IntegerStringConverter;
+
+            public final class ConfigBean
+            {
+                private int m_Timeout;
+
+                public ConfigBean()
+                {
+                    /*
+                     * %s
+                }
+
+                public final int getTimeout() { return m_Timeout; }
+            }
+            """,
+            extractBlock( source, "Initialise the property 'timeout'" ) );
+        final var stubClass = compileClass( tempDir, "ConfigBean", classSource );
+        final var getTimeout = stubClass.getMethod( "getTimeout" );
+
+        final var propertyName = "org.tquadrat.test.timeout";
+        try
+        {
+            System.clearProperty( propertyName );
+            assertEquals( 42, getTimeout.invoke( stubClass.getConstructor().newInstance() ) );
+
+            System.setProperty( propertyName, "7" );
+            assertEquals( 7, getTimeout.invoke( stubClass.getConstructor().newInstance() ) );
+        }
+        finally
+        {
+            System.clearProperty( propertyName );
+        }
+    }   //  testDefaultValue()
+
+    /**
+     *  Tests the code generation with an invalid default value.
+     *
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @Test
+    final void testInvalidDefaultValue() throws Exception
+    {
+        skipThreadTest();
+
+        final APHelper environment = mock( APHelper.class );
+        final var configuration = createConfiguration( environment, false );
+        assertNotNull( configuration );
+
+        //---* Add the interfaces to implement *-------------------------------
+        final var interfacesToImplement = List.of( ClassName.from( ConfigBeanSpec.class ) );
+        configuration.addInterfacesToImplement( interfacesToImplement );
+
+        //---* Add the properties *--------------------------------------------
+        createPropertiesForConfigBeanSpec( configuration );
+        createProperty_timeout( configuration, "forty-two" );
+
+        //---* Run the test *--------------------------------------------------
+        final var candidate = new CodeGenerator( configuration );
+        assertNotNull( candidate );
+        assertThrows( IllegalAnnotationError.class, candidate::createCode );
+    }   //  testInvalidDefaultValue()
+}
+//  class TestDefaultValueEvaluation
+
+/*
+ *  End of File
+ */
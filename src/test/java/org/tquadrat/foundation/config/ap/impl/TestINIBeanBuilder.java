@@ -19,15 +19,22 @@ package org.tquadrat.foundation.config.ap.impl;
 
 import static java.lang.String.format;
 import static java.lang.System.out;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.tquadrat.foundation.util.StringUtils.isNotEmpty;
 import static org.tquadrat.foundation.util.StringUtils.isNotEmptyOrBlank;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.util.List;
 
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.tquadrat.foundation.annotation.ClassVersion;
@@ -129,6 +136,8 @@ public class TestINIBeanBuilder extends CodeGeneratorTestBase
                     import static java.lang.System.getProperty;
                     import static java.nio.charset.Charset.defaultCharset;
                     import static java.nio.file.Files.exists;
+                    import static java.nio.file.Files.getLastModifiedTime;
+                    import static java.nio.file.Files.size;
                     import static org.tquadrat.foundation.lang.CommonConstants.NULL_STRING;
                     import static org.tquadrat.foundation.lang.Objects.isNull;
                     import static org.tquadrat.foundation.lang.Objects.nonNull;
@@ -145,10 +154,12 @@ public class TestINIBeanBuilder extends CodeGeneratorTestBase
                     import java.lang.Throwable;
                     import java.nio.charset.Charset;
                     import java.nio.file.Path;
+                    import java.nio.file.attribute.FileTime;
                     import java.security.SecureRandom;
                     import java.time.Clock;
                     import java.time.Instant;
                     import java.time.ZoneId;
+                    import java.util.BitSet;
                     import java.util.Locale;
                     import java.util.Optional;
                     import java.util.Properties;
@@ -211,11 +222,37 @@ public class TestINIBeanBuilder extends CodeGeneratorTestBase
                          */
                         private Instant m_Date2;
                                     
+                        /**
+                         * The flags for the INI values that were modified since the last
+                         * call to {@link #updateINIFile()}.
+                         */
+                        private final BitSet m_DirtyINIValues = new BitSet( 4 );
+                                    
                         /**
                          * The INIFile instance that is used by this configuration bean to
                          * persist (some of) its properties.
                          */
                         private final Lazy<INIFile> m_INIFile;
+
+                        /**
+                         * The last modification time of the file that backs the INIFile
+                         * instance, when its state was recorded last; {@code null} if the
+                         * file did not exist at that time.
+                         */
+                        private volatile FileTime m_INIFileLastModified = null;
+
+                        /**
+                         * The size of the file that backs the INIFile instance, when its
+                         * state was recorded last; -1 if the file did not exist at that
+                         * time.
+                         */
+                        private volatile long m_INIFileSize = -1L;
+
+                        /**
+                         * {@code true} if the values of this configuration bean were
+                         * written to the INI file at least once, {@code false} if not.
+                         */
+                        private boolean m_INIValuesPersisted = false;
                                     
                         /**
                          * Property: &quot;int1&quot;.
@@ -345,8 +382,15 @@ public class TestINIBeanBuilder extends CodeGeneratorTestBase
                              */
                             {
                                 final var stringConverter = BooleanStringConverter.INSTANCE;
-                                final var value = getProperty( "isDebug", "false" );
-                                m_IsDebug = stringConverter.fromString( value );
+                                final var value = getProperty( "isDebug" );
+                                if( isNull( value ) )
+                                {
+                                    m_IsDebug = false;
+                                }
+                                else
+                                {
+                                    m_IsDebug = stringConverter.fromString( value );
+                                }
                             }
                                     
                             /*
@@ -354,8 +398,15 @@ public class TestINIBeanBuilder extends CodeGeneratorTestBase
                              */
                             {
                                 final var stringConverter = BooleanStringConverter.INSTANCE;
-                                final var value = getProperty( "isTest", "false" );
-                                m_IsTest = stringConverter.fromString( value );
+                                final var value = getProperty( "isTest" );
+                                if( isNull( value ) )
+                                {
+                                    m_IsTest = false;
+                                }
+                                else
+                                {
+                                    m_IsTest = stringConverter.fromString( value );
+                                }
                             }
                                     
                             /*
@@ -578,6 +629,44 @@ public class TestINIBeanBuilder extends CodeGeneratorTestBase
                         {
                             m_ListenerSupport.addListener( listener );
                         }  //  addListener()
+
+                        /**
+                         * Applies the structure of the INI file, composed from the
+                         * groups, the keys and the related comments, to the given
+                         * {@link INIFile}
+                         * instance.
+                         *
+                         * @param  iniFile The {@code INIFile} instance.
+                         */
+                        private static final void applyINIFileStructure( final INIFile iniFile )
+                        {
+                            iniFile.setComment( "Group1", "The comment for group 1.\\n" );
+                            iniFile.setComment( "Group2", "The comment for group 2.\\n" );
+                            iniFile.setComment( "Group3", "The comment for group 3.\\n" );
+                            iniFile.setComment( "Group1", "date1Ini", "Property 'date1Ini'" );
+                            iniFile.setComment( "Group1", "int1Ini", "Property 'int1Ini'" );
+                            iniFile.setComment( "Group1", "int2Ini", "Property 'int2Ini'" );
+                            iniFile.setComment( "Group1", "string1Ini", "Property 'string1Ini'" );
+                        }  //  applyINIFileStructure()
+
+                        /**
+                         * Checks whether the file that backs the
+                         * {@link INIFile}
+                         * instance was modified since its state was recorded last.
+                         *
+                         * @throws IOException Reading the file attributes failed.
+                         * @return {@code true} if the file was modified, {@code false} otherwise.
+                         */
+                        private final boolean checkINIFileState() throws IOException
+                        {
+                            final var path = retrieveINIFilePath();
+                            final var lastModified = exists( path ) ? getLastModifiedTime( path ) : null;
+                            final var fileSize = nonNull( lastModified ) ? size( path ) : -1L;
+                            final var retValue = (fileSize != m_INIFileSize) || (nonNull( lastModified ) && !lastModified.equals( m_INIFileLastModified ));
+
+                            //---* Done *----------------------------------------------------------
+                            return retValue;
+                        }  //  checkINIFileState()
                                     
                         /**
                          * Creates the
@@ -606,13 +695,7 @@ public class TestINIBeanBuilder extends CodeGeneratorTestBase
                             }
                                     
                             // Sets the structure of the INIFile
-                            retValue.setComment( "Group1", "The comment for group 1.\\n" );
-                            retValue.setComment( "Group2", "The comment for group 2.\\n" );
-                            retValue.setComment( "Group3", "The comment for group 3.\\n" );
-                            retValue.setComment( "Group1", "date1Ini", "Property 'date1Ini'" );
-                            retValue.setComment( "Group1", "int1Ini", "Property 'int1Ini'" );
-                            retValue.setComment( "Group1", "int2Ini", "Property 'int2Ini'" );
-                            retValue.setComment( "Group1", "string1Ini", "Property 'string1Ini'" );
+                            applyINIFileStructure( retValue );
                                                 
                             //---* Done *----------------------------------------------------------
                             return retValue;
@@ -792,29 +875,47 @@ public class TestINIBeanBuilder extends CodeGeneratorTestBase
                         @Override
                         public final void loadINIFile()
                         {
-                            try( final var ignore = m_WriteLock.lock() )
+                            try
                             {
-                                final var iniFile = m_INIFile.get();
-                                iniFile.refresh();
-                                    
-                                /*
-                                 * Load the data.
-                                 */
+                                if( checkINIFileState() )
                                 {
-                                    final var stringConverter = InstantStringConverter.INSTANCE;
-                                    m_Date1Ini = iniFile.getValue( "Group1", "date1Ini", stringConverter ).orElse( m_Date1Ini );
-                                }
-                                {
-                                    final var stringConverter = IntegerStringConverter.INSTANCE;
-                                    m_Int1Ini = iniFile.getValue( "Group1", "int1Ini", stringConverter ).orElse( m_Int1Ini );
-                                }
-                                {
-                                    final var stringConverter = IntegerStringConverter.INSTANCE;
-                                    m_Int2Ini = iniFile.getValue( "Group1", "int2Ini", stringConverter ).orElse( m_Int2Ini );
-                                }
-                                {
-                                    final var stringConverter = StringStringConverter.INSTANCE;
-                                    m_String1Ini = iniFile.getValue( "Group1", "string1Ini", stringConverter ).orElse( m_String1Ini );
+                                    /*
+                                     * The state of the file is taken before the file is read, but
+                                     * it is recorded only after the values were loaded
+                                     * successfully; a modification in between will cause another
+                                     * reload, but it will not get lost.
+                                     */
+                                    final var path = retrieveINIFilePath();
+                                    final var lastModified = exists( path ) ? getLastModifiedTime( path ) : null;
+                                    final var fileSize = nonNull( lastModified ) ? size( path ) : -1L;
+                                    try( final var ignore = m_WriteLock.lock() )
+                                    {
+                                        final var iniFile = m_INIFile.get();
+                                        iniFile.refresh();
+                                    
+                                        /*
+                                         * Load the data.
+                                         */
+                                        {
+                                            final var stringConverter = InstantStringConverter.INSTANCE;
+                                            m_Date1Ini = iniFile.getValue( "Group1", "date1Ini", stringConverter ).orElse( m_Date1Ini );
+                                        }
+                                        {
+                                            final var stringConverter = IntegerStringConverter.INSTANCE;
+                                            m_Int1Ini = iniFile.getValue( "Group1", "int1Ini", stringConverter ).orElse( m_Int1Ini );
+                                        }
+                                        {
+                                            final var stringConverter = IntegerStringConverter.INSTANCE;
+                                            m_Int2Ini = iniFile.getValue( "Group1", "int2Ini", stringConverter ).orElse( m_Int2Ini );
+                                        }
+                                        {
+                                            final var stringConverter = StringStringConverter.INSTANCE;
+                                            m_String1Ini = iniFile.getValue( "Group1", "string1Ini", stringConverter ).orElse( m_String1Ini );
+                                        }
+
+                                        m_INIFileLastModified = lastModified;
+                                        m_INIFileSize = fileSize;
+                                    }
                                 }
                             }
                             catch( final IOException e )
@@ -831,6 +932,22 @@ public class TestINIBeanBuilder extends CodeGeneratorTestBase
                         {
                             return Optional.of( m_INIFile.get() );
                         }  //  obtainINIFile()
+
+                        /**
+                         * Records the current state of the file that backs the
+                         * {@link INIFile}
+                         * instance.
+                         *
+                         * @throws IOException Reading the file attributes failed.
+                         */
+                        private final void recordINIFileState() throws IOException
+                        {
+                            final var path = retrieveINIFilePath();
+                            final var lastModified = exists( path ) ? getLastModifiedTime( path ) : null;
+                            final var fileSize = nonNull( lastModified ) ? size( path ) : -1L;
+                            m_INIFileLastModified = lastModified;
+                            m_INIFileSize = fileSize;
+                        }  //  recordINIFileState()
                                     
                         /**
                          * {@inheritDoc}
@@ -1120,31 +1237,67 @@ public class TestINIBeanBuilder extends CodeGeneratorTestBase
                         @Override
                         public final void updateINIFile()
                         {
-                            try( final var ignore = m_ReadLock.lock() )
+                            try( final var ignore = m_WriteLock.lock() )
                             {
-                                final var iniFile = m_INIFile.get();
-                                
                                 /*
-                                 * Write the data.
+                                 * The first write takes all values, not only the modified ones;
+                                 * otherwise an absent INI file would not be created with the
+                                 * current values of the configuration bean.
                                  */
+                                if( !m_INIValuesPersisted ) m_DirtyINIValues.set( 0, 4 );
+
+                                /*
+                                 * Write only the values that were modified since the last call
+                                 * to this method, and skip the save if there are none.
+                                 */
+                                if( !m_DirtyINIValues.isEmpty() )
                                 {
-                                    final var stringConverter = InstantStringConverter.INSTANCE;
-                                    iniFile.setValue( "Group1", "date1Ini", m_Date1Ini, stringConverter );
-                                }
-                                {
-                                    final var stringConverter = IntegerStringConverter.INSTANCE;
-                                    iniFile.setValue( "Group1", "int1Ini", m_Int1Ini, stringConverter );
-                                }
-                                {
-                                    final var stringConverter = IntegerStringConverter.INSTANCE;
-                                    iniFile.setValue( "Group1", "int2Ini", m_Int2Ini, stringConverter );
-                                }
-                                {
-                                    final var stringConverter = StringStringConverter.INSTANCE;
-                                    iniFile.setValue( "Group1", "string1Ini", m_String1Ini, stringConverter );
+                                    /*
+                                     * Take the flags for the values to write, and reset them before
+                                     * the write; if the write fails, they will be restored, together
+                                     * with the flags for the values that were modified in the
+                                     * meantime.
+                                     */
+                                    final var dirty = (BitSet) m_DirtyINIValues.clone();
+                                    m_DirtyINIValues.clear();
+                                    try
+                                    {
+                                        final var iniFile = m_INIFile.get();
+                                    
+                                        /*
+                                         * Write the data.
+                                         */
+                                        if( dirty.get( 0 ) )
+                                        {
+                                            final var stringConverter = InstantStringConverter.INSTANCE;
+                                            iniFile.setValue( "Group1", "date1Ini", m_Date1Ini, stringConverter );
+                                        }
+                                        if( dirty.get( 1 ) )
+                                        {
+                                            final var stringConverter = IntegerStringConverter.INSTANCE;
+                                            iniFile.setValue( "Group1", "int1Ini", m_Int1Ini, stringConverter );
+                                        }
+                                        if( dirty.get( 2 ) )
+                                        {
+                                            final var stringConverter = IntegerStringConverter.INSTANCE;
+                                            iniFile.setValue( "Group1", "int2Ini", m_Int2Ini, stringConverter );
+                                        }
+                                        if( dirty.get( 3 ) )
+                                        {
+                                            final var stringConverter = StringStringConverter.INSTANCE;
+                                            iniFile.setValue( "Group1", "string1Ini", m_String1Ini, stringConverter );
+                                        }
+
+                                        iniFile.save();
+                                        recordINIFileState();
+                                        m_INIValuesPersisted = true;
+                                    }
+                                    catch( final IOException | RuntimeException e )
+                                    {
+                                        m_DirtyINIValues.or( dirty );
+                                        throw e;
+                                    }
                                 }
-                    
-                                iniFile.save();
                             }
                             catch( final IOException e )
                             {
@@ -1172,6 +1325,95 @@ public class TestINIBeanBuilder extends CodeGeneratorTestBase
             }
         }
     }   //  testCodeGeneration10()
+
+    /**
+     *  Tests the generated methods {@code checkINIFileState()} and
+     *  {@code recordINIFileState()}; they are compiled into a stub for the
+     *  configuration bean. A modification of the file has to be detected
+     *  until the new state was recorded, even when the size of the file did
+     *  not change.
+     *
+     *  @param  folder  The folder for the compiled class and the INI file.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @Test
+    final void testINIFileState( @TempDir final Path folder ) throws Exception
+    {
+        skipThreadTest();
+
+        final APHelper environment = mock( APHelper.class );
+        final var configuration = createConfiguration( "INIBean", "INISpec", environment, false );
+        assertNotNull( configuration );
+        configuration.addInterfacesToImplement( List.of( ClassName.from( ConfigBeanSpec.class ), ClassName.from( INIBeanSpec.class ) ) );
+        createPropertiesForConfigBeanSpec( configuration );
+        createPropertiesForINIBeanSpec( configuration );
+
+        replayAll();
+        final var code = new CodeGenerator( configuration ).createCode();
+        final var actual = new StringBuilder();
+        code.writeTo( actual );
+        final var source = actual.toString();
+
+        final var classSource = format(
+            """
+            import static java.nio.file.Files.*;
+            import static org.tquadrat.foundation.lang.Objects.nonNull;
+
+            import java.io.IOException;
+            import java.nio.file.Path;
+            import java.nio.file.attribute.FileTime;
+
+            public final class INIBean
+            {
+                %1$s
+                %2$s
+                private final Path m_Path;
+
+                public INIBean( final Path path ) { m_Path = path; }
+
+                public final boolean check() throws IOException { return checkINIFileState(); }
+                public final void record() throws IOException { recordINIFileState(); }
+                private final Path retrieveINIFilePath() { return m_Path; }
+
+                %3$s
+                %4$s
+            }
+            """,
+            extractStatement( source, "private volatile FileTime m_INIFileLastModified" ),
+            extractStatement( source, "private volatile long m_INIFileSize" ),
+            extractBlock( source, "private final boolean checkINIFileState() throws IOException" ),
+            extractBlock( source, "private final void recordINIFileState() throws IOException" ) );
+
+        final var file = folder.resolve( "test.ini" );
+        final var beanClass = compileClass( folder, "INIBean", classSource );
+        final var bean = beanClass.getConstructor( Path.class ).newInstance( file );
+        final var check = beanClass.getMethod( "check" );
+        final var record = beanClass.getMethod( "record" );
+
+        //---* An absent file is not a modification *--------------------------
+        assertFalse( (Boolean) check.invoke( bean ) );
+
+        //---* The modification is reported until the state was recorded *-----
+        Files.writeString( file, "[Group1]\nint1Ini = 42\n", UTF_8 );
+        assertTrue( (Boolean) check.invoke( bean ) );
+        assertTrue( (Boolean) check.invoke( bean ) );
+        record.invoke( bean );
+        assertFalse( (Boolean) check.invoke( bean ) );
+
+        //---* A modification that does not change the size *------------------
+        final var lastModified = Files.getLastModifiedTime( file ).toMillis();
+        Files.writeString( file, "[Group1]\nint1Ini = 43\n", UTF_8 );
+        Files.setLastModifiedTime( file, FileTime.fromMillis( lastModified + 2_000L ) );
+        assertTrue( (Boolean) check.invoke( bean ) );
+        record.invoke( bean );
+        assertFalse( (Boolean) check.invoke( bean ) );
+
+        //---* The removal of the file *---------------------------------------
+        Files.delete( file );
+        assertTrue( (Boolean) check.invoke( bean ) );
+        record.invoke( bean );
+        assertFalse( (Boolean) check.invoke( bean ) );
+    }   //  testINIFileState()
 }
 //  class TestINIBeanBuilder
 
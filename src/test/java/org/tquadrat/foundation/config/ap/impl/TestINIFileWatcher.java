@@ -0,0 +1,315 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package org.tquadrat.foundation.config.ap.impl;
+
+import static java.lang.String.format;
+import static java.lang.System.out;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.tquadrat.foundation.util.StringUtils.isNotEmptyOrBlank;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.tquadrat.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.ap.APHelper;
+import org.tquadrat.foundation.config.ConfigBeanSpec;
+import org.tquadrat.foundation.config.INIBeanSpec;
+import org.tquadrat.foundation.javacomposer.ClassName;
+import org.tquadrat.foundation.test.helper.CodeGeneratorTestBase;
+
+/**
+ *  Tests the generation of a configuration bean with the
+ *  {@linkplain org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor#OPTION_WatchINIFile hot reload}
+ *  of the INI file.
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: TestINIFileWatcher.java 1180 2026-10-18 16:21:44Z tquadrat $
+ */
+@ClassVersion( sourceVersion = "$Id: TestINIFileWatcher.java 1180 2026-10-18 16:21:44Z tquadrat $" )
+@DisplayName( "org.tquadrat.foundation.config.ap.impl.TestINIFileWatcher" )
+public class TestINIFileWatcher extends CodeGeneratorTestBase
+{
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  A test for the code generation.
+     *
+     *  @param  flag    {@code true} if debug output should be created,
+     *      {@code false} if not.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @ParameterizedTest( name = "testCodeGeneration [{index}] = {0}" )
+    @ValueSource( booleans = { true, false } )
+    final void testCodeGeneration( final boolean flag ) throws Exception
+    {
+        skipThreadTest();
+
+        final var header = format( "%n//----< %2$s >%1$s", "-".repeat( 80 ), "testINIFileWatcher" ).substring( 0, 80 );
+
+        final APHelper environment = mock( APHelper.class );
+        final var configuration = createConfiguration( "INIBean", "INISpec", environment, flag );
+        assertNotNull( configuration );
+        configuration.setINIFileWatchDelay( Duration.ofMillis( 100 ) );
+
+        //---* Add the interfaces to implement *-------------------------------
+        final var interfacesToImplement = List.of( ClassName.from( ConfigBeanSpec.class ), ClassName.from( INIBeanSpec.class ) );
+        configuration.addInterfacesToImplement( interfacesToImplement );
+
+        //---* Add the properties *--------------------------------------------
+        createPropertiesForConfigBeanSpec( configuration );
+        createPropertiesForINIBeanSpec( configuration );
+
+        //---* Run the test *--------------------------------------------------
+        replayAll();
+        final var candidate = new CodeGenerator( configuration );
+        assertNotNull( candidate );
+
+        final var code = candidate.createCode();
+        assertNotNull( code );
+        final var actual = new StringBuilder();
+        code.writeTo( actual );
+        assertTrue( isNotEmptyOrBlank( actual ) );
+        if( flag )
+        {
+            out.println( header );
+            out.println( actual );
+            out.println( header );
+            out.println();
+        }
+
+        final var source = actual.toString();
+
+        assertEquals( "private static final long m_INIFileWatchDelay = 100L;", extractStatement( source, "private static final long m_INIFileWatchDelay" ) );
+        assertEquals( "private final AtomicBoolean m_INIFileWatcherStarted = new AtomicBoolean( false );", extractStatement( source, "private final AtomicBoolean m_INIFileWatcherStarted" ) );
+        assertEquals( "private static final Map<Path, List<WeakReference<INIBean>>> m_INIFileWatchTargets = new HashMap<>();", extractStatement( source, "private static final Map<Path, List<WeakReference<INIBean>>> m_INIFileWatchTargets" ) );
+        assertEquals( "private static WatchService m_INIFileWatchService = null;", extractStatement( source, "private static WatchService m_INIFileWatchService" ) );
+
+        var expected =
+            """
+            private static final void runINIFileWatcher()
+                {
+                    /*
+                     * The field was set before this thread was started, and it
+                     * will not change afterwards.
+                     */
+                    final var watchService = m_INIFileWatchService;
+                    try
+                    {
+                        while( !currentThread().isInterrupted() )
+                        {
+                            final Set<Path> modifiedFiles = new HashSet<>();
+                            var isOverflow = false;
+                            var key = watchService.take();
+                            while( nonNull( key ) )
+                            {
+                                final var directory = (Path) key.watchable();
+                                for( final var event : key.pollEvents() )
+                                {
+                                    if( event.kind() == OVERFLOW )
+                                    {
+                                        isOverflow = true;
+                                    }
+                                    else
+                                    {
+                                        modifiedFiles.add( directory.resolve( (Path) event.context() ) );
+                                    }
+                                }
+                                key.reset();
+
+                                /*
+                                 * Wait until no further modification occurs within the delay.
+                                 */
+                                key = isOverflow || !modifiedFiles.isEmpty() ? watchService.poll( m_INIFileWatchDelay, MILLISECONDS ) : null;
+                            }
+
+                            /*
+                             * Collect the instances that are affected by the modifications,
+                             * and purge the references to those that are gone.
+                             */
+                            final List<INIBean> beans = new ArrayList<>();
+                            synchronized( m_INIFileWatchTargets )
+                            {
+                                for( final var entries = m_INIFileWatchTargets.entrySet().iterator(); entries.hasNext(); )
+                                {
+                                    final var entry = entries.next();
+                                    for( final var references = entry.getValue().iterator(); references.hasNext(); )
+                                    {
+                                        final var bean = references.next().get();
+                                        if( isNull( bean ) )
+                                        {
+                                            references.remove();
+                                        }
+                                        else if( isOverflow || modifiedFiles.contains( entry.getKey() ) )
+                                        {
+                                            beans.add( bean );
+                                        }
+                                    }
+                                    if( entry.getValue().isEmpty() ) entries.remove();
+                                }
+                            }
+
+                            /*
+                             * Reload the configuration; a failure for one instance must
+                             * neither affect the others nor terminate the watcher.
+                             */
+                            for( final var bean : beans )
+                            {
+                                try
+                                {
+                                    bean.loadINIFile();
+                                }
+                                catch( final RuntimeException e )
+                                {
+                                    getLogger( INIBean.class.getName() ).log( System.Logger.Level.WARNING, "Reload of the INI file failed", e );
+                                }
+                            }
+                        }
+                    }
+                    catch( final InterruptedException e )
+                    {
+                        currentThread().interrupt();
+                    }
+                }""";
+        assertEquals( expected, extractBlock( source, "private static final void runINIFileWatcher()" ) );
+
+        expected =
+            """
+            private final void startINIFileWatcher()
+                {
+                    if( m_INIFileWatcherStarted.compareAndSet( false, true ) )
+                    {
+                        final var path = retrieveINIFilePath().toAbsolutePath().normalize();
+                        synchronized( m_INIFileWatchTargets )
+                        {
+                            try
+                            {
+                                if( isNull( m_INIFileWatchService ) )
+                                {
+                                    m_INIFileWatchService = path.getFileSystem().newWatchService();
+                                    Thread.ofVirtual().name( "INIBean-INIFileWatcher" ).start( INIBean::runINIFileWatcher );
+                                }
+                                var references = m_INIFileWatchTargets.get( path );
+                                if( isNull( references ) )
+                                {
+                                    path.getParent().register( m_INIFileWatchService, ENTRY_CREATE, ENTRY_MODIFY );
+                                    references = new ArrayList<>();
+                                    m_INIFileWatchTargets.put( path, references );
+                                }
+                                references.add( new WeakReference<>( this ) );
+                            }
+                            catch( final IOException e )
+                            {
+                                throw new PreferencesException( e );
+                            }
+                        }
+                    }
+                }""";
+        assertEquals( expected, extractBlock( source, "private final void startINIFileWatcher()" ) );
+
+        /*
+         * The watcher is started with the first load, and the reload fires
+         * the change events for the modified values.
+         */
+        expected =
+            """
+            public final void loadINIFile()
+                {
+                    startINIFileWatcher();
+                    try
+                    {
+                        if( checkINIFileState() )
+                        {
+                            /*
+                             * The state of the file is taken before the file is read, but
+                             * it is recorded only after the values were loaded
+                             * successfully; a modification in between will cause another
+                             * reload, but it will not get lost.
+                             */
+                            final var path = retrieveINIFilePath();
+                            final var lastModified = exists( path ) ? getLastModifiedTime( path ) : null;
+                            final var fileSize = nonNull( lastModified ) ? size( path ) : -1L;
+                            try( final var ignore = m_WriteLock.lock() )
+                            {
+                                final var iniFile = m_INIFile.get();
+                                iniFile.refresh();
+
+                                /*
+                                 * Load the data.
+                                 */
+                                {
+                                    final var stringConverter = InstantStringConverter.INSTANCE;
+                                    final var oldValue = m_Date1Ini;
+                                    m_Date1Ini = iniFile.getValue( "Group1", "date1Ini", stringConverter ).orElse( oldValue );
+                                    if( !Objects.equals( oldValue, m_Date1Ini ) )
+                                    {
+                                        m_ListenerSupport.fireEvent( "date1Ini", oldValue, m_Date1Ini );
+                                    }
+                                }
+                                {
+                                    final var stringConverter = IntegerStringConverter.INSTANCE;
+                                    final var oldValue = m_Int1Ini;
+                                    m_Int1Ini = iniFile.getValue( "Group1", "int1Ini", stringConverter ).orElse( oldValue );
+                                    if( !Objects.equals( oldValue, m_Int1Ini ) )
+                                    {
+                                        m_ListenerSupport.fireEvent( "int1Ini", oldValue, m_Int1Ini );
+                                    }
+                                }
+                                {
+                                    final var stringConverter = IntegerStringConverter.INSTANCE;
+                                    final var oldValue = m_Int2Ini;
+                                    m_Int2Ini = iniFile.getValue( "Group1", "int2Ini", stringConverter ).orElse( oldValue );
+                                    if( !Objects.equals( oldValue, m_Int2Ini ) )
+                                    {
+                                        m_ListenerSupport.fireEvent( "int2Ini", oldValue, m_Int2Ini );
+                                    }
+                                }
+                                {
+                                    final var stringConverter = StringStringConverter.INSTANCE;
+                                    final var oldValue = m_String1Ini;
+                                    m_String1Ini = iniFile.getValue( "Group1", "string1Ini", stringConverter ).orElse( oldValue );
+                                    if( !Objects.equals( oldValue, m_String1Ini ) )
+                                    {
+                                        m_ListenerSupport.fireEvent( "string1Ini", oldValue, m_String1Ini );
+                                    }
+                                }
+
+                                m_INIFileLastModified = lastModified;
+                                m_INIFileSize = fileSize;
+                            }
+                        }
+                    }
+                    catch( final IOException e )
+                    {
+                        throw new PreferencesException( e );
+                    }
+                }""";
+        assertEquals( expected, extractBlock( source, "public final void loadINIFile()" ) );
+    }   //  testCodeGeneration()
+}
+//  class TestINIFileWatcher
+
+/*
+ *  End of File
+ */
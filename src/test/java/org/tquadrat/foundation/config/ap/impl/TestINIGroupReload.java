@@ -0,0 +1,327 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package org.tquadrat.foundation.config.ap.impl;
+
+import static java.lang.String.format;
+import static java.lang.System.out;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.tquadrat.foundation.util.StringUtils.isNotEmptyOrBlank;
+
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.tquadrat.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.ap.APHelper;
+import org.tquadrat.foundation.config.ConfigBeanSpec;
+import org.tquadrat.foundation.config.INIBeanSpec;
+import org.tquadrat.foundation.javacomposer.ClassName;
+import org.tquadrat.foundation.test.helper.CodeGeneratorTestBase;
+
+/**
+ *  Tests the generation of a configuration bean with the
+ *  {@linkplain org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor#OPTION_INIGroupReload reload of single groups}
+ *  of the INI file.
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: TestINIGroupReload.java 1184 2026-10-18 19:06:52Z tquadrat $
+ */
+@ClassVersion( sourceVersion = "$Id: TestINIGroupReload.java 1184 2026-10-18 19:06:52Z tquadrat $" )
+@DisplayName( "org.tquadrat.foundation.config.ap.impl.TestINIGroupReload" )
+public class TestINIGroupReload extends CodeGeneratorTestBase
+{
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Generates the code for the configuration bean.
+     *
+     *  @param  flag    {@code true} if debug output should be created,
+     *      {@code false} if not.
+     *  @return The source of the configuration bean.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    private final String createSource( final boolean flag ) throws Exception
+    {
+        final var header = format( "%n//----< %2$s >%1$s", "-".repeat( 80 ), "testINIGroupReload" ).substring( 0, 80 );
+
+        final APHelper environment = mock( APHelper.class );
+        final var configuration = createConfiguration( "INIBean", "INISpec", environment, flag );
+        assertNotNull( configuration );
+        configuration.setINIGroupReload( true );
+
+        //---* Add the interfaces to implement *-------------------------------
+        final var interfacesToImplement = List.of( ClassName.from( ConfigBeanSpec.class ), ClassName.from( INIBeanSpec.class ) );
+        configuration.addInterfacesToImplement( interfacesToImplement );
+
+        //---* Add the properties *--------------------------------------------
+        createPropertiesForConfigBeanSpec( configuration );
+        createPropertiesForINIBeanSpec( configuration );
+
+        //---* Create the code *-----------------------------------------------
+        replayAll();
+        final var candidate = new CodeGenerator( configuration );
+        assertNotNull( candidate );
+
+        final var code = candidate.createCode();
+        assertNotNull( code );
+        final var actual = new StringBuilder();
+        code.writeTo( actual );
+        assertTrue( isNotEmptyOrBlank( actual ) );
+        if( flag )
+        {
+            out.println( header );
+            out.println( actual );
+            out.println( header );
+            out.println();
+        }
+        final var retValue = actual.toString();
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  createSource()
+
+    /**
+     *  A test for the code generation.
+     *
+     *  @param  flag    {@code true} if debug output should be created,
+     *      {@code false} if not.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @ParameterizedTest( name = "testCodeGeneration [{index}] = {0}" )
+    @ValueSource( booleans = { true, false } )
+    final void testCodeGeneration( final boolean flag ) throws Exception
+    {
+        skipThreadTest();
+
+        final var source = createSource( flag );
+
+        assertEquals( "private final Map<String, List<String>> m_INIGroupValues = new HashMap<>();", extractStatement( source, "private final Map<String, List<String>> m_INIGroupValues" ) );
+
+        var expected =
+            """
+            public final void loadINIGroup( final String group )
+                {
+                    try( final var ignore = m_WriteLock.lock() )
+                    {
+                        final var iniFile = m_INIFile.get();
+                        iniFile.refresh();
+
+                        switch( group )
+                        {
+                            case "Group1" ->
+                            {
+                                {
+                                    final var stringConverter = InstantStringConverter.INSTANCE;
+                                    m_Date1Ini = iniFile.getValue( "Group1", "date1Ini", stringConverter ).orElse( m_Date1Ini );
+                                }
+                                {
+                                    final var stringConverter = IntegerStringConverter.INSTANCE;
+                                    m_Int1Ini = iniFile.getValue( "Group1", "int1Ini", stringConverter ).orElse( m_Int1Ini );
+                                }
+                                {
+                                    final var stringConverter = IntegerStringConverter.INSTANCE;
+                                    m_Int2Ini = iniFile.getValue( "Group1", "int2Ini", stringConverter ).orElse( m_Int2Ini );
+                                }
+                                {
+                                    final var stringConverter = StringStringConverter.INSTANCE;
+                                    m_String1Ini = iniFile.getValue( "Group1", "string1Ini", stringConverter ).orElse( m_String1Ini );
+                                }
+                            }
+                            default -> throw new IllegalArgumentException( "Unknown INI group: %s".formatted( group ) );
+                        }
+                    }
+                    catch( final IOException e )
+                    {
+                        throw new PreferencesException( e );
+                    }
+                }""";
+        assertEquals( expected, extractBlock( source, "public final void loadINIGroup( final String group )" ) );
+
+        expected =
+            """
+            public final Set<String> detectChangedINIGroups()
+                {
+                    final Set<String> retValue = new TreeSet<>();
+                    try( final var ignore = m_WriteLock.lock() )
+                    {
+                        final var iniFile = m_INIFile.get();
+                        iniFile.refresh();
+
+                        {
+                            final var values = Arrays.asList( iniFile.getValue( "Group1", "date1Ini" ).orElse( null ), iniFile.getValue( "Group1", "int1Ini" ).orElse( null ), iniFile.getValue( "Group1", "int2Ini" ).orElse( null ), iniFile.getValue( "Group1", "string1Ini" ).orElse( null ) );
+                            if( !values.equals( m_INIGroupValues.put( "Group1", values ) ) ) retValue.add( "Group1" );
+                        }
+                    }
+                    catch( final IOException e )
+                    {
+                        throw new PreferencesException( e );
+                    }
+
+                    //---* Done *----------------------------------------------------------
+                    return retValue;
+                }""";
+        assertEquals( expected, extractBlock( source, "public final Set<String> detectChangedINIGroups()" ) );
+    }   //  testCodeGeneration()
+
+    /**
+     *  Tests the generated methods {@code detectChangedINIGroups()} and
+     *  {@code loadINIGroup()}; they are compiled into a stub for the
+     *  configuration bean that reads a real INI file. A group is reported
+     *  as changed only when one of its values was modified, and only the
+     *  explicit load of the group changes the values of the properties.
+     *
+     *  @param  folder  The folder for the compiled class and the INI file.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @Test
+    final void testGroupReload( @TempDir final Path folder ) throws Exception
+    {
+        skipThreadTest();
+
+        final var source = createSource( false );
+        final var classSource = format(
+            """
+            import java.io.IOException;
+            import java.nio.file.Path;
+            import java.time.Instant;
+            import java.util.Arrays;
+            import java.util.HashMap;
+            import java.util.List;
+            import java.util.Map;
+            import java.util.Set;
+            import java.util.TreeSet;
+            import java.util.concurrent.locks.ReentrantLock;
+
+            import org.tquadrat.foundation.config.spi.prefs.PreferencesException;
+            import org.tquadrat.foundation.inifile.INIFile;
+            import org.tquadrat.foundation.lang.AutoLock;
+            import org.tquadrat.foundation.lang.Lazy;
+            import org.tquadrat.foundation.util.stringconverter.*;
+
+            public final class INIBean
+            {
+                %1$s
+                private final AutoLock m_WriteLock = AutoLock.of( new ReentrantLock() );
+                private final Lazy<INIFile> m_INIFile;
+                private Instant m_Date1Ini = Instant.EPOCH;
+                private int m_Int1Ini = 1;
+                private Integer m_Int2Ini = Integer.valueOf( 2 );
+                private String m_String1Ini = "default";
+
+                public INIBean( final Path path )
+                {
+                    m_INIFile = Lazy.use( () ->
+                    {
+                        try
+                        {
+                            return INIFile.open( path );
+                        }
+                        catch( final IOException e )
+                        {
+                            throw new ExceptionInInitializerError( e );
+                        }
+                    } );
+                }
+
+                public final int getInt1Ini() { return m_Int1Ini; }
+
+                %2$s
+                %3$s
+            }
+            """,
+            extractStatement( source, "private final Map<String, List<String>> m_INIGroupValues" ),
+            extractBlock( source, "public final Set<String> detectChangedINIGroups()" ),
+            extractBlock( source, "public final void loadINIGroup( final String group )" ) );
+
+        final var file = folder.resolve( "test.ini" );
+        final var original =
+            """
+            [Group1]
+            int1Ini = 42
+            string1Ini = Grüße aus Hamburg
+
+            [Group2]
+            int1Ini = 0
+            """;
+        Files.writeString( file, original, UTF_8 );
+
+        final var beanClass = compileClass( folder, "INIBean", classSource );
+        final var bean = beanClass.getConstructor( Path.class ).newInstance( file );
+        final var detect = beanClass.getMethod( "detectChangedINIGroups" );
+        final var getInt1Ini = beanClass.getMethod( "getInt1Ini" );
+        final var loadGroup = beanClass.getMethod( "loadINIGroup", String.class );
+
+        //---* On the first call, all groups are reported *--------------------
+        assertEquals( Set.of( "Group1" ), detect.invoke( bean ) );
+        assertEquals( Set.of(), detect.invoke( bean ) );
+        assertEquals( 1, getInt1Ini.invoke( bean ) );
+        loadGroup.invoke( bean, "Group1" );
+        assertEquals( 42, getInt1Ini.invoke( bean ) );
+
+        //---* A modification outside the relevant groups *--------------------
+        writeINIFile( file, original.replace( "int1Ini = 0", "int1Ini = 4711" ) );
+        assertEquals( Set.of(), detect.invoke( bean ) );
+
+        //---* A modification inside a relevant group *------------------------
+        writeINIFile( file, original.replace( "int1Ini = 42", "int1Ini = 43" ) );
+        assertEquals( Set.of( "Group1" ), detect.invoke( bean ) );
+        assertEquals( 42, getInt1Ini.invoke( bean ) );
+        loadGroup.invoke( bean, "Group1" );
+        assertEquals( 43, getInt1Ini.invoke( bean ) );
+
+        //---* An unknown group *----------------------------------------------
+        final var e = assertThrows( InvocationTargetException.class, () -> loadGroup.invoke( bean, "Group2" ) );
+        assertInstanceOf( IllegalArgumentException.class, e.getCause() );
+    }   //  testGroupReload()
+
+    /**
+     *  Writes the given content to the given INI file, and moves its
+     *  modification time ahead, so that the modification will be detected
+     *  even on a file system with a coarse timestamp resolution.
+     *
+     *  @param  file    The INI file.
+     *  @param  content The new content.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    private static final void writeINIFile( final Path file, final String content ) throws Exception
+    {
+        final var lastModified = Files.getLastModifiedTime( file ).toMillis();
+        Files.writeString( file, content, UTF_8 );
+        Files.setLastModifiedTime( file, FileTime.fromMillis( lastModified + 2_000L ) );
+    }   //  writeINIFile()
+}
+//  class TestINIGroupReload
+
+/*
+ *  End of File
+ */
@@ -0,0 +1,86 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.config.ap.impl;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.tquadrat.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.ap.APHelper;
+import org.tquadrat.foundation.ap.CodeGenerationError;
+import org.tquadrat.foundation.config.ConfigBeanSpec;
+import org.tquadrat.foundation.config.INIBeanSpec;
+import org.tquadrat.foundation.javacomposer.ClassName;
+import org.tquadrat.foundation.test.helper.CodeGeneratorTestBase;
+
+/**
+ *  Tests that an invalid path for the INI file is reported during the code
+ *  generation, and not only at runtime.
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: TestINIPathValidation.java 1185 2026-10-19 08:41:26Z tquadrat $
+ */
+@ClassVersion( sourceVersion = "$Id: TestINIPathValidation.java 1185 2026-10-19 08:41:26Z tquadrat $" )
+@DisplayName( "org.tquadrat.foundation.config.ap.impl.TestINIPathValidation" )
+public class TestINIPathValidation extends CodeGeneratorTestBase
+{
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Tests the code generation with an invalid path for the INI file.
+     *
+     *  @param  path    The invalid path.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @ParameterizedTest( name = "testInvalidPath [{index}] = {0}" )
+    @ValueSource( strings = { "$USER", "/home/${folder}/dummy.ini", "${folder}/${name}.ini", "${unknown}/dummy.ini", "${int1Ini}/dummy.ini" } )
+    final void testInvalidPath( final String path ) throws Exception
+    {
+        skipThreadTest();
+
+        final APHelper environment = mock( APHelper.class );
+        final var configuration = createConfiguration( "INIBean", "INISpec", environment, false );
+        assertNotNull( configuration );
+        configuration.setINIFileConfig( path, false, null );
+
+        //---* Add the interfaces to implement *-------------------------------
+        final var interfacesToImplement = List.of( ClassName.from( ConfigBeanSpec.class ), ClassName.from( INIBeanSpec.class ) );
+        configuration.addInterfacesToImplement( interfacesToImplement );
+
+        //---* Add the properties *--------------------------------------------
+        createPropertiesForConfigBeanSpec( configuration );
+        createPropertiesForINIBeanSpec( configuration );
+
+        //---* Run the test *--------------------------------------------------
+        replayAll();
+        final var candidate = new CodeGenerator( configuration );
+        assertNotNull( candidate );
+        assertThrows( CodeGenerationError.class, candidate::createCode );
+    }   //  testInvalidPath()
+}
+//  class TestINIPathValidation
+
+/*
+ *  End of File
+ */
@@ -0,0 +1,469 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.config.ap.impl;
+
+import static java.lang.String.format;
+import static java.lang.System.out;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.tquadrat.foundation.util.StringUtils.isNotEmptyOrBlank;
+
+import javax.tools.ToolProvider;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.prefs.Preferences;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.tquadrat.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.ap.APHelper;
+import org.tquadrat.foundation.config.ConfigBeanSpec;
+import org.tquadrat.foundation.config.PreferencesBeanSpec;
+import org.tquadrat.foundation.test.prefs.FilePreferences;
+import org.tquadrat.foundation.javacomposer.ClassName;
+import org.tquadrat.foundation.test.helper.CodeGeneratorTestBase;
+
+/**
+ *  Tests the generation of a configuration bean with the
+ *  {@linkplain org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor#OPTION_IncrementalPreferencesLoad incremental load}
+ *  of the preferences.
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: TestIncrementalPreferencesLoad.java 1176 2026-10-18 13:48:52Z tquadrat $
+ */
+@ClassVersion( sourceVersion = "$Id: TestIncrementalPreferencesLoad.java 1176 2026-10-18 13:48:52Z tquadrat $" )
+@DisplayName( "org.tquadrat.foundation.config.ap.impl.TestIncrementalPreferencesLoad" )
+public class TestIncrementalPreferencesLoad extends CodeGeneratorTestBase
+{
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Compiles the generated method {@code takePreferenceSnapshot()} into a
+     *  class of its own, and returns that method.
+     *
+     *  @param  source  The source of the configuration bean.
+     *  @param  folder  The folder for the compiled class.
+     *  @return The method.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    private static final Method compileTakePreferenceSnapshot( final String source, final Path folder ) throws Exception
+    {
+        final var methodStart = source.indexOf( "private static final List<Object> takePreferenceSnapshot(" );
+        final var methodEnd = source.indexOf( "}  //  takePreferenceSnapshot()" );
+        assertTrue( methodStart >= 0 );
+        assertTrue( methodEnd > methodStart );
+
+        final var classSource = format(
+            """
+            import java.util.ArrayList;
+            import java.util.List;
+            import java.util.prefs.BackingStoreException;
+            import java.util.prefs.Preferences;
+
+            public final class PreferenceSnapshot
+            {
+                %1$s
+            }
+            """,
+            source.substring( methodStart, methodEnd + 1 ).replace( "private static final", "public static final" ) );
+        final var sourceFile = folder.resolve( "PreferenceSnapshot.java" );
+        Files.writeString( sourceFile, classSource, UTF_8 );
+
+        final var compiler = ToolProvider.getSystemJavaCompiler();
+        assertNotNull( compiler );
+        final var result = compiler.run( null, null, null, "-d", folder.toString(), sourceFile.toString() );
+        assertEquals( 0, result, classSource );
+
+        final var classLoader = new URLClassLoader( new URL [] { folder.toUri().toURL() }, TestIncrementalPreferencesLoad.class.getClassLoader() );
+        final var retValue = classLoader.loadClass( "PreferenceSnapshot" ).getMethod( "takePreferenceSnapshot", Preferences.class, String.class );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  compileTakePreferenceSnapshot()
+
+    /**
+     *  Compiles the generated methods {@code loadPreferences()},
+     *  {@code loadAllPreferences()} and {@code takePreferenceSnapshot()} into
+     *  a stub for the configuration bean; the preference accessors are
+     *  replaced by instances that count the reads, and the locks count how
+     *  often they were taken.
+     *
+     *  @param  source  The source of the configuration bean.
+     *  @param  folder  The folder for the compiled class.
+     *  @return The class for the stub.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    private static final Class<?> compileLoadPreferences( final String source, final Path folder ) throws Exception
+    {
+        final var load = extractBlock( source, "public final void loadPreferences()" );
+        final var accessors = new StringBuilder();
+        final var matcher = Pattern.compile( "if\\( m_DirtyPreferences\\.get\\( (\\d+) \\) \\|\\| !snapshots\\.get\\( \"(\\w+)\" \\)[^\\n]*\\n\\s*\\{\\s*(m_\\w+Accessor)\\.readPreference" ).matcher( load );
+        while( matcher.find() )
+        {
+            accessors.append( format( "private final Accessor %3$s = register( \"%2$s\", %1$s );%n", matcher.group( 1 ), matcher.group( 2 ), matcher.group( 3 ) ) );
+        }
+        assertFalse( accessors.isEmpty() );
+
+        final var classSource = format(
+            """
+            import static org.tquadrat.foundation.lang.Objects.isNull;
+
+            import java.util.ArrayList;
+            import java.util.BitSet;
+            import java.util.HashMap;
+            import java.util.LinkedHashMap;
+            import java.util.List;
+            import java.util.Map;
+            import java.util.prefs.BackingStoreException;
+            import java.util.prefs.PreferenceChangeEvent;
+            import java.util.prefs.PreferenceChangeListener;
+            import java.util.prefs.Preferences;
+
+            import org.tquadrat.foundation.config.spi.prefs.PreferencesException;
+
+            public final class PrefBean
+            {
+                public static final class Accessor
+                {
+                    private final String m_Key;
+                    private int m_Reads = 0;
+                    private String m_Value = null;
+
+                    Accessor( final String key ) { m_Key = key; }
+
+                    public final int getReads() { return m_Reads; }
+                    public final String getValue() { return m_Value; }
+
+                    final void readPreference( final Preferences node )
+                    {
+                        m_Value = node.get( m_Key, null );
+                        ++m_Reads;
+                    }
+                }
+
+                private interface Unlock extends AutoCloseable
+                {
+                    @Override
+                    void close();
+                }
+
+                private static final class Lock
+                {
+                    private int m_Count = 0;
+
+                    final Unlock lock()
+                    {
+                        ++m_Count;
+                        return () -> {};
+                    }
+                }
+
+                private static final class PreferenceChangeListenerImpl implements PreferenceChangeListener
+                {
+                    PreferenceChangeListenerImpl( final Object registry, final Lock lock ) {}
+
+                    @Override
+                    public final void preferenceChange( final PreferenceChangeEvent event ) {}
+                }
+
+                %1$s
+                %2$s
+                %3$s
+                private final Map<String, Accessor> m_Accessors = new LinkedHashMap<>();
+                private final Map<String, Integer> m_Indexes = new HashMap<>();
+                %4$s
+                private final Object m_AccessorsRegistry = null;
+                private final Lock m_ReadLock = new Lock();
+                private final Lock m_WriteLock = new Lock();
+                private final Preferences m_UserPreferences;
+
+                public PrefBean( final Preferences node ) { m_UserPreferences = node; }
+
+                public final Accessor getAccessor( final String key ) { return m_Accessors.get( key ); }
+                public final List<String> getKeys() { return List.copyOf( m_Accessors.keySet() ); }
+                public final int getWriteLocks() { return m_WriteLock.m_Count; }
+                public final boolean isModified( final String key ) { return m_DirtyPreferences.get( m_Indexes.get( key ) ); }
+                public final void modify( final String key ) { m_DirtyPreferences.set( m_Indexes.get( key ) ); }
+
+                private final Accessor register( final String key, final int index )
+                {
+                    final var retValue = new Accessor( key );
+                    m_Accessors.put( key, retValue );
+                    m_Indexes.put( key, index );
+                    return retValue;
+                }
+
+                %5$s
+                %6$s
+                %7$s
+            }
+            """,
+            extractStatement( source, "private final BitSet m_DirtyPreferences" ),
+            extractStatement( source, "private final Map<String, List<Object>> m_PreferenceSnapshots" ),
+            extractStatement( source, "private PreferenceChangeListenerImpl m_PreferenceChangeListener" ),
+            accessors,
+            load,
+            extractBlock( source, "public final void loadAllPreferences()" ),
+            extractBlock( source, "private static final List<Object> takePreferenceSnapshot(" ) );
+        final var retValue = compileClass( folder, "PrefBean", classSource );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  compileLoadPreferences()
+
+    /**
+     *  Generates the code for the configuration bean.
+     *
+     *  @param  flag    {@code true} if debug output should be created,
+     *      {@code false} if not.
+     *  @return The source of the configuration bean.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    private final String createSource( final boolean flag ) throws Exception
+    {
+        final var header = format( "%n//----< %2$s >%1$s", "-".repeat( 80 ), "testIncrementalPreferencesLoad" ).substring( 0, 80 );
+
+        final APHelper environment = mock( APHelper.class );
+        final var configuration = createConfiguration( "PrefBean", "PrefSpec", environment, flag );
+        assertNotNull( configuration );
+        configuration.setIncrementalPreferencesLoad( true );
+
+        //---* Add the interfaces to implement *-------------------------------
+        final var interfacesToImplement = List.of( ClassName.from( ConfigBeanSpec.class ), ClassName.from( PreferencesBeanSpec.class ) );
+        configuration.addInterfacesToImplement( interfacesToImplement );
+
+        //---* Add the properties *--------------------------------------------
+        createPropertiesForConfigBeanSpec( configuration );
+        createCustomProperties1( configuration );
+        createCustomProperties2( configuration );
+
+        //---* Create the code *-----------------------------------------------
+        replayAll();
+        final var candidate = new CodeGenerator( configuration );
+        assertNotNull( candidate );
+
+        final var code = candidate.createCode();
+        assertNotNull( code );
+        final var actual = new StringBuilder();
+        code.writeTo( actual );
+        assertTrue( isNotEmptyOrBlank( actual ) );
+        if( flag )
+        {
+            out.println( header );
+            out.println( actual );
+            out.println( header );
+            out.println();
+        }
+        final var retValue = actual.toString();
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  createSource()
+
+    /**
+     *  A test for the code generation.
+     *
+     *  @param  flag    {@code true} if debug output should be created,
+     *      {@code false} if not.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @ParameterizedTest( name = "testCodeGeneration [{index}] = {0}" )
+    @ValueSource( booleans = { true, false } )
+    final void testCodeGeneration( final boolean flag ) throws Exception
+    {
+        skipThreadTest();
+
+        final var source = createSource( flag );
+        assertTrue( source.contains( "private final Map<String, List<Object>> m_PreferenceSnapshots = new HashMap<>();" ) );
+        assertTrue( source.contains( "private static final List<Object> takePreferenceSnapshot( final Preferences node, final String key ) throws BackingStoreException" ) );
+        assertTrue( source.contains( "public final void loadAllPreferences()" ) );
+        assertFalse( source.contains( "addPreferenceChangeListener( event ->" ) );
+
+        /*
+         * The backing store is accessed before the locks are taken; the
+         * snapshot is stored only after the preference was read.
+         */
+        final var load = extractBlock( source, "public final void loadPreferences()" );
+        final var sync = load.indexOf( "m_UserPreferences.sync();" );
+        final var snapshot = load.indexOf( "snapshots.put( \"date1\", takePreferenceSnapshot( m_UserPreferences, \"date1\" ) );" );
+        final var readLock = load.indexOf( "try( final var ignore = m_ReadLock.lock() )" );
+        final var writeLock = load.indexOf( "try( final var ignore = m_WriteLock.lock() )" );
+        final var read = load.indexOf( "m_Date1Accessor.readPreference( m_UserPreferences );" );
+        final var put = load.indexOf( "m_PreferenceSnapshots.put( \"date1\", snapshots.get( \"date1\" ) );" );
+        assertTrue( sync >= 0 );
+        assertTrue( snapshot > sync );
+        assertTrue( readLock > snapshot );
+        assertTrue( writeLock > readLock );
+        assertTrue( read > writeLock );
+        assertTrue( put > read );
+    }   //  testCodeGeneration()
+
+    /**
+     *  Tests the generated methods {@code loadPreferences()} and
+     *  {@code loadAllPreferences()}.
+     *
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @Test
+    final void testLoad() throws Exception
+    {
+        skipThreadTest();
+
+        final var folder = Files.createTempDirectory( "TestIncrementalPreferencesLoad" );
+        final var file = folder.resolve( "test.prefs" );
+        try
+        {
+            final var beanClass = compileLoadPreferences( createSource( false ), folder );
+            final var writer = new FilePreferences( file ).node( "org/tquadrat/test" );
+            final var bean = beanClass.getConstructor( Preferences.class ).newInstance( new FilePreferences( file ).node( "org/tquadrat/test" ) );
+            final var loadPreferences = beanClass.getMethod( "loadPreferences" );
+            final var getWriteLocks = beanClass.getMethod( "getWriteLocks" );
+            final var getAccessor = beanClass.getMethod( "getAccessor", String.class );
+            final var accessorClass = getAccessor.getReturnType();
+            final var getReads = accessorClass.getMethod( "getReads" );
+            final var getValue = accessorClass.getMethod( "getValue" );
+            @SuppressWarnings( "unchecked" )
+            final var keys = (List<String>) beanClass.getMethod( "getKeys" ).invoke( bean );
+            assertTrue( keys.size() > 1 );
+            final var key0 = keys.get( 0 );
+            final var key1 = keys.get( 1 );
+            final var accessor0 = getAccessor.invoke( bean, key0 );
+            final var accessor1 = getAccessor.invoke( bean, key1 );
+
+            writer.put( key0, "value1" );
+            writer.flush();
+
+            //---* The first load reads all preferences *----------------------
+            loadPreferences.invoke( bean );
+            assertEquals( 1, getWriteLocks.invoke( bean ) );
+            for( final var key : keys ) assertEquals( 1, getReads.invoke( getAccessor.invoke( bean, key ) ) );
+            assertEquals( "value1", getValue.invoke( accessor0 ) );
+
+            //---* Without modifications, the write lock is not taken *--------
+            loadPreferences.invoke( bean );
+            assertEquals( 1, getWriteLocks.invoke( bean ) );
+            for( final var key : keys ) assertEquals( 1, getReads.invoke( getAccessor.invoke( bean, key ) ) );
+
+            //---* A modification in the backing store is loaded *-------------
+            writer.put( key0, "value2" );
+            writer.flush();
+            loadPreferences.invoke( bean );
+            assertEquals( 2, getWriteLocks.invoke( bean ) );
+            assertEquals( 2, getReads.invoke( accessor0 ) );
+            assertEquals( 1, getReads.invoke( accessor1 ) );
+            assertEquals( "value2", getValue.invoke( accessor0 ) );
+
+            //---* A modified value is read again, as with the full load *-----
+            beanClass.getMethod( "modify", String.class ).invoke( bean, key1 );
+            loadPreferences.invoke( bean );
+            assertEquals( 3, getWriteLocks.invoke( bean ) );
+            assertEquals( 2, getReads.invoke( accessor0 ) );
+            assertEquals( 2, getReads.invoke( accessor1 ) );
+            assertFalse( (Boolean) beanClass.getMethod( "isModified", String.class ).invoke( bean, key1 ) );
+
+            //---* The full load reads all preferences again *-----------------
+            beanClass.getMethod( "loadAllPreferences" ).invoke( bean );
+            assertEquals( 3, getReads.invoke( accessor0 ) );
+            assertEquals( 3, getReads.invoke( accessor1 ) );
+        }
+        finally
+        {
+            try( final var paths = Files.list( folder ) )
+            {
+                for( final var path : paths.toList() ) Files.deleteIfExists( path );
+            }
+            Files.deleteIfExists( folder );
+        }
+    }   //  testLoad()
+
+    /**
+     *  Tests that the generated method {@code takePreferenceSnapshot()}
+     *  detects the modifications that were made through another
+     *  preferences tree on the same backing store, as another JVM would do;
+     *  no change events will be fired for these.
+     *
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @Test
+    final void testSnapshot() throws Exception
+    {
+        skipThreadTest();
+
+        final var folder = Files.createTempDirectory( "TestIncrementalPreferencesLoad" );
+        final var file = folder.resolve( "test.prefs" );
+        try
+        {
+            final var method = compileTakePreferenceSnapshot( createSource( false ), folder );
+
+            final var writer = new FilePreferences( file ).node( "org/tquadrat/test" );
+            writer.put( "key1", "value1" );
+            writer.node( "list1" ).put( "0", "element0" );
+            writer.flush();
+
+            final var reader = new FilePreferences( file ).node( "org/tquadrat/test" );
+            final var value1 = method.invoke( null, reader, "key1" );
+            final var list1 = method.invoke( null, reader, "list1" );
+            final var missing = method.invoke( null, reader, "missing" );
+            assertEquals( value1, method.invoke( null, reader, "key1" ) );
+            assertEquals( list1, method.invoke( null, reader, "list1" ) );
+            assertEquals( missing, method.invoke( null, reader, "missing" ) );
+
+            //---* Modify the preferences through the other tree *-------------
+            writer.put( "key1", "value2" );
+            writer.node( "list1" ).put( "1", "element1" );
+            writer.put( "missing", "found" );
+            writer.flush();
+            reader.sync();
+
+            assertNotEquals( value1, method.invoke( null, reader, "key1" ) );
+            assertNotEquals( list1, method.invoke( null, reader, "list1" ) );
+            assertNotEquals( missing, method.invoke( null, reader, "missing" ) );
+
+            //---* Keys that are no valid path *-------------------------------
+            writer.put( "a//b", "value" );
+            writer.flush();
+            reader.sync();
+            assertEquals( List.of( "value" ), method.invoke( null, reader, "a//b" ) );
+        }
+        finally
+        {
+            try( final var paths = Files.list( folder ) )
+            {
+                for( final var path : paths.toList() ) Files.deleteIfExists( path );
+            }
+            Files.deleteIfExists( folder );
+        }
+    }   //  testSnapshot()
+}
+//  class TestIncrementalPreferencesLoad
+
+/*
+ *  End of File
+ */
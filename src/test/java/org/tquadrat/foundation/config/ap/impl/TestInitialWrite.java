@@ -0,0 +1,323 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package org.tquadrat.foundation.config.ap.impl;
+
+import static java.lang.Integer.parseInt;
+import static java.lang.String.format;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.prefs.Preferences;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.tquadrat.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.ap.APHelper;
+import org.tquadrat.foundation.config.ConfigBeanSpec;
+import org.tquadrat.foundation.config.INIBeanSpec;
+import org.tquadrat.foundation.config.PreferencesBeanSpec;
+import org.tquadrat.foundation.inifile.INIFile;
+import org.tquadrat.foundation.javacomposer.ClassName;
+import org.tquadrat.foundation.test.helper.CodeGeneratorTestBase;
+
+/**
+ *  Tests that the first call to {@code updateINIFile()} or
+ *  {@code updatePreferences()} writes all values of a configuration bean,
+ *  while the following calls write only the modified ones.
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id$
+ */
+@ClassVersion( sourceVersion = "$Id$" )
+@DisplayName( "org.tquadrat.foundation.config.ap.impl.TestInitialWrite" )
+public class TestInitialWrite extends CodeGeneratorTestBase
+{
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Deletes the given folder together with its contents.
+     *
+     *  @param  folder  The folder.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    private static final void deleteFolder( final Path folder ) throws Exception
+    {
+        try( final var paths = Files.list( folder ) )
+        {
+            for( final var path : paths.toList() ) Files.deleteIfExists( path );
+        }
+        Files.deleteIfExists( folder );
+    }   //  deleteFolder()
+
+    /**
+     *  Generates the source for a configuration bean that implements the
+     *  given interface.
+     *
+     *  @param  className   The name of the configuration bean class.
+     *  @param  specName    The name of the configuration bean specification.
+     *  @param  specType    The interface that adds the persistence.
+     *  @return The source.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    private final String createSource( final String className, final String specName, final Class<?> specType ) throws Exception
+    {
+        final APHelper environment = mock( APHelper.class );
+        final var configuration = createConfiguration( className, specName, environment, false, false );
+        assertNotNull( configuration );
+        configuration.addInterfacesToImplement( List.of( ClassName.from( ConfigBeanSpec.class ), ClassName.from( specType ) ) );
+        createPropertiesForConfigBeanSpec( configuration );
+        if( specType == INIBeanSpec.class )
+        {
+            createPropertiesForINIBeanSpec( configuration );
+        }
+        else
+        {
+            createCustomProperties1( configuration );
+        }
+
+        replayAll();
+        final var code = new CodeGenerator( configuration ).createCode();
+        final var actual = new StringBuilder();
+        code.writeTo( actual );
+        final var retValue = actual.toString();
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  createSource()
+
+    /**
+     *  Tests the generated {@code updateINIFile()} method; it is compiled
+     *  into a stub for the configuration bean.
+     *
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @Test
+    final void testINIFile() throws Exception
+    {
+        skipThreadTest();
+
+        final var source = createSource( "INIBean", "INISpec", INIBeanSpec.class );
+        final var update = extractBlock( source, "public final void updateINIFile()" );
+        final var int1Position = update.indexOf( "\"int1Ini\"" );
+        final var matcher = Pattern.compile( "dirty\\.get\\( (\\d+) \\)" ).matcher( update.substring( update.lastIndexOf( "dirty.get( ", int1Position ) ) );
+        assertTrue( matcher.lookingAt() );
+        final var int1Index = parseInt( matcher.group( 1 ) );
+
+        final var classSource = format(
+            """
+            import java.io.IOException;
+            import java.nio.file.Path;
+            import java.time.Instant;
+            import java.util.BitSet;
+
+            import org.tquadrat.foundation.config.spi.prefs.PreferencesException;
+            import org.tquadrat.foundation.inifile.INIFile;
+            import org.tquadrat.foundation.lang.Lazy;
+            import org.tquadrat.foundation.util.stringconverter.*;
+
+            public final class INIBean
+            {
+                %1$s
+                %2$s
+                private final Lazy<INIFile> m_INIFile;
+                private Instant m_Date1Ini = Instant.EPOCH;
+                private int m_Int1Ini = 1;
+                private Integer m_Int2Ini = Integer.valueOf( 2 );
+                private String m_String1Ini = "default";
+
+                public INIBean( final Path path )
+                {
+                    m_INIFile = Lazy.use( () ->
+                    {
+                        try
+                        {
+                            return INIFile.open( path );
+                        }
+                        catch( final IOException e )
+                        {
+                            throw new ExceptionInInitializerError( e );
+                        }
+                    } );
+                }
+
+                private final void recordINIFileState() { /* Nothing to do */ }
+
+                public final void setInt1Ini( final int value )
+                {
+                    m_Int1Ini = value;
+                    m_DirtyINIValues.set( %3$d );
+                }
+
+                %4$s
+            }
+            """,
+            extractStatement( source, "private final BitSet m_DirtyINIValues" ),
+            extractStatement( source, "private boolean m_INIValuesPersisted" ),
+            int1Index,
+            update );
+
+        final var folder = Files.createTempDirectory( "TestInitialWrite" );
+        final var file = folder.resolve( "test.ini" );
+        try
+        {
+            final var beanClass = compileClass( folder, "INIBean", classSource );
+            final var bean = beanClass.getConstructor( Path.class ).newInstance( file );
+            final var updateINIFile = beanClass.getMethod( "updateINIFile" );
+
+            //---* The first write creates the file with all values *---------
+            assertFalse( Files.exists( file ) );
+            updateINIFile.invoke( bean );
+            assertTrue( Files.exists( file ) );
+            var iniFile = INIFile.open( file );
+            assertEquals( "1", iniFile.getValue( "Group1", "int1Ini" ).orElse( null ) );
+            assertEquals( "2", iniFile.getValue( "Group1", "int2Ini" ).orElse( null ) );
+            assertEquals( "default", iniFile.getValue( "Group1", "string1Ini" ).orElse( null ) );
+            assertTrue( iniFile.getValue( "Group1", "date1Ini" ).isPresent() );
+
+            //---* Without modifications, nothing will be written *------------
+            Files.delete( file );
+            updateINIFile.invoke( bean );
+            assertFalse( Files.exists( file ) );
+
+            //---* A modification will be written *----------------------------
+            beanClass.getMethod( "setInt1Ini", int.class ).invoke( bean, 5 );
+            updateINIFile.invoke( bean );
+            iniFile = INIFile.open( file );
+            assertEquals( "5", iniFile.getValue( "Group1", "int1Ini" ).orElse( null ) );
+        }
+        finally
+        {
+            deleteFolder( folder );
+        }
+    }   //  testINIFile()
+
+    /**
+     *  Tests the generated {@code updatePreferences()} method; it is compiled
+     *  into a stub for the configuration bean that replaces the preference
+     *  accessors by instances that write a fixed value.
+     *
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @Test
+    final void testPreferences() throws Exception
+    {
+        skipThreadTest();
+
+        final var source = createSource( "PrefBean", "PrefSpec", PreferencesBeanSpec.class );
+        final var update = extractBlock( source, "public final void updatePreferences()" );
+        final var accessors = new StringBuilder();
+        var count = 0;
+        for( final var matcher = Pattern.compile( "(m_\\w+Accessor)\\.writePreference" ).matcher( update ); matcher.find(); ++count )
+        {
+            accessors.append( format( "private final Accessor %1$s = new Accessor( \"%1$s\" );%n", matcher.group( 1 ) ) );
+        }
+        assertTrue( count > 1 );
+
+        final var classSource = format(
+            """
+            import java.util.BitSet;
+            import java.util.prefs.BackingStoreException;
+            import java.util.prefs.Preferences;
+
+            import org.tquadrat.foundation.config.spi.prefs.PreferencesException;
+            import org.tquadrat.foundation.test.prefs.MemoryPreferences;
+
+            public final class PrefBean
+            {
+                private static final class Accessor
+                {
+                    private final String m_Key;
+
+                    Accessor( final String key ) { m_Key = key; }
+
+                    final void writePreference( final Preferences node ) { node.put( m_Key, "value" ); }
+                }
+
+                private interface Unlock extends AutoCloseable
+                {
+                    @Override
+                    void close();
+                }
+
+                private static final class WriteLock
+                {
+                    final Unlock lock() { return () -> {}; }
+                }
+
+                %1$s
+                %2$s
+                %3$s
+                private final WriteLock m_WriteLock = new WriteLock();
+                private final Preferences m_UserPreferences = new MemoryPreferences();
+
+                public PrefBean() {}
+
+                public final Preferences getNode() { return m_UserPreferences; }
+
+                public final void modify( final int index ) { m_DirtyPreferences.set( index ); }
+
+                %4$s
+            }
+            """,
+            extractStatement( source, "private final BitSet m_DirtyPreferences" ),
+            extractStatement( source, "private boolean m_PreferencesPersisted" ),
+            accessors,
+            update );
+
+        final var folder = Files.createTempDirectory( "TestInitialWrite" );
+        try
+        {
+            final var beanClass = compileClass( folder, "PrefBean", classSource );
+            final var bean = beanClass.getConstructor().newInstance();
+            final var node = (Preferences) beanClass.getMethod( "getNode" ).invoke( bean );
+            final var updatePreferences = beanClass.getMethod( "updatePreferences" );
+
+            //---* The first write takes all preferences *---------------------
+            assertEquals( 0, node.keys().length );
+            updatePreferences.invoke( bean );
+            assertEquals( count, node.keys().length );
+
+            //---* Without modifications, nothing will be written *------------
+            node.clear();
+            updatePreferences.invoke( bean );
+            assertEquals( 0, node.keys().length );
+
+            //---* A modification will be written *----------------------------
+            beanClass.getMethod( "modify", int.class ).invoke( bean, 0 );
+            updatePreferences.invoke( bean );
+            assertEquals( 1, node.keys().length );
+        }
+        finally
+        {
+            deleteFolder( folder );
+        }
+    }   //  testPreferences()
+}
+//  class TestInitialWrite
+
+/*
+ *  End of File
+ */
@@ -0,0 +1,566 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.config.ap.impl;
+
+import static java.lang.String.format;
+import static java.lang.System.out;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.tquadrat.foundation.config.ap.PropertySpec.PropertyFlag.PROPERTY_REQUIRES_SYNCHRONIZATION;
+import static org.tquadrat.foundation.config.ap.PropertySpec.PropertyFlag.SYSTEM_PREFERENCE;
+import static org.tquadrat.foundation.config.ap.impl.codebuilders.ConfigBeanBuilder.PREFERENCE_DISPATCHER_CLASS_NAME;
+import static org.tquadrat.foundation.config.ap.impl.codebuilders.ConfigBeanBuilder.PREFERENCE_HOLDER_CLASS_NAME;
+import static org.tquadrat.foundation.util.StringUtils.isNotEmptyOrBlank;
+
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.tquadrat.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.ap.APHelper;
+import org.tquadrat.foundation.config.CLIBeanSpec;
+import org.tquadrat.foundation.config.ConfigBeanSpec;
+import org.tquadrat.foundation.config.PreferencesBeanSpec;
+import org.tquadrat.foundation.config.ap.CodeGenerationConfiguration;
+import org.tquadrat.foundation.config.ap.impl.codebuilders.CLIBeanBuilder;
+import org.tquadrat.foundation.config.ap.impl.codebuilders.MapImplementor;
+import org.tquadrat.foundation.config.spi.prefs.StringAccessor;
+import org.tquadrat.foundation.javacomposer.ClassName;
+import org.tquadrat.foundation.test.NameImpl;
+import org.tquadrat.foundation.test.helper.CodeGeneratorTestBase;
+import org.tquadrat.foundation.util.stringconverter.StringStringConverter;
+
+/**
+ *  Tests the generation of a configuration bean with
+ *  {@linkplain org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor#OPTION_LambdaFree lambda-free code}.
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: TestLambdaFreeCode.java 1171 2026-10-18 11:02:17Z tquadrat $
+ */
+@ClassVersion( sourceVersion = "$Id: TestLambdaFreeCode.java 1171 2026-10-18 11:02:17Z tquadrat $" )
+@DisplayName( "org.tquadrat.foundation.config.ap.impl.TestLambdaFreeCode" )
+public class TestLambdaFreeCode extends CodeGeneratorTestBase
+{
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Compiles the generated dispatch methods and the classes
+     *  {@value org.tquadrat.foundation.config.ap.impl.codebuilders.ConfigBeanBuilder#PREFERENCE_DISPATCHER_CLASS_NAME}
+     *  and
+     *  {@value org.tquadrat.foundation.config.ap.impl.codebuilders.ConfigBeanBuilder#PREFERENCE_HOLDER_CLASS_NAME}
+     *  into a stub for the configuration bean with the properties
+     *  &quot;host&quot; and &quot;port&quot;.
+     *
+     *  @param  source  The source of the configuration bean with the
+     *      dispatcher.
+     *  @param  lazySource  The source of the configuration bean with the
+     *      holder.
+     *  @param  folder  The folder for the compiled class.
+     *  @return The class for the stub.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    private static final Class<?> compileDispatcher( final String source, final String lazySource, final Path folder ) throws Exception
+    {
+        final var classSource = format(
+            """
+            import org.tquadrat.foundation.function.Getter;
+            import org.tquadrat.foundation.function.Setter;
+
+            public final class ConfigBean
+            {
+                private String m_Host;
+                private String m_Port;
+
+                public final Object read( final String propertyName ) { return new %3$s<Object>( this, propertyName ).get(); }
+
+                public final void write( final String propertyName, final Object value ) { new %3$s<Object>( this, propertyName ).set( value ); }
+
+                public final String hold( final String value )
+                {
+                    final var holder = new %4$s<String>();
+                    holder.set( value );
+                    return holder.get();
+                }
+
+                %1$s
+                %2$s
+                %5$s
+                %6$s
+            }
+            """,
+            extractBlock( source, "private final Object retrievePreferenceValue( final String propertyName )" ),
+            extractBlock( source, "private final void assignPreferenceValue( final String propertyName, final Object value )" ),
+            PREFERENCE_DISPATCHER_CLASS_NAME,
+            PREFERENCE_HOLDER_CLASS_NAME,
+            extractBlock( source, "private static final class %s<T>".formatted( PREFERENCE_DISPATCHER_CLASS_NAME ) ),
+            extractBlock( lazySource, "private static final class %s<T>".formatted( PREFERENCE_HOLDER_CLASS_NAME ) ) );
+        final var retValue = compileClass( folder, "ConfigBean", classSource );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  compileDispatcher()
+
+    /**
+     *  Generates the source for a configuration bean that implements
+     *  {@link CLIBeanSpec}.
+     *
+     *  @param  flag    {@code true} if debug output should be created,
+     *      {@code false} if not.
+     *  @return The source.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    private final String createCLISource( final boolean flag ) throws Exception
+    {
+        final var header = format( "%n//----< %2$s >%1$s", "-".repeat( 80 ), "testCLICodeGeneration" ).substring( 0, 80 );
+
+        final APHelper environment = mock( APHelper.class );
+        final var configuration = createCLIConfiguration( environment, flag );
+        assertNotNull( configuration );
+        configuration.setLambdaFree( true );
+
+        //---* Add the interfaces to implement *-------------------------------
+        final var interfacesToImplement = List.of( ClassName.from( ConfigBeanSpec.class ), ClassName.from( CLIBeanSpec.class ) );
+        configuration.addInterfacesToImplement( interfacesToImplement );
+
+        //---* Add the properties *--------------------------------------------
+        createPropertiesForConfigBeanSpec( configuration );
+        createCustomProperties1( configuration );
+        createCustomProperties2( configuration );
+
+        //---* Run the generator *---------------------------------------------
+        replayAll();
+        final var retValue = generate( configuration, header, flag );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  createCLISource()
+
+    /**
+     *  Generates the source for a configuration bean that implements
+     *  {@link Map}.
+     *
+     *  @param  flag    {@code true} if debug output should be created,
+     *      {@code false} if not.
+     *  @return The source.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    private final String createMapSource( final boolean flag ) throws Exception
+    {
+        final var header = format( "%n//----< %2$s >%1$s", "-".repeat( 80 ), "testMapCodeGeneration" ).substring( 0, 80 );
+
+        final APHelper environment = mock( APHelper.class );
+        final var configuration = createConfiguration( environment, flag );
+        assertNotNull( configuration );
+        configuration.setLambdaFree( true );
+
+        //---* Add the interfaces to implement *-------------------------------
+        final var interfacesToImplement = List.of( ClassName.from( ConfigBeanSpec.class ), ClassName.from( Map.class ) );
+        configuration.addInterfacesToImplement( interfacesToImplement );
+
+        //---* Add the properties *--------------------------------------------
+        createPropertiesForConfigBeanSpec( configuration );
+        createCustomProperties1( configuration );
+        createCustomProperties2( configuration );
+
+        //---* Run the generator *---------------------------------------------
+        replayAll();
+        final var retValue = generate( configuration, header, flag );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  createMapSource()
+
+    /**
+     *  Generates the source for a configuration bean with properties that
+     *  are initialised from the SYSTEM {@code Preferences}.
+     *
+     *  @param  flag    {@code true} if debug output should be created,
+     *      {@code false} if not.
+     *  @param  lazy    {@code true} if the properties should be initialised
+     *      lazily, {@code false} otherwise.
+     *  @return The source.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    private final String createSystemPreferenceSource( final boolean flag, final boolean lazy ) throws Exception
+    {
+        final var header = format( "%n//----< %2$s >%1$s", "-".repeat( 80 ), "testSystemPreferenceCodeGeneration" ).substring( 0, 80 );
+
+        final APHelper environment = mock( APHelper.class );
+        final var configuration = createConfiguration( "ConfigBean", "ConfigSpec", environment, flag );
+        assertNotNull( configuration );
+        configuration.setLambdaFree( true );
+        configuration.setLazyInitialisation( lazy );
+
+        //---* Add the interfaces to implement *-------------------------------
+        final var interfacesToImplement = List.of( ClassName.from( ConfigBeanSpec.class ) );
+        configuration.addInterfacesToImplement( interfacesToImplement );
+
+        //---* Add the properties *--------------------------------------------
+        createPropertiesForConfigBeanSpec( configuration );
+        createSystemPrefsProperty( configuration, "host" );
+        createSystemPrefsProperty( configuration, "port" );
+
+        //---* Run the generator *---------------------------------------------
+        final var retValue = generate( configuration, header, flag );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  createSystemPreferenceSource()
+
+    /**
+     *  Adds a property that is initialised from the SYSTEM
+     *  {@code Preferences} to the given configuration.
+     *
+     *  @param  configuration   The configuration.
+     *  @param  name    The name of the property; it is used as the key, too.
+     */
+    private static final void createSystemPrefsProperty( final CodeGenerationConfiguration configuration, final String name )
+    {
+        final var property = new PropertySpecImpl( name );
+        configuration.addProperty( property );
+        property.setFlag( SYSTEM_PREFERENCE );
+        property.setGetterMethodName( new NameImpl( format( "get%s", name.substring( 0, 1 ).toUpperCase() + name.substring( 1 ) ) ) );
+        property.setGetterReturnType( ClassName.from( String.class ) );
+        property.setPropertyType( ClassName.from( String.class ) );
+        property.setFieldName( format( "m_%s", name.substring( 0, 1 ).toUpperCase() + name.substring( 1 ) ) );
+        property.setStringConverterClass( ClassName.from( StringStringConverter.class ) );
+        if( configuration.getSynchronizationRequired() ) property.setFlag( PROPERTY_REQUIRES_SYNCHRONIZATION );
+
+        property.setSystemPrefsPath( "/org/tquadrat/foundation/test" );
+        property.setPrefsKey( name );
+        property.setPrefsAccessorClass( ClassName.from( StringAccessor.class ) );
+    }   //  createSystemPrefsProperty()
+
+    /**
+     *  A test for the code generation with the interface
+     *  {@link CLIBeanSpec}.
+     *
+     *  @param  flag    {@code true} if debug output should be created,
+     *      {@code false} if not.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @ParameterizedTest( name = "testCLICodeGeneration [{index}] = {0}" )
+    @ValueSource( booleans = { true, false } )
+    final void testCLICodeGeneration( final boolean flag ) throws Exception
+    {
+        skipThreadTest();
+
+        final var source = createCLISource( flag );
+        assertEquals( "final BiConsumer<String, Instant> lambda = new %s<>();".formatted( CLIBeanBuilder.ASSIGNER_CLASS_NAME ), extractStatement( source, "final BiConsumer<String, Instant> lambda" ) );
+        assertEquals( "case \"date1\" -> m_Date1 = (Instant) value;", extractStatement( source, "case \"date1\" -> m_Date1" ) );
+        assertTrue( source.contains( "private final void assignCLIValue( final String propertyName, final Object value )" ) );
+        assertFalse( source.contains( "(propertyName,value) ->" ) );
+    }   //  testCLICodeGeneration()
+
+    /**
+     *  Compiles the generated class
+     *  {@value org.tquadrat.foundation.config.ap.impl.codebuilders.CLIBeanBuilder#ASSIGNER_CLASS_NAME}
+     *  into a stub and checks that it forwards the values to
+     *  {@code assignCLIValue()}.
+     *
+     *  @param  tempDir The folder for the compiled classes.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @Test
+    final void testCLIValueAssigner( @TempDir final Path tempDir ) throws Exception
+    {
+        skipThreadTest();
+
+        final var source = createCLISource( false );
+        final var classSource = format(
+            """
+            import java.util.function.BiConsumer;
+
+            public final class ConfigBean
+            {
+                private String m_PropertyName;
+                private Object m_Value;
+
+                public final String assign( final String propertyName, final Object value )
+                {
+                    final BiConsumer<String, Object> lambda = new %2$s<>();
+                    lambda.accept( propertyName, value );
+                    return "%%s=%%s".formatted( m_PropertyName, m_Value );
+                }
+
+                private final void assignCLIValue( final String propertyName, final Object value )
+                {
+                    m_PropertyName = propertyName;
+                    m_Value = value;
+                }
+
+                %1$s
+            }
+            """,
+            extractBlock( source, "private final class %s<T>".formatted( CLIBeanBuilder.ASSIGNER_CLASS_NAME ) ),
+            CLIBeanBuilder.ASSIGNER_CLASS_NAME );
+        final var stubClass = compileClass( tempDir, "ConfigBean", classSource );
+        final var bean = stubClass.getConstructor().newInstance();
+        final var assign = stubClass.getMethod( "assign", String.class, Object.class );
+
+        assertEquals( "date1=value", assign.invoke( bean, "date1", "value" ) );
+        assertEquals( "int1=42", assign.invoke( bean, "int1", Integer.valueOf( 42 ) ) );
+    }   //  testCLIValueAssigner()
+
+    /**
+     *  A test for the code generation with the interface
+     *  {@link Map}.
+     *
+     *  @param  flag    {@code true} if debug output should be created,
+     *      {@code false} if not.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @ParameterizedTest( name = "testMapCodeGeneration [{index}] = {0}" )
+    @ValueSource( booleans = { true, false } )
+    final void testMapCodeGeneration( final boolean flag ) throws Exception
+    {
+        skipThreadTest();
+
+        final var source = createMapSource( flag );
+        assertEquals( "m_ShadowMap.put( \"date1\", new %1$s( \"date1\" ) );".formatted( MapImplementor.SUPPLIER_CLASS_NAME ), extractStatement( source, "m_ShadowMap.put( \"date1\"" ) );
+        assertEquals( "case \"date1\" -> m_Date1;", extractStatement( source, "case \"date1\" -> m_Date1" ) );
+        assertEquals(
+            """
+            public final boolean containsValue( final Object value )
+                {
+                    var retValue = false;
+                    for( final var iterator = values().iterator(); iterator.hasNext() && !retValue; )
+                    {
+                        retValue = Objects.equals( iterator.next(), value );
+                    }
+
+                    //---* Done *----------------------------------------------------------
+                    return retValue;
+                }""", extractBlock( source, "public final boolean containsValue( final Object value )" ) );
+        assertTrue( source.contains( "private final Object retrievePropertyValue( final String propertyName )" ) );
+        assertFalse( source.contains( "() -> m_Date1" ) );
+        assertFalse( source.contains( "anyMatch( v ->" ) );
+        assertFalse( source.contains( "Supplier::get" ) );
+    }   //  testMapCodeGeneration()
+
+    /**
+     *  Compiles the generated class
+     *  {@value org.tquadrat.foundation.config.ap.impl.codebuilders.MapImplementor#SUPPLIER_CLASS_NAME}
+     *  into a stub and checks that it retrieves the values through
+     *  {@code retrievePropertyValue()}.
+     *
+     *  @param  tempDir The folder for the compiled classes.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @Test
+    final void testPropertyValueSupplier( @TempDir final Path tempDir ) throws Exception
+    {
+        skipThreadTest();
+
+        final var source = createMapSource( false );
+        final var classSource = format(
+            """
+            import java.util.function.Supplier;
+
+            public final class ConfigBean
+            {
+                public final Object retrieve( final String propertyName ) { return new %2$s( propertyName ).get(); }
+
+                private final Object retrievePropertyValue( final String propertyName )
+                {
+                    return "date1".equals( propertyName ) ? "value" : null;
+                }
+
+                %1$s
+            }
+            """,
+            extractBlock( source, "private final class %s implements Supplier<Object>".formatted( MapImplementor.SUPPLIER_CLASS_NAME ) ),
+            MapImplementor.SUPPLIER_CLASS_NAME );
+        final var stubClass = compileClass( tempDir, "ConfigBean", classSource );
+        final var bean = stubClass.getConstructor().newInstance();
+        final var retrieve = stubClass.getMethod( "retrieve", String.class );
+
+        assertEquals( "value", retrieve.invoke( bean, "date1" ) );
+        assertEquals( null, retrieve.invoke( bean, "unknown" ) );
+    }   //  testPropertyValueSupplier()
+
+    /**
+     *  A test for the code generation with the interface
+     *  {@link PreferencesBeanSpec}.
+     *
+     *  @param  flag    {@code true} if debug output should be created,
+     *      {@code false} if not.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @ParameterizedTest( name = "testPreferencesCodeGeneration [{index}] = {0}" )
+    @ValueSource( booleans = { true, false } )
+    final void testPreferencesCodeGeneration( final boolean flag ) throws Exception
+    {
+        skipThreadTest();
+
+        final var header = format( "%n//----< %2$s >%1$s", "-".repeat( 80 ), "testPreferencesCodeGeneration" ).substring( 0, 80 );
+
+        final APHelper environment = mock( APHelper.class );
+        final var configuration = createConfiguration( "PrefBean", "PrefSpec", environment, flag );
+        assertNotNull( configuration );
+        configuration.setLambdaFree( true );
+
+        //---* Add the interfaces to implement *-------------------------------
+        final var interfacesToImplement = List.of( ClassName.from( ConfigBeanSpec.class ), ClassName.from( PreferencesBeanSpec.class ) );
+        configuration.addInterfacesToImplement( interfacesToImplement );
+
+        //---* Add the properties *--------------------------------------------
+        createPropertiesForConfigBeanSpec( configuration );
+        createCustomProperties1( configuration );
+        createCustomProperties2( configuration );
+
+        //---* Run the test *--------------------------------------------------
+        replayAll();
+        final var source = generate( configuration, header, flag );
+
+        assertEquals( "m_Date1Accessor = new SimplePreferenceAccessor<>( \"date1\", new %1$s<>( this, \"date1\" ), new %1$s<>( this, \"date1\" ), InstantStringConverter.INSTANCE );".formatted( PREFERENCE_DISPATCHER_CLASS_NAME ), extractStatement( source, "m_Date1Accessor = " ) );
+        assertEquals( "m_Int1Accessor = new PrimitiveIntAccessor( \"int1\", new %1$s<>( this, \"int1\" ), new %1$s<>( this, \"int1\" ) );".formatted( PREFERENCE_DISPATCHER_CLASS_NAME ), extractStatement( source, "m_Int1Accessor = " ) );
+        assertTrue( source.contains( "private static final class %s<T> implements Getter<T>, Setter<T>".formatted( PREFERENCE_DISPATCHER_CLASS_NAME ) ) );
+        assertEquals( "case \"date1\" -> m_Date1;", extractStatement( source, "case \"date1\" -> m_Date1" ) );
+        assertEquals( "case \"int1\" -> m_Int1 = (Integer) value;", extractStatement( source, "case \"int1\" -> m_Int1 = " ) );
+        assertFalse( source.contains( PREFERENCE_HOLDER_CLASS_NAME ) );
+        assertFalse( source.contains( "() -> m_" ) );
+        assertFalse( source.contains( "p -> m_" ) );
+    }   //  testPreferencesCodeGeneration()
+
+    /**
+     *  A test for the code generation of the properties that are initialised
+     *  from the SYSTEM {@code Preferences}.
+     *
+     *  @param  flag    {@code true} if debug output should be created,
+     *      {@code false} if not.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @ParameterizedTest( name = "testSystemPreferenceCodeGeneration [{index}] = {0}" )
+    @ValueSource( booleans = { true, false } )
+    final void testSystemPreferenceCodeGeneration( final boolean flag ) throws Exception
+    {
+        skipThreadTest();
+
+        final var source = createSystemPreferenceSource( flag, false );
+        assertEquals( "new StringAccessor( \"host\", new %1$s<>( this, \"host\" ), new %1$s<>( this, \"host\" ) ).readPreference( node );".formatted( PREFERENCE_DISPATCHER_CLASS_NAME ), extractStatement( source, "new StringAccessor( \"host\"" ) );
+        assertEquals( "new StringAccessor( \"port\", new %1$s<>( this, \"port\" ), new %1$s<>( this, \"port\" ) ).readPreference( node );".formatted( PREFERENCE_DISPATCHER_CLASS_NAME ), extractStatement( source, "new StringAccessor( \"port\"" ) );
+        assertEquals( "case \"host\" -> m_Host = (String) value;", extractStatement( source, "case \"host\" -> m_Host = " ) );
+        assertFalse( source.contains( PREFERENCE_HOLDER_CLASS_NAME ) );
+        assertFalse( source.contains( "p -> m_" ) );
+
+        final var lazySource = createSystemPreferenceSource( flag, true );
+        assertEquals(
+            """
+            m_Host = Lazy.use( () ->
+                    {
+                        final var value = new %s<String>();
+                        try
+                        {
+                            if( systemRoot().nodeExists( "/org/tquadrat/foundation/test" ) )
+                            {
+                                final var node = systemRoot().node( "/org/tquadrat/foundation/test" );
+                                final var accessor = new StringAccessor( "host", value, value );
+                                accessor.readPreference( node );
+                            }
+                        }
+                        catch( final BackingStoreException e )
+                        {
+                            throw new PreferencesException( e );
+                        }
+                        return value.get();
+                    }""".formatted( PREFERENCE_HOLDER_CLASS_NAME ), extractBlock( lazySource, "m_Host = Lazy.use(" ) );
+        assertTrue( lazySource.contains( "private static final class %s<T> implements Getter<T>, Setter<T>".formatted( PREFERENCE_HOLDER_CLASS_NAME ) ) );
+        assertFalse( lazySource.contains( PREFERENCE_DISPATCHER_CLASS_NAME ) );
+        assertFalse( lazySource.contains( "AtomicReference" ) );
+        assertFalse( lazySource.contains( "p -> value" ) );
+    }   //  testSystemPreferenceCodeGeneration()
+
+    /**
+     *  Compiles the generated dispatcher and holder classes and checks that
+     *  they read and write the property values.
+     *
+     *  @param  tempDir The folder for the compiled classes.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @Test
+    final void testSystemPreferenceDispatch( @TempDir final Path tempDir ) throws Exception
+    {
+        skipThreadTest();
+
+        final var stubClass = compileDispatcher( createSystemPreferenceSource( false, false ), createSystemPreferenceSource( false, true ), tempDir );
+        final var bean = stubClass.getConstructor().newInstance();
+        final var read = stubClass.getMethod( "read", String.class );
+        final var write = stubClass.getMethod( "write", String.class, Object.class );
+        final var hold = stubClass.getMethod( "hold", String.class );
+
+        assertEquals( null, read.invoke( bean, "host" ) );
+        write.invoke( bean, "host", "localhost" );
+        write.invoke( bean, "port", "8080" );
+        assertEquals( "localhost", read.invoke( bean, "host" ) );
+        assertEquals( "8080", read.invoke( bean, "port" ) );
+
+        final var e = assertThrows( InvocationTargetException.class, () -> read.invoke( bean, "unknown" ) );
+        assertTrue( e.getCause() instanceof IllegalArgumentException );
+        assertThrows( InvocationTargetException.class, () -> write.invoke( bean, "unknown", "value" ) );
+
+        assertEquals( "value", hold.invoke( bean, "value" ) );
+    }   //  testSystemPreferenceDispatch()
+
+    /**
+     *  Runs the code generator for the given configuration.
+     *
+     *  @param  configuration   The configuration.
+     *  @param  header  The header for the debug output.
+     *  @param  flag    {@code true} if debug output should be created,
+     *      {@code false} if not.
+     *  @return The generated source code.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    private static final String generate( final CodeGenerationConfiguration configuration, final String header, final boolean flag ) throws Exception
+    {
+        final var candidate = new CodeGenerator( configuration );
+        assertNotNull( candidate );
+
+        final var code = candidate.createCode();
+        assertNotNull( code );
+        final var actual = new StringBuilder();
+        code.writeTo( actual );
+        assertTrue( isNotEmptyOrBlank( actual ) );
+        if( flag )
+        {
+            out.println( header );
+            out.println( actual );
+            out.println( header );
+            out.println();
+        }
+
+        //---* Done *----------------------------------------------------------
+        return actual.toString();
+    }   //  generate()
+}
+//  class TestLambdaFreeCode
+
+/*
+ *  End of File
+ */
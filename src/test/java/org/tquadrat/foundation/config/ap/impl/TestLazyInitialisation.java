@@ -0,0 +1,145 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.config.ap.impl;
+
+import static java.lang.String.format;
+import static java.lang.System.out;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.tquadrat.foundation.util.StringUtils.isNotEmptyOrBlank;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.tquadrat.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.ap.APHelper;
+import org.tquadrat.foundation.config.ConfigBeanSpec;
+import org.tquadrat.foundation.javacomposer.ClassName;
+import org.tquadrat.foundation.test.helper.CodeGeneratorTestBase;
+
+/**
+ *  Tests the generation of a configuration bean with
+ *  {@linkplain org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor#OPTION_LazyInitialisation lazy initialisation}
+ *  of the eligible properties.
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: TestLazyInitialisation.java 1170 2026-10-18 10:12:41Z tquadrat $
+ */
+@ClassVersion( sourceVersion = "$Id: TestLazyInitialisation.java 1170 2026-10-18 10:12:41Z tquadrat $" )
+@DisplayName( "org.tquadrat.foundation.config.ap.impl.TestLazyInitialisation" )
+public class TestLazyInitialisation extends CodeGeneratorTestBase
+{
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  A test for the code generation.
+     *
+     *  @param  flag    {@code true} if debug output should be created,
+     *      {@code false} if not.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @ParameterizedTest( name = "testCodeGeneration [{index}] = {0}" )
+    @ValueSource( booleans = { true, false } )
+    final void testCodeGeneration( final boolean flag ) throws Exception
+    {
+        skipThreadTest();
+
+        final var header = format( "%n//----< %2$s >%1$s", "-".repeat( 80 ), "testLazyInitialisation" ).substring( 0, 80 );
+
+        final APHelper environment = mock( APHelper.class );
+        final var configuration = createConfiguration( "ConfigBean", "ConfigSpec", environment, flag );
+        assertNotNull( configuration );
+        configuration.setLazyInitialisation( true );
+
+        //---* Add the interfaces to implement *-------------------------------
+        final var interfacesToImplement = List.of( ClassName.from( ConfigBeanSpec.class ) );
+        configuration.addInterfacesToImplement( interfacesToImplement );
+
+        //---* Add the properties *--------------------------------------------
+        createPropertiesForConfigBeanSpec( configuration );
+        createPropertiesForSystemPrefsInit( configuration );
+        createProperty_random( configuration );
+
+        //---* Run the test *--------------------------------------------------
+        replayAll();
+        final var candidate = new CodeGenerator( configuration );
+        assertNotNull( candidate );
+
+        final var code = candidate.createCode();
+        assertNotNull( code );
+        final var actual = new StringBuilder();
+        code.writeTo( actual );
+        assertTrue( isNotEmptyOrBlank( actual ) );
+        if( flag )
+        {
+            out.println( header );
+            out.println( actual );
+            out.println( header );
+            out.println();
+        }
+
+        final var source = actual.toString();
+        assertEquals( "private final Lazy<Random> m_Random;", extractStatement( source, "private final Lazy<Random> m_Random" ) );
+        assertEquals( "m_Random = Lazy.use( SecureRandom::new );", extractStatement( source, "m_Random = " ) );
+        assertEquals(
+            """
+            public final Random getRandom()
+                {
+                    return m_Random.get();
+                }""", extractBlock( source, "public final Random getRandom()" ) );
+        assertFalse( source.contains( "m_Random = new SecureRandom();" ) );
+
+        assertEquals( "private final Lazy<String> m_SystemPrefsString;", extractStatement( source, "private final Lazy<String> m_SystemPrefsString" ) );
+        assertEquals(
+            """
+            m_SystemPrefsString = Lazy.use( () ->
+                    {
+                        final var value = new AtomicReference<String>();
+                        try
+                        {
+                            if( systemRoot().nodeExists( "/org/tquadrat/foundation/test" ) )
+                            {
+                                final var node = systemRoot().node( "/org/tquadrat/foundation/test" );
+                                final var accessor = new StringAccessor( "system_preference", () -> value.get(), p -> value.set( p ) );
+                                accessor.readPreference( node );
+                            }
+                        }
+                        catch( final BackingStoreException e )
+                        {
+                            throw new PreferencesException( e );
+                        }
+                        return value.get();
+                    }""", extractBlock( source, "m_SystemPrefsString = Lazy.use(" ) );
+        assertEquals(
+            """
+            public final String getSystemPrefsString()
+                {
+                    return m_SystemPrefsString.get();
+                }""", extractBlock( source, "public final String getSystemPrefsString()" ) );
+    }   //  testCodeGeneration()
+}
+//  class TestLazyInitialisation
+
+/*
+ *  End of File
+ */
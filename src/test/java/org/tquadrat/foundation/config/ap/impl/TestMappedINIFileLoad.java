@@ -0,0 +1,368 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package org.tquadrat.foundation.config.ap.impl;
+
+import static java.lang.String.format;
+import static java.lang.System.out;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.tquadrat.foundation.util.StringUtils.isNotEmptyOrBlank;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.tquadrat.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.ap.APHelper;
+import org.tquadrat.foundation.config.ConfigBeanSpec;
+import org.tquadrat.foundation.config.INIBeanSpec;
+import org.tquadrat.foundation.javacomposer.ClassName;
+import org.tquadrat.foundation.test.helper.CodeGeneratorTestBase;
+
+/**
+ *  Tests the generation of a configuration bean with the
+ *  {@linkplain org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor#OPTION_MappedINIFileLoad memory mapped read}
+ *  of the INI file.
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: TestMappedINIFileLoad.java 1183 2026-10-18 18:24:37Z tquadrat $
+ */
+@ClassVersion( sourceVersion = "$Id: TestMappedINIFileLoad.java 1183 2026-10-18 18:24:37Z tquadrat $" )
+@DisplayName( "org.tquadrat.foundation.config.ap.impl.TestMappedINIFileLoad" )
+public class TestMappedINIFileLoad extends CodeGeneratorTestBase
+{
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Compiles the generated method {@code digestINISections()}, together
+     *  with the field it uses, into a class of its own, and returns that
+     *  method.
+     *
+     *  @param  source  The source of the configuration bean.
+     *  @param  folder  The folder for the compiled class.
+     *  @return The method.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    private static final Method compileDigest( final String source, final Path folder ) throws Exception
+    {
+        final var classSource = format(
+            """
+            import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+            import static java.nio.charset.StandardCharsets.UTF_8;
+            import static java.nio.file.Files.exists;
+            import static java.nio.file.StandardOpenOption.READ;
+
+            import java.io.IOException;
+            import java.lang.foreign.Arena;
+            import java.nio.channels.FileChannel;
+            import java.nio.file.Path;
+            import java.security.MessageDigest;
+            import java.security.NoSuchAlgorithmException;
+            import java.util.Set;
+
+            import org.tquadrat.foundation.exception.UnexpectedExceptionError;
+
+            public final class MappedDigest
+            {
+                %1$s
+                public MappedDigest() {}
+                public final byte [] digest( final Path path ) throws IOException { return digestINISections( path ); }
+                %2$s
+            }
+            """,
+            extractStatement( source, "private static final Set<String> m_INIValueGroups" ),
+            extractBlock( source, "private final byte[] digestINISections( final Path path ) throws IOException" ) );
+        final var retValue = compileClass( folder, "MappedDigest", classSource ).getMethod( "digest", Path.class );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  compileDigest()
+
+    /**
+     *  Generates the code for the configuration bean.
+     *
+     *  @param  flag    {@code true} if debug output should be created,
+     *      {@code false} if not.
+     *  @return The source of the configuration bean.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    private final String createSource( final boolean flag ) throws Exception
+    {
+        final var header = format( "%n//----< %2$s >%1$s", "-".repeat( 80 ), "testMappedINIFileLoad" ).substring( 0, 80 );
+
+        final APHelper environment = mock( APHelper.class );
+        final var configuration = createConfiguration( "INIBean", "INISpec", environment, flag );
+        assertNotNull( configuration );
+        configuration.setMappedINIFileLoad( true );
+
+        //---* Add the interfaces to implement *-------------------------------
+        final var interfacesToImplement = List.of( ClassName.from( ConfigBeanSpec.class ), ClassName.from( INIBeanSpec.class ) );
+        configuration.addInterfacesToImplement( interfacesToImplement );
+
+        //---* Add the properties *--------------------------------------------
+        createPropertiesForConfigBeanSpec( configuration );
+        createPropertiesForINIBeanSpec( configuration );
+
+        //---* Create the code *-----------------------------------------------
+        replayAll();
+        final var candidate = new CodeGenerator( configuration );
+        assertNotNull( candidate );
+
+        final var code = candidate.createCode();
+        assertNotNull( code );
+        final var actual = new StringBuilder();
+        code.writeTo( actual );
+        assertTrue( isNotEmptyOrBlank( actual ) );
+        if( flag )
+        {
+            out.println( header );
+            out.println( actual );
+            out.println( header );
+            out.println();
+        }
+        final var retValue = actual.toString();
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  createSource()
+
+    /**
+     *  Computes the digest for the given INI file through the compiled
+     *  method.
+     *
+     *  @param  method  The method.
+     *  @param  file    The INI file.
+     *  @return The digest.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    private static final byte [] digest( final Method method, final Path file ) throws Exception
+    {
+        final byte [] retValue;
+        try
+        {
+            retValue = (byte []) method.invoke( method.getDeclaringClass().getConstructor().newInstance(), file );
+        }
+        catch( final InvocationTargetException e )
+        {
+            throw (Exception) e.getCause();
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  digest()
+
+    /**
+     *  A test for the code generation.
+     *
+     *  @param  flag    {@code true} if debug output should be created,
+     *      {@code false} if not.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @ParameterizedTest( name = "testCodeGeneration [{index}] = {0}" )
+    @ValueSource( booleans = { true, false } )
+    final void testCodeGeneration( final boolean flag ) throws Exception
+    {
+        skipThreadTest();
+
+        final var source = createSource( flag );
+
+        assertEquals( "private static final Set<String> m_INIValueGroups = Set.of( \"Group1\" );", extractStatement( source, "private static final Set<String> m_INIValueGroups" ) );
+        assertEquals( "private byte[] m_INISectionsDigest = null;", extractStatement( source, "private byte[] m_INISectionsDigest" ) );
+        assertEquals( "private volatile boolean m_INIFileRefreshPending = false;", extractStatement( source, "private volatile boolean m_INIFileRefreshPending" ) );
+
+        var expected =
+            """
+            public final void loadINIFile()
+                {
+                    try
+                    {
+                        if( checkINIFileState() )
+                        {
+                            /*
+                             * The state of the file is taken before the file is read, but
+                             * it is recorded only after the values were loaded
+                             * successfully; a modification in between will cause another
+                             * reload, but it will not get lost.
+                             */
+                            final var path = retrieveINIFilePath();
+                            final var lastModified = exists( path ) ? getLastModifiedTime( path ) : null;
+                            final var fileSize = nonNull( lastModified ) ? size( path ) : -1L;
+                            final var digest = digestINISections( path );
+                            try( final var ignore = m_WriteLock.lock() )
+                            {
+                                /*
+                                 * The values are loaded only if the groups that hold them were
+                                 * changed; otherwise the refresh of the INIFile instance is
+                                 * deferred until it will be used.
+                                 */
+                                if( isNull( digest ) || !Arrays.equals( digest, m_INISectionsDigest ) )
+                                {
+                                    final var iniFile = m_INIFile.get();
+                                    iniFile.refresh();
+                                    m_INIFileRefreshPending = false;
+
+                                    /*
+                                     * Load the data.
+                                     */
+                                    {
+                                        final var stringConverter = InstantStringConverter.INSTANCE;
+                                        m_Date1Ini = iniFile.getValue( "Group1", "date1Ini", stringConverter ).orElse( m_Date1Ini );
+                                    }
+                                    {
+                                        final var stringConverter = IntegerStringConverter.INSTANCE;
+                                        m_Int1Ini = iniFile.getValue( "Group1", "int1Ini", stringConverter ).orElse( m_Int1Ini );
+                                    }
+                                    {
+                                        final var stringConverter = IntegerStringConverter.INSTANCE;
+                                        m_Int2Ini = iniFile.getValue( "Group1", "int2Ini", stringConverter ).orElse( m_Int2Ini );
+                                    }
+                                    {
+                                        final var stringConverter = StringStringConverter.INSTANCE;
+                                        m_String1Ini = iniFile.getValue( "Group1", "string1Ini", stringConverter ).orElse( m_String1Ini );
+                                    }
+                                    m_INISectionsDigest = digest;
+                                }
+                                else
+                                {
+                                    m_INIFileRefreshPending = true;
+                                }
+
+                                m_INIFileLastModified = lastModified;
+                                m_INIFileSize = fileSize;
+                            }
+                        }
+                    }
+                    catch( final IOException e )
+                    {
+                        throw new PreferencesException( e );
+                    }
+                }""";
+        assertEquals( expected, extractBlock( source, "public final void loadINIFile()" ) );
+
+        expected =
+            """
+            public final Optional<INIFile> obtainINIFile()
+                {
+                    final var iniFile = m_INIFile.get();
+                    if( m_INIFileRefreshPending )
+                    {
+                        try( final var ignore = m_WriteLock.lock() )
+                        {
+                            if( m_INIFileRefreshPending )
+                            {
+                                iniFile.refresh();
+                                m_INIFileRefreshPending = false;
+                            }
+                        }
+                        catch( final IOException e )
+                        {
+                            throw new PreferencesException( e );
+                        }
+                    }
+
+                    return Optional.of( iniFile );
+                }""";
+        assertEquals( expected, extractBlock( source, "public final Optional<INIFile> obtainINIFile()" ) );
+
+        //---* The values are no longer decoded from the mapped buffer *-------
+        assertFalse( source.contains( "readINIValues" ) );
+        assertFalse( source.contains( "collectINIValues" ) );
+        assertFalse( source.contains( "m_INIValueKeys" ) );
+    }   //  testCodeGeneration()
+
+    /**
+     *  Computes the digests for some INI files through the generated method
+     *  {@code digestINISections()}: a modification outside the relevant
+     *  groups must not change the digest, a modification inside must change
+     *  it, and for a file with a malformed group header, or for a missing
+     *  file, the method has to return {@code null}. The mapping must be
+     *  released when the method returns, so that the file can be deleted.
+     *
+     *  @param  folder  The folder for the compiled class and the INI files.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @Test
+    final void testDigest( @TempDir final Path folder ) throws Exception
+    {
+        skipThreadTest();
+
+        final var method = compileDigest( createSource( false ), folder );
+        final var file = folder.resolve( "test.ini" );
+
+        final var original =
+            """
+            # A comment
+            [Group1]
+            int1Ini = 42
+            string1Ini = Grüße aus Hamburg
+
+            [Group2]
+            int1Ini = 0
+            """;
+        Files.writeString( file, original, UTF_8 );
+        final var originalDigest = digest( method, file );
+        assertNotNull( originalDigest );
+
+        //---* A modification outside the relevant groups *--------------------
+        Files.writeString( file, original.replace( "int1Ini = 0", "int1Ini = 4711" ).replace( "# A comment", "# Another comment" ), UTF_8 );
+        assertArrayEquals( originalDigest, digest( method, file ) );
+
+        //---* A byte order mark does not make a difference *------------------
+        Files.writeString( file, "\uFEFF" + original, UTF_8 );
+        assertArrayEquals( originalDigest, digest( method, file ) );
+
+        //---* A modification inside a relevant group *------------------------
+        Files.writeString( file, original.replace( "int1Ini = 42", "int1Ini = 43" ), UTF_8 );
+        final var modifiedDigest = digest( method, file );
+        assertNotNull( modifiedDigest );
+        assertFalse( Arrays.equals( originalDigest, modifiedDigest ) );
+
+        //---* Files with a malformed group header *---------------------------
+        for( final var content : List.of( "[Group1\nint1Ini=42\n", "[Group1] ; comment\nint1Ini=42\n", "[\nint1Ini=42\n" ) )
+        {
+            Files.writeString( file, content, UTF_8 );
+            assertNull( digest( method, file ), content );
+        }
+
+        //---* The mapping was released *--------------------------------------
+        Files.delete( file );
+
+        //---* A missing file *------------------------------------------------
+        assertNull( digest( method, file ) );
+    }   //  testDigest()
+}
+//  class TestMappedINIFileLoad
+
+/*
+ *  End of File
+ */
@@ -0,0 +1,171 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.config.ap.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.tquadrat.foundation.config.ap.PropertySpec.PropertyFlag.ALLOWS_PREFERENCES;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.tquadrat.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.ap.APHelper;
+import org.tquadrat.foundation.config.spi.prefs.StringAccessor;
+import org.tquadrat.foundation.javacomposer.ClassName;
+import org.tquadrat.foundation.test.NameImpl;
+import org.tquadrat.foundation.test.helper.CodeGeneratorTestBase;
+import org.tquadrat.foundation.util.stringconverter.StringStringConverter;
+
+/**
+ *  Tests for
+ *  {@link NativeImageMetadata}.
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: TestNativeImageMetadata.java 1172 2026-10-18 11:47:03Z tquadrat $
+ */
+@ClassVersion( sourceVersion = "$Id: TestNativeImageMetadata.java 1172 2026-10-18 11:47:03Z tquadrat $" )
+@DisplayName( "org.tquadrat.foundation.config.ap.impl.TestNativeImageMetadata" )
+public class TestNativeImageMetadata extends CodeGeneratorTestBase
+{
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Tests the collection of the metadata for a configuration bean.
+     *
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @Test
+    final void testAdd() throws Exception
+    {
+        skipThreadTest();
+
+        final APHelper environment = mock( APHelper.class );
+        final var configuration = createConfiguration( environment, false );
+        assertNotNull( configuration );
+        configuration.setInitDataResource( "MyConfigurationBeanSpecification.properties" );
+
+        //---* Add the property *----------------------------------------------
+        final var property = new PropertySpecImpl( "string1" );
+        configuration.addProperty( property );
+        property.setFlag( ALLOWS_PREFERENCES );
+        property.setGetterMethodName( new NameImpl( "getString1" ) );
+        property.setGetterReturnType( ClassName.from( String.class ) );
+        property.setPropertyType( ClassName.from( String.class ) );
+        property.setFieldName( "m_String1" );
+        property.setStringConverterClass( ClassName.from( StringStringConverter.class ) );
+        property.setPrefsKey( "string1" );
+        property.setPrefsAccessorClass( ClassName.from( StringAccessor.class ) );
+
+        //---* Run the test *--------------------------------------------------
+        replayAll();
+        final var candidate = new NativeImageMetadata();
+        assertTrue( candidate.isEmpty() );
+        candidate.add( configuration );
+        assertFalse( candidate.isEmpty() );
+
+        assertEquals( List.of(
+            "org.tquadrat.foundation.config.spi.prefs.PreferenceChangeListenerImpl",
+            "org.tquadrat.foundation.config.spi.prefs.StringAccessor",
+            "org.tquadrat.foundation.test.generated.MyConfigurationBean",
+            "org.tquadrat.foundation.util.stringconverter.StringStringConverter" ), candidate.getClasses() );
+        assertEquals( List.of( "org/tquadrat/foundation/test/MyConfigurationBeanSpecification.properties" ), candidate.getResources() );
+
+        assertEquals(
+            """
+            [
+              {
+                "name": "org.tquadrat.foundation.config.spi.prefs.PreferenceChangeListenerImpl",
+                "allDeclaredConstructors": true,
+                "allPublicMethods": true
+              },
+              {
+                "name": "org.tquadrat.foundation.config.spi.prefs.StringAccessor",
+                "allDeclaredConstructors": true,
+                "allPublicMethods": true
+              },
+              {
+                "name": "org.tquadrat.foundation.test.generated.MyConfigurationBean",
+                "allDeclaredConstructors": true,
+                "allPublicMethods": true
+              },
+              {
+                "name": "org.tquadrat.foundation.util.stringconverter.StringStringConverter",
+                "allDeclaredConstructors": true,
+                "allPublicMethods": true
+              }
+            ]
+            """, candidate.composeReflectConfig() );
+
+        assertEquals(
+            """
+            {
+              "resources": {
+                "includes": [
+                  { "pattern": "\\\\Qorg/tquadrat/foundation/test/MyConfigurationBeanSpecification.properties\\\\E" }
+                ]
+              },
+              "bundles": [
+
+              ]
+            }
+            """, candidate.composeResourceConfig() );
+    }   //  testAdd()
+
+    /**
+     *  Tests the metadata when nothing was added.
+     */
+    @Test
+    final void testEmpty()
+    {
+        skipThreadTest();
+
+        final var candidate = new NativeImageMetadata();
+        assertTrue( candidate.isEmpty() );
+        assertTrue( candidate.getClasses().isEmpty() );
+        assertTrue( candidate.getResources().isEmpty() );
+        assertEquals(
+            """
+            [
+
+            ]
+            """, candidate.composeReflectConfig() );
+        assertEquals(
+            """
+            {
+              "resources": {
+                "includes": [
+
+                ]
+              },
+              "bundles": [
+
+              ]
+            }
+            """, candidate.composeResourceConfig() );
+    }   //  testEmpty()
+}
+//  class TestNativeImageMetadata
+
+/*
+ *  End of File
+ */
@@ -0,0 +1,565 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.config.ap.impl;
+
+import static java.lang.String.format;
+import static java.lang.System.lineSeparator;
+import static java.lang.System.out;
+import static java.nio.charset.Charset.defaultCharset;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.tquadrat.foundation.config.ap.PropertySpec.PropertyFlag.PROPERTY_CLI_MULTIVALUED;
+import static org.tquadrat.foundation.config.ap.PropertySpec.PropertyFlag.PROPERTY_IS_ARGUMENT;
+import static org.tquadrat.foundation.config.ap.PropertySpec.PropertyFlag.PROPERTY_REQUIRES_SYNCHRONIZATION;
+import static org.tquadrat.foundation.util.StringUtils.isNotEmptyOrBlank;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ListResourceBundle;
+import java.util.ResourceBundle;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.tquadrat.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.ap.APHelper;
+import org.tquadrat.foundation.config.CLIBeanSpec;
+import org.tquadrat.foundation.config.ConfigBeanSpec;
+import org.tquadrat.foundation.config.ap.CodeGenerationConfiguration;
+import org.tquadrat.foundation.javacomposer.ClassName;
+import org.tquadrat.foundation.test.NameImpl;
+import org.tquadrat.foundation.test.helper.CodeGeneratorTestBase;
+import org.tquadrat.foundation.util.stringconverter.StringStringConverter;
+
+/**
+ *  Tests the generation of a configuration bean with a
+ *  {@linkplain org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor#OPTION_PrecompiledCLI precompiled}
+ *  command line model.
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: TestPrecompiledCLI.java 1189 2026-10-19 11:48:09Z tquadrat $
+ */
+@ClassVersion( sourceVersion = "$Id: TestPrecompiledCLI.java 1189 2026-10-19 11:48:09Z tquadrat $" )
+@DisplayName( "org.tquadrat.foundation.config.ap.impl.TestPrecompiledCLI" )
+public class TestPrecompiledCLI extends CodeGeneratorTestBase
+{
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Compiles the generated methods that create the CLI definitions,
+     *  together with the value handler for the argument and the method
+     *  {@code parseCommandLine()}, into a stub for the configuration bean.
+     *
+     *  @param  source  The source of the configuration bean; the
+     *      configuration for it must not have any CLI options.
+     *  @param  folder  The folder for the compiled class.
+     *  @return The class for the stub.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    private static final Class<?> compileCLIDefinitions( final String source, final Path folder ) throws Exception
+    {
+        final var classSource = format(
+            """
+            import static org.tquadrat.foundation.lang.Objects.isNull;
+
+            import java.util.ArrayList;
+            import java.util.List;
+            import java.util.function.BiConsumer;
+
+            import org.tquadrat.foundation.config.CmdLineException;
+            import org.tquadrat.foundation.config.ConfigUtil;
+            import org.tquadrat.foundation.config.cli.CmdLineValueHandler;
+            import org.tquadrat.foundation.config.cli.SimpleCmdLineValueHandler;
+            import org.tquadrat.foundation.config.cli.StringValueHandler;
+            import org.tquadrat.foundation.config.spi.CLIArgumentDefinition;
+            import org.tquadrat.foundation.config.spi.CLIDefinition;
+            import org.tquadrat.foundation.util.stringconverter.StringStringConverter;
+
+            public final class MyCLIConfigurationBean
+            {
+                public interface Unlock extends AutoCloseable { @Override public void close(); }
+                public static final class WriteLock { public final Unlock lock() { return () -> {}; } }
+
+                %1$s
+                private String m_CLIErrorMessage = null;
+                private String m_Source = null;
+                private final WriteLock m_WriteLock = new WriteLock();
+
+                public MyCLIConfigurationBean() {}
+
+                public final List<CLIDefinition> getCLIDefinitions() { return retrieveCLIDefinitions(); }
+                public final boolean isBound() { return !isNull( m_CLIDefinitions ); }
+                public final String getSource() { return m_Source; }
+
+                %2$s
+
+                %3$s
+
+                %4$s
+
+                %5$s
+            }
+            """,
+            extractStatement( source, "private volatile List<CLIDefinition> m_CLIDefinitions" ),
+            extractBlock( source, "private final CmdLineValueHandler<?> composeValueHandler_Source()" ),
+            extractBlock( source, "private static final CLIDefinition createCLIDefinition(" ),
+            extractBlock( source, "public final boolean parseCommandLine(" ),
+            extractBlock( source, "private final List<CLIDefinition> retrieveCLIDefinitions()" ) );
+        final var retValue = compileClass( folder, "MyCLIConfigurationBean", classSource );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  compileCLIDefinitions()
+
+    /**
+     *  Compiles the generated usage text and the method
+     *  {@code printUsage()} into a stub for the configuration bean.
+     *
+     *  @param  source  The source of the configuration bean.
+     *  @param  folder  The folder for the compiled class.
+     *  @return The class for the stub.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    private static final Class<?> compileUsage( final String source, final Path folder ) throws Exception
+    {
+        final var classSource = format(
+            """
+            import static java.nio.charset.Charset.defaultCharset;
+
+            import java.io.IOException;
+            import java.io.OutputStream;
+            import java.util.Optional;
+            import java.util.ResourceBundle;
+
+            public final class MyCLIConfigurationBean
+            {
+                %1$s
+                private ResourceBundle m_ResourceBundle = null;
+
+                public MyCLIConfigurationBean() {}
+
+                public final Optional<ResourceBundle> getResourceBundle() { return Optional.ofNullable( m_ResourceBundle ); }
+                public final void setResourceBundle( final ResourceBundle resourceBundle ) { m_ResourceBundle = resourceBundle; }
+
+                %2$s
+
+                %3$s
+            }
+            """,
+            extractStatement( source, "private static final String m_CLIUsage" ),
+            extractBlock( source, "public final void printUsage(" ),
+            source.contains( "private static final String retrieveCLIUsage(" ) ? extractBlock( source, "private static final String retrieveCLIUsage(" ) : "" );
+        final var retValue = compileClass( folder, "MyCLIConfigurationBean", classSource );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  compileUsage()
+
+    /**
+     *  Creates the configuration for the tests.
+     *
+     *  @param  flag    {@code true} if debug output should be created,
+     *      {@code false} if not.
+     *  @param  isLocalised {@code true} if the usage text for the argument
+     *      is localised, {@code false} if it is a plain text.
+     *  @param  withOptions {@code true} if the configuration should have
+     *      some CLI options in addition to the argument, {@code false} if
+     *      not.
+     *  @return The configuration.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    private final CodeGenerationConfiguration createConfiguration( final boolean flag, final boolean isLocalised, final boolean withOptions ) throws Exception
+    {
+        final APHelper environment = mock( APHelper.class );
+        final var retValue = createCLIConfiguration( environment, flag );
+        assertNotNull( retValue );
+        retValue.setPrecompiledCLI( true );
+
+        //---* Add the interfaces to implement *-------------------------------
+        final var interfacesToImplement = List.of( ClassName.from( ConfigBeanSpec.class ), ClassName.from( CLIBeanSpec.class ) );
+        retValue.addInterfacesToImplement( interfacesToImplement );
+
+        //---* Add the properties *--------------------------------------------
+        createPropertiesForConfigBeanSpec( retValue );
+        if( withOptions ) createCustomProperties1( retValue );
+
+        final var property = new PropertySpecImpl( "source" );
+        retValue.addProperty( property );
+        property.setFlag( PROPERTY_IS_ARGUMENT, PROPERTY_CLI_MULTIVALUED );
+        property.setPropertyType( ClassName.from( String.class ) );
+        property.setFieldName( "m_Source" );
+        property.setGetterMethodName( new NameImpl( "getSource" ) );
+        property.setGetterReturnType( ClassName.from( String.class ) );
+        property.setStringConverterClass( ClassName.from( StringStringConverter.class ) );
+        property.setCLIArgumentIndex( 0 );
+        if( isLocalised )
+        {
+            property.setCLIUsageKey( "source" );
+        }
+        else
+        {
+            property.setCLIUsage( "The source." );
+        }
+        if( retValue.getSynchronizationRequired() ) property.setFlag( PROPERTY_REQUIRES_SYNCHRONIZATION );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  createConfiguration()
+
+    /**
+     *  Generates the code for the given configuration.
+     *
+     *  @param  configuration   The configuration.
+     *  @param  flag    {@code true} if debug output should be created,
+     *      {@code false} if not.
+     *  @param  testName    The name of the test.
+     *  @return The generated code.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    private final String generate( final CodeGenerationConfiguration configuration, final boolean flag, final String testName ) throws Exception
+    {
+        final var header = format( "%n//----< %2$s >%1$s", "-".repeat( 80 ), testName ).substring( 0, 80 );
+
+        replayAll();
+        final var candidate = new CodeGenerator( configuration );
+        assertNotNull( candidate );
+
+        final var code = candidate.createCode();
+        assertNotNull( code );
+        final var actual = new StringBuilder();
+        code.writeTo( actual );
+        assertTrue( isNotEmptyOrBlank( actual ) );
+        if( flag )
+        {
+            out.println( header );
+            out.println( actual );
+            out.println( header );
+            out.println();
+        }
+
+        //---* Done *----------------------------------------------------------
+        return actual.toString();
+    }   //  generate()
+
+    /**
+     *  Calls the method {@code printUsage()} on the given configuration
+     *  bean.
+     *
+     *  @param  bean    The configuration bean.
+     *  @param  command The command.
+     *  @return The usage text.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    private static final String printUsage( final Object bean, final String command ) throws Exception
+    {
+        final var buffer = new ByteArrayOutputStream();
+        bean.getClass().getMethod( "printUsage", OutputStream.class, CharSequence.class ).invoke( bean, buffer, command );
+        final var retValue = buffer.toString( defaultCharset() );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  printUsage()
+
+    /**
+     *  A test for the code generation.
+     *
+     *  @param  flag    {@code true} if debug output should be created,
+     *      {@code false} if not.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @ParameterizedTest( name = "testCodeGeneration [{index}] = {0}" )
+    @ValueSource( booleans = { true, false } )
+    final void testCodeGeneration( final boolean flag ) throws Exception
+    {
+        skipThreadTest();
+
+        final var configuration = createConfiguration( flag, false, false );
+        final var source = generate( configuration, flag, "testPrecompiledCLI" );
+
+        assertEquals( "private volatile List<CLIDefinition> m_CLIDefinitions = null;", extractStatement( source, "private volatile List<CLIDefinition> m_CLIDefinitions" ) );
+
+        var expected =
+            """
+            private static final CLIDefinition createCLIDefinition( final int index, final CmdLineValueHandler<?> valueHandler )
+                {
+                    final CLIDefinition retValue = switch( index )
+                    {
+                        case 0 -> new CLIArgumentDefinition( "source", 0, "The source.", null, null, false, valueHandler, true, null );
+                        default -> throw new IllegalArgumentException( "Unknown CLI definition: %d".formatted( index ) );
+                    };
+
+                    //---* Done *----------------------------------------------------------
+                    return retValue;
+                }""";
+        assertEquals( expected, extractBlock( source, "private static final CLIDefinition createCLIDefinition(" ) );
+
+        expected =
+            """
+            private final List<CLIDefinition> retrieveCLIDefinitions()
+                {
+                    var retValue = m_CLIDefinitions;
+                    if( isNull( retValue ) )
+                    {
+                        final CmdLineValueHandler<?>[] valueHandlers = { composeValueHandler_Source() };
+                        final var definitions = new ArrayList<CLIDefinition>( valueHandlers.length );
+                        for( var i = 0; i < valueHandlers.length; ++i ) definitions.add( createCLIDefinition( i, valueHandlers [i] ) );
+                        retValue = List.copyOf( definitions );
+                        m_CLIDefinitions = retValue;
+                    }
+
+                    //---* Done *----------------------------------------------------------
+                    return retValue;
+                }""";
+        assertEquals( expected, extractBlock( source, "private final List<CLIDefinition> retrieveCLIDefinitions()" ) );
+
+        expected =
+            """
+            public final boolean parseCommandLine( final String[] args )
+                {
+                    var retValue = true;
+                    try( final var ignored = m_WriteLock.lock() )
+                    {
+                        ConfigUtil.parseCommandLine( retrieveCLIDefinitions(), args );
+                        m_CLIErrorMessage = null;
+                    }
+                    catch( final CmdLineException e )
+                    {
+                        m_CLIErrorMessage = e.getLocalizedMessage();
+                        retValue = false;
+                    }
+
+                    //---* Done *----------------------------------------------------------
+                    return retValue;
+                }""";
+        assertEquals( expected, extractBlock( source, "public final boolean parseCommandLine(" ) );
+
+        //---* Nothing is created in the constructor *-------------------------
+        assertFalse( extractBlock( source, "public MyCLIConfigurationBean()" ).contains( "CLIDefinition" ) );
+    }   //  testCodeGeneration()
+
+    /**
+     *  Tests the CLI definitions with the value handlers that are bound to
+     *  an instance: they are created only on first use, each instance has
+     *  its own, and the values from the command line end up in the instance
+     *  that parsed it, even when several instances parse at the same time
+     *  on different threads.
+     *
+     *  @param  folder  The folder for the compiled class.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @Test
+    final void testInstanceBindings( @TempDir final Path folder ) throws Exception
+    {
+        skipThreadTest();
+
+        final var configuration = createConfiguration( false, false, false );
+        final var beanClass = compileCLIDefinitions( generate( configuration, false, "testInstanceBindings" ), folder );
+        final var parseCommandLine = beanClass.getMethod( "parseCommandLine", String [].class );
+        final var getCLIDefinitions = beanClass.getMethod( "getCLIDefinitions" );
+        final var getSource = beanClass.getMethod( "getSource" );
+        final var isBound = beanClass.getMethod( "isBound" );
+
+        //---* The definitions are created on first use *----------------------
+        final var bean1 = beanClass.getConstructor().newInstance();
+        final var bean2 = beanClass.getConstructor().newInstance();
+        assertFalse( (Boolean) isBound.invoke( bean1 ) );
+        final var definitions1 = (List<?>) getCLIDefinitions.invoke( bean1 );
+        assertTrue( (Boolean) isBound.invoke( bean1 ) );
+        assertFalse( (Boolean) isBound.invoke( bean2 ) );
+        assertEquals( 1, definitions1.size() );
+        assertSame( definitions1, getCLIDefinitions.invoke( bean1 ) );
+
+        //---* Each instance has its own definitions *-------------------------
+        final var definitions2 = (List<?>) getCLIDefinitions.invoke( bean2 );
+        assertNotSame( definitions1.getFirst(), definitions2.getFirst() );
+
+        //---* The values go to the instance that parses *---------------------
+        assertTrue( (Boolean) parseCommandLine.invoke( bean1, (Object) new String [] { "value1" } ) );
+        assertEquals( "value1", getSource.invoke( bean1 ) );
+        assertNull( getSource.invoke( bean2 ) );
+        assertTrue( (Boolean) parseCommandLine.invoke( bean2, (Object) new String [] { "value2" } ) );
+        assertEquals( "value1", getSource.invoke( bean1 ) );
+        assertEquals( "value2", getSource.invoke( bean2 ) );
+
+        //---* Concurrent parses *---------------------------------------------
+        final var threadCount = 8;
+        final var parseCount = 200;
+        final var startSignal = new CountDownLatch( 1 );
+        final var executor = Executors.newFixedThreadPool( threadCount );
+        try
+        {
+            final List<Future<?>> futures = new ArrayList<>();
+            for( var thread = 0; thread < threadCount; ++thread )
+            {
+                final var prefix = "thread%d-".formatted( thread );
+                futures.add( executor.submit( () ->
+                {
+                    startSignal.await();
+                    for( var i = 0; i < parseCount; ++i )
+                    {
+                        final var bean = beanClass.getConstructor().newInstance();
+                        final var value = prefix + i;
+                        assertTrue( (Boolean) parseCommandLine.invoke( bean, (Object) new String [] { value } ) );
+                        assertEquals( value, getSource.invoke( bean ) );
+                    }
+                    return null;
+                } ) );
+            }
+            startSignal.countDown();
+            for( final var future : futures ) future.get();
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }   //  testInstanceBindings()
+
+    /**
+     *  Tests the usage text with a localised usage text for the argument:
+     *  only that text is looked up at runtime.
+     *
+     *  @param  flag    {@code true} if debug output should be created,
+     *      {@code false} if not.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @ParameterizedTest( name = "testLocalisedUsage [{index}] = {0}" )
+    @ValueSource( booleans = { true, false } )
+    final void testLocalisedUsage( final boolean flag ) throws Exception
+    {
+        skipThreadTest();
+
+        final var configuration = createConfiguration( flag, true, true );
+        final var source = generate( configuration, flag, "testLocalisedUsage" );
+
+        assertEquals( "private static final String m_CLIUsage = \"Usage: %1$s --date1 DATE1 --int1 INT1 --int2 INT2 --string1 STRING1 [SOURCE ...]%n%n  --date1 DATE1%n  --int1 INT1%n  --int2 INT2%n  --string1 STRING1%n  SOURCE ...         %2$s%n\";", extractStatement( source, "private static final String m_CLIUsage" ) );
+
+        var expected =
+            """
+            public final void printUsage( final OutputStream outputStream, final CharSequence command )
+                        throws IOException
+                {
+                    final var resources = getResourceBundle();
+                    final var usage = m_CLIUsage.formatted( command, retrieveCLIUsage( resources, "source", "source" ) );
+                    outputStream.write( usage.getBytes( defaultCharset() ) );
+                    outputStream.flush();
+                }""";
+        assertEquals( expected, extractBlock( source, "public final void printUsage(" ) );
+
+        expected =
+            """
+            private static final String retrieveCLIUsage( final Optional<ResourceBundle> resources, final String key, final String defaultUsage )
+                {
+                    var retValue = defaultUsage;
+                    if( resources.isPresent() && resources.get().containsKey( key ) ) retValue = resources.get().getString( key );
+
+                    //---* Done *----------------------------------------------------------
+                    return retValue;
+                }""";
+        assertEquals( expected, extractBlock( source, "private static final String retrieveCLIUsage(" ) );
+    }   //  testLocalisedUsage()
+
+    /**
+     *  Tests the usage text that was laid out at compile time.
+     *
+     *  @param  flag    {@code true} if debug output should be created,
+     *      {@code false} if not.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @ParameterizedTest( name = "testPrecompiledUsage [{index}] = {0}" )
+    @ValueSource( booleans = { true, false } )
+    final void testPrecompiledUsage( final boolean flag ) throws Exception
+    {
+        skipThreadTest();
+
+        final var configuration = createConfiguration( flag, false, true );
+        final var source = generate( configuration, flag, "testPrecompiledUsage" );
+
+        assertEquals( "private static final String m_CLIUsage = \"Usage: %1$s --date1 DATE1 --int1 INT1 --int2 INT2 --string1 STRING1 [SOURCE ...]%n%n  --date1 DATE1%n  --int1 INT1%n  --int2 INT2%n  --string1 STRING1%n  SOURCE ...         The source.%n\";", extractStatement( source, "private static final String m_CLIUsage" ) );
+
+        final var expected =
+            """
+            public final void printUsage( final OutputStream outputStream, final CharSequence command )
+                        throws IOException
+                {
+                    final var usage = m_CLIUsage.formatted( command );
+                    outputStream.write( usage.getBytes( defaultCharset() ) );
+                    outputStream.flush();
+                }""";
+        assertEquals( expected, extractBlock( source, "public final void printUsage(" ) );
+        assertFalse( source.contains( "retrieveCLIUsage" ) );
+    }   //  testPrecompiledUsage()
+
+    /**
+     *  Tests the output of the generated method {@code printUsage()}, with
+     *  and without a localised usage text.
+     *
+     *  @param  folder  The folder for the compiled classes.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @Test
+    final void testUsageOutput( @TempDir final Path folder ) throws Exception
+    {
+        skipThreadTest();
+
+        final var command = "/a/very/long/path/to/the/command/that/has/more/than/forty/characters";
+        final var expected =
+            """
+            Usage: %1$s [SOURCE ...]
+
+              SOURCE ...  %2$s
+            """;
+
+        //---* A plain usage text *--------------------------------------------
+        var beanClass = compileUsage( generate( createConfiguration( false, false, false ), false, "testUsageOutput" ), Files.createDirectories( folder.resolve( "plain" ) ) );
+        var bean = beanClass.getConstructor().newInstance();
+        assertEquals( expected.formatted( command, "The source." ).replace( "\n", lineSeparator() ), printUsage( bean, command ) );
+
+        //---* A localised usage text *----------------------------------------
+        beanClass = compileUsage( generate( createConfiguration( false, true, false ), false, "testUsageOutput" ), Files.createDirectories( folder.resolve( "localised" ) ) );
+        bean = beanClass.getConstructor().newInstance();
+        assertEquals( expected.formatted( command, "source" ).replace( "\n", lineSeparator() ), printUsage( bean, command ) );
+
+        final var resourceBundle = new ListResourceBundle()
+        {
+            @Override
+            protected final Object [][] getContents() { return new Object [][] { { "source", "Die Quelle." } }; }
+        };
+        beanClass.getMethod( "setResourceBundle", ResourceBundle.class ).invoke( bean, resourceBundle );
+        assertEquals( expected.formatted( command, "Die Quelle." ).replace( "\n", lineSeparator() ), printUsage( bean, command ) );
+    }   //  testUsageOutput()
+}
+//  class TestPrecompiledCLI
+
+/*
+ *  End of File
+ */
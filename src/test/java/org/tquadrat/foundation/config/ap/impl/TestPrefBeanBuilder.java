@@ -147,6 +147,7 @@ public class TestPrefBeanBuilder extends CodeGeneratorTestBase
                     import java.time.Clock;
                     import java.time.Instant;
                     import java.time.ZoneId;
+                    import java.util.BitSet;
                     import java.util.HashMap;
                     import java.util.Locale;
                     import java.util.Map;
@@ -223,36 +224,77 @@ public class TestPrefBeanBuilder extends CodeGeneratorTestBase
                          */
                         private Instant m_Date1;
                                     
+                        /**
+                         * The preferences accessor for the property &quot;date1&quot;.
+                         */
+                        private final PreferenceAccessor<?> m_Date1Accessor;
+                                    
                         /**
                          * Property: &quot;date2&quot;.
                          */
                         private Instant m_Date2;
                                     
+                        /**
+                         * The preferences accessor for the property &quot;date2&quot;.
+                         */
+                        private final PreferenceAccessor<?> m_Date2Accessor;
+                                    
+                        /**
+                         * The flags for the preferences that were modified since the last
+                         * call to {@link #updatePreferences()}.
+                         */
+                        private final BitSet m_DirtyPreferences = new BitSet( 9 );
+                                    
                         /**
                          * Property: &quot;enum1&quot;.
                          */
                         private MyEnum m_Enum1;
                                     
+                        /**
+                         * The preferences accessor for the property &quot;enum1&quot;.
+                         */
+                        private final PreferenceAccessor<?> m_Enum1Accessor;
+                                    
                         /**
                          * Property: &quot;int1&quot;.
                          */
                         private int m_Int1;
                                     
+                        /**
+                         * The preferences accessor for the property &quot;int1&quot;.
+                         */
+                        private final PreferenceAccessor<?> m_Int1Accessor;
+                                    
                         /**
                          * Property: &quot;int2&quot;.
                          */
                         private Integer m_Int2;
                                     
+                        /**
+                         * The preferences accessor for the property &quot;int2&quot;.
+                         */
+                        private final PreferenceAccessor<?> m_Int2Accessor;
+                                    
                         /**
                          * Property: &quot;int3&quot;.
                          */
                         private int m_Int3;
                                     
+                        /**
+                         * The preferences accessor for the property &quot;int3&quot;.
+                         */
+                        private final PreferenceAccessor<?> m_Int3Accessor;
+                                    
                         /**
                          * Property: &quot;int4&quot;.
                          */
                         private Integer m_Int4;
                                     
+                        /**
+                         * The preferences accessor for the property &quot;int4&quot;.
+                         */
+                        private final PreferenceAccessor<?> m_Int4Accessor;
+                                    
                         /**
                          * Property: &quot;isDebug&quot;.
                          */
@@ -279,6 +321,13 @@ public class TestPrefBeanBuilder extends CodeGeneratorTestBase
                          */
                         @SuppressWarnings( "UseOfConcreteClass" )
                         private PreferenceChangeListenerImpl m_PreferenceChangeListener = null;
+
+                        /**
+                         * {@code true} if the preferences of this configuration bean were
+                         * written to the backing store at least once, {@code false} if
+                         * not.
+                         */
+                        private boolean m_PreferencesPersisted = false;
                                     
                         /**
                          * Special Property: &quot;processId&quot;.
@@ -305,11 +354,21 @@ public class TestPrefBeanBuilder extends CodeGeneratorTestBase
                          */
                         private String m_String1;
                                     
+                        /**
+                         * The preferences accessor for the property &quot;string1&quot;.
+                         */
+                        private final PreferenceAccessor<?> m_String1Accessor;
+                                    
                         /**
                          * Property: &quot;string2&quot;.
                          */
                         private String m_String2;
                                     
+                        /**
+                         * The preferences accessor for the property &quot;string2&quot;.
+                         */
+                        private final PreferenceAccessor<?> m_String2Accessor;
+                                    
                         /**
                          * Property: &quot;timezone&quot;.
                          */
@@ -357,8 +416,15 @@ public class TestPrefBeanBuilder extends CodeGeneratorTestBase
                              */
                             {
                                 final var stringConverter = BooleanStringConverter.INSTANCE;
-                                final var value = getProperty( "isDebug", "false" );
-                                m_IsDebug = stringConverter.fromString( value );
+                                final var value = getProperty( "isDebug" );
+                                if( isNull( value ) )
+                                {
+                                    m_IsDebug = false;
+                                }
+                                else
+                                {
+                                    m_IsDebug = stringConverter.fromString( value );
+                                }
                             }
                                     
                             /*
@@ -366,8 +432,15 @@ public class TestPrefBeanBuilder extends CodeGeneratorTestBase
                              */
                             {
                                 final var stringConverter = BooleanStringConverter.INSTANCE;
-                                final var value = getProperty( "isTest", "false" );
-                                m_IsTest = stringConverter.fromString( value );
+                                final var value = getProperty( "isTest" );
+                                if( isNull( value ) )
+                                {
+                                    m_IsTest = false;
+                                }
+                                else
+                                {
+                                    m_IsTest = stringConverter.fromString( value );
+                                }
                             }
                                     
                             /*
@@ -550,15 +623,24 @@ public class TestPrefBeanBuilder extends CodeGeneratorTestBase
                             /*
                              * Initialise the registry for the preference accessor instances.
                              */
-                            m_AccessorsRegistry.put( "date1", new SimplePreferenceAccessor<>( "date1", () -> m_Date1, p -> m_Date1 = p, InstantStringConverter.INSTANCE ) );
-                            m_AccessorsRegistry.put( "date2", new PrimitiveIntAccessor( "date2", () -> m_Date2, p -> m_Date2 = p ) );
-                            m_AccessorsRegistry.put( "enum1", new EnumAccessor<>( "enum1", MyEnum.class, () -> m_Enum1, p -> m_Enum1 = p ) );
-                            m_AccessorsRegistry.put( "int1", new PrimitiveIntAccessor( "int1", () -> m_Int1, p -> m_Int1 = p ) );
-                            m_AccessorsRegistry.put( "int2", new IntegerAccessor( "int2", () -> m_Int2, p -> m_Int2 = p ) );
-                            m_AccessorsRegistry.put( "int3", new PrimitiveIntAccessor( "int3", () -> m_Int3, p -> m_Int3 = p ) );
-                            m_AccessorsRegistry.put( "int4", new IntegerAccessor( "int4", () -> m_Int4, p -> m_Int4 = p ) );
-                            m_AccessorsRegistry.put( "string1", new StringAccessor( "string1", () -> m_String1, p -> m_String1 = p ) );
-                            m_AccessorsRegistry.put( "string2", new PrimitiveIntAccessor( "string2", () -> m_String2, p -> m_String2 = p ) );
+                            m_Date1Accessor = new SimplePreferenceAccessor<>( "date1", () -> m_Date1, p -> m_Date1 = p, InstantStringConverter.INSTANCE );
+                            m_AccessorsRegistry.put( "date1", m_Date1Accessor );
+                            m_Date2Accessor = new PrimitiveIntAccessor( "date2", () -> m_Date2, p -> m_Date2 = p );
+                            m_AccessorsRegistry.put( "date2", m_Date2Accessor );
+                            m_Enum1Accessor = new EnumAccessor<>( "enum1", MyEnum.class, () -> m_Enum1, p -> m_Enum1 = p );
+                            m_AccessorsRegistry.put( "enum1", m_Enum1Accessor );
+                            m_Int1Accessor = new PrimitiveIntAccessor( "int1", () -> m_Int1, p -> m_Int1 = p );
+                            m_AccessorsRegistry.put( "int1", m_Int1Accessor );
+                            m_Int2Accessor = new IntegerAccessor( "int2", () -> m_Int2, p -> m_Int2 = p );
+                            m_AccessorsRegistry.put( "int2", m_Int2Accessor );
+                            m_Int3Accessor = new PrimitiveIntAccessor( "int3", () -> m_Int3, p -> m_Int3 = p );
+                            m_AccessorsRegistry.put( "int3", m_Int3Accessor );
+                            m_Int4Accessor = new IntegerAccessor( "int4", () -> m_Int4, p -> m_Int4 = p );
+                            m_AccessorsRegistry.put( "int4", m_Int4Accessor );
+                            m_String1Accessor = new StringAccessor( "string1", () -> m_String1, p -> m_String1 = p );
+                            m_AccessorsRegistry.put( "string1", m_String1Accessor );
+                            m_String2Accessor = new PrimitiveIntAccessor( "string2", () -> m_String2, p -> m_String2 = p );
+                            m_AccessorsRegistry.put( "string2", m_String2Accessor );
                         }  //  PrefBean()
                                     
                             /*---------*\\
@@ -729,15 +811,15 @@ public class TestPrefBeanBuilder extends CodeGeneratorTestBase
                                 /*
                                  * Load the data.
                                  */
-                                m_AccessorsRegistry.get( "date1" ).readPreference( m_UserPreferences );
-                                m_AccessorsRegistry.get( "date2" ).readPreference( m_UserPreferences );
-                                m_AccessorsRegistry.get( "enum1" ).readPreference( m_UserPreferences );
-                                m_AccessorsRegistry.get( "int1" ).readPreference( m_UserPreferences );
-                                m_AccessorsRegistry.get( "int2" ).readPreference( m_UserPreferences );
-                                m_AccessorsRegistry.get( "int3" ).readPreference( m_UserPreferences );
-                                m_AccessorsRegistry.get( "int4" ).readPreference( m_UserPreferences );
-                                m_AccessorsRegistry.get( "string1" ).readPreference( m_UserPreferences );
-                                m_AccessorsRegistry.get( "string2" ).readPreference( m_UserPreferences );
+                                m_Date1Accessor.readPreference( m_UserPreferences );
+                                m_Date2Accessor.readPreference( m_UserPreferences );
+                                m_Enum1Accessor.readPreference( m_UserPreferences );
+                                m_Int1Accessor.readPreference( m_UserPreferences );
+                                m_Int2Accessor.readPreference( m_UserPreferences );
+                                m_Int3Accessor.readPreference( m_UserPreferences );
+                                m_Int4Accessor.readPreference( m_UserPreferences );
+                                m_String1Accessor.readPreference( m_UserPreferences );
+                                m_String2Accessor.readPreference( m_UserPreferences );
                             }
                             catch( final BackingStoreException e )
                             {
@@ -802,6 +884,7 @@ public class TestPrefBeanBuilder extends CodeGeneratorTestBase
                                 final var newValue = date2;
                                 m_ListenerSupport.fireEvent( "date2", m_Date2, newValue );
                                 m_Date2 = newValue;
+                                m_DirtyPreferences.set( 1 );
                             }
                         }  //  setDate2()
                                     
@@ -816,6 +899,7 @@ public class TestPrefBeanBuilder extends CodeGeneratorTestBase
                                 final var newValue = enum1;
                                 m_ListenerSupport.fireEvent( "enum1", m_Enum1, newValue );
                                 m_Enum1 = newValue;
+                                m_DirtyPreferences.set( 2 );
                             }
                         }  //  setEnum1()
                                     
@@ -830,6 +914,7 @@ public class TestPrefBeanBuilder extends CodeGeneratorTestBase
                                 final var newValue = int3;
                                 m_ListenerSupport.fireEvent( "int3", m_Int3, newValue );
                                 m_Int3 = newValue;
+                                m_DirtyPreferences.set( 5 );
                             }
                         }  //  setInt3()
                                     
@@ -844,6 +929,7 @@ public class TestPrefBeanBuilder extends CodeGeneratorTestBase
                                 final var newValue = int4;
                                 m_ListenerSupport.fireEvent( "int4", m_Int4, newValue );
                                 m_Int4 = newValue;
+                                m_DirtyPreferences.set( 6 );
                             }
                         }  //  setInt4()
                                     
@@ -872,6 +958,7 @@ public class TestPrefBeanBuilder extends CodeGeneratorTestBase
                                 final var newValue = string2;
                                 m_ListenerSupport.fireEvent( "string2", m_String2, newValue );
                                 m_String2 = newValue;
+                                m_DirtyPreferences.set( 8 );
                             }
                         }  //  setString2()
                                     
@@ -1024,17 +1111,60 @@ public class TestPrefBeanBuilder extends CodeGeneratorTestBase
                         {
                             try( final var ignore = m_WriteLock.lock() )
                             {
-                                m_AccessorsRegistry.get( "date1" ).writePreference( m_UserPreferences );
-                                m_AccessorsRegistry.get( "date2" ).writePreference( m_UserPreferences );
-                                m_AccessorsRegistry.get( "enum1" ).writePreference( m_UserPreferences );
-                                m_AccessorsRegistry.get( "int1" ).writePreference( m_UserPreferences );
-                                m_AccessorsRegistry.get( "int2" ).writePreference( m_UserPreferences );
-                                m_AccessorsRegistry.get( "int3" ).writePreference( m_UserPreferences );
-                                m_AccessorsRegistry.get( "int4" ).writePreference( m_UserPreferences );
-                                m_AccessorsRegistry.get( "string1" ).writePreference( m_UserPreferences );
-                                m_AccessorsRegistry.get( "string2" ).writePreference( m_UserPreferences );
-                                    
-                                m_UserPreferences.flush();
+                                /*
+                                 * The first write takes all preferences, not only the modified
+                                 * ones; otherwise an absent node would not be created with the
+                                 * current values of the configuration bean.
+                                 */
+                                if( !m_PreferencesPersisted ) m_DirtyPreferences.set( 0, 9 );
+
+                                /*
+                                 * Write only the preferences that were modified since the last
+                                 * call to this method, and skip the flush if there are none.
+                                 */
+                                if( !m_DirtyPreferences.isEmpty() )
+                                {
+                                    if( m_DirtyPreferences.get( 0 ) )
+                                    {
+                                        m_Date1Accessor.writePreference( m_UserPreferences );
+                                    }
+                                    if( m_DirtyPreferences.get( 1 ) )
+                                    {
+                                        m_Date2Accessor.writePreference( m_UserPreferences );
+                                    }
+                                    if( m_DirtyPreferences.get( 2 ) )
+                                    {
+                                        m_Enum1Accessor.writePreference( m_UserPreferences );
+                                    }
+                                    if( m_DirtyPreferences.get( 3 ) )
+                                    {
+                                        m_Int1Accessor.writePreference( m_UserPreferences );
+                                    }
+                                    if( m_DirtyPreferences.get( 4 ) )
+                                    {
+                                        m_Int2Accessor.writePreference( m_UserPreferences );
+                                    }
+                                    if( m_DirtyPreferences.get( 5 ) )
+                                    {
+                                        m_Int3Accessor.writePreference( m_UserPreferences );
+                                    }
+                                    if( m_DirtyPreferences.get( 6 ) )
+                                    {
+                                        m_Int4Accessor.writePreference( m_UserPreferences );
+                                    }
+                                    if( m_DirtyPreferences.get( 7 ) )
+                                    {
+                                        m_String1Accessor.writePreference( m_UserPreferences );
+                                    }
+                                    if( m_DirtyPreferences.get( 8 ) )
+                                    {
+                                        m_String2Accessor.writePreference( m_UserPreferences );
+                                    }
+                                    
+                                    m_UserPreferences.flush();
+                                    m_DirtyPreferences.clear();
+                                    m_PreferencesPersisted = true;
+                                }
                             }
                             catch( final BackingStoreException e )
                             {
@@ -0,0 +1,181 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package org.tquadrat.foundation.config.ap.impl;
+
+import static java.lang.String.format;
+import static java.lang.System.out;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.tquadrat.foundation.util.StringUtils.isNotEmptyOrBlank;
+
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.tquadrat.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.ap.APHelper;
+import org.tquadrat.foundation.config.ConfigBeanSpec;
+import org.tquadrat.foundation.config.PreferencesBeanSpec;
+import org.tquadrat.foundation.test.prefs.FilePreferences;
+import org.tquadrat.foundation.test.prefs.MemoryPreferencesFactory;
+import org.tquadrat.foundation.javacomposer.ClassName;
+import org.tquadrat.foundation.test.helper.CodeGeneratorTestBase;
+
+/**
+ *  Tests the generation of a configuration bean that retrieves its
+ *  preferences root nodes from a
+ *  {@linkplain org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor#OPTION_PreferencesFactory configured factory},
+ *  and the file based implementation of the preferences.
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: TestPreferencesFactory.java 1178 2026-10-18 14:52:37Z tquadrat $
+ */
+@ClassVersion( sourceVersion = "$Id: TestPreferencesFactory.java 1178 2026-10-18 14:52:37Z tquadrat $" )
+@DisplayName( "org.tquadrat.foundation.config.ap.impl.TestPreferencesFactory" )
+public class TestPreferencesFactory extends CodeGeneratorTestBase
+{
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  A test for the code generation.
+     *
+     *  @param  flag    {@code true} if debug output should be created,
+     *      {@code false} if not.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @ParameterizedTest( name = "testCodeGeneration [{index}] = {0}" )
+    @ValueSource( booleans = { true, false } )
+    final void testCodeGeneration( final boolean flag ) throws Exception
+    {
+        skipThreadTest();
+
+        final var header = format( "%n//----< %2$s >%1$s", "-".repeat( 80 ), "testPreferencesFactory" ).substring( 0, 80 );
+
+        final APHelper environment = mock( APHelper.class );
+        final var configuration = createConfiguration( "PrefBean", "PrefSpec", environment, flag );
+        assertNotNull( configuration );
+        configuration.setPreferencesFactory( ClassName.from( MemoryPreferencesFactory.class ) );
+
+        //---* Add the interfaces to implement *-------------------------------
+        final var interfacesToImplement = List.of( ClassName.from( ConfigBeanSpec.class ), ClassName.from( PreferencesBeanSpec.class ) );
+        configuration.addInterfacesToImplement( interfacesToImplement );
+
+        //---* Add the properties *--------------------------------------------
+        createPropertiesForConfigBeanSpec( configuration );
+        createPropertiesForSystemPrefsInit( configuration );
+        createCustomProperties1( configuration );
+
+        //---* Run the test *--------------------------------------------------
+        replayAll();
+        final var candidate = new CodeGenerator( configuration );
+        assertNotNull( candidate );
+
+        final var code = candidate.createCode();
+        assertNotNull( code );
+        final var actual = new StringBuilder();
+        code.writeTo( actual );
+        assertTrue( isNotEmptyOrBlank( actual ) );
+        if( flag )
+        {
+            out.println( header );
+            out.println( actual );
+            out.println( header );
+            out.println();
+        }
+
+        final var source = actual.toString();
+        assertTrue( source.contains( "import org.tquadrat.foundation.test.prefs.MemoryPreferencesFactory;" ) );
+        assertEquals( "m_UserPreferences = new MemoryPreferencesFactory().userRoot().node( m_PreferencesRoot );", extractStatement( source, "m_UserPreferences = " ) );
+        assertEquals(
+            """
+            if( new MemoryPreferencesFactory().systemRoot().nodeExists( "/org/tquadrat/foundation/test" ) )
+                        {
+                            final var node = new MemoryPreferencesFactory().systemRoot().node( "/org/tquadrat/foundation/test" );
+                            new StringAccessor( "system_preference", () -> m_SystemPrefsString, p -> m_SystemPrefsString = p ).readPreference( node );
+                        }""", extractBlock( source, "if( new MemoryPreferencesFactory().systemRoot().nodeExists(" ) );
+        assertFalse( source.contains( "import static java.util.prefs.Preferences.userRoot;" ) );
+        assertFalse( source.contains( "import static java.util.prefs.Preferences.systemRoot;" ) );
+    }   //  testCodeGeneration()
+
+    /**
+     *  Tests the persistence of
+     *  {@link FilePreferences}.
+     *
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @Test
+    final void testFilePreferences() throws Exception
+    {
+        skipThreadTest();
+
+        final var folder = Files.createTempDirectory( "TestPreferencesFactory" );
+        final var file = folder.resolve( "test.prefs" );
+        try
+        {
+            final var root = new FilePreferences( file );
+            root.put( "rootKey", "rootValue" );
+            final var node = root.node( "org/tquadrat/test" );
+            node.put( "key1", "value1" );
+            node.put( "key//2", "value2" );
+            root.node( "org/tquadrat/empty" );
+            assertFalse( Files.exists( file ) );
+            root.flush();
+            assertTrue( Files.exists( file ) );
+
+            final var candidate = new FilePreferences( file );
+            assertEquals( "rootValue", candidate.get( "rootKey", null ) );
+            assertArrayEquals( new String [] { "org" }, candidate.childrenNames() );
+            assertTrue( candidate.nodeExists( "org/tquadrat/test" ) );
+            assertFalse( candidate.nodeExists( "org/tquadrat/empty" ) );
+            final var candidateNode = candidate.node( "org/tquadrat/test" );
+            assertEquals( "value1", candidateNode.get( "key1", null ) );
+            assertEquals( "value2", candidateNode.get( "key//2", null ) );
+
+            //---* Modify the file through the first tree *--------------------
+            node.remove( "key1" );
+            node.flush();
+            assertEquals( "value1", candidateNode.get( "key1", null ) );
+            candidate.sync();
+            assertNull( candidateNode.get( "key1", null ) );
+
+            //---* Remove the node *-------------------------------------------
+            candidateNode.removeNode();
+            candidate.flush();
+            assertFalse( new FilePreferences( file ).nodeExists( "org/tquadrat/test" ) );
+        }
+        finally
+        {
+            Files.deleteIfExists( file );
+            Files.deleteIfExists( folder );
+        }
+    }   //  testFilePreferences()
+}
+//  class TestPreferencesFactory
+
+/*
+ *  End of File
+ */
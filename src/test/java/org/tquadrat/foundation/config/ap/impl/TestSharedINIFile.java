@@ -0,0 +1,547 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package org.tquadrat.foundation.config.ap.impl;
+
+import static java.lang.String.format;
+import static java.lang.System.out;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.tquadrat.foundation.util.StringUtils.isNotEmptyOrBlank;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.tquadrat.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.ap.APHelper;
+import org.tquadrat.foundation.config.ConfigBeanSpec;
+import org.tquadrat.foundation.config.INIBeanSpec;
+import org.tquadrat.foundation.inifile.INIFile;
+import org.tquadrat.foundation.javacomposer.ClassName;
+import org.tquadrat.foundation.test.helper.CodeGeneratorTestBase;
+
+/**
+ *  Tests the generation of a configuration bean with the
+ *  {@linkplain org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor#OPTION_SharedINIFile shared INIFile instance}
+ *  of the INI file.
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: TestSharedINIFile.java 1186 2026-10-19 09:37:14Z tquadrat $
+ */
+@ClassVersion( sourceVersion = "$Id: TestSharedINIFile.java 1186 2026-10-19 09:37:14Z tquadrat $" )
+@DisplayName( "org.tquadrat.foundation.config.ap.impl.TestSharedINIFile" )
+public class TestSharedINIFile extends CodeGeneratorTestBase
+{
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Compiles the generated class {@code SharedINIFile}, the fields for the
+     *  shared instances and the method {@code obtainSharedINIFile()} into a
+     *  stub for the configuration bean.
+     *
+     *  @param  source  The source of the configuration bean.
+     *  @param  folder  The folder for the compiled class.
+     *  @return The class for the stub.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    private static final Class<?> compileSharedINIFile( final String source, final Path folder ) throws Exception
+    {
+        final var classSource = format(
+            """
+            import static java.nio.file.Files.*;
+            import static org.tquadrat.foundation.lang.Objects.isNull;
+            import static org.tquadrat.foundation.lang.Objects.nonNull;
+
+            import java.io.IOException;
+            import java.lang.ref.ReferenceQueue;
+            import java.lang.ref.WeakReference;
+            import java.nio.file.Path;
+            import java.nio.file.attribute.FileTime;
+            import java.util.HashMap;
+            import java.util.Map;
+
+            import org.tquadrat.foundation.inifile.INIFile;
+
+            public final class INIBean
+            {
+                %1$s
+                %2$s
+                %3$s
+                %4$s
+                private final Path m_Path;
+
+                public INIBean( final Path path ) { m_Path = path; }
+
+                private final INIFile createINIFile() throws ExceptionInInitializerError
+                {
+                    try
+                    {
+                        return INIFile.open( m_Path );
+                    }
+                    catch( final IOException e )
+                    {
+                        throw new ExceptionInInitializerError( e );
+                    }
+                }
+
+                private final Path retrieveINIFilePath() { return m_Path; }
+
+                public final INIFile get() { return obtainSharedINIFile(); }
+
+                public final void refresh() throws IOException
+                {
+                    obtainSharedINIFile();
+                    synchronized( m_SharedINIFile )
+                    {
+                        m_SharedINIFile.refresh( retrieveINIFilePath() );
+                    }
+                }
+
+                %5$s
+            }
+            """,
+            extractBlock( source, "private static final class SharedINIFile" ),
+            extractStatement( source, "private static final Map<Path, WeakReference<SharedINIFile>> m_SharedINIFiles" ),
+            extractStatement( source, "private static final ReferenceQueue<SharedINIFile> m_ClearedSharedINIFiles" ),
+            extractStatement( source, "private volatile SharedINIFile m_SharedINIFile" ),
+            extractBlock( source, "private final INIFile obtainSharedINIFile()" ) );
+        final var retValue = compileClass( folder, "INIBean", classSource );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  compileSharedINIFile()
+
+    /**
+     *  Generates the source for the configuration bean.
+     *
+     *  @param  flag    {@code true} if debug output should be created,
+     *      {@code false} if not.
+     *  @param  atomic  {@code true} if the INI file should be saved
+     *      atomically, {@code false} otherwise.
+     *  @return The source.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    private final String createSource( final boolean flag, final boolean atomic ) throws Exception
+    {
+        final APHelper environment = mock( APHelper.class );
+        final var configuration = createConfiguration( "INIBean", "INISpec", environment, flag );
+        assertNotNull( configuration );
+        configuration.setSharedINIFile( true );
+        configuration.setAtomicINIFileSave( atomic );
+
+        //---* Add the interfaces to implement *-------------------------------
+        final var interfacesToImplement = List.of( ClassName.from( ConfigBeanSpec.class ), ClassName.from( INIBeanSpec.class ) );
+        configuration.addInterfacesToImplement( interfacesToImplement );
+
+        //---* Add the properties *--------------------------------------------
+        createPropertiesForConfigBeanSpec( configuration );
+        createPropertiesForINIBeanSpec( configuration );
+
+        //---* Create the code *-----------------------------------------------
+        replayAll();
+        final var candidate = new CodeGenerator( configuration );
+        assertNotNull( candidate );
+
+        final var code = candidate.createCode();
+        assertNotNull( code );
+        final var actual = new StringBuilder();
+        code.writeTo( actual );
+        assertTrue( isNotEmptyOrBlank( actual ) );
+        final var retValue = actual.toString();
+
+        if( flag )
+        {
+            final var header = format( "%n//----< %2$s >%1$s", "-".repeat( 80 ), "testSharedINIFile" ).substring( 0, 80 );
+            out.println( header );
+            out.println( retValue );
+            out.println( header );
+            out.println();
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  createSource()
+
+    /**
+     *  A test for the code generation with the atomic save of the INI file.
+     *
+     *  @param  flag    {@code true} if debug output should be created,
+     *      {@code false} if not.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @ParameterizedTest( name = "testAtomicCodeGeneration [{index}] = {0}" )
+    @ValueSource( booleans = { true, false } )
+    final void testAtomicCodeGeneration( final boolean flag ) throws Exception
+    {
+        skipThreadTest();
+
+        final var source = createSource( flag, true );
+
+        //---* The shared instance is refreshed inside its monitor *-----------
+        final var expected =
+            """
+            public final void updateINIFile()
+                {
+                    try( final var ignore = m_WriteLock.lock() )
+                    {
+                        /*
+                         * The first write takes all values, not only the modified ones;
+                         * otherwise an absent INI file would not be created with the
+                         * current values of the configuration bean.
+                         */
+                        if( !m_INIValuesPersisted ) m_DirtyINIValues.set( 0, 4 );
+
+                        /*
+                         * Write only the values that were modified since the last call
+                         * to this method, and skip the save if there are none.
+                         */
+                        if( !m_DirtyINIValues.isEmpty() )
+                        {
+                            /*
+                             * Take the flags for the values to write, and reset them before
+                             * the write; if the write fails, they will be restored, together
+                             * with the flags for the values that were modified in the
+                             * meantime.
+                             */
+                            final var dirty = (BitSet) m_DirtyINIValues.clone();
+                            m_DirtyINIValues.clear();
+                            try
+                            {
+                                saveINIFileAtomically( dirty );
+                                obtainSharedINIFile();
+                                synchronized( m_SharedINIFile )
+                                {
+                                    m_SharedINIFile.refresh( retrieveINIFilePath() );
+                                }
+                                m_INIValuesPersisted = true;
+                            }
+                            catch( final IOException | RuntimeException e )
+                            {
+                                m_DirtyINIValues.or( dirty );
+                                throw e;
+                            }
+                        }
+                    }
+                    catch( final IOException e )
+                    {
+                        throw new PreferencesException( e );
+                    }
+                }""";
+        assertEquals( expected, extractBlock( source, "public final void updateINIFile()" ) );
+    }   //  testAtomicCodeGeneration()
+
+    /**
+     *  A test for the code generation.
+     *
+     *  @param  flag    {@code true} if debug output should be created,
+     *      {@code false} if not.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @ParameterizedTest( name = "testCodeGeneration [{index}] = {0}" )
+    @ValueSource( booleans = { true, false } )
+    final void testCodeGeneration( final boolean flag ) throws Exception
+    {
+        skipThreadTest();
+
+        final var source = createSource( flag, false );
+        assertEquals( "m_INIFile = Lazy.use( this::obtainSharedINIFile );", extractStatement( source, "m_INIFile = Lazy.use(" ) );
+
+        //---* The shared instances *------------------------------------------
+        assertEquals( "private static final Map<Path, WeakReference<SharedINIFile>> m_SharedINIFiles = new HashMap<>();", extractStatement( source, "private static final Map<Path, WeakReference<SharedINIFile>> m_SharedINIFiles" ) );
+        assertEquals( "private static final ReferenceQueue<SharedINIFile> m_ClearedSharedINIFiles = new ReferenceQueue<>();", extractStatement( source, "private static final ReferenceQueue<SharedINIFile> m_ClearedSharedINIFiles" ) );
+        assertEquals( "private volatile SharedINIFile m_SharedINIFile = null;", extractStatement( source, "private volatile SharedINIFile m_SharedINIFile" ) );
+
+        var expected =
+            """
+            public final synchronized void refresh( final Path path ) throws IOException
+                    {
+                        final var lastModified = exists( path ) ? getLastModifiedTime( path ) : null;
+                        final var size = nonNull( lastModified ) ? size( path ) : -1L;
+                        if( (size != m_Size) || (nonNull( lastModified ) && !lastModified.equals( m_LastModified )) )
+                        {
+                            m_File.refresh();
+                            m_LastModified = lastModified;
+                            m_Size = size;
+                        }
+                    }""";
+        assertEquals( expected, extractBlock( source, "public final synchronized void refresh( final Path path ) throws IOException" ) );
+
+        expected =
+            """
+            private final INIFile obtainSharedINIFile() throws ExceptionInInitializerError
+                {
+                    final var path = retrieveINIFilePath();
+                    SharedINIFile sharedINIFile;
+                    synchronized( m_SharedINIFiles )
+                    {
+                        // Purge the entries for the holders that are gone
+                        for( var cleared = m_ClearedSharedINIFiles.poll(); nonNull( cleared ); cleared = m_ClearedSharedINIFiles.poll() ) m_SharedINIFiles.values().remove( cleared );
+
+                        final var reference = m_SharedINIFiles.get( path );
+                        sharedINIFile = isNull( reference ) ? null : reference.get();
+                        if( isNull( sharedINIFile ) )
+                        {
+                            try
+                            {
+                                final var lastModified = exists( path ) ? getLastModifiedTime( path ) : null;
+                                final var size = nonNull( lastModified ) ? size( path ) : -1L;
+                                sharedINIFile = new SharedINIFile( createINIFile(), lastModified, size );
+                            }
+                            catch( final IOException e )
+                            {
+                                throw new ExceptionInInitializerError( e );
+                            }
+                            m_SharedINIFiles.put( path, new WeakReference<>( sharedINIFile, m_ClearedSharedINIFiles ) );
+                        }
+                    }
+                    m_SharedINIFile = sharedINIFile;
+                    final var retValue = sharedINIFile.m_File;
+
+                    //---* Done *----------------------------------------------------------
+                    return retValue;
+                }""";
+        assertEquals( expected, extractBlock( source, "private final INIFile obtainSharedINIFile() throws ExceptionInInitializerError" ) );
+
+        //---* The shared instance is guarded by its holder *------------------
+        expected =
+            """
+            public final void loadINIFile()
+                {
+                    try
+                    {
+                        if( checkINIFileState() )
+                        {
+                            /*
+                             * The state of the file is taken before the file is read, but
+                             * it is recorded only after the values were loaded
+                             * successfully; a modification in between will cause another
+                             * reload, but it will not get lost.
+                             */
+                            final var path = retrieveINIFilePath();
+                            final var lastModified = exists( path ) ? getLastModifiedTime( path ) : null;
+                            final var fileSize = nonNull( lastModified ) ? size( path ) : -1L;
+                            try( final var ignore = m_WriteLock.lock() )
+                            {
+                                final var iniFile = m_INIFile.get();
+                                synchronized( m_SharedINIFile )
+                                {
+                                    m_SharedINIFile.refresh( retrieveINIFilePath() );
+
+                                    /*
+                                     * Load the data.
+                                     */
+                                    {
+                                        final var stringConverter = InstantStringConverter.INSTANCE;
+                                        m_Date1Ini = iniFile.getValue( "Group1", "date1Ini", stringConverter ).orElse( m_Date1Ini );
+                                    }
+                                    {
+                                        final var stringConverter = IntegerStringConverter.INSTANCE;
+                                        m_Int1Ini = iniFile.getValue( "Group1", "int1Ini", stringConverter ).orElse( m_Int1Ini );
+                                    }
+                                    {
+                                        final var stringConverter = IntegerStringConverter.INSTANCE;
+                                        m_Int2Ini = iniFile.getValue( "Group1", "int2Ini", stringConverter ).orElse( m_Int2Ini );
+                                    }
+                                    {
+                                        final var stringConverter = StringStringConverter.INSTANCE;
+                                        m_String1Ini = iniFile.getValue( "Group1", "string1Ini", stringConverter ).orElse( m_String1Ini );
+                                    }
+                                }
+
+                                m_INIFileLastModified = lastModified;
+                                m_INIFileSize = fileSize;
+                            }
+                        }
+                    }
+                    catch( final IOException e )
+                    {
+                        throw new PreferencesException( e );
+                    }
+                }""";
+        assertEquals( expected, extractBlock( source, "public final void loadINIFile()" ) );
+
+        expected =
+            """
+            public final void updateINIFile()
+                {
+                    try( final var ignore = m_WriteLock.lock() )
+                    {
+                        /*
+                         * The first write takes all values, not only the modified ones;
+                         * otherwise an absent INI file would not be created with the
+                         * current values of the configuration bean.
+                         */
+                        if( !m_INIValuesPersisted ) m_DirtyINIValues.set( 0, 4 );
+
+                        /*
+                         * Write only the values that were modified since the last call
+                         * to this method, and skip the save if there are none.
+                         */
+                        if( !m_DirtyINIValues.isEmpty() )
+                        {
+                            /*
+                             * Take the flags for the values to write, and reset them before
+                             * the write; if the write fails, they will be restored, together
+                             * with the flags for the values that were modified in the
+                             * meantime.
+                             */
+                            final var dirty = (BitSet) m_DirtyINIValues.clone();
+                            m_DirtyINIValues.clear();
+                            try
+                            {
+                                final var iniFile = m_INIFile.get();
+                                synchronized( m_SharedINIFile )
+                                {
+
+                                    /*
+                                     * Write the data.
+                                     */
+                                    if( dirty.get( 0 ) )
+                                    {
+                                        final var stringConverter = InstantStringConverter.INSTANCE;
+                                        iniFile.setValue( "Group1", "date1Ini", m_Date1Ini, stringConverter );
+                                    }
+                                    if( dirty.get( 1 ) )
+                                    {
+                                        final var stringConverter = IntegerStringConverter.INSTANCE;
+                                        iniFile.setValue( "Group1", "int1Ini", m_Int1Ini, stringConverter );
+                                    }
+                                    if( dirty.get( 2 ) )
+                                    {
+                                        final var stringConverter = IntegerStringConverter.INSTANCE;
+                                        iniFile.setValue( "Group1", "int2Ini", m_Int2Ini, stringConverter );
+                                    }
+                                    if( dirty.get( 3 ) )
+                                    {
+                                        final var stringConverter = StringStringConverter.INSTANCE;
+                                        iniFile.setValue( "Group1", "string1Ini", m_String1Ini, stringConverter );
+                                    }
+
+                                    iniFile.save();
+                                }
+                                recordINIFileState();
+                                m_INIValuesPersisted = true;
+                            }
+                            catch( final IOException | RuntimeException e )
+                            {
+                                m_DirtyINIValues.or( dirty );
+                                throw e;
+                            }
+                        }
+                    }
+                    catch( final IOException e )
+                    {
+                        throw new PreferencesException( e );
+                    }
+                }""";
+        assertEquals( expected, extractBlock( source, "public final void updateINIFile()" ) );
+
+        //---* The structure is applied to each new INIFile instance *--------
+        expected =
+            """
+            private final INIFile createINIFile() throws ExceptionInInitializerError
+                {
+                    final INIFile retValue;
+                    final var path = retrieveINIFilePath();
+                    try
+                    {
+                        if( !exists( path ) )
+                        {
+                            throw new FileNotFoundException( path.toString() );
+                        }
+                        retValue = INIFile.open( path );
+                    }
+                    catch( final IOException e )
+                    {
+                        throw new ExceptionInInitializerError( e );
+                    }
+
+                    // Sets the structure of the INIFile
+                    applyINIFileStructure( retValue );
+
+                    //---* Done *----------------------------------------------------------
+                    return retValue;
+                }""";
+        assertEquals( expected, extractBlock( source, "private final INIFile createINIFile() throws ExceptionInInitializerError" ) );
+        assertFalse( source.contains( "m_StructuredINIFiles" ) );
+    }   //  testCodeGeneration()
+
+    /**
+     *  Tests the generated code for the shared {@code INIFile} instances.
+     *
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @Test
+    final void testSharing() throws Exception
+    {
+        skipThreadTest();
+
+        final var folder = Files.createTempDirectory( "TestSharedINIFile" );
+        final var file = folder.resolve( "test.ini" );
+        final var otherFile = folder.resolve( "other.ini" );
+        try
+        {
+            Files.writeString( file, "[Group1]\nkey1=value1\n" );
+            Files.writeString( otherFile, "[Group1]\nkey1=other\n" );
+
+            final var beanClass = compileSharedINIFile( createSource( false, false ), folder );
+            final var constructor = beanClass.getConstructor( Path.class );
+            final var get = beanClass.getMethod( "get" );
+            final var refresh = beanClass.getMethod( "refresh" );
+
+            //---* Beans for the same file share the instance *----------------
+            final var bean1 = constructor.newInstance( file );
+            final var bean2 = constructor.newInstance( file );
+            final var bean3 = constructor.newInstance( otherFile );
+            final var iniFile = (INIFile) get.invoke( bean1 );
+            assertSame( iniFile, get.invoke( bean2 ) );
+            assertNotSame( iniFile, get.invoke( bean3 ) );
+            assertEquals( "value1", iniFile.getValue( "Group1", "key1" ).orElse( null ) );
+            assertEquals( "other", ((INIFile) get.invoke( bean3 )).getValue( "Group1", "key1" ).orElse( null ) );
+
+            //---* An external modification is picked up on refresh *----------
+            Files.writeString( file, "[Group1]\nkey1=value2 (modified)\n" );
+            refresh.invoke( bean2 );
+            assertEquals( "value2 (modified)", iniFile.getValue( "Group1", "key1" ).orElse( null ) );
+            assertSame( iniFile, get.invoke( bean1 ) );
+        }
+        finally
+        {
+            try( final var paths = Files.list( folder ) )
+            {
+                for( final var path : paths.toList() ) Files.deleteIfExists( path );
+            }
+            Files.deleteIfExists( folder );
+        }
+    }   //  testSharing()
+}
+//  class TestSharedINIFile
+
+/*
+ *  End of File
+ */
@@ -0,0 +1,326 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.config.ap.impl;
+
+import static java.lang.String.format;
+import static java.lang.System.out;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.tquadrat.foundation.config.ap.PropertySpec.PropertyFlag.PROPERTY_CLI_MANDATORY;
+import static org.tquadrat.foundation.config.ap.PropertySpec.PropertyFlag.PROPERTY_CLI_MULTIVALUED;
+import static org.tquadrat.foundation.config.ap.PropertySpec.PropertyFlag.PROPERTY_IS_ARGUMENT;
+import static org.tquadrat.foundation.config.ap.PropertySpec.PropertyFlag.PROPERTY_REQUIRES_SYNCHRONIZATION;
+import static org.tquadrat.foundation.util.StringUtils.isNotEmptyOrBlank;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.tquadrat.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.ap.APHelper;
+import org.tquadrat.foundation.config.CLIBeanSpec;
+import org.tquadrat.foundation.config.ConfigBeanSpec;
+import org.tquadrat.foundation.config.ap.CollectionKind;
+import org.tquadrat.foundation.javacomposer.ClassName;
+import org.tquadrat.foundation.javacomposer.ParameterizedTypeName;
+import org.tquadrat.foundation.test.NameImpl;
+import org.tquadrat.foundation.test.helper.CodeGeneratorTestBase;
+import org.tquadrat.foundation.util.stringconverter.StringStringConverter;
+
+/**
+ *  Tests the generation of a configuration bean with support for
+ *  {@linkplain org.tquadrat.foundation.config.ap.ConfigAnnotationProcessor#OPTION_StreamedArgumentFiles streamed argument files}.
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: TestStreamedArgumentFiles.java 1190 2026-10-19 12:36:54Z tquadrat $
+ */
+@ClassVersion( sourceVersion = "$Id: TestStreamedArgumentFiles.java 1190 2026-10-19 12:36:54Z tquadrat $" )
+@DisplayName( "org.tquadrat.foundation.config.ap.impl.TestStreamedArgumentFiles" )
+public class TestStreamedArgumentFiles extends CodeGeneratorTestBase
+{
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Compiles the generated value handler for the multi-valued argument,
+     *  the method that adds the values to it, and the method
+     *  {@code parseCommandLine()}, into a stub for the configuration bean.
+     *
+     *  @param  source  The source of the configuration bean.
+     *  @param  folder  The folder for the compiled class.
+     *  @return The class for the stub.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    private static final Class<?> compileArgumentFiles( final String source, final Path folder ) throws Exception
+    {
+        final var classSource = format(
+            """
+            import java.io.IOException;
+            import java.io.UncheckedIOException;
+            import java.nio.charset.StandardCharsets;
+            import java.nio.file.Files;
+            import java.nio.file.Path;
+            import java.util.ArrayList;
+            import java.util.List;
+            import java.util.function.BiConsumer;
+
+            import org.tquadrat.foundation.config.CmdLineException;
+            import org.tquadrat.foundation.config.ConfigUtil;
+            import org.tquadrat.foundation.config.cli.CmdLineValueHandler;
+            import org.tquadrat.foundation.config.cli.SimpleCmdLineValueHandler;
+            import org.tquadrat.foundation.config.spi.CLIArgumentDefinition;
+            import org.tquadrat.foundation.config.spi.CLIDefinition;
+            import org.tquadrat.foundation.util.stringconverter.StringStringConverter;
+
+            public final class MyCLIConfigurationBean
+            {
+                public interface Unlock extends AutoCloseable { @Override public void close(); }
+                public static final class WriteLock { public final Unlock lock() { return () -> {}; } }
+
+                private final List<CLIDefinition> m_CLIDefinitions = new ArrayList<>();
+                private String m_CLIErrorMessage = null;
+                private final List<String> m_Files = new ArrayList<>();
+                private final WriteLock m_WriteLock = new WriteLock();
+
+                public MyCLIConfigurationBean()
+                {
+                    final CmdLineValueHandler<?> valueHandler = composeValueHandler_Files();
+                    final CLIDefinition %1$s
+                    m_CLIDefinitions.add( cliDefinition );
+                }
+
+                public final List<String> getFiles() { return m_Files; }
+                public final String retrieveParseErrorMessage() { return m_CLIErrorMessage; }
+
+                %2$s
+
+                %3$s
+
+                %4$s
+            }
+            """,
+            extractStatement( source, "cliDefinition = new CLIArgumentDefinition( \"files\"" ),
+            extractBlock( source, "private final void addArgumentValue(" ),
+            extractBlock( source, "private final CmdLineValueHandler<?> composeValueHandler_Files()" ),
+            extractBlock( source, "public final boolean parseCommandLine(" ) );
+        final var retValue = compileClass( folder, "MyCLIConfigurationBean", classSource );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  compileArgumentFiles()
+
+    /**
+     *  Generates the code for a configuration bean with a mandatory
+     *  multi-valued argument.
+     *
+     *  @param  flag    {@code true} if debug output should be created,
+     *      {@code false} if not.
+     *  @param  testName    The name of the test.
+     *  @return The generated code.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    private final String generate( final boolean flag, final String testName ) throws Exception
+    {
+        final var header = format( "%n//----< %2$s >%1$s", "-".repeat( 80 ), testName ).substring( 0, 80 );
+
+        final APHelper environment = mock( APHelper.class );
+        final var configuration = createCLIConfiguration( environment, flag );
+        assertNotNull( configuration );
+        configuration.setStreamedArgumentFiles( true );
+
+        //---* Add the interfaces to implement *-------------------------------
+        final var interfacesToImplement = List.of( ClassName.from( ConfigBeanSpec.class ), ClassName.from( CLIBeanSpec.class ) );
+        configuration.addInterfacesToImplement( interfacesToImplement );
+
+        //---* Add the properties *--------------------------------------------
+        createPropertiesForConfigBeanSpec( configuration );
+
+        final var propertyType = ParameterizedTypeName.from( List.class, String.class );
+        final var property = new PropertySpecImpl( "files" );
+        configuration.addProperty( property );
+        property.setFlag( PROPERTY_IS_ARGUMENT, PROPERTY_CLI_MANDATORY, PROPERTY_CLI_MULTIVALUED );
+        property.setPropertyType( propertyType );
+        property.setCollectionKind( CollectionKind.LIST );
+        property.setFieldName( "m_Files" );
+        property.setGetterMethodName( new NameImpl( "getFiles" ) );
+        property.setGetterReturnType( propertyType );
+        property.setStringConverterClass( ClassName.from( StringStringConverter.class ) );
+        property.setCLIArgumentIndex( 0 );
+        if( configuration.getSynchronizationRequired() ) property.setFlag( PROPERTY_REQUIRES_SYNCHRONIZATION );
+
+        //---* Generate the code *---------------------------------------------
+        replayAll();
+        final var candidate = new CodeGenerator( configuration );
+        assertNotNull( candidate );
+
+        final var code = candidate.createCode();
+        assertNotNull( code );
+        final var actual = new StringBuilder();
+        code.writeTo( actual );
+        assertTrue( isNotEmptyOrBlank( actual ) );
+        if( flag )
+        {
+            out.println( header );
+            out.println( actual );
+            out.println( header );
+            out.println();
+        }
+
+        //---* Done *----------------------------------------------------------
+        return actual.toString();
+    }   //  generate()
+
+    /**
+     *  Tests the values from argument files: they are added in place of the
+     *  token that names the file, a mandatory argument can be given by an
+     *  argument file alone, and a file that cannot be read fails the
+     *  parsing.
+     *
+     *  @param  folder  The folder for the compiled class and the argument
+     *      files.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @Test
+    final void testArgumentFiles( @TempDir final Path folder ) throws Exception
+    {
+        skipThreadTest();
+
+        final var beanClass = compileArgumentFiles( generate( false, "testArgumentFiles" ), folder );
+        final var parseCommandLine = beanClass.getMethod( "parseCommandLine", String [].class );
+        final var getFiles = beanClass.getMethod( "getFiles" );
+        final var retrieveParseErrorMessage = beanClass.getMethod( "retrieveParseErrorMessage" );
+
+        final var argumentFile = folder.resolve( "arguments.txt" );
+        Files.writeString( argumentFile, "b\n\nc\n", UTF_8 );
+
+        //---* The values from the file take the place of the token *---------
+        var bean = beanClass.getConstructor().newInstance();
+        assertTrue( (Boolean) parseCommandLine.invoke( bean, (Object) new String [] { "a", "@@" + argumentFile, "d" } ) );
+        assertNull( retrieveParseErrorMessage.invoke( bean ) );
+        assertEquals( List.of( "a", "b", "c", "d" ), getFiles.invoke( bean ) );
+
+        //---* The mandatory argument is given by the argument file alone *----
+        bean = beanClass.getConstructor().newInstance();
+        assertTrue( (Boolean) parseCommandLine.invoke( bean, (Object) new String [] { "@@" + argumentFile } ) );
+        assertEquals( List.of( "b", "c" ), getFiles.invoke( bean ) );
+
+        //---* The mandatory argument is missing *-----------------------------
+        bean = beanClass.getConstructor().newInstance();
+        assertFalse( (Boolean) parseCommandLine.invoke( bean, (Object) new String [0] ) );
+        assertNotNull( retrieveParseErrorMessage.invoke( bean ) );
+
+        //---* The argument file does not exist *------------------------------
+        bean = beanClass.getConstructor().newInstance();
+        assertFalse( (Boolean) parseCommandLine.invoke( bean, (Object) new String [] { "@@" + folder.resolve( "missing.txt" ) } ) );
+        assertNotNull( retrieveParseErrorMessage.invoke( bean ) );
+    }   //  testArgumentFiles()
+
+    /**
+     *  A test for the code generation.
+     *
+     *  @param  flag    {@code true} if debug output should be created,
+     *      {@code false} if not.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @ParameterizedTest( name = "testCodeGeneration [{index}] = {0}" )
+    @ValueSource( booleans = { true, false } )
+    final void testCodeGeneration( final boolean flag ) throws Exception
+    {
+        skipThreadTest();
+
+        final var source = generate( flag, "testStreamedArgumentFiles" );
+
+        assertEquals( "cliDefinition = new CLIArgumentDefinition( \"files\", 0, null, null, null, true, valueHandler, true, null );", extractStatement( source, "cliDefinition = new CLIArgumentDefinition( \"files\"" ) );
+
+        var expected =
+            """
+            private final CmdLineValueHandler<?> composeValueHandler_Files()
+                {
+                    @SuppressWarnings( "RedundantExplicitVariableType" )
+                    final BiConsumer<String, String> lambda = (propertyName,value) -> addArgumentValue( value );
+                    final CmdLineValueHandler<?> retValue = new SimpleCmdLineValueHandler<>( lambda, StringStringConverter.INSTANCE );
+
+                    //---* Done *----------------------------------------------------------
+                    return retValue;
+                }""";
+        assertEquals( expected, extractBlock( source, "private final CmdLineValueHandler<?> composeValueHandler_Files()" ) );
+
+        expected =
+            """
+            private final void addArgumentValue( final String value )
+                {
+                    final var stringConverter = StringStringConverter.INSTANCE;
+                    if( value.startsWith( "@@" ) )
+                    {
+                        final var file = Path.of( value.substring( 2 ) );
+                        try( final var reader = Files.newBufferedReader( file, StandardCharsets.UTF_8 ) )
+                        {
+                            for( var line = reader.readLine(); line != null; line = reader.readLine() )
+                            {
+                                if( !line.isEmpty() ) m_Files.add( stringConverter.fromString( line ) );
+                            }
+                        }
+                        catch( final IOException e )
+                        {
+                            throw new UncheckedIOException( "Cannot read argument file '%s'".formatted( file ), e );
+                        }
+                    }
+                    else
+                    {
+                        m_Files.add( stringConverter.fromString( value ) );
+                    }
+                }""";
+        assertEquals( expected, extractBlock( source, "private final void addArgumentValue(" ) );
+
+        expected =
+            """
+            public final boolean parseCommandLine( final String[] args )
+                {
+                    var retValue = true;
+                    try( final var ignored = m_WriteLock.lock() )
+                    {
+                        ConfigUtil.parseCommandLine( m_CLIDefinitions, args );
+                        m_CLIErrorMessage = null;
+                    }
+                    catch( final CmdLineException e )
+                    {
+                        m_CLIErrorMessage = e.getLocalizedMessage();
+                        retValue = false;
+                    }
+                    catch( final UncheckedIOException | IllegalArgumentException e )
+                    {
+                        m_CLIErrorMessage = e.getLocalizedMessage();
+                        retValue = false;
+                    }
+
+                    //---* Done *----------------------------------------------------------
+                    return retValue;
+                }""";
+        assertEquals( expected, extractBlock( source, "public final boolean parseCommandLine(" ) );
+    }   //  testCodeGeneration()
+}
+//  class TestStreamedArgumentFiles
@@ -0,0 +1,208 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package org.tquadrat.foundation.config.ap.impl;
+
+import static java.lang.String.format;
+import static java.lang.System.out;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.tquadrat.foundation.config.ap.PropertySpec.PropertyFlag.PROPERTY_REQUIRES_SYNCHRONIZATION;
+import static org.tquadrat.foundation.config.ap.PropertySpec.PropertyFlag.SYSTEM_PREFERENCE;
+import static org.tquadrat.foundation.util.StringUtils.isNotEmptyOrBlank;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.tquadrat.foundation.annotation.ClassVersion;
+import org.tquadrat.foundation.ap.APHelper;
+import org.tquadrat.foundation.config.ConfigBeanSpec;
+import org.tquadrat.foundation.config.ap.CodeGenerationConfiguration;
+import org.tquadrat.foundation.config.spi.prefs.StringAccessor;
+import org.tquadrat.foundation.javacomposer.ClassName;
+import org.tquadrat.foundation.test.NameImpl;
+import org.tquadrat.foundation.test.helper.CodeGeneratorTestBase;
+import org.tquadrat.foundation.util.stringconverter.StringStringConverter;
+
+/**
+ *  Tests the generation of a configuration bean with several properties
+ *  that are initialised from the same node of the SYSTEM
+ *  {@code Preferences}.
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id: TestSystemPreferenceGroups.java 1179 2026-10-18 15:27:14Z tquadrat $
+ */
+@ClassVersion( sourceVersion = "$Id: TestSystemPreferenceGroups.java 1179 2026-10-18 15:27:14Z tquadrat $" )
+@DisplayName( "org.tquadrat.foundation.config.ap.impl.TestSystemPreferenceGroups" )
+public class TestSystemPreferenceGroups extends CodeGeneratorTestBase
+{
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Adds a property that is initialised from the SYSTEM
+     *  {@code Preferences} to the given configuration.
+     *
+     *  @param  configuration   The configuration.
+     *  @param  name    The name of the property.
+     *  @param  path    The path of the node.
+     *  @param  key The key for the value.
+     */
+    private static final void createSystemPrefsProperty( final CodeGenerationConfiguration configuration, final String name, final String path, final String key )
+    {
+        final var property = new PropertySpecImpl( name );
+        configuration.addProperty( property );
+        property.setFlag( SYSTEM_PREFERENCE );
+        property.setGetterMethodName( new NameImpl( format( "get%s", name.substring( 0, 1 ).toUpperCase() + name.substring( 1 ) ) ) );
+        property.setGetterReturnType( ClassName.from( String.class ) );
+        property.setPropertyType( ClassName.from( String.class ) );
+        property.setFieldName( format( "m_%s", name.substring( 0, 1 ).toUpperCase() + name.substring( 1 ) ) );
+        property.setStringConverterClass( ClassName.from( StringStringConverter.class ) );
+        if( configuration.getSynchronizationRequired() ) property.setFlag( PROPERTY_REQUIRES_SYNCHRONIZATION );
+
+        property.setSystemPrefsPath( path );
+        property.setPrefsKey( key );
+        property.setPrefsAccessorClass( ClassName.from( StringAccessor.class ) );
+    }   //  createSystemPrefsProperty()
+
+    /**
+     *  Extracts the initialisation of the properties from the SYSTEM
+     *  {@code Preferences} from the given constructor, starting with the
+     *  comment that contains the given text and ending with the
+     *  {@code catch} block.
+     *
+     *  @param  constructor The source of the constructor.
+     *  @param  comment The text from the comment.
+     *  @return The code fragment.
+     */
+    private static final String extractFragment( final String constructor, final String comment )
+    {
+        final var begin = constructor.lastIndexOf( "/*", constructor.indexOf( comment ) );
+        assertTrue( begin >= 0, comment );
+        final var end = constructor.indexOf( '}', constructor.indexOf( "throw new ExceptionInInitializerError( e );", begin ) ) + 1;
+        final var retValue = constructor.substring( begin, end );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  extractFragment()
+
+    /**
+     *  A test for the code generation.
+     *
+     *  @param  flag    {@code true} if debug output should be created,
+     *      {@code false} if not.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    @ParameterizedTest( name = "testCodeGeneration [{index}] = {0}" )
+    @ValueSource( booleans = { true, false } )
+    final void testCodeGeneration( final boolean flag ) throws Exception
+    {
+        skipThreadTest();
+
+        final var header = format( "%n//----< %2$s >%1$s", "-".repeat( 80 ), "testSystemPreferenceGroups" ).substring( 0, 80 );
+
+        final APHelper environment = mock( APHelper.class );
+        final var configuration = createConfiguration( "ConfigBean", "ConfigSpec", environment, flag );
+        assertNotNull( configuration );
+
+        //---* Add the interfaces to implement *-------------------------------
+        final var interfacesToImplement = List.of( ClassName.from( ConfigBeanSpec.class ) );
+        configuration.addInterfacesToImplement( interfacesToImplement );
+
+        //---* Add the properties *--------------------------------------------
+        createPropertiesForConfigBeanSpec( configuration );
+        createSystemPrefsProperty( configuration, "host", "/org/tquadrat/foundation/test", "host" );
+        createSystemPrefsProperty( configuration, "port", "/org/tquadrat/foundation/test", "port" );
+        createSystemPrefsProperty( configuration, "user", "/org/tquadrat/foundation/other", "user" );
+
+        //---* Run the test *--------------------------------------------------
+        final var candidate = new CodeGenerator( configuration );
+        assertNotNull( candidate );
+
+        final var code = candidate.createCode();
+        assertNotNull( code );
+        final var actual = new StringBuilder();
+        code.writeTo( actual );
+        assertTrue( isNotEmptyOrBlank( actual ) );
+        if( flag )
+        {
+            out.println( header );
+            out.println( actual );
+            out.println( header );
+            out.println();
+        }
+
+        final var source = actual.toString();
+        assertEquals( 1, source.split( "systemRoot\\(\\)\\.node\\( \"/org/tquadrat/foundation/test\" \\)", -1 ).length - 1 );
+        assertEquals( 1, source.split( "systemRoot\\(\\)\\.node\\( \"/org/tquadrat/foundation/other\" \\)", -1 ).length - 1 );
+        final var constructor = extractBlock( source, "public ConfigBean()" );
+
+        var expected =
+            """
+            /*
+                     * Initialise the properties 'host', 'port' from the SYSTEM {@code Preferences}.
+                     *
+                     * Path: /org/tquadrat/foundation/test
+                     * Keys: host, port
+                     */
+                    try
+                    {
+                        if( systemRoot().nodeExists( "/org/tquadrat/foundation/test" ) )
+                        {
+                            final var node = systemRoot().node( "/org/tquadrat/foundation/test" );
+                            new StringAccessor( "host", () -> m_Host, p -> m_Host = p ).readPreference( node );
+                            new StringAccessor( "port", () -> m_Port, p -> m_Port = p ).readPreference( node );
+                        }
+                    }
+                    catch( final BackingStoreException e )
+                    {
+                        throw new ExceptionInInitializerError( e );
+                    }""";
+        assertEquals( expected, extractFragment( constructor, "Initialise the properties 'host', 'port'" ) );
+
+        expected =
+            """
+            /*
+                     * Initialise the property 'user' from the SYSTEM {@code Preferences}.
+                     *
+                     * Path: /org/tquadrat/foundation/other
+                     * Key : user
+                     */
+                    try
+                    {
+                        if( systemRoot().nodeExists( "/org/tquadrat/foundation/other" ) )
+                        {
+                            final var node = systemRoot().node( "/org/tquadrat/foundation/other" );
+                            new StringAccessor( "user", () -> m_User, p -> m_User = p ).readPreference( node );
+                        }
+                    }
+                    catch( final BackingStoreException e )
+                    {
+                        throw new ExceptionInInitializerError( e );
+                    }""";
+        assertEquals( expected, extractFragment( constructor, "Initialise the property 'user'" ) );
+    }   //  testCodeGeneration()
+}
+//  class TestSystemPreferenceGroups
+
+/*
+ *  End of File
+ */
@@ -19,9 +19,13 @@ package org.tquadrat.foundation.test.helper;
 
 import static java.lang.Boolean.FALSE;
 import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static javax.lang.model.element.Modifier.DEFAULT;
 import static javax.lang.model.element.Modifier.PUBLIC;
 import static org.apiguardian.api.API.Status.STABLE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.tquadrat.foundation.config.SpecialPropertyType.CONFIG_PROPERTY_CHARSET;
 import static org.tquadrat.foundation.config.SpecialPropertyType.CONFIG_PROPERTY_CLOCK;
 import static org.tquadrat.foundation.config.SpecialPropertyType.CONFIG_PROPERTY_LOCALE;
@@ -52,8 +56,13 @@ import static org.tquadrat.foundation.lang.Objects.requireNotEmptyArgument;
 import static org.tquadrat.foundation.util.JavaUtils.composeGetterName;
 import static org.tquadrat.foundation.util.JavaUtils.composeSetterName;
 
+import javax.tools.ToolProvider;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
@@ -109,6 +118,33 @@ public abstract class CodeGeneratorTestBase extends TestBaseClass
         /*---------*\
     ====** Methods **==========================================================
         \*---------*/
+    /**
+     *  Compiles the given source to the given folder and loads the
+     *  resulting class.
+     *
+     *  @param  folder  The folder for the source and the compiled class.
+     *  @param  className   The simple name of the class, without a package.
+     *  @param  classSource The source of the class.
+     *  @return The class.
+     *  @throws Exception   Something went wrong unexpectedly.
+     */
+    protected static final Class<?> compileClass( final Path folder, final String className, final String classSource ) throws Exception
+    {
+        final var sourceFile = folder.resolve( className + ".java" );
+        Files.writeString( sourceFile, classSource, UTF_8 );
+
+        final var compiler = ToolProvider.getSystemJavaCompiler();
+        assertNotNull( compiler );
+        final var result = compiler.run( null, null, null, "-proc:none", "-classpath", System.getProperty( "java.class.path" ), "-d", folder.toString(), sourceFile.toString() );
+        assertEquals( 0, result, classSource );
+
+        final var classLoader = new URLClassLoader( new URL [] { folder.toUri().toURL() }, CodeGeneratorTestBase.class.getClassLoader() );
+        final var retValue = classLoader.loadClass( className );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  compileClass()
+
     /**
      *  Creates a code generation configuration for a CLI configuration bean.
      *
@@ -145,6 +181,25 @@ public abstract class CodeGeneratorTestBase extends TestBaseClass
      */
     @SuppressWarnings( "UseOfConcreteClass" )
     protected final CodeGenerationConfiguration createConfiguration( final String className, final String specName, final APHelper environment, final boolean flag )
+    {
+        return createConfiguration( className, specName, environment, flag, true );
+    }   //  createConfiguration()
+
+    /**
+     *  Creates a generic code generation configuration.
+     *
+     *  @param  className   The name for the generated class.
+     *  @param  specName    The name for the configuration bean specification.
+     *  @param  environment The mock for the
+     *      {@link APHelper}.
+     *  @param  flag    {@code true} if debug output should be created,
+     *      {@code false} if not.
+     *  @param  synchronizeAccess   {@code true} if the generated bean should
+     *      be synchronized, {@code false} if not.
+     *  @return The configuration.
+     */
+    @SuppressWarnings( "UseOfConcreteClass" )
+    protected final CodeGenerationConfiguration createConfiguration( final String className, final String specName, final APHelper environment, final boolean flag, final boolean synchronizeAccess )
     {
         final var packageName = "org.tquadrat.foundation.test.generated";
 
@@ -154,7 +209,6 @@ public abstract class CodeGeneratorTestBase extends TestBaseClass
         final var configurationBeanClassName = new NameImpl( requireNotEmptyArgument( className, "className" ) );
         final var configurationBeanPackageName = new NameImpl( packageName );
         final var baseClass = ClassName.from( "org.tquadrat.foundation.test.config", "BaseClass" );
-        final var synchronizeAccess = true;
 
         //---* Create the return value *---------------------------------------
         final var retValue = new CodeGenerationConfiguration( environment, composer, specificationClass, configurationBeanClassName, configurationBeanPackageName, baseClass, synchronizeAccess );
@@ -841,7 +895,6 @@ public abstract class CodeGeneratorTestBase extends TestBaseClass
         final var configurationBeanClassName = new NameImpl( "MySessionConfigurationBean" );
         final var configurationBeanPackageName = new NameImpl( "org.tquadrat.foundation.test.generated" );
         final var baseClass = ClassName.from( "org.tquadrat.foundation.test.config", "BaseClass" );
-        final var synchronizeAccess = true;
 
         //---* Create the return value *---------------------------------------
         final var retValue = new CodeGenerationConfiguration( environment, composer, specificationClass, configurationBeanClassName, configurationBeanPackageName, baseClass, synchronizeAccess );
@@ -863,6 +916,58 @@ public abstract class CodeGeneratorTestBase extends TestBaseClass
         return retValue;
     }   //  createSessionConfig()
 
+    /**
+     *  Extracts the block that starts with the given text from the given
+     *  source, up to and including the matching closing brace; this is
+     *  used to retrieve a method or a nested class from generated code.
+     *
+     *  @param  source  The source.
+     *  @param  start   The start of the block, usually the signature of a
+     *      method.
+     *  @return The block.
+     */
+    protected static final String extractBlock( final String source, final String start )
+    {
+        final var begin = source.indexOf( start );
+        assertTrue( begin >= 0, start );
+        var position = source.indexOf( '{', begin );
+        var depth = 0;
+        do
+        {
+            switch( source.charAt( position ) )
+            {
+                case '{' -> ++depth;
+                case '}' -> --depth;
+                default -> { /* Nothing to do */ }
+            }
+            ++position;
+        }
+        while( depth > 0 );
+        final var retValue = source.substring( begin, position );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  extractBlock()
+
+    /**
+     *  Extracts the statement that starts with the given text from the
+     *  given source, up to and including the terminating semicolon; this is
+     *  used to retrieve a field declaration from generated code.
+     *
+     *  @param  source  The source.
+     *  @param  start   The start of the statement.
+     *  @return The statement.
+     */
+    protected static final String extractStatement( final String source, final String start )
+    {
+        final var begin = source.indexOf( start );
+        assertTrue( begin >= 0, start );
+        final var retValue = source.substring( begin, source.indexOf( ';', begin ) + 1 );
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  extractStatement()
+
     /**
      *  Composes a field name from the property name.
      *
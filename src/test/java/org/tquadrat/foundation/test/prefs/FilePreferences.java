@@ -0,0 +1,550 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package org.tquadrat.foundation.test.prefs;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.apiguardian.api.API.Status.STABLE;
+import static org.tquadrat.foundation.lang.CommonConstants.EMPTY_STRING;
+import static org.tquadrat.foundation.lang.Objects.isNull;
+import static org.tquadrat.foundation.lang.Objects.nonNull;
+import static org.tquadrat.foundation.lang.Objects.requireNonNullArgument;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.prefs.AbstractPreferences;
+import java.util.prefs.BackingStoreException;
+
+import org.apiguardian.api.API;
+import org.tquadrat.foundation.annotation.ClassVersion;
+
+/**
+ *  <p>{@summary An implementation of
+ *  {@link java.util.prefs.Preferences}
+ *  that keeps the whole tree of nodes in a single file.}</p>
+ *  <p>The file is a properties file (as written by
+ *  {@link Properties#store(java.io.Writer, String)}),
+ *  where the name of each entry is composed from the absolute path of the
+ *  node and the key, separated by a double slash, like
+ *  {@code /org/tquadrat//key}; the entries of the root node have no path,
+ *  like {@code //key}.</p>
+ *  <p>The file is read once, when the root node is created, and again on a
+ *  call to
+ *  {@link #sync()}
+ *  when it was modified since it was read last. A call to
+ *  {@link #flush()}
+ *  writes the complete tree at once to a temporary file that will then
+ *  replace the original file atomically, so that other readers will never
+ *  see a partially written file; when the file was modified by another
+ *  party in the meantime, only the modified nodes will overwrite the
+ *  current contents. The check for a modification, the merge and the
+ *  replacement of the file are guarded by a lock on a sibling file with
+ *  the extension {@code .lock}, so that concurrent writers from other
+ *  processes cannot lose each other's modifications.</p>
+ *  <p>Nodes without any key will not be persisted.</p>
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id$
+ *  @UMLGraph.link
+ *  @since 0.4.7
+ *
+ *  @see FilePreferencesFactory
+ */
+@ClassVersion( sourceVersion = "$Id$" )
+@API( status = STABLE, since = "0.4.7" )
+public final class FilePreferences extends AbstractPreferences
+{
+        /*---------------*\
+    ====** Inner Classes **====================================================
+        \*---------------*/
+    /**
+     *  The backing store for a tree of
+     *  {@link FilePreferences}
+     *  nodes.
+     *
+     *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+     *  @version $Id$
+     *  @UMLGraph.link
+     *  @since 0.4.7
+     */
+    @ClassVersion( sourceVersion = "$Id$" )
+    private static final class Store
+    {
+            /*------------------------*\
+        ====** Static Initialisations **=======================================
+            \*------------------------*/
+        /**
+         *  The monitors that guard the lock files against concurrent
+         *  access from within the current JVM, as a
+         *  {@link java.nio.channels.FileLock}
+         *  is held on behalf of the whole JVM.
+         */
+        private static final Map<Path,Object> m_Monitors = new ConcurrentHashMap<>();
+
+            /*------------*\
+        ====** Attributes **===================================================
+            \*------------*/
+        /**
+         *  The file.
+         */
+        private final Path m_File;
+
+        /**
+         *  The lock file.
+         */
+        private final Path m_LockFile;
+
+        /**
+         *  The modification time of the file when it was read or written
+         *  last; {@code null} if the file did not exist at that time.
+         */
+        private FileTime m_LastModified;
+
+        /**
+         *  The size of the file when it was read or written last.
+         */
+        private long m_LastSize;
+
+        /**
+         *  The paths of the nodes that were modified or removed since the
+         *  file was read or written last.
+         */
+        private final Set<String> m_ModifiedPaths = new HashSet<>();
+
+        /**
+         *  The snapshot of the file contents; the key is the absolute path
+         *  of a node, the value holds the values for that node.
+         */
+        private final Map<String,Map<String,String>> m_Snapshot = new HashMap<>();
+
+            /*--------------*\
+        ====** Constructors **=================================================
+            \*--------------*/
+        /**
+         *  Creates a new {@code Store} instance.
+         *
+         *  @param  file    The file.
+         *  @throws IOException Reading the file failed.
+         */
+        public Store( final Path file ) throws IOException
+        {
+            m_File = file.toAbsolutePath();
+            m_LockFile = m_File.resolveSibling( m_File.getFileName().toString() + ".lock" );
+            m_Snapshot.putAll( read() );
+        }   //  Store()
+
+            /*---------*\
+        ====** Methods **======================================================
+            \*---------*/
+        /**
+         *  Returns the names of the children of the node with the given
+         *  path.
+         *
+         *  @param  path    The absolute path of the node.
+         *  @return The names of the children.
+         */
+        public final synchronized String [] childrenNames( final String path )
+        {
+            final var prefix = path.endsWith( "/" ) ? path : path + "/";
+            final var names = new TreeSet<String>();
+            for( final var nodePath : m_Snapshot.keySet() )
+            {
+                if( (nodePath.length() > prefix.length()) && nodePath.startsWith( prefix ) )
+                {
+                    final var pos = nodePath.indexOf( '/', prefix.length() );
+                    names.add( pos < 0 ? nodePath.substring( prefix.length() ) : nodePath.substring( prefix.length(), pos ) );
+                }
+            }
+            final var retValue = names.toArray( String []::new );
+
+            //---* Done *------------------------------------------------------
+            return retValue;
+        }   //  childrenNames()
+
+        /**
+         *  Checks whether the snapshot contains the node with the given path.
+         *
+         *  @param  path    The absolute path of the node.
+         *  @return {@code true} if the node exists in the snapshot,
+         *      {@code false} otherwise.
+         */
+        public final synchronized boolean contains( final String path ) { return m_Snapshot.containsKey( path ); }
+
+        /**
+         *  Returns a copy of the values for the node with the given path.
+         *
+         *  @param  path    The absolute path of the node.
+         *  @return The values; the map is empty if the node does not exist.
+         */
+        public final synchronized Map<String,String> getValues( final String path )
+        {
+            final var retValue = new HashMap<>( m_Snapshot.getOrDefault( path, Map.of() ) );
+
+            //---* Done *------------------------------------------------------
+            return retValue;
+        }   //  getValues()
+
+        /**
+         *  Checks whether the file was modified since it was read or written
+         *  last.
+         *
+         *  @return {@code true} if the file was modified by another party,
+         *      {@code false} otherwise.
+         *  @throws IOException Reading the file attributes failed.
+         */
+        private final boolean isStale() throws IOException
+        {
+            final var retValue = Files.exists( m_File )
+                ? !Files.getLastModifiedTime( m_File ).equals( m_LastModified ) || (Files.size( m_File ) != m_LastSize)
+                : nonNull( m_LastModified );
+
+            //---* Done *------------------------------------------------------
+            return retValue;
+        }   //  isStale()
+
+        /**
+         *  Reads the file.
+         *
+         *  @return The contents of the file; the key is the absolute path
+         *      of a node, the value holds the values for that node.
+         *  @throws IOException Reading the file failed.
+         */
+        private final Map<String,Map<String,String>> read() throws IOException
+        {
+            final Map<String,Map<String,String>> retValue = new HashMap<>();
+            m_LastModified = null;
+            m_LastSize = 0L;
+            if( Files.exists( m_File ) )
+            {
+                final var properties = new Properties();
+                m_LastModified = Files.getLastModifiedTime( m_File );
+                m_LastSize = Files.size( m_File );
+                try( final var reader = Files.newBufferedReader( m_File, UTF_8 ) )
+                {
+                    properties.load( reader );
+                }
+                for( final var name : properties.stringPropertyNames() )
+                {
+                    final var pos = name.indexOf( "//" );
+                    if( pos < 0 ) continue;
+                    final var path = pos == 0 ? "/" : name.substring( 0, pos );
+                    retValue.computeIfAbsent( path, _ -> new HashMap<>() )
+                        .put( name.substring( pos + 2 ), properties.getProperty( name ) );
+                }
+            }
+
+            //---* Done *------------------------------------------------------
+            return retValue;
+        }   //  read()
+
+        /**
+         *  Re-reads the file if it was modified since it was read or written
+         *  last.
+         *
+         *  @throws IOException Reading the file failed.
+         */
+        public final synchronized void reload() throws IOException
+        {
+            if( isStale() )
+            {
+                final var contents = read();
+                m_Snapshot.clear();
+                m_Snapshot.putAll( contents );
+                m_ModifiedPaths.clear();
+            }
+        }   //  reload()
+
+        /**
+         *  Removes the node with the given path from the snapshot.
+         *
+         *  @param  path    The absolute path of the node.
+         */
+        public final synchronized void remove( final String path )
+        {
+            if( nonNull( m_Snapshot.remove( path ) ) ) m_ModifiedPaths.add( path );
+        }   //  remove()
+
+        /**
+         *  Sets the values for the node with the given path. A node without
+         *  values will be removed from the snapshot.
+         *
+         *  @param  path    The absolute path of the node.
+         *  @param  values  The values.
+         */
+        public final synchronized void setValues( final String path, final Map<String,String> values )
+        {
+            if( values.isEmpty() )
+            {
+                remove( path );
+            }
+            else if( !values.equals( m_Snapshot.get( path ) ) )
+            {
+                m_Snapshot.put( path, new HashMap<>( values ) );
+                m_ModifiedPaths.add( path );
+            }
+        }   //  setValues()
+
+        /**
+         *  Writes the snapshot to the file, if it was modified. If the file
+         *  was modified by another party in the meantime, the modified
+         *  nodes will be merged into the current contents of the file. The
+         *  lock file is held from the check for a modification until the
+         *  file was replaced.
+         *
+         *  @throws IOException Writing the file failed.
+         */
+        public final synchronized void store() throws IOException
+        {
+            if( !m_ModifiedPaths.isEmpty() )
+            {
+                final var folder = m_File.getParent();
+                Files.createDirectories( folder );
+                synchronized( m_Monitors.computeIfAbsent( m_LockFile, _ -> new Object() ) )
+                {
+                    try( final var lockChannel = FileChannel.open( m_LockFile, CREATE, WRITE );
+                         final var _ = lockChannel.lock() )
+                    {
+                        //---* Merge the modifications from another party *----
+                        if( isStale() )
+                        {
+                            final var contents = read();
+                            for( final var path : m_ModifiedPaths )
+                            {
+                                final var values = m_Snapshot.get( path );
+                                if( isNull( values ) )
+                                {
+                                    contents.remove( path );
+                                }
+                                else
+                                {
+                                    contents.put( path, values );
+                                }
+                            }
+                            m_Snapshot.clear();
+                            m_Snapshot.putAll( contents );
+                        }
+
+                        final var properties = new Properties();
+                        for( final var node : m_Snapshot.entrySet() )
+                        {
+                            final var prefix = "/".equals( node.getKey() ) ? "//" : node.getKey() + "//";
+                            node.getValue().forEach( (key,value) -> properties.setProperty( prefix + key, value ) );
+                        }
+
+                        //---* Replace the file atomically *-------------------
+                        final var tempFile = Files.createTempFile( folder, m_File.getFileName().toString(), ".tmp" );
+                        try
+                        {
+                            try( final var writer = Files.newBufferedWriter( tempFile, UTF_8 ) )
+                            {
+                                properties.store( writer, null );
+                            }
+                            Files.move( tempFile, m_File, REPLACE_EXISTING, ATOMIC_MOVE );
+                        }
+                        finally
+                        {
+                            Files.deleteIfExists( tempFile );
+                        }
+                        m_LastModified = Files.getLastModifiedTime( m_File );
+                        m_LastSize = Files.size( m_File );
+                        m_ModifiedPaths.clear();
+                    }
+                }
+            }
+        }   //  store()
+    }
+    //  class Store
+
+        /*------------*\
+    ====** Attributes **=======================================================
+        \*------------*/
+    /**
+     *  The backing store.
+     */
+    private final Store m_Store;
+
+    /**
+     *  The values for this node.
+     */
+    private final Map<String,String> m_Values;
+
+        /*--------------*\
+    ====** Constructors **=====================================================
+        \*--------------*/
+    /**
+     *  Creates a new root node that is backed by the given file.
+     *
+     *  @param  file    The file; it will be created on the first
+     *      {@link #flush()}
+     *      if it does not exist yet.
+     *  @throws IOException Reading the file failed.
+     */
+    public FilePreferences( final Path file ) throws IOException
+    {
+        super( null, EMPTY_STRING );
+        m_Store = new Store( requireNonNullArgument( file, "file" ) );
+        m_Values = m_Store.getValues( absolutePath() );
+    }   //  FilePreferences()
+
+    /**
+     *  Creates a new child node.
+     *
+     *  @param  parent  The parent node.
+     *  @param  name    The name of the new node.
+     */
+    private FilePreferences( final FilePreferences parent, final String name )
+    {
+        super( parent, name );
+        m_Store = parent.m_Store;
+        final var path = absolutePath();
+        newNode = !m_Store.contains( path ) && (m_Store.childrenNames( path ).length == 0);
+        m_Values = m_Store.getValues( path );
+    }   //  FilePreferences()
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    protected final AbstractPreferences childSpi( final String name ) { return new FilePreferences( this, name ); }
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    protected final String [] childrenNamesSpi() { return m_Store.childrenNames( absolutePath() ); }
+
+    /**
+     *  {@inheritDoc}
+     *  <p>This implementation writes the whole tree to the file, after the
+     *  values of all the cached nodes were transferred to the backing
+     *  store.</p>
+     */
+    @Override
+    public final void flush() throws BackingStoreException
+    {
+        super.flush();
+        try
+        {
+            m_Store.store();
+        }
+        catch( final IOException e )
+        {
+            throw new BackingStoreException( e );
+        }
+    }   //  flush()
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    protected final void flushSpi()
+    {
+        if( !isRemoved() ) m_Store.setValues( absolutePath(), m_Values );
+    }   //  flushSpi()
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    protected final String getSpi( final String key ) { return m_Values.get( key ); }
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    protected final String [] keysSpi() { return m_Values.keySet().toArray( String []::new ); }
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    protected final void putSpi( final String key, final String value ) { m_Values.put( key, value ); }
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    protected final void removeNodeSpi()
+    {
+        m_Values.clear();
+        m_Store.remove( absolutePath() );
+    }   //  removeNodeSpi()
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    protected final void removeSpi( final String key ) { m_Values.remove( key ); }
+
+    /**
+     *  {@inheritDoc}
+     *  <p>This implementation writes pending modifications to the file
+     *  first, then it re-reads the file if it was modified by another
+     *  party, and finally it replaces the values of all the cached nodes by
+     *  those from the file.</p>
+     */
+    @Override
+    public final void sync() throws BackingStoreException
+    {
+        flush();
+        try
+        {
+            m_Store.reload();
+        }
+        catch( final IOException e )
+        {
+            throw new BackingStoreException( e );
+        }
+        super.sync();
+    }   //  sync()
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    protected final void syncSpi()
+    {
+        if( !isRemoved() )
+        {
+            m_Values.clear();
+            m_Values.putAll( m_Store.getValues( absolutePath() ) );
+        }
+    }   //  syncSpi()
+}
+//  class FilePreferences
+
+/*
+ *  End of File
+ */
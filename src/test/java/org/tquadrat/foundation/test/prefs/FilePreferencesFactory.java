@@ -0,0 +1,190 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package org.tquadrat.foundation.test.prefs;
+
+import static org.apiguardian.api.API.Status.STABLE;
+import static org.tquadrat.foundation.lang.Objects.isNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.prefs.Preferences;
+import java.util.prefs.PreferencesFactory;
+
+import org.apiguardian.api.API;
+import org.tquadrat.foundation.annotation.ClassVersion;
+
+/**
+ *  <p>{@summary An implementation of
+ *  {@link PreferencesFactory}
+ *  that provides root nodes that keep their data in a single file each.}</p>
+ *  <p>The location of the file for the USER preferences is taken from the
+ *  system property {@value #PROPERTY_UserFile}, that for the SYSTEM
+ *  preferences from {@value #PROPERTY_SystemFile}. If not set, the files
+ *  {@code user.prefs} and {@code system.prefs} in a folder that is created
+ *  for the current process below the folder for temporary files will be
+ *  used; so these files are neither shared with other processes nor with
+ *  later runs.</p>
+ *  <p>All instances of this class share the same two root nodes; these are
+ *  created on first access.</p>
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id$
+ *  @UMLGraph.link
+ *  @since 0.4.7
+ *
+ *  @see FilePreferences
+ */
+@ClassVersion( sourceVersion = "$Id$" )
+@API( status = STABLE, since = "0.4.7" )
+public final class FilePreferencesFactory implements PreferencesFactory
+{
+        /*-----------*\
+    ====** Constants **========================================================
+        \*-----------*/
+    /**
+     *  The name of the system property that holds the path for the file with
+     *  the SYSTEM preferences: {@value}.
+     */
+    public static final String PROPERTY_SystemFile = "org.tquadrat.foundation.config.prefs.systemFile";
+
+    /**
+     *  The name of the system property that holds the path for the file with
+     *  the USER preferences: {@value}.
+     */
+    public static final String PROPERTY_UserFile = "org.tquadrat.foundation.config.prefs.userFile";
+
+        /*------------------------*\
+    ====** Static Initialisations **===========================================
+        \*------------------------*/
+    /**
+     *  The folder for the files of the current process, if no explicit
+     *  locations are configured; it is created on first access.
+     */
+    private static Path m_ProcessFolder = null;
+
+    /**
+     *  The root node for the SYSTEM preferences.
+     */
+    private static Preferences m_SystemRoot = null;
+
+    /**
+     *  The root node for the USER preferences.
+     */
+    private static Preferences m_UserRoot = null;
+
+        /*--------------*\
+    ====** Constructors **=====================================================
+        \*--------------*/
+    /**
+     *  Creates a new instance of {@code FilePreferencesFactory}.
+     */
+    public FilePreferencesFactory() { /* Just exists */ }
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  Creates a root node for the file whose path is provided by the given
+     *  system property.
+     *
+     *  @param  propertyName    The name of the system property.
+     *  @param  defaultName The name of the file in the folder for the
+     *      current process that is used when the system property is not set.
+     *  @return The new root node.
+     *  @throws UncheckedIOException    Reading the file or creating the
+     *      folder failed.
+     */
+    private static final Preferences createRoot( final String propertyName, final String defaultName ) throws UncheckedIOException
+    {
+        try
+        {
+            final var location = System.getProperty( propertyName );
+            final var file = isNull( location ) ? getProcessFolder().resolve( defaultName ) : Path.of( location );
+            final var retValue = new FilePreferences( file );
+
+            //---* Done *------------------------------------------------------
+            return retValue;
+        }
+        catch( final IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+    }   //  createRoot()
+
+    /**
+     *  Returns the folder for the files of the current process; it will be
+     *  created on first access.
+     *
+     *  @return The folder.
+     *  @throws IOException Creating the folder failed.
+     */
+    private static final Path getProcessFolder() throws IOException
+    {
+        final Path retValue;
+        synchronized( FilePreferencesFactory.class )
+        {
+            if( isNull( m_ProcessFolder ) ) m_ProcessFolder = Files.createTempDirectory( "tquadrat-prefs-" );
+            retValue = m_ProcessFolder;
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  getProcessFolder()
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final Preferences systemRoot()
+    {
+        final Preferences retValue;
+        synchronized( FilePreferencesFactory.class )
+        {
+            if( isNull( m_SystemRoot ) ) m_SystemRoot = createRoot( PROPERTY_SystemFile, "system.prefs" );
+            retValue = m_SystemRoot;
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  systemRoot()
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final Preferences userRoot()
+    {
+        final Preferences retValue;
+        synchronized( FilePreferencesFactory.class )
+        {
+            if( isNull( m_UserRoot ) ) m_UserRoot = createRoot( PROPERTY_UserFile, "user.prefs" );
+            retValue = m_UserRoot;
+        }
+
+        //---* Done *----------------------------------------------------------
+        return retValue;
+    }   //  userRoot()
+}
+//  class FilePreferencesFactory
+
+/*
+ *  End of File
+ */
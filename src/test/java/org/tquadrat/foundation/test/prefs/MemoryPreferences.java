@@ -0,0 +1,142 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.test.prefs;
+
+import static org.apiguardian.api.API.Status.STABLE;
+import static org.tquadrat.foundation.lang.CommonConstants.EMPTY_STRING;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.prefs.AbstractPreferences;
+
+import org.apiguardian.api.API;
+import org.tquadrat.foundation.annotation.ClassVersion;
+
+/**
+ *  An implementation of
+ *  {@link java.util.prefs.Preferences}
+ *  that keeps the data only in memory; it will be lost when the JVM
+ *  terminates.
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id$
+ *  @UMLGraph.link
+ *  @since 0.4.7
+ *
+ *  @see MemoryPreferencesFactory
+ */
+@ClassVersion( sourceVersion = "$Id$" )
+@API( status = STABLE, since = "0.4.7" )
+public final class MemoryPreferences extends AbstractPreferences
+{
+        /*------------*\
+    ====** Attributes **=======================================================
+        \*------------*/
+    /**
+     *  The values for this node.
+     */
+    private final Map<String,String> m_Values = new HashMap<>();
+
+        /*--------------*\
+    ====** Constructors **=====================================================
+        \*--------------*/
+    /**
+     *  Creates a new root node.
+     */
+    public MemoryPreferences()
+    {
+        super( null, EMPTY_STRING );
+    }   //  MemoryPreferences()
+
+    /**
+     *  Creates a new child node.
+     *
+     *  @param  parent  The parent node.
+     *  @param  name    The name of the new node.
+     */
+    private MemoryPreferences( final MemoryPreferences parent, final String name )
+    {
+        super( parent, name );
+        newNode = true;
+    }   //  MemoryPreferences()
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    protected final AbstractPreferences childSpi( final String name ) { return new MemoryPreferences( this, name ); }
+
+    /**
+     *  {@inheritDoc}
+     *  <p>All the children of a memory node are always cached by
+     *  {@link AbstractPreferences},
+     *  so this implementation returns always an empty array.</p>
+     */
+    @Override
+    protected final String [] childrenNamesSpi() { return new String [0]; }
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    protected final void flushSpi() { /* Nothing to do */ }
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    protected final String getSpi( final String key ) { return m_Values.get( key ); }
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    protected final String [] keysSpi() { return m_Values.keySet().toArray( String []::new ); }
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    protected final void putSpi( final String key, final String value ) { m_Values.put( key, value ); }
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    protected final void removeNodeSpi() { m_Values.clear(); }
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    protected final void removeSpi( final String key ) { m_Values.remove( key ); }
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    protected final void syncSpi() { /* Nothing to do */ }
+}
+//  class MemoryPreferences
+
+/*
+ *  End of File
+ */
@@ -0,0 +1,87 @@
+/*
+ * ============================================================================
+ *  Copyright © 2002-2026 by Thomas Thrien.
+ *  All Rights Reserved.
+ * ============================================================================
+ *  Licensed to the public under the agreements of the GNU Lesser General Public
+ *  License, version 3.0 (the "License"). You may obtain a copy of the License at
+ *
+ *       http://www.gnu.org/licenses/lgpl.html
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ *  WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ *  License for the specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.tquadrat.foundation.test.prefs;
+
+import static org.apiguardian.api.API.Status.STABLE;
+
+import java.util.prefs.Preferences;
+import java.util.prefs.PreferencesFactory;
+
+import org.apiguardian.api.API;
+import org.tquadrat.foundation.annotation.ClassVersion;
+
+/**
+ *  <p>{@summary An implementation of
+ *  {@link PreferencesFactory}
+ *  that provides root nodes that keep their data only in memory.}</p>
+ *  <p>All instances of this class share the same two root nodes, so data
+ *  that is written through one instance is visible through all the others,
+ *  until the JVM terminates.</p>
+ *
+ *  @extauthor Thomas Thrien - thomas.thrien@tquadrat.org
+ *  @version $Id$
+ *  @UMLGraph.link
+ *  @since 0.4.7
+ *
+ *  @see MemoryPreferences
+ */
+@ClassVersion( sourceVersion = "$Id$" )
+@API( status = STABLE, since = "0.4.7" )
+public final class MemoryPreferencesFactory implements PreferencesFactory
+{
+        /*------------------------*\
+    ====** Static Initialisations **===========================================
+        \*------------------------*/
+    /**
+     *  The root node for the SYSTEM preferences.
+     */
+    private static final Preferences m_SystemRoot = new MemoryPreferences();
+
+    /**
+     *  The root node for the USER preferences.
+     */
+    private static final Preferences m_UserRoot = new MemoryPreferences();
+
+        /*--------------*\
+    ====** Constructors **=====================================================
+        \*--------------*/
+    /**
+     *  Creates a new instance of {@code MemoryPreferencesFactory}.
+     */
+    public MemoryPreferencesFactory() { /* Just exists */ }
+
+        /*---------*\
+    ====** Methods **==========================================================
+        \*---------*/
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final Preferences systemRoot() { return m_SystemRoot; }
+
+    /**
+     *  {@inheritDoc}
+     */
+    @Override
+    public final Preferences userRoot() { return m_UserRoot; }
+}
+//  class MemoryPreferencesFactory
+
+/*
+ *  End of File
+ */